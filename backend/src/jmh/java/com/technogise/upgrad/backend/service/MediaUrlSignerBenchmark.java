@@ -0,0 +1,70 @@
+package com.technogise.upgrad.backend.service;
+
+import com.technogise.upgrad.backend.config.MediaSigningConfig;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares signing a homepage's worth of tile URLs with a cold signature cache (one HMAC per tile,
+ * the cost of signing on every response) against the steady state where signatures are reused
+ * within their window.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class MediaUrlSignerBenchmark {
+
+  @Param({"11"})
+  private int tilesPerHomepage;
+
+  private String[] urls;
+  private MediaUrlSigner cachedSigner;
+  private MediaUrlSigner uncachedSigner;
+
+  @Setup
+  public void setUp() {
+    urls = new String[tilesPerHomepage];
+    for (int i = 0; i < tilesPerHomepage; i++) {
+      urls[i] = "https://images.example.com/thumbnails/" + i + ".jpg?w=400&h=200&fit=crop";
+    }
+    cachedSigner = new MediaUrlSigner(config(10_000), Clock.systemUTC());
+    // A cache of one entry is cleared on every miss, so each tile pays for a fresh HMAC.
+    uncachedSigner = new MediaUrlSigner(config(1), Clock.systemUTC());
+  }
+
+  private static MediaSigningConfig config(final int maxCachedUrls) {
+    final MediaSigningConfig config = new MediaSigningConfig();
+    config.setEnabled(true);
+    config.setSecret("benchmark-secret-benchmark-secret");
+    config.setMaxCachedUrls(maxCachedUrls);
+    return config;
+  }
+
+  @Benchmark
+  public int signHomepageCached() {
+    int length = 0;
+    for (final String url : urls) {
+      length += cachedSigner.sign(url).length();
+    }
+    return length;
+  }
+
+  @Benchmark
+  public int signHomepageUncached() {
+    int length = 0;
+    for (final String url : urls) {
+      length += uncachedSigner.sign(url).length();
+    }
+    return length;
+  }
+}
@@ -0,0 +1,79 @@
+package com.technogise.upgrad.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.technogise.upgrad.backend.dto.WatchProgressRequest;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares decoding an end-of-session progress update from the compact beacon payload against the
+ * JSON path it replaces: Jackson binding of {@link WatchProgressRequest} followed by bean
+ * validation. Both benchmarks reject invalid input the same way, so the difference is the per-
+ * request cost the beacon endpoint no longer pays.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class ProgressBeaconBenchmark {
+
+  private byte[] beaconPayload;
+  private byte[] jsonPayload;
+  private ProgressBeacon beacon;
+  private ObjectMapper objectMapper;
+  private Validator validator;
+  private ValidatorFactory validatorFactory;
+
+  @Setup
+  public void setUp() {
+    final UUID contentId = UUID.randomUUID();
+    final String csrfToken = UUID.randomUUID().toString();
+    beaconPayload = (contentId + ",73,1642," + csrfToken).getBytes(StandardCharsets.US_ASCII);
+    jsonPayload =
+        String.format(
+                "{\"contentId\":\"%s\",\"progressPercent\":73,\"lastWatchedPosition\":1642}",
+                contentId)
+            .getBytes(StandardCharsets.UTF_8);
+    beacon = new ProgressBeacon();
+    objectMapper = new ObjectMapper();
+    validatorFactory = Validation.buildDefaultValidatorFactory();
+    validator = validatorFactory.getValidator();
+  }
+
+  @TearDown
+  public void tearDown() {
+    validatorFactory.close();
+  }
+
+  @Benchmark
+  public int parseBeacon() {
+    if (!beacon.parse(beaconPayload, beaconPayload.length)) {
+      throw new IllegalStateException("Benchmark payload must parse");
+    }
+    return beacon.progressPercent() + beacon.lastWatchedPosition();
+  }
+
+  @Benchmark
+  public int bindAndValidateJson() throws IOException {
+    final WatchProgressRequest request =
+        objectMapper.readValue(jsonPayload, WatchProgressRequest.class);
+    if (!validator.validate(request).isEmpty()) {
+      throw new IllegalStateException("Benchmark payload must validate");
+    }
+    return request.progressPercent() + request.lastWatchedPosition();
+  }
+}
@@ -0,0 +1,81 @@
+package com.technogise.upgrad.backend.service;
+
+import com.technogise.upgrad.backend.config.TelemetryConfig;
+import com.technogise.upgrad.backend.constants.TelemetryEventType;
+import com.technogise.upgrad.backend.dto.TelemetryRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures appends per second to the telemetry segment store from eight writers sharing one active
+ * segment, including the cost of rolling to a new segment every 64 MiB. Retention is set to zero
+ * and checked every 100 ms, so rolled-over segments are deleted while the benchmark runs and disk
+ * use stays near a few segments; iterations are kept short for the same reason.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(time = 2)
+@Measurement(time = 2)
+@Threads(8)
+public class TelemetrySegmentStoreBenchmark {
+
+  private Path directory;
+  private TelemetrySegmentStore store;
+  private List<TelemetryRecord> batch;
+
+  @Setup
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("telemetry-benchmark");
+    final TelemetryConfig config = new TelemetryConfig();
+    config.setDirectory(directory.toString());
+    config.setRetentionHours(0);
+    config.setRetentionCheckIntervalMs(100);
+    store = new TelemetrySegmentStore(config, Clock.systemUTC(), new SimpleMeterRegistry());
+    store.start();
+    batch =
+        List.of(
+            new TelemetryRecord(
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                TelemetryEventType.BITRATE_SWITCH,
+                1642,
+                4500,
+                Instant.now()));
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    store.shutdown();
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (final Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.deleteIfExists(file);
+      }
+    }
+  }
+
+  @Benchmark
+  public int append() {
+    return store.append(batch);
+  }
+}
@@ -0,0 +1,15 @@
+package com.technogise.upgrad.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.activity")
+@Getter
+@Setter
+public class ActivityConfig {
+  private String zone = "UTC";
+  private int maxCachedUsers = 100_000;
+}
@@ -0,0 +1,19 @@
+package com.technogise.upgrad.backend.config;
+
+import java.time.Clock;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ClockConfig {
+
+  /**
+   * Shared clock so time-dependent components can be tested with a fixed or offset clock.
+   *
+   * @return the system UTC clock
+   */
+  @Bean
+  public Clock clock() {
+    return Clock.systemUTC();
+  }
+}
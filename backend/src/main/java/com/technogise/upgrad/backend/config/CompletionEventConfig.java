@@ -0,0 +1,16 @@
+package com.technogise.upgrad.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.completion-events")
+@Getter
+@Setter
+public class CompletionEventConfig {
+  private int poolSize = 2;
+  private int queueCapacity = 10_000;
+  private long shutdownTimeoutMs = 5_000;
+}
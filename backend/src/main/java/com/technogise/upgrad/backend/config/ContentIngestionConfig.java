@@ -0,0 +1,15 @@
+package com.technogise.upgrad.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.ingestion")
+@Getter
+@Setter
+public class ContentIngestionConfig {
+  private int batchSize = 500;
+  private int maxReportedRejects = 1000;
+}
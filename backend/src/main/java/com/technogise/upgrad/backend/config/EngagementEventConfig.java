@@ -0,0 +1,18 @@
+package com.technogise.upgrad.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.events")
+@Getter
+@Setter
+public class EngagementEventConfig {
+  private int queueCapacity = 100_000;
+  private int batchSize = 5000;
+  private long drainIntervalMs = 1000;
+  private int retryAfterSeconds = 5;
+  private int partitionMonthsAhead = 2;
+}
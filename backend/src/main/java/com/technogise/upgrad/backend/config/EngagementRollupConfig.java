@@ -0,0 +1,21 @@
+package com.technogise.upgrad.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.analytics.rollup")
+@Getter
+@Setter
+public class EngagementRollupConfig {
+  private boolean enabled = true;
+  private long foldIntervalMs = 30_000;
+
+  /**
+   * How often progress sums and vote totals are recounted from watch_history: heartbeats are not
+   * logged, and votes still in memory are lost when an instance stops.
+   */
+  private long recountIntervalMs = 900_000;
+}
@@ -0,0 +1,14 @@
+package com.technogise.upgrad.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.feedback.counters")
+@Getter
+@Setter
+public class FeedbackCounterConfig {
+  private long flushIntervalMs = 5_000;
+}
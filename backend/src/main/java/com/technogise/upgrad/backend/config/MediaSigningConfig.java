@@ -0,0 +1,18 @@
+package com.technogise.upgrad.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.media.signing")
+@Getter
+@Setter
+public class MediaSigningConfig {
+  private boolean enabled = false;
+  private String secret;
+  private long windowSeconds = 3600;
+  private long refreshMarginSeconds = 300;
+  private int maxCachedUrls = 10_000;
+}
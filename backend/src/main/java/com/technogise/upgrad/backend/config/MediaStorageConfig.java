@@ -0,0 +1,21 @@
+package com.technogise.upgrad.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.media.storage")
+@Getter
+@Setter
+public class MediaStorageConfig {
+  /** Directory that relative video URLs are resolved against; local hosting is off when blank. */
+  private String rootDir = "";
+
+  private long cacheMaxAgeSeconds = 3600;
+
+  public boolean isEnabled() {
+    return rootDir != null && !rootDir.isBlank();
+  }
+}
@@ -2,14 +2,19 @@ package com.technogise.upgrad.backend.config;
 
 import com.technogise.upgrad.backend.security.JwtAuthenticationFilter;
 import java.util.List;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -22,11 +27,19 @@ public class SecurityConfig {
 
   private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
-  private static final String[] PUBLIC_URLS = {"/api/auth/**", "/v3/api-docs/**", "/swagger-ui/**"};
+  private static final String[] PUBLIC_URLS = {
+    "/api/auth/**", "/api/thumbnails/**", "/v3/api-docs/**", "/swagger-ui/**"
+  };
+  private static final String ADMIN_URLS = "/api/admin/**";
+  // Beacons cannot send the CSRF header; they carry the token in the body and check it themselves.
+  private static final String BEACON_URLS = "/api/beacon/**";
 
   @Value("${app.frontend.url}")
   private String frontendUrl;
 
+  @Value("${app.admin.emails:}")
+  private List<String> adminEmails;
+
   @Bean
   public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
     // Spring Security 6.x requires explicit CSRF token handling
@@ -42,17 +55,36 @@ public class SecurityConfig {
                         org.springframework.security.web.csrf.CookieCsrfTokenRepository
                             .withHttpOnlyFalse())
                     .csrfTokenRequestHandler(requestHandler)
-                    .ignoringRequestMatchers(PUBLIC_URLS))
+                    .ignoringRequestMatchers(PUBLIC_URLS)
+                    .ignoringRequestMatchers(BEACON_URLS))
         .cors(cors -> cors.configurationSource(corsConfigurationSource()))
         .sessionManagement(
             session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .authorizeHttpRequests(
-            auth -> auth.requestMatchers(PUBLIC_URLS).permitAll().anyRequest().authenticated())
+            auth ->
+                auth.requestMatchers(PUBLIC_URLS)
+                    .permitAll()
+                    .requestMatchers(ADMIN_URLS)
+                    .access(this::isAdmin)
+                    .anyRequest()
+                    .authenticated())
         .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
     return http.build();
   }
 
+  // Admins are an allow-list of emails rather than a role claim, so that granting access
+  // does not require re-issuing tokens to already logged-in users.
+  private AuthorizationDecision isAdmin(
+      Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+    final Authentication auth = authentication.get();
+    return new AuthorizationDecision(
+        auth != null
+            && !(auth instanceof AnonymousAuthenticationToken)
+            && auth.isAuthenticated()
+            && adminEmails.contains(auth.getName()));
+  }
+
   @Bean
   public CorsConfigurationSource corsConfigurationSource() {
     CorsConfiguration configuration = new CorsConfiguration();
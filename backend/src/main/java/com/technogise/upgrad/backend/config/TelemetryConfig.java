@@ -0,0 +1,19 @@
+package com.technogise.upgrad.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.telemetry")
+@Getter
+@Setter
+public class TelemetryConfig {
+  /** Directory holding the segment files; telemetry is discarded when blank. */
+  private String directory = "";
+
+  private int segmentSizeBytes = 64 * 1024 * 1024;
+  private int retentionHours = 72;
+  private long retentionCheckIntervalMs = 60_000;
+}
@@ -0,0 +1,25 @@
+package com.technogise.upgrad.backend.config;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.thumbnails")
+@Getter
+@Setter
+public class ThumbnailConfig {
+  private String outputDir = "data/thumbnails";
+  private List<Integer> widths = List.of(320, 640, 1280);
+  private float quality = 0.8f;
+  private int poolSize = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+  private int queueCapacity = 64;
+  private int backfillPageSize = 50;
+  private int maxSourceBytes = 10 * 1024 * 1024;
+  private long maxSourcePixels = 40_000_000L;
+  private int fetchTimeoutSeconds = 10;
+  // Remote sources are fetched only from these hosts; redirects are never followed.
+  private List<String> allowedHosts = List.of();
+}
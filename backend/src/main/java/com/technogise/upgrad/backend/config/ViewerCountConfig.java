@@ -0,0 +1,18 @@
+package com.technogise.upgrad.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.viewers")
+@Getter
+@Setter
+public class ViewerCountConfig {
+  private String zone = "UTC";
+  private int maxCachedViewings = 200_000;
+  private int maxRangeDays = 366;
+  private int dailyRetentionDays = 730;
+  private long pruneIntervalMs = 3_600_000;
+}
@@ -0,0 +1,15 @@
+package com.technogise.upgrad.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.export.watch-history")
+@Getter
+@Setter
+public class WatchHistoryExportConfig {
+  private int pageSize = 1000;
+  private long timeoutMs = 3_600_000;
+}
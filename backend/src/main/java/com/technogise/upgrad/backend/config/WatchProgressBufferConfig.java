@@ -0,0 +1,17 @@
+package com.technogise.upgrad.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.watch-progress.buffer")
+@Getter
+@Setter
+public class WatchProgressBufferConfig {
+  private boolean enabled = false;
+  private long flushIntervalMs = 10_000;
+  private int batchSize = 1000;
+  private int maxEntries = 50_000;
+}
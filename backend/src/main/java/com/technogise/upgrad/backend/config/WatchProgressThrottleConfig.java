@@ -0,0 +1,18 @@
+package com.technogise.upgrad.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.watch-progress.throttle")
+@Getter
+@Setter
+public class WatchProgressThrottleConfig {
+  private boolean enabled = true;
+  private int minPositionDeltaSeconds = 15;
+  private int minPercentDelta = 5;
+  private long maxIntervalMs = 30_000;
+  private int maxEntries = 100_000;
+}
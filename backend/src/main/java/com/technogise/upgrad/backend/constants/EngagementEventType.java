@@ -0,0 +1,8 @@
+package com.technogise.upgrad.backend.constants;
+
+public enum EngagementEventType {
+  PLAY,
+  PAUSE,
+  SEEK,
+  COMPLETE
+}
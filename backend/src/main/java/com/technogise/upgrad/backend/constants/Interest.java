@@ -1,6 +1,7 @@
 package com.technogise.upgrad.backend.constants;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -33,6 +34,40 @@ public enum Interest {
     this.iconName = iconName;
   }
 
+  /**
+   * Bit for this interest in {@code users.interest_mask} and {@code contents.category_mask}. The
+   * bit is the ordinal and is stored, so new interests go at the end and existing ones are never
+   * reordered or removed; masks stay within an int for up to 31 interests.
+   */
+  public int getMask() {
+    return 1 << ordinal();
+  }
+
+  /**
+   * Combines the bits of the named interests.
+   *
+   * @param names interest names; names that are not interests contribute no bit
+   * @return the mask, 0 when none of the names is an interest
+   */
+  public static int maskOf(Collection<String> names) {
+    int mask = 0;
+    for (final String name : names) {
+      mask |= maskOf(name);
+    }
+    return mask;
+  }
+
+  /**
+   * Returns the bit of the named interest, so a content category matching an interest name gets
+   * that interest's bit.
+   *
+   * @param name an interest name, or any other category
+   * @return the bit, 0 if the name is not an interest
+   */
+  public static int maskOf(String name) {
+    return isValid(name) ? valueOf(name).getMask() : 0;
+  }
+
   public static List<Interest> getAll() {
     return Arrays.asList(values());
   }
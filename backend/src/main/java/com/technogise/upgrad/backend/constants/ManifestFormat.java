@@ -0,0 +1,26 @@
+package com.technogise.upgrad.backend.constants;
+
+import org.springframework.http.MediaType;
+
+public enum ManifestFormat {
+  JSON_LINES,
+  CSV;
+
+  public static final String NDJSON_VALUE = "application/x-ndjson";
+  public static final String CSV_VALUE = "text/csv";
+
+  /**
+   * Resolves the manifest format from a request content type.
+   *
+   * @param contentType the raw Content-Type header value
+   * @return CSV for text/csv, JSON_LINES otherwise
+   */
+  public static ManifestFormat fromContentType(final String contentType) {
+    if (contentType != null
+        && MediaType.parseMediaType(CSV_VALUE)
+            .isCompatibleWith(MediaType.parseMediaType(contentType))) {
+      return CSV;
+    }
+    return JSON_LINES;
+  }
+}
@@ -0,0 +1,9 @@
+package com.technogise.upgrad.backend.constants;
+
+public enum ProgressSyncStatus {
+  APPLIED,
+  STALE,
+  SUPERSEDED,
+  NOT_FOUND,
+  REJECTED
+}
@@ -0,0 +1,13 @@
+package com.technogise.upgrad.backend.constants;
+
+/** Fine-grained player telemetry; what the event's value means depends on the type. */
+public enum TelemetryEventType {
+  /** Playback stalled; value is the stall length in milliseconds. */
+  BUFFERING,
+  /** The player changed rendition; value is the new bitrate in kbps. */
+  BITRATE_SWITCH,
+  /** The viewer seeked; value is the target position in seconds. */
+  SEEK,
+  /** Playback failed; value is the player's error code. */
+  PLAYBACK_ERROR
+}
@@ -0,0 +1,37 @@
+package com.technogise.upgrad.backend.controller;
+
+import com.technogise.upgrad.backend.dto.ActivitySummaryDto;
+import com.technogise.upgrad.backend.entity.User;
+import com.technogise.upgrad.backend.exception.AuthenticationException;
+import com.technogise.upgrad.backend.repository.UserRepository;
+import com.technogise.upgrad.backend.service.LearningActivityService;
+import java.time.YearMonth;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/me")
+@RequiredArgsConstructor
+public class ActivityController {
+  private final LearningActivityService learningActivityService;
+  private final UserRepository userRepository;
+
+  /**
+   * Returns the current learning streak and the active days of a month, {@code yyyy-MM}, defaulting
+   * to the current one.
+   */
+  @GetMapping("/activity")
+  public ResponseEntity<ActivitySummaryDto> getActivity(
+      Authentication authentication, @RequestParam(required = false) YearMonth month) {
+    final User user =
+        userRepository
+            .findByEmail(authentication.getName())
+            .orElseThrow(() -> new AuthenticationException("User not found"));
+    return ResponseEntity.ok(learningActivityService.getSummary(user.getId(), month));
+  }
+}
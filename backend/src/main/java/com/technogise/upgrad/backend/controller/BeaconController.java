@@ -0,0 +1,90 @@
+package com.technogise.upgrad.backend.controller;
+
+import com.technogise.upgrad.backend.exception.AuthenticationException;
+import com.technogise.upgrad.backend.security.JwtAuthenticationFilter;
+import com.technogise.upgrad.backend.service.ProgressBeacon;
+import com.technogise.upgrad.backend.service.WatchProgressService;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Fire-and-forget endpoints for {@code navigator.sendBeacon}, which the browser sends while the
+ * page is closing and whose response nobody reads. They skip JSON binding, bean validation and the
+ * user lookup, queue the payload (or write it, when it finishes the content), and answer 204.
+ */
+@RestController
+@RequestMapping("/api/beacon")
+@RequiredArgsConstructor
+public class BeaconController {
+
+  static final String CSRF_COOKIE = "XSRF-TOKEN";
+
+  // One extra byte tells an oversized payload apart from one that exactly fills the buffer.
+  private static final ThreadLocal<byte[]> BODIES =
+      ThreadLocal.withInitial(() -> new byte[ProgressBeacon.MAX_LENGTH + 1]);
+  private static final ThreadLocal<ProgressBeacon> BEACONS =
+      ThreadLocal.withInitial(ProgressBeacon::new);
+
+  private final WatchProgressService watchProgressService;
+
+  /**
+   * Records the final watch position of a session. Beacons cannot set headers, so the CSRF token
+   * travels in the payload and is checked against the token cookie. Positions for content that no
+   * longer exists are dropped.
+   */
+  @PostMapping(path = "/progress", consumes = MediaType.TEXT_PLAIN_VALUE)
+  public ResponseEntity<Void> recordProgress(
+      HttpServletRequest request,
+      @RequestAttribute(name = JwtAuthenticationFilter.USER_ID_ATTRIBUTE, required = false)
+          UUID userId)
+      throws IOException {
+    if (userId == null) {
+      throw new AuthenticationException("User not found");
+    }
+    final byte[] body = BODIES.get();
+    final int length = readBody(request.getInputStream(), body);
+    final ProgressBeacon beacon = BEACONS.get();
+    if (!beacon.parse(body, length)) {
+      return ResponseEntity.badRequest().build();
+    }
+    if (!beacon.tokenMatches(csrfCookie(request))) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    }
+    watchProgressService.saveBeacon(
+        userId, beacon.contentId(), beacon.progressPercent(), beacon.lastWatchedPosition());
+    return ResponseEntity.noContent().build();
+  }
+
+  private static int readBody(final InputStream in, final byte[] body) throws IOException {
+    int length = 0;
+    int read;
+    while (length < body.length && (read = in.read(body, length, body.length - length)) > 0) {
+      length += read;
+    }
+    return length;
+  }
+
+  private static String csrfCookie(final HttpServletRequest request) {
+    final Cookie[] cookies = request.getCookies();
+    if (cookies == null) {
+      return null;
+    }
+    for (final Cookie cookie : cookies) {
+      if (CSRF_COOKIE.equals(cookie.getName())) {
+        return cookie.getValue();
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,32 @@
+package com.technogise.upgrad.backend.controller;
+
+import com.technogise.upgrad.backend.constants.ManifestFormat;
+import com.technogise.upgrad.backend.dto.IngestionReport;
+import com.technogise.upgrad.backend.service.ContentIngestionService;
+import java.io.IOException;
+import java.io.InputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/contents")
+@RequiredArgsConstructor
+public class ContentIngestionController {
+
+  private final ContentIngestionService contentIngestionService;
+
+  @PostMapping(
+      value = "/import",
+      consumes = {ManifestFormat.NDJSON_VALUE, ManifestFormat.CSV_VALUE})
+  public ResponseEntity<IngestionReport> importManifest(
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) final String contentType, final InputStream manifest)
+      throws IOException {
+    return ResponseEntity.ok(
+        contentIngestionService.ingest(manifest, ManifestFormat.fromContentType(contentType)));
+  }
+}
@@ -0,0 +1,65 @@
+package com.technogise.upgrad.backend.controller;
+
+import com.technogise.upgrad.backend.dto.EngagementStatsDto;
+import com.technogise.upgrad.backend.dto.FeedbackCountsDto;
+import com.technogise.upgrad.backend.dto.UniqueViewersDto;
+import com.technogise.upgrad.backend.service.ContentViewerService;
+import com.technogise.upgrad.backend.service.EngagementRollupService;
+import com.technogise.upgrad.backend.service.FeedbackCounterService;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/analytics")
+@RequiredArgsConstructor
+public class EngagementAnalyticsController {
+
+  private final EngagementRollupService engagementRollupService;
+  private final FeedbackCounterService feedbackCounterService;
+  private final ContentViewerService contentViewerService;
+
+  @GetMapping("/content/{contentId}")
+  public ResponseEntity<EngagementStatsDto> getContentStats(@PathVariable UUID contentId) {
+    return ResponseEntity.ok(engagementRollupService.getContentStats(contentId));
+  }
+
+  @GetMapping("/content/{contentId}/feedback")
+  public ResponseEntity<FeedbackCountsDto> getFeedbackCounts(@PathVariable UUID contentId) {
+    return ResponseEntity.ok(feedbackCounterService.getCounts(contentId));
+  }
+
+  @GetMapping("/content/{contentId}/viewers")
+  public ResponseEntity<UniqueViewersDto> getContentViewers(
+      @PathVariable UUID contentId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    return ResponseEntity.ok(contentViewerService.getContentViewers(contentId, from, to));
+  }
+
+  @GetMapping("/categories")
+  public ResponseEntity<List<EngagementStatsDto>> getAllCategoryStats() {
+    return ResponseEntity.ok(engagementRollupService.getAllCategoryStats());
+  }
+
+  @GetMapping("/categories/{category}")
+  public ResponseEntity<EngagementStatsDto> getCategoryStats(@PathVariable String category) {
+    return ResponseEntity.ok(engagementRollupService.getCategoryStats(category));
+  }
+
+  @GetMapping("/categories/{category}/viewers")
+  public ResponseEntity<UniqueViewersDto> getCategoryViewers(
+      @PathVariable String category,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    return ResponseEntity.ok(contentViewerService.getCategoryViewers(category, from, to));
+  }
+}
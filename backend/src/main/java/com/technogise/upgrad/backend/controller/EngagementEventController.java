@@ -0,0 +1,51 @@
+package com.technogise.upgrad.backend.controller;
+
+import com.technogise.upgrad.backend.dto.EngagementEventBatchRequest;
+import com.technogise.upgrad.backend.dto.EngagementIngestResult;
+import com.technogise.upgrad.backend.exception.AuthenticationException;
+import com.technogise.upgrad.backend.security.JwtAuthenticationFilter;
+import com.technogise.upgrad.backend.service.EngagementEventService;
+import jakarta.validation.Valid;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+public class EngagementEventController {
+
+  private final EngagementEventService engagementEventService;
+
+  /**
+   * Queues player events for the analytics log. Responds 202 once every event is queued, or 429
+   * with {@code Retry-After} when the queue is full; the body then says how many events from the
+   * start of the batch were accepted so the client can resend only the rest. The viewer comes from
+   * the token, so ingestion never waits on the database.
+   */
+  @PostMapping
+  public ResponseEntity<EngagementIngestResult> ingest(
+      @RequestAttribute(name = JwtAuthenticationFilter.USER_ID_ATTRIBUTE, required = false)
+          UUID userId,
+      @Valid @RequestBody EngagementEventBatchRequest request) {
+    if (userId == null) {
+      throw new AuthenticationException("User not found");
+    }
+    final EngagementIngestResult result = engagementEventService.submit(userId, request.events());
+    if (result.rejected() > 0) {
+      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+          .header(
+              HttpHeaders.RETRY_AFTER,
+              String.valueOf(engagementEventService.getRetryAfterSeconds()))
+          .body(result);
+    }
+    return ResponseEntity.accepted().body(result);
+  }
+}
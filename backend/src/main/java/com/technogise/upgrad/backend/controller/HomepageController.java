@@ -27,6 +27,7 @@ public class HomepageController {
             .findByEmail(email)
             .orElseThrow(() -> new AuthenticationException("User not found"));
 
-    return ResponseEntity.ok(homepageService.getHomepageSections(user.getId()));
+    return ResponseEntity.ok(
+        homepageService.getHomepageSections(user.getId(), user.getInterestMask()));
   }
 }
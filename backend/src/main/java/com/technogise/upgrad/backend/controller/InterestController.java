@@ -1,13 +1,11 @@
 package com.technogise.upgrad.backend.controller;
 
-import com.technogise.upgrad.backend.dto.InterestDTO;
 import com.technogise.upgrad.backend.dto.SaveInterestsRequest;
 import com.technogise.upgrad.backend.entity.User;
 import com.technogise.upgrad.backend.exception.AuthenticationException;
 import com.technogise.upgrad.backend.repository.UserRepository;
 import com.technogise.upgrad.backend.service.InterestService;
 import jakarta.validation.Valid;
-import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -25,9 +23,10 @@ public class InterestController {
   private final InterestService interestService;
   private final UserRepository userRepository;
 
+  /** Serves the pre-serialized catalog; a matching {@code If-None-Match} gets a 304. */
   @GetMapping("/interests")
-  public ResponseEntity<List<InterestDTO>> getAllInterests() {
-    return ResponseEntity.ok(interestService.getAllInterests());
+  public ResponseEntity<byte[]> getAllInterests() {
+    return interestService.getInterestCatalog().toResponseEntity();
   }
 
   @PostMapping("/user/interests")
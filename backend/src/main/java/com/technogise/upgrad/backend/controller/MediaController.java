@@ -0,0 +1,192 @@
+package com.technogise.upgrad.backend.controller;
+
+import com.technogise.upgrad.backend.service.ContentService;
+import com.technogise.upgrad.backend.service.LocalMediaStore;
+import com.technogise.upgrad.backend.service.LocalMediaStore.MediaFile;
+import com.technogise.upgrad.backend.service.MediaUrlSigner;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Streams locally hosted videos with single byte-range support. When the connector supports it the
+ * file is handed to Tomcat's sendfile, which writes it from the page cache to the socket on the
+ * poller thread: the request thread is released as soon as headers are prepared, so seeking viewers
+ * do not hold threads for the length of a transfer.
+ *
+ * <p>When media URL signing is on, a request must carry the expiry and signature of a URL handed
+ * out by {@link MediaUrlSigner}; a missing, forged or expired one is refused with 403 before the
+ * content is looked up.
+ */
+@RestController
+@RequestMapping("/api/media")
+@RequiredArgsConstructor
+@Slf4j
+public class MediaController {
+
+  static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+  static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+  static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+  static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+  private final ContentService contentService;
+  private final LocalMediaStore localMediaStore;
+  private final MediaUrlSigner mediaUrlSigner;
+
+  @GetMapping("/{contentId}")
+  public void streamMedia(
+      @PathVariable UUID contentId,
+      @RequestParam(name = MediaUrlSigner.EXPIRES_PARAM, required = false) String expires,
+      @RequestParam(name = MediaUrlSigner.SIGNATURE_PARAM, required = false) String signature,
+      ServletWebRequest webRequest,
+      HttpServletResponse response)
+      throws IOException {
+    if (!isSigned(contentId, expires, signature)) {
+      response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+      return;
+    }
+    final MediaFile media = contentService.getMediaFile(contentId);
+    final HttpServletRequest request = webRequest.getRequest();
+
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+    response.setHeader(
+        HttpHeaders.CACHE_CONTROL,
+        CacheControl.maxAge(localMediaStore.getCacheMaxAgeSeconds(), TimeUnit.SECONDS)
+            .cachePrivate()
+            .getHeaderValue());
+    if (webRequest.checkNotModified(media.etag(), media.lastModified())) {
+      return;
+    }
+
+    long start = 0;
+    long end = media.length() - 1;
+    final HttpRange range = requestedRange(request, media);
+    if (range != null) {
+      try {
+        start = range.getRangeStart(media.length());
+        end = range.getRangeEnd(media.length());
+      } catch (IllegalArgumentException e) {
+        start = end + 1;
+      }
+      if (start > end) {
+        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + media.length());
+        return;
+      }
+      response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+      response.setHeader(
+          HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + media.length());
+    }
+
+    final long count = end - start + 1;
+    response.setContentType(media.contentType().toString());
+    response.setContentLengthLong(count);
+    if (count == 0 || HttpMethod.HEAD.matches(request.getMethod())) {
+      return;
+    }
+
+    if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+      request.setAttribute(SENDFILE_FILENAME, media.path().toString());
+      request.setAttribute(SENDFILE_START, start);
+      request.setAttribute(SENDFILE_END, end + 1);
+      return;
+    }
+    transfer(media, start, count, response.getOutputStream());
+  }
+
+  private boolean isSigned(final UUID contentId, final String expires, final String signature) {
+    if (!mediaUrlSigner.isEnabled()) {
+      return true;
+    }
+    try {
+      return mediaUrlSigner.verify(
+          localMediaStore.mediaUrl(contentId), Long.parseLong(expires), signature);
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Returns the single range to serve, or null to serve the whole file: when no range was asked
+   * for, the header is malformed, several ranges were asked for, or {@code If-Range} no longer
+   * matches the file.
+   */
+  private static HttpRange requestedRange(final HttpServletRequest request, final MediaFile media) {
+    final String header = request.getHeader(HttpHeaders.RANGE);
+    if (header == null) {
+      return null;
+    }
+    final List<HttpRange> ranges;
+    try {
+      ranges = HttpRange.parseRanges(header);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+    if (ranges.size() != 1 || !ifRangeMatches(request, media)) {
+      return null;
+    }
+    return ranges.get(0);
+  }
+
+  private static boolean ifRangeMatches(final HttpServletRequest request, final MediaFile media) {
+    final String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+    if (ifRange == null) {
+      return true;
+    }
+    if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+      // If-Range requires strong comparison, so a weak tag never matches.
+      return ifRange.equals(media.etag());
+    }
+    try {
+      return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == media.lastModified() / 1000;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  // Fallback for connectors without sendfile, such as TLS terminated in Tomcat. transferTo still
+  // avoids reading the file into heap buffers on our side.
+  private static void transfer(
+      final MediaFile media, final long start, final long count, final OutputStream out)
+      throws IOException {
+    try (FileChannel channel = FileChannel.open(media.path(), StandardOpenOption.READ)) {
+      final WritableByteChannel target = Channels.newChannel(out);
+      long position = start;
+      long remaining = count;
+      try {
+        while (remaining > 0) {
+          final long sent = channel.transferTo(position, remaining, target);
+          if (sent <= 0) {
+            break;
+          }
+          position += sent;
+          remaining -= sent;
+        }
+        out.flush();
+      } catch (IOException e) {
+        // Players abort range requests whenever the viewer seeks; that is not a server error.
+        log.debug("Media stream for {} ended early: {}", media.path(), e.getMessage());
+      }
+    }
+  }
+}
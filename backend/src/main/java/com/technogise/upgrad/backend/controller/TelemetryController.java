@@ -0,0 +1,39 @@
+package com.technogise.upgrad.backend.controller;
+
+import com.technogise.upgrad.backend.dto.EngagementIngestResult;
+import com.technogise.upgrad.backend.dto.TelemetryBatchRequest;
+import com.technogise.upgrad.backend.exception.AuthenticationException;
+import com.technogise.upgrad.backend.security.JwtAuthenticationFilter;
+import com.technogise.upgrad.backend.service.TelemetrySegmentStore;
+import jakarta.validation.Valid;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/telemetry")
+@RequiredArgsConstructor
+public class TelemetryController {
+
+  private final TelemetrySegmentStore telemetrySegmentStore;
+
+  /**
+   * Stores player telemetry. Telemetry is best effort: the response is 202 even when events were
+   * dropped, and the body says how many. The viewer comes from the token, without a user lookup.
+   */
+  @PostMapping
+  public ResponseEntity<EngagementIngestResult> ingest(
+      @RequestAttribute(name = JwtAuthenticationFilter.USER_ID_ATTRIBUTE, required = false)
+          UUID userId,
+      @Valid @RequestBody TelemetryBatchRequest request) {
+    if (userId == null) {
+      throw new AuthenticationException("User not found");
+    }
+    return ResponseEntity.accepted().body(telemetrySegmentStore.submit(userId, request.events()));
+  }
+}
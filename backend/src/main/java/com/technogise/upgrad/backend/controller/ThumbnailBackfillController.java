@@ -0,0 +1,22 @@
+package com.technogise.upgrad.backend.controller;
+
+import com.technogise.upgrad.backend.dto.ThumbnailBackfillReport;
+import com.technogise.upgrad.backend.service.ThumbnailService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/thumbnails")
+@RequiredArgsConstructor
+public class ThumbnailBackfillController {
+
+  private final ThumbnailService thumbnailService;
+
+  @PostMapping("/backfill")
+  public ResponseEntity<ThumbnailBackfillReport> backfill() {
+    return ResponseEntity.ok(thumbnailService.backfill());
+  }
+}
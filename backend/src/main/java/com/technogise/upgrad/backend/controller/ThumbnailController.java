@@ -0,0 +1,42 @@
+package com.technogise.upgrad.backend.controller;
+
+import com.technogise.upgrad.backend.exception.ResourceNotFoundException;
+import com.technogise.upgrad.backend.service.ThumbnailService;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/thumbnails")
+@RequiredArgsConstructor
+public class ThumbnailController {
+
+  private static final long ONE_YEAR_DAYS = 365;
+
+  private final ThumbnailService thumbnailService;
+
+  // Derivative names are hashes of their bytes, so a response can be cached for good by browsers
+  // and shared caches alike.
+  @GetMapping("/{fileName:[0-9a-f]+\\.jpg}")
+  public ResponseEntity<Resource> getThumbnail(@PathVariable String fileName) {
+    return thumbnailService
+        .findFile(fileName)
+        .map(
+            file ->
+                ResponseEntity.ok()
+                    .cacheControl(
+                        CacheControl.maxAge(ONE_YEAR_DAYS, TimeUnit.DAYS).cachePublic().immutable())
+                    .eTag(fileName)
+                    .contentType(MediaType.IMAGE_JPEG)
+                    .<Resource>body(new FileSystemResource(file)))
+        .orElseThrow(() -> new ResourceNotFoundException("Thumbnail not found: " + fileName));
+  }
+}
@@ -0,0 +1,60 @@
+package com.technogise.upgrad.backend.controller;
+
+import com.technogise.upgrad.backend.config.WatchHistoryExportConfig;
+import com.technogise.upgrad.backend.constants.ManifestFormat;
+import com.technogise.upgrad.backend.service.WatchHistoryExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+@RestController
+@RequestMapping("/api/admin/exports")
+@RequiredArgsConstructor
+public class WatchHistoryExportController {
+
+  private final WatchHistoryExportService watchHistoryExportService;
+  private final WatchHistoryExportConfig config;
+
+  /**
+   * Streams watch history joined with content as {@code ndjson} (the default) or {@code csv}. The
+   * body is written on an async thread while rows are read, so the response starts immediately and
+   * its size is unbounded. The download gets its own timeout rather than raising the default for
+   * every async request.
+   */
+  @GetMapping("/watch-history")
+  public WebAsyncTask<Void> exportWatchHistory(
+      @RequestParam(defaultValue = "ndjson") final String format,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final LocalDateTime since,
+      final HttpServletResponse response) {
+    final ManifestFormat resolved = resolveFormat(format);
+    final String extension = resolved == ManifestFormat.CSV ? "csv" : "ndjson";
+    response.setContentType(
+        resolved == ManifestFormat.CSV ? ManifestFormat.CSV_VALUE : ManifestFormat.NDJSON_VALUE);
+    response.setHeader(
+        HttpHeaders.CONTENT_DISPOSITION,
+        ContentDisposition.attachment().filename("watch-history." + extension).build().toString());
+    return new WebAsyncTask<>(
+        config.getTimeoutMs(),
+        () -> {
+          watchHistoryExportService.export(resolved, since, response.getOutputStream());
+          return null;
+        });
+  }
+
+  private static ManifestFormat resolveFormat(final String format) {
+    return switch (format) {
+      case "csv" -> ManifestFormat.CSV;
+      case "ndjson" -> ManifestFormat.JSON_LINES;
+      default -> throw new IllegalArgumentException("format must be csv or ndjson");
+    };
+  }
+}
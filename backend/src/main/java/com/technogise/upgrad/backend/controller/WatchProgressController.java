@@ -1,6 +1,8 @@
 package com.technogise.upgrad.backend.controller;
 
 import com.technogise.upgrad.backend.dto.EpisodeFeedbackRequest;
+import com.technogise.upgrad.backend.dto.WatchProgressBatchRequest;
+import com.technogise.upgrad.backend.dto.WatchProgressBatchResponse;
 import com.technogise.upgrad.backend.dto.WatchProgressRequest;
 import com.technogise.upgrad.backend.dto.WatchProgressResponse;
 import com.technogise.upgrad.backend.entity.User;
@@ -8,6 +10,7 @@ import com.technogise.upgrad.backend.exception.AuthenticationException;
 import com.technogise.upgrad.backend.repository.UserRepository;
 import com.technogise.upgrad.backend.service.WatchProgressService;
 import jakarta.validation.Valid;
+import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +20,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -35,6 +39,14 @@ public class WatchProgressController {
     return ResponseEntity.ok().build();
   }
 
+  @PutMapping("/batch")
+  public ResponseEntity<WatchProgressBatchResponse> saveProgressBatch(
+      Authentication authentication, @Valid @RequestBody WatchProgressBatchRequest request) {
+    final User user = resolveUser(authentication);
+    return ResponseEntity.ok(
+        watchProgressService.saveProgressBatch(user.getId(), request.updates()));
+  }
+
   @PutMapping("/feedback")
   public ResponseEntity<Void> saveFeedback(
       Authentication authentication, @Valid @RequestBody EpisodeFeedbackRequest request) {
@@ -43,6 +55,17 @@ public class WatchProgressController {
     return ResponseEntity.ok().build();
   }
 
+  /**
+   * Returns progress for the listed content items, or for every unfinished item when no ids are
+   * given, so that a page of tiles needs one request for its progress bars.
+   */
+  @GetMapping
+  public ResponseEntity<List<WatchProgressResponse>> getProgressSnapshot(
+      Authentication authentication, @RequestParam(required = false) List<UUID> contentIds) {
+    final User user = resolveUser(authentication);
+    return ResponseEntity.ok(watchProgressService.getProgressSnapshot(user.getId(), contentIds));
+  }
+
   @GetMapping("/{contentId}")
   public ResponseEntity<WatchProgressResponse> getProgress(
       Authentication authentication, @PathVariable UUID contentId) {
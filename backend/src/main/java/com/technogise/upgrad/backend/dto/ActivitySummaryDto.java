@@ -0,0 +1,7 @@
+package com.technogise.upgrad.backend.dto;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public record ActivitySummaryDto(
+    int currentStreak, YearMonth month, int activeDaysInMonth, List<Integer> activeDays) {}
@@ -12,4 +12,5 @@ public record ContentDetailDto(
     String category,
     Integer episodeNumber,
     Integer durationSeconds,
-    LocalDateTime createdAt) {}
+    LocalDateTime createdAt,
+    long uniqueViewers) {}
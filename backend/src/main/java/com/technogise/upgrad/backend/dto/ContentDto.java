@@ -3,4 +3,16 @@ package com.technogise.upgrad.backend.dto;
 import java.util.UUID;
 
 public record ContentDto(
-    UUID id, String title, String description, String thumbnailUrl, String category) {}
+    UUID id,
+    String title,
+    String description,
+    String thumbnailUrl,
+    String category,
+    String thumbnailSrcset) {
+
+  // Used by the rail projection queries; derivatives are attached afterwards.
+  public ContentDto(
+      UUID id, String title, String description, String thumbnailUrl, String category) {
+    this(id, title, description, thumbnailUrl, category, null);
+  }
+}
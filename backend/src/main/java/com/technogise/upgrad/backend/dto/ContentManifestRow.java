@@ -0,0 +1,17 @@
+package com.technogise.upgrad.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * One content entry of a bulk ingestion manifest. Titles are the natural key: a row whose title
+ * already exists updates that content instead of inserting a new one.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ContentManifestRow(
+    String title,
+    String description,
+    String thumbnailUrl,
+    String videoUrl,
+    String category,
+    Integer episodeNumber,
+    Integer durationSeconds) {}
@@ -10,4 +10,28 @@ public record ContinueWatchingDto(
     int progressPercent,
     String category,
     Integer episodeNumber,
-    int lastWatchedPosition) {}
+    int lastWatchedPosition,
+    String thumbnailSrcset) {
+
+  // Used by the continue watching projection query; derivatives are attached afterwards.
+  public ContinueWatchingDto(
+      UUID contentId,
+      String title,
+      String description,
+      String thumbnailUrl,
+      int progressPercent,
+      String category,
+      Integer episodeNumber,
+      int lastWatchedPosition) {
+    this(
+        contentId,
+        title,
+        description,
+        thumbnailUrl,
+        progressPercent,
+        category,
+        episodeNumber,
+        lastWatchedPosition,
+        null);
+  }
+}
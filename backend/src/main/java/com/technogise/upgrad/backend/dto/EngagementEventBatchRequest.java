@@ -0,0 +1,13 @@
+package com.technogise.upgrad.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record EngagementEventBatchRequest(
+    @NotEmpty @Size(max = EngagementEventBatchRequest.MAX_EVENTS) @Valid
+        List<EngagementEventRequest> events) {
+
+  public static final int MAX_EVENTS = 100;
+}
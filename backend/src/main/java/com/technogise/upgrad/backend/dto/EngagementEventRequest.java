@@ -0,0 +1,23 @@
+package com.technogise.upgrad.backend.dto;
+
+import com.technogise.upgrad.backend.constants.EngagementEventType;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A player event reported by the client.
+ *
+ * @param contentId the content being played
+ * @param type what happened
+ * @param positionSeconds playback position when it happened
+ * @param watchDurationSeconds seconds watched since the previous event, if the client tracks it
+ * @param occurredAt when it happened on the client; defaults to the time it was received
+ */
+public record EngagementEventRequest(
+    @NotNull UUID contentId,
+    @NotNull EngagementEventType type,
+    @Min(0) Integer positionSeconds,
+    @Min(0) Integer watchDurationSeconds,
+    Instant occurredAt) {}
@@ -0,0 +1,14 @@
+package com.technogise.upgrad.backend.dto;
+
+import com.technogise.upgrad.backend.constants.EngagementEventType;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record EngagementEventRow(
+    UUID userId,
+    UUID contentId,
+    EngagementEventType type,
+    Integer positionSeconds,
+    Integer watchDurationSeconds,
+    LocalDateTime occurredAt,
+    LocalDateTime receivedAt) {}
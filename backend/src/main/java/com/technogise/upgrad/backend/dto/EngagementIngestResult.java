@@ -0,0 +1,10 @@
+package com.technogise.upgrad.backend.dto;
+
+/**
+ * Outcome of submitting a batch of engagement events. Events are queued in order, so when the queue
+ * is full the rejected events are always the tail of the batch and can be resent as they are.
+ *
+ * @param accepted events queued for writing, from the start of the batch
+ * @param rejected events at the end of the batch that did not fit in the queue
+ */
+public record EngagementIngestResult(int accepted, int rejected) {}
@@ -0,0 +1,19 @@
+package com.technogise.upgrad.backend.dto;
+
+/**
+ * Engagement aggregates for one content item or one category.
+ *
+ * @param key the content id or category name
+ * @param starts viewers who started watching
+ * @param completions viewers whose latest progress is 100%
+ * @param averageProgressPercent mean of the viewers' latest progress
+ * @param helpful viewers who rated the content helpful
+ * @param notHelpful viewers who rated the content not helpful
+ */
+public record EngagementStatsDto(
+    String key,
+    long starts,
+    long completions,
+    double averageProgressPercent,
+    long helpful,
+    long notHelpful) {}
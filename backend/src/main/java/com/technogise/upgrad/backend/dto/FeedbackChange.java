@@ -0,0 +1,7 @@
+package com.technogise.upgrad.backend.dto;
+
+import com.technogise.upgrad.backend.constants.Feedback;
+import java.util.UUID;
+
+/** A viewer's vote on a content item as stored, and the vote it replaced, if any. */
+public record FeedbackChange(UUID contentId, Feedback previous, Feedback current) {}
@@ -0,0 +1,5 @@
+package com.technogise.upgrad.backend.dto;
+
+import java.util.UUID;
+
+public record FeedbackCountsDto(UUID contentId, long helpful, long notHelpful) {}
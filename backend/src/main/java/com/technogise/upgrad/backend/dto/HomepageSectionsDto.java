@@ -5,6 +5,6 @@ import java.util.List;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public record HomepageSectionsDto(
-    ContinueWatchingDto continueWatching,
+    List<ContinueWatchingDto> continueWatching,
     List<ContentDto> recommended,
     List<ContentDto> exploration) {}
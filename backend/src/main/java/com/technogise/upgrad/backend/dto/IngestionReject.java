@@ -0,0 +1,3 @@
+package com.technogise.upgrad.backend.dto;
+
+public record IngestionReject(long lineNumber, String title, String reason) {}
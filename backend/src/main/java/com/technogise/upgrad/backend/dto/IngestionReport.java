@@ -0,0 +1,15 @@
+package com.technogise.upgrad.backend.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a manifest ingestion run.
+ *
+ * @param batches number of batches written to the catalog
+ * @param accepted rows inserted or changed
+ * @param unchanged valid rows identical to the stored content, left as they were
+ * @param rejected rows skipped because they were malformed, invalid or the database refused them
+ * @param rejects details of rejected rows, truncated to the configured reporting limit
+ */
+public record IngestionReport(
+    int batches, long accepted, long unchanged, long rejected, List<IngestionReject> rejects) {}
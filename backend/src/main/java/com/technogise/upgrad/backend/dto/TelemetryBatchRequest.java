@@ -0,0 +1,13 @@
+package com.technogise.upgrad.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record TelemetryBatchRequest(
+    @NotEmpty @Size(max = TelemetryBatchRequest.MAX_EVENTS) @Valid
+        List<TelemetryEventRequest> events) {
+
+  public static final int MAX_EVENTS = 500;
+}
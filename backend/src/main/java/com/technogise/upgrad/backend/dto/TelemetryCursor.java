@@ -0,0 +1,14 @@
+package com.technogise.upgrad.backend.dto;
+
+/**
+ * A position in the telemetry segment store, returned by a scan so the next one can resume after
+ * the last record read.
+ *
+ * @param segment the segment sequence number
+ * @param offset the byte offset of the next record within the segment
+ */
+public record TelemetryCursor(long segment, int offset) {
+
+  /** Before the oldest record still retained. */
+  public static final TelemetryCursor START = new TelemetryCursor(0, 0);
+}
@@ -0,0 +1,23 @@
+package com.technogise.upgrad.backend.dto;
+
+import com.technogise.upgrad.backend.constants.TelemetryEventType;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A telemetry event reported by the player.
+ *
+ * @param contentId the content being played
+ * @param type what happened
+ * @param positionSeconds playback position when it happened
+ * @param value the type-specific measurement, see {@link TelemetryEventType}
+ * @param occurredAt when it happened on the client; defaults to the time it was received
+ */
+public record TelemetryEventRequest(
+    @NotNull UUID contentId,
+    @NotNull TelemetryEventType type,
+    @Min(0) int positionSeconds,
+    int value,
+    Instant occurredAt) {}
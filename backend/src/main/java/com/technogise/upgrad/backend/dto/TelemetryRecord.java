@@ -0,0 +1,23 @@
+package com.technogise.upgrad.backend.dto;
+
+import com.technogise.upgrad.backend.constants.TelemetryEventType;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One player telemetry event as stored in the segment files.
+ *
+ * @param userId the viewer
+ * @param contentId the content being played
+ * @param type what happened
+ * @param positionSeconds playback position when it happened
+ * @param value the type-specific measurement, see {@link TelemetryEventType}
+ * @param occurredAt when it happened, millisecond precision
+ */
+public record TelemetryRecord(
+    UUID userId,
+    UUID contentId,
+    TelemetryEventType type,
+    int positionSeconds,
+    int value,
+    Instant occurredAt) {}
@@ -0,0 +1,3 @@
+package com.technogise.upgrad.backend.dto;
+
+public record ThumbnailBackfillReport(long scanned, long generated, long upToDate, long failed) {}
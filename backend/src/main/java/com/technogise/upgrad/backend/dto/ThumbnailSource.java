@@ -0,0 +1,5 @@
+package com.technogise.upgrad.backend.dto;
+
+import java.util.UUID;
+
+public record ThumbnailSource(UUID contentId, String thumbnailUrl) {}
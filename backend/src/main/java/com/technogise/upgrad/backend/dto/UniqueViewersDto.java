@@ -0,0 +1,15 @@
+package com.technogise.upgrad.backend.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Estimated distinct viewers of one content item or one category.
+ *
+ * @param key the content id or category name
+ * @param from the first day counted, or {@code null} when counting all time
+ * @param to the last day counted, or {@code null} when counting all time
+ * @param uniqueViewers the estimated number of distinct viewers who finished the content
+ * @param relativeStandardError the estimate's relative standard error, e.g. 0.023 for 2.3%
+ */
+public record UniqueViewersDto(
+    String key, LocalDate from, LocalDate to, long uniqueViewers, double relativeStandardError) {}
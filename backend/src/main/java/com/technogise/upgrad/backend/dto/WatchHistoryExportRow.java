@@ -0,0 +1,16 @@
+package com.technogise.upgrad.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record WatchHistoryExportRow(
+    UUID userId,
+    UUID contentId,
+    String title,
+    String category,
+    Integer episodeNumber,
+    Integer durationSeconds,
+    int progressPercent,
+    int lastWatchedPosition,
+    String feedback,
+    LocalDateTime lastWatchedAt) {}
@@ -0,0 +1,16 @@
+package com.technogise.upgrad.backend.dto;
+
+import com.technogise.upgrad.backend.constants.ProgressSyncStatus;
+import java.util.UUID;
+
+/**
+ * Outcome of one entry in a progress batch.
+ *
+ * @param index position of the entry in the request
+ * @param contentId the entry's content, if it had one
+ * @param status whether the entry was written, replaced by a later entry for the same content,
+ *     referenced unknown content or was invalid
+ * @param reason why the entry was rejected, otherwise null
+ */
+public record WatchProgressBatchItemResult(
+    int index, UUID contentId, ProgressSyncStatus status, String reason) {}
@@ -0,0 +1,18 @@
+package com.technogise.upgrad.backend.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Progress updates queued by a client while offline, oldest first. Entries are validated one by one
+ * so that a bad entry does not fail the rest of the batch.
+ *
+ * @param updates the queued updates
+ */
+public record WatchProgressBatchRequest(
+    @NotEmpty @Size(max = WatchProgressBatchRequest.MAX_UPDATES)
+        List<WatchProgressRequest> updates) {
+
+  public static final int MAX_UPDATES = 500;
+}
@@ -0,0 +1,5 @@
+package com.technogise.upgrad.backend.dto;
+
+import java.util.List;
+
+public record WatchProgressBatchResponse(List<WatchProgressBatchItemResult> results) {}
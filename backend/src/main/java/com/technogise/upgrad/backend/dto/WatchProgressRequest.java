@@ -3,9 +3,27 @@ package com.technogise.upgrad.backend.dto;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
 import java.util.UUID;
 
+/**
+ * A viewer's position in a content item.
+ *
+ * @param contentId the content being watched
+ * @param progressPercent progress through the content
+ * @param lastWatchedPosition playback position in seconds
+ * @param occurredAt when the client recorded the position; read only by offline sync, where it
+ *     orders queued updates against newer progress from other devices. Live updates are stamped
+ *     when received.
+ */
 public record WatchProgressRequest(
     @NotNull UUID contentId,
     @Min(0) @Max(100) int progressPercent,
-    @Min(0) int lastWatchedPosition) {}
+    @Min(0) int lastWatchedPosition,
+    Instant occurredAt) {
+
+  public WatchProgressRequest(
+      final UUID contentId, final int progressPercent, final int lastWatchedPosition) {
+    this(contentId, progressPercent, lastWatchedPosition, null);
+  }
+}
@@ -0,0 +1,11 @@
+package com.technogise.upgrad.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record WatchProgressUpdate(
+    UUID userId,
+    UUID contentId,
+    int progressPercent,
+    int lastWatchedPosition,
+    LocalDateTime lastWatchedAt) {}
@@ -0,0 +1,33 @@
+package com.technogise.upgrad.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Entry of the categories dictionary. Contents and user interests reference a category by its
+ * two-byte id rather than repeating its name.
+ */
+@Entity
+@Table(name = "categories")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class Category {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Short id;
+
+  @Column(nullable = false, unique = true, length = 100)
+  private String name;
+}
@@ -1,10 +1,15 @@
 package com.technogise.upgrad.backend.entity;
 
+import com.technogise.upgrad.backend.constants.Interest;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -39,8 +44,14 @@ public class Content {
   @Column(name = "video_url")
   private String videoUrl;
 
-  @Column(nullable = false, length = 100)
-  private String category;
+  @ManyToOne(optional = false)
+  @JoinColumn(name = "category_id", nullable = false)
+  private Category category;
+
+  /** The interest bit matching the category, 0 when the category is not an interest. */
+  @Column(name = "category_mask", nullable = false)
+  @Builder.Default
+  private Integer categoryMask = 0;
 
   @Column(name = "episode_number")
   private Integer episodeNumber;
@@ -51,4 +62,10 @@ public class Content {
   @Column(nullable = false, updatable = false)
   @Builder.Default
   private LocalDateTime createdAt = LocalDateTime.now();
+
+  @PrePersist
+  @PreUpdate
+  void deriveCategoryMask() {
+    categoryMask = Interest.maskOf(category.getName());
+  }
 }
@@ -0,0 +1,44 @@
+package com.technogise.upgrad.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Entity
+@Table(name = "content_engagement_rollups")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class ContentEngagementRollup {
+  @Id
+  @Column(name = "content_id")
+  private UUID contentId;
+
+  @Column(nullable = false)
+  private long starts;
+
+  @Column(nullable = false)
+  private long completions;
+
+  @Column(name = "progress_sum", nullable = false)
+  private long progressSum;
+
+  @Column(nullable = false)
+  private long helpful;
+
+  @Column(name = "not_helpful", nullable = false)
+  private long notHelpful;
+
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+}
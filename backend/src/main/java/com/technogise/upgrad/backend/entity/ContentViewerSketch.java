@@ -0,0 +1,29 @@
+package com.technogise.upgrad.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Entity
+@Table(name = "content_viewer_sketches")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = "registers")
+public class ContentViewerSketch {
+  @Id
+  @Column(name = "content_id")
+  private UUID contentId;
+
+  /** HyperLogLog registers, one byte each, of everyone who has made progress on the content. */
+  @Column(nullable = false)
+  private byte[] registers;
+}
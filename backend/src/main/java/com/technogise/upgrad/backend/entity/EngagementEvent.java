@@ -0,0 +1,50 @@
+package com.technogise.upgrad.backend.entity;
+
+import com.technogise.upgrad.backend.constants.EngagementEventType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/** Read-only view of the append-only event log; rows are written in batches over JDBC. */
+@Entity
+@Table(name = "engagement_events")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class EngagementEvent {
+  @Id private UUID id;
+
+  @Column(name = "user_id", nullable = false)
+  private UUID userId;
+
+  @Column(name = "content_id", nullable = false)
+  private UUID contentId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "event_type", nullable = false, length = 16)
+  private EngagementEventType eventType;
+
+  @Column(name = "position_seconds")
+  private Integer positionSeconds;
+
+  @Column(name = "watch_duration_seconds")
+  private Integer watchDurationSeconds;
+
+  @Column(name = "occurred_at", nullable = false)
+  private LocalDateTime occurredAt;
+
+  @Column(name = "received_at", nullable = false)
+  private LocalDateTime receivedAt;
+}
@@ -0,0 +1,47 @@
+package com.technogise.upgrad.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Entity
+@Table(
+    name = "thumbnail_derivatives",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"content_id", "width"}))
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class ThumbnailDerivative {
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  private UUID id;
+
+  @Column(name = "content_id", nullable = false)
+  private UUID contentId;
+
+  @Column(nullable = false)
+  private Integer width;
+
+  @Column(name = "file_name", nullable = false, length = 100)
+  private String fileName;
+
+  @Column(name = "source_url", nullable = false, length = 500)
+  private String sourceUrl;
+
+  @Column(nullable = false, updatable = false)
+  @Builder.Default
+  private LocalDateTime createdAt = LocalDateTime.now();
+}
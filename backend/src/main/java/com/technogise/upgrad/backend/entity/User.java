@@ -33,6 +33,11 @@ public class User {
   @Builder.Default
   private Boolean onboardingCompleted = false;
 
+  /** Selected interests as {@link com.technogise.upgrad.backend.constants.Interest} bits. */
+  @Column(name = "interest_mask", nullable = false)
+  @Builder.Default
+  private Integer interestMask = 0;
+
   @Column(nullable = false, updatable = false)
   @Builder.Default
   private LocalDateTime createdAt = LocalDateTime.now();
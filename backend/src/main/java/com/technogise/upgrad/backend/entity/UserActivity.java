@@ -0,0 +1,33 @@
+package com.technogise.upgrad.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Entity
+@Table(name = "user_activity")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = "days")
+public class UserActivity {
+  @Id
+  @Column(name = "user_id")
+  private UUID userId;
+
+  @Column(name = "first_day", nullable = false)
+  private LocalDate firstDay;
+
+  /** One bit per day from {@link #firstDay}, least significant bit of each byte first. */
+  @Column(nullable = false)
+  private byte[] days;
+}
@@ -2,6 +2,7 @@ package com.technogise.upgrad.backend.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -20,7 +21,7 @@ import lombok.ToString;
 @Entity
 @Table(
     name = "user_interests",
-    uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "interest_name"}))
+    uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "category_id"}))
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -35,8 +36,10 @@ public class UserInterest {
   @JoinColumn(name = "user_id", nullable = false)
   private User user;
 
-  @Column(name = "interest_name", nullable = false, length = 100)
-  private String interestName;
+  /** The interest, as the category of the same name. */
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
+  @JoinColumn(name = "category_id", nullable = false)
+  private Category category;
 
   @Column(nullable = false, updatable = false)
   @Builder.Default
@@ -7,6 +7,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import java.time.LocalDateTime;
@@ -55,7 +56,26 @@ public class WatchHistory {
   @Setter
   private LocalDateTime lastWatchedAt = LocalDateTime.now();
 
+  /** Continue-watching order: {@link #lastWatchedAt}, moved forward at most every five minutes. */
+  @Column(name = "last_active_at", nullable = false)
+  private LocalDateTime lastActiveAt;
+
+  // Generated by the database from progress_percent, so Hibernate never writes it.
+  @Column(
+      name = "completed",
+      insertable = false,
+      updatable = false,
+      columnDefinition = "BOOLEAN GENERATED ALWAYS AS (progress_percent >= 100)")
+  private Boolean completed;
+
   @Column(name = "feedback")
   @Setter
   private String feedback;
+
+  @PrePersist
+  void defaultLastActiveAt() {
+    if (lastActiveAt == null) {
+      lastActiveAt = lastWatchedAt;
+    }
+  }
 }
@@ -0,0 +1,11 @@
+package com.technogise.upgrad.backend.event;
+
+import java.util.List;
+
+/**
+ * Published once per committed ingestion batch so that anything derived from the catalog can be
+ * refreshed without polling the contents table.
+ *
+ * @param titles titles of the contents inserted or updated by the batch
+ */
+public record CatalogChangedEvent(List<String> titles) {}
@@ -0,0 +1,14 @@
+package com.technogise.upgrad.backend.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Published when a committed progress write marks a content item as finished. A viewer who finishes
+ * the same item again, or whose completion is replayed, produces another event.
+ *
+ * @param userId the viewer
+ * @param contentId the finished content
+ * @param completedAt when the completion was published
+ */
+public record ContentCompletedEvent(UUID userId, UUID contentId, Instant completedAt) {}
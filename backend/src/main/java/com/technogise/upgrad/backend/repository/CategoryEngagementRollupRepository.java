@@ -0,0 +1,9 @@
+package com.technogise.upgrad.backend.repository;
+
+import com.technogise.upgrad.backend.entity.CategoryEngagementRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CategoryEngagementRollupRepository
+    extends JpaRepository<CategoryEngagementRollup, String> {}
@@ -0,0 +1,8 @@
+package com.technogise.upgrad.backend.repository;
+
+import com.technogise.upgrad.backend.entity.Category;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CategoryRepository extends JpaRepository<Category, Short> {}
@@ -0,0 +1,17 @@
+package com.technogise.upgrad.backend.repository;
+
+import com.technogise.upgrad.backend.dto.ContentManifestRow;
+import java.util.List;
+
+public interface ContentBulkOperations {
+
+  /**
+   * Inserts or updates the given rows in a single statement, matching existing contents by title.
+   * Categories not in the dictionary yet are added first. Rows identical to the stored content are
+   * left untouched.
+   *
+   * @param rows validated manifest rows with distinct titles
+   * @return titles of the rows inserted or changed
+   */
+  List<String> upsertByTitle(List<ContentManifestRow> rows);
+}
@@ -0,0 +1,95 @@
+package com.technogise.upgrad.backend.repository;
+
+import com.technogise.upgrad.backend.constants.Interest;
+import com.technogise.upgrad.backend.dto.ContentManifestRow;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+public class ContentBulkOperationsImpl implements ContentBulkOperations {
+
+  // Only names missing from the dictionary reach the insert: every attempted insert draws an id
+  // from the two-byte sequence, even one ON CONFLICT then discards.
+  private static final String ADD_CATEGORIES_SQL =
+      """
+      INSERT INTO categories (name)
+      SELECT DISTINCT n.name FROM unnest(?) AS n(name)
+      WHERE NOT EXISTS (SELECT 1 FROM categories k WHERE k.name = n.name)
+      ON CONFLICT (name) DO NOTHING
+      """;
+
+  // The IS DISTINCT FROM guard keeps re-ingesting an unchanged manifest from rewriting rows. One
+  // statement over unnest() rather than a JDBC batch, so that RETURNING names the rows actually
+  // written; a rewritten batch only reports SUCCESS_NO_INFO.
+  private static final String UPSERT_BY_TITLE_SQL =
+      """
+      INSERT INTO contents (title, description, thumbnail_url, video_url, category_id,
+                            episode_number, duration_seconds, category_mask)
+      SELECT r.title, r.description, r.thumbnail_url, r.video_url,
+             (SELECT id FROM categories WHERE name = r.category), r.episode_number,
+             r.duration_seconds, r.category_mask
+      FROM unnest(?::VARCHAR[], ?::TEXT[], ?::VARCHAR[], ?::VARCHAR[], ?::VARCHAR[], ?::INT[],
+                  ?::INT[], ?::INT[])
+          AS r(title, description, thumbnail_url, video_url, category, episode_number,
+               duration_seconds, category_mask)
+      ON CONFLICT (title) DO UPDATE SET
+          description = EXCLUDED.description,
+          thumbnail_url = EXCLUDED.thumbnail_url,
+          video_url = EXCLUDED.video_url,
+          category_id = EXCLUDED.category_id,
+          category_mask = EXCLUDED.category_mask,
+          episode_number = EXCLUDED.episode_number,
+          duration_seconds = EXCLUDED.duration_seconds
+      WHERE (contents.description, contents.thumbnail_url, contents.video_url,
+             contents.category_id, contents.episode_number, contents.duration_seconds)
+          IS DISTINCT FROM (EXCLUDED.description, EXCLUDED.thumbnail_url, EXCLUDED.video_url,
+                            EXCLUDED.category_id, EXCLUDED.episode_number,
+                            EXCLUDED.duration_seconds)
+      RETURNING title
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  @Transactional
+  public List<String> upsertByTitle(final List<ContentManifestRow> rows) {
+    final Object[] categories = column(rows, ContentManifestRow::category);
+    jdbcTemplate.update(
+        ADD_CATEGORIES_SQL,
+        ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", categories)));
+    return jdbcTemplate.query(
+        connection -> {
+          final PreparedStatement ps = connection.prepareStatement(UPSERT_BY_TITLE_SQL);
+          ps.setArray(
+              1, connection.createArrayOf("varchar", column(rows, ContentManifestRow::title)));
+          ps.setArray(
+              2, connection.createArrayOf("text", column(rows, ContentManifestRow::description)));
+          ps.setArray(
+              3,
+              connection.createArrayOf("varchar", column(rows, ContentManifestRow::thumbnailUrl)));
+          ps.setArray(
+              4, connection.createArrayOf("varchar", column(rows, ContentManifestRow::videoUrl)));
+          ps.setArray(5, connection.createArrayOf("varchar", categories));
+          ps.setArray(
+              6, connection.createArrayOf("int4", column(rows, ContentManifestRow::episodeNumber)));
+          ps.setArray(
+              7,
+              connection.createArrayOf("int4", column(rows, ContentManifestRow::durationSeconds)));
+          ps.setArray(
+              8,
+              connection.createArrayOf(
+                  "int4", column(rows, row -> Interest.maskOf(row.category()))));
+          return ps;
+        },
+        (rs, rowNum) -> rs.getString(1));
+  }
+
+  private static Object[] column(
+      final List<ContentManifestRow> rows, final Function<ContentManifestRow, Object> value) {
+    return rows.stream().map(value).toArray();
+  }
+}
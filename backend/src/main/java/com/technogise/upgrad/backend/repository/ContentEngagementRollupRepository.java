@@ -0,0 +1,10 @@
+package com.technogise.upgrad.backend.repository;
+
+import com.technogise.upgrad.backend.entity.ContentEngagementRollup;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ContentEngagementRollupRepository
+    extends JpaRepository<ContentEngagementRollup, UUID>, EngagementRollupOperations {}
@@ -1,19 +1,58 @@
 package com.technogise.upgrad.backend.repository;
 
+import com.technogise.upgrad.backend.dto.ContentDto;
+import com.technogise.upgrad.backend.dto.ThumbnailSource;
 import com.technogise.upgrad.backend.entity.Content;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface ContentRepository extends JpaRepository<Content, UUID> {
-  List<Content> findByCategoryIn(List<String> categories, Pageable pageable);
+public interface ContentRepository extends JpaRepository<Content, UUID>, ContentBulkOperations {
 
-  List<Content> findByCategoryNotIn(List<String> categories, Pageable pageable);
+  // Rail queries project straight into ContentDto so that no managed entities, and none of the
+  // columns the tiles do not render, are loaded for a homepage call.
 
-  Optional<Content> findFirstByCategoryAndEpisodeNumberGreaterThanOrderByEpisodeNumberAsc(
-      String category, Integer episodeNumber);
+  // Categories are matched against a user's interests with a bitwise AND of Interest masks. The
+  // cast types the parameter for H2, which cannot infer it inside bitand.
+
+  @Query(
+      "SELECT new com.technogise.upgrad.backend.dto.ContentDto("
+          + "c.id, c.title, c.description, c.thumbnailUrl, c.category.name) "
+          + "FROM Content c WHERE bitand(c.categoryMask, cast(:interestMask as Integer)) <> 0")
+  List<ContentDto> findTilesMatchingInterests(
+      @Param("interestMask") int interestMask, Pageable pageable);
+
+  @Query(
+      "SELECT new com.technogise.upgrad.backend.dto.ContentDto("
+          + "c.id, c.title, c.description, c.thumbnailUrl, c.category.name) "
+          + "FROM Content c WHERE bitand(c.categoryMask, cast(:interestMask as Integer)) = 0")
+  List<ContentDto> findTilesOutsideInterests(
+      @Param("interestMask") int interestMask, Pageable pageable);
+
+  @Query(
+      "SELECT new com.technogise.upgrad.backend.dto.ContentDto("
+          + "c.id, c.title, c.description, c.thumbnailUrl, c.category.name) "
+          + "FROM Content c")
+  List<ContentDto> findTiles(Pageable pageable);
+
+  @Query(
+      "SELECT new com.technogise.upgrad.backend.dto.ThumbnailSource(c.id, c.thumbnailUrl) "
+          + "FROM Content c WHERE c.thumbnailUrl IS NOT NULL ORDER BY c.id")
+  List<ThumbnailSource> findThumbnailSources(Pageable pageable);
+
+  @Query("SELECT c.id FROM Content c WHERE c.id IN :ids")
+  List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+  @Query("SELECT c.videoUrl FROM Content c WHERE c.id = :id")
+  Optional<String> findVideoUrlById(@Param("id") UUID id);
+
+  Optional<Content> findFirstByCategoryIdAndEpisodeNumberGreaterThanOrderByEpisodeNumberAsc(
+      Short categoryId, Integer episodeNumber);
 }
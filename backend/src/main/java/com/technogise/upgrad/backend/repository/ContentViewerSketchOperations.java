@@ -0,0 +1,61 @@
+package com.technogise.upgrad.backend.repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public interface ContentViewerSketchOperations {
+
+  /** Registers per stored sketch, one byte each. */
+  int SKETCH_REGISTERS = 2048;
+
+  /**
+   * Raises one register of a content item's all-time and daily sketches to a viewer's rank, in one
+   * statement each, creating the sketches on the first viewer. A register already at or above the
+   * rank writes nothing.
+   *
+   * @param contentId the content item watched
+   * @param day the day it was watched
+   * @param register the register the viewer hashes to
+   * @param rank the viewer's rank, stored if higher than the register
+   * @throws org.springframework.dao.DataIntegrityViolationException if the content does not exist
+   */
+  void addViewer(UUID contentId, LocalDate day, int register, int rank);
+
+  /**
+   * Deletes the daily sketches of every content item before a day.
+   *
+   * @param day the first day to keep
+   * @return the number of sketches deleted
+   */
+  int deleteDailySketchesBefore(LocalDate day);
+
+  /**
+   * Streams the daily sketches of a content item over a date range, for merging.
+   *
+   * @param contentId the content item
+   * @param from the first day, inclusive
+   * @param to the last day, inclusive
+   * @param sink receives the registers of each day with viewers
+   */
+  void scanDailySketches(UUID contentId, LocalDate from, LocalDate to, Consumer<byte[]> sink);
+
+  /**
+   * Streams the all-time sketches of a category's content items, for merging.
+   *
+   * @param category the category name
+   * @param sink receives the registers of each content item with viewers
+   */
+  void scanCategorySketches(String category, Consumer<byte[]> sink);
+
+  /**
+   * Streams the daily sketches of a category's content items over a date range, for merging.
+   *
+   * @param category the category name
+   * @param from the first day, inclusive
+   * @param to the last day, inclusive
+   * @param sink receives the registers of each content item and day with viewers
+   */
+  void scanCategoryDailySketches(
+      String category, LocalDate from, LocalDate to, Consumer<byte[]> sink);
+}
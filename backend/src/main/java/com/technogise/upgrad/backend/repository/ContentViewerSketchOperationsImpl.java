@@ -0,0 +1,104 @@
+package com.technogise.upgrad.backend.repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+public class ContentViewerSketchOperationsImpl implements ContentViewerSketchOperations {
+
+  // A new sketch is all zeros but the viewer's register. The WHERE clause turns an add that leaves
+  // the register unchanged, the common case once a sketch has seen a few thousand viewers, into a
+  // no-op that leaves no dead row version behind.
+  private static final String ADD_VIEWER_SQL =
+      """
+      INSERT INTO content_viewer_sketches AS s (content_id, registers)
+      VALUES (?, set_byte(decode(repeat('00', %1$d), 'hex'), ?, ?))
+      ON CONFLICT (content_id) DO UPDATE SET registers = set_byte(s.registers, ?, ?)
+      WHERE get_byte(s.registers, ?) < ?
+      """
+          .formatted(SKETCH_REGISTERS);
+
+  private static final String ADD_DAILY_VIEWER_SQL =
+      """
+      INSERT INTO content_daily_viewer_sketches AS s (content_id, day, registers)
+      VALUES (?, ?, set_byte(decode(repeat('00', %1$d), 'hex'), ?, ?))
+      ON CONFLICT (content_id, day) DO UPDATE SET registers = set_byte(s.registers, ?, ?)
+      WHERE get_byte(s.registers, ?) < ?
+      """
+          .formatted(SKETCH_REGISTERS);
+
+  private static final String DELETE_DAILY_SKETCHES_SQL =
+      "DELETE FROM content_daily_viewer_sketches WHERE day < ?";
+
+  private static final String DAILY_SKETCHES_SQL =
+      """
+      SELECT registers FROM content_daily_viewer_sketches
+      WHERE content_id = ? AND day BETWEEN ? AND ?
+      """;
+
+  private static final String CATEGORY_SKETCHES_SQL =
+      """
+      SELECT s.registers
+      FROM content_viewer_sketches s
+      JOIN contents c ON c.id = s.content_id
+      JOIN categories k ON k.id = c.category_id
+      WHERE k.name = ?
+      """;
+
+  private static final String CATEGORY_DAILY_SKETCHES_SQL =
+      """
+      SELECT s.registers
+      FROM content_daily_viewer_sketches s
+      JOIN contents c ON c.id = s.content_id
+      JOIN categories k ON k.id = c.category_id
+      WHERE k.name = ? AND s.day BETWEEN ? AND ?
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  // Viewers are added after the progress write commits, when its connection is no longer
+  // committed; a transaction of their own is what makes them stick.
+  @Override
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void addViewer(
+      final UUID contentId, final LocalDate day, final int register, final int rank) {
+    jdbcTemplate.update(ADD_VIEWER_SQL, contentId, register, rank, register, rank, register, rank);
+    jdbcTemplate.update(
+        ADD_DAILY_VIEWER_SQL, contentId, day, register, rank, register, rank, register, rank);
+  }
+
+  @Override
+  public int deleteDailySketchesBefore(final LocalDate day) {
+    return jdbcTemplate.update(DELETE_DAILY_SKETCHES_SQL, day);
+  }
+
+  @Override
+  public void scanDailySketches(
+      final UUID contentId, final LocalDate from, final LocalDate to, final Consumer<byte[]> sink) {
+    jdbcTemplate.query(DAILY_SKETCHES_SQL, registers(sink), contentId, from, to);
+  }
+
+  @Override
+  public void scanCategorySketches(final String category, final Consumer<byte[]> sink) {
+    jdbcTemplate.query(CATEGORY_SKETCHES_SQL, registers(sink), category);
+  }
+
+  @Override
+  public void scanCategoryDailySketches(
+      final String category,
+      final LocalDate from,
+      final LocalDate to,
+      final Consumer<byte[]> sink) {
+    jdbcTemplate.query(CATEGORY_DAILY_SKETCHES_SQL, registers(sink), category, from, to);
+  }
+
+  private static RowCallbackHandler registers(final Consumer<byte[]> sink) {
+    return rs -> sink.accept(rs.getBytes(1));
+  }
+}
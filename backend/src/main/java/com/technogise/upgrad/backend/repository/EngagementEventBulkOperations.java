@@ -0,0 +1,22 @@
+package com.technogise.upgrad.backend.repository;
+
+import com.technogise.upgrad.backend.dto.EngagementEventRow;
+import java.time.YearMonth;
+import java.util.List;
+
+public interface EngagementEventBulkOperations {
+
+  /**
+   * Appends events in a single JDBC batch.
+   *
+   * @param events the events to append
+   */
+  void appendEvents(List<EngagementEventRow> events);
+
+  /**
+   * Creates the partition holding one month of events if it does not exist yet.
+   *
+   * @param month the month to cover
+   */
+  void createMonthlyPartition(YearMonth month);
+}
@@ -0,0 +1,59 @@
+package com.technogise.upgrad.backend.repository;
+
+import com.technogise.upgrad.backend.dto.EngagementEventRow;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+public class EngagementEventBulkOperationsImpl implements EngagementEventBulkOperations {
+
+  private static final String APPEND_EVENT_SQL =
+      """
+      INSERT INTO engagement_events (id, user_id, content_id, event_type, position_seconds,
+                                     watch_duration_seconds, occurred_at, received_at)
+      VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+      """;
+
+  private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  @Transactional
+  public void appendEvents(final List<EngagementEventRow> events) {
+    jdbcTemplate.batchUpdate(
+        APPEND_EVENT_SQL,
+        events,
+        events.size(),
+        (ps, event) -> {
+          ps.setObject(1, UUID.randomUUID());
+          ps.setObject(2, event.userId());
+          ps.setObject(3, event.contentId());
+          ps.setString(4, event.type().name());
+          ps.setObject(5, event.positionSeconds(), Types.INTEGER);
+          ps.setObject(6, event.watchDurationSeconds(), Types.INTEGER);
+          ps.setTimestamp(7, Timestamp.valueOf(event.occurredAt()));
+          ps.setTimestamp(8, Timestamp.valueOf(event.receivedAt()));
+        });
+  }
+
+  @Override
+  public void createMonthlyPartition(final YearMonth month) {
+    // Identifiers and bounds come from a YearMonth, never from user input.
+    jdbcTemplate.execute(
+        "CREATE TABLE IF NOT EXISTS engagement_events_"
+            + month.format(PARTITION_SUFFIX)
+            + " PARTITION OF engagement_events FOR VALUES FROM ('"
+            + month.atDay(1)
+            + "') TO ('"
+            + month.plusMonths(1).atDay(1)
+            + "')");
+  }
+}
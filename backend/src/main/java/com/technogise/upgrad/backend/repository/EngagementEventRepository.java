@@ -0,0 +1,10 @@
+package com.technogise.upgrad.backend.repository;
+
+import com.technogise.upgrad.backend.entity.EngagementEvent;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EngagementEventRepository
+    extends JpaRepository<EngagementEvent, UUID>, EngagementEventBulkOperations {}
@@ -0,0 +1,35 @@
+package com.technogise.upgrad.backend.repository;
+
+import com.technogise.upgrad.backend.dto.FeedbackCountsDto;
+import java.util.List;
+
+public interface EngagementRollupOperations {
+
+  /**
+   * Folds the deltas recorded by the watch-history trigger and the feedback counters into the
+   * content and category rollups and deletes them, in one transaction. Only one caller folds at a
+   * time across instances; others return immediately.
+   *
+   * @return the number of deltas folded, or -1 if another fold was already running
+   */
+  int foldDeltas();
+
+  /**
+   * Folds the pending deltas like {@link #foldDeltas()} and, in the same statement and snapshot,
+   * sets every rollup's progress sum and vote totals from {@code watch_history}, taking in the
+   * heartbeats the trigger does not record and any votes an instance lost before flushing them.
+   * Reads all of {@code watch_history}, so it runs far less often than the fold.
+   *
+   * @return the number of deltas folded, or -1 if another fold was already running
+   */
+  int foldDeltasAndRecount();
+
+  /**
+   * Records vote deltas counted by the application as rollup deltas, in one batch. The next fold
+   * adds them to the content and category rollups; deltas for content deleted in the meantime are
+   * discarded by the fold.
+   *
+   * @param deltas the change in helpful and not-helpful votes per content item
+   */
+  void addFeedbackDeltas(List<FeedbackCountsDto> deltas);
+}
@@ -0,0 +1,167 @@
+package com.technogise.upgrad.backend.repository;
+
+import com.technogise.upgrad.backend.dto.FeedbackCountsDto;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+public class EngagementRollupOperationsImpl implements EngagementRollupOperations {
+
+  // Also taken by the contents trigger that moves a content item's rollup between categories.
+  private static final String TRY_LOCK_SQL =
+      "SELECT pg_try_advisory_xact_lock(hashtext('engagement_rollup_fold'))";
+
+  private static final String FOLDED_CTE =
+      """
+      folded AS (
+          DELETE FROM engagement_rollup_deltas
+          RETURNING content_id, starts, completions, progress_sum, helpful, not_helpful
+      )""";
+
+  // Both statements define per_content and then upsert it; %1$s, %2$s and %3$s set progress_sum,
+  // helpful and not_helpful, either adding a delta or replacing it with a recounted total.
+  private static final String UPSERTS_CTE =
+      """
+      content_upsert AS (
+          INSERT INTO content_engagement_rollups AS r
+              (content_id, starts, completions, progress_sum, helpful, not_helpful, updated_at)
+          SELECT content_id, starts, completions, progress_sum, helpful, not_helpful,
+                 CURRENT_TIMESTAMP
+          FROM per_content
+          ON CONFLICT (content_id) DO UPDATE SET
+              starts = r.starts + EXCLUDED.starts,
+              completions = r.completions + EXCLUDED.completions,
+              progress_sum = %1$s,
+              helpful = %2$s,
+              not_helpful = %3$s,
+              updated_at = EXCLUDED.updated_at
+          RETURNING 1
+      ),
+      category_upsert AS (
+          INSERT INTO category_engagement_rollups AS r
+              (category, starts, completions, progress_sum, helpful, not_helpful, updated_at)
+          SELECT category, SUM(starts), SUM(completions), SUM(progress_sum), SUM(helpful),
+                 SUM(not_helpful), CURRENT_TIMESTAMP
+          FROM per_content
+          GROUP BY category
+          ON CONFLICT (category) DO UPDATE SET
+              starts = r.starts + EXCLUDED.starts,
+              completions = r.completions + EXCLUDED.completions,
+              progress_sum = %1$s,
+              helpful = %2$s,
+              not_helpful = %3$s,
+              updated_at = EXCLUDED.updated_at
+          RETURNING 1
+      )
+      SELECT COUNT(*) FROM folded
+      """;
+
+  // Data-modifying CTEs run even though the final SELECT only counts the deleted deltas. Deltas
+  // whose content has been deleted are discarded; the contents trigger has already taken the
+  // content's folded totals out of its category.
+  private static final String FOLD_SQL =
+      "WITH "
+          + FOLDED_CTE
+          + """
+          ,
+          per_content AS (
+              SELECT f.content_id, k.name AS category,
+                     SUM(f.starts) AS starts, SUM(f.completions) AS completions,
+                     SUM(f.progress_sum) AS progress_sum, SUM(f.helpful) AS helpful,
+                     SUM(f.not_helpful) AS not_helpful
+              FROM folded f
+              JOIN contents c ON c.id = f.content_id
+              JOIN categories k ON k.id = c.category_id
+              GROUP BY f.content_id, k.name
+          ),
+          """
+          + UPSERTS_CTE.formatted(
+              "r.progress_sum + EXCLUDED.progress_sum",
+              "r.helpful + EXCLUDED.helpful",
+              "r.not_helpful + EXCLUDED.not_helpful");
+
+  // Every content item with history or a rollup gets a row, so that a recount to zero is written
+  // too. The category total is the sum over all of its content, not a delta. Votes are recounted
+  // because the application counts them in memory first and loses what an instance had not yet
+  // flushed when it stops; votes still in memory or in deltas committed after this snapshot are
+  // counted twice until the next recount.
+  private static final String FOLD_AND_RECOUNT_SQL =
+      "WITH "
+          + FOLDED_CTE
+          + """
+          ,
+          deltas AS (
+              SELECT content_id, SUM(starts) AS starts, SUM(completions) AS completions
+              FROM folded
+              GROUP BY content_id
+          ),
+          recounted AS (
+              SELECT content_id, SUM(progress_percent) AS progress_sum,
+                     COUNT(*) FILTER (WHERE feedback = 'HELPFUL') AS helpful,
+                     COUNT(*) FILTER (WHERE feedback = 'NOT_HELPFUL') AS not_helpful
+              FROM watch_history
+              GROUP BY content_id
+          ),
+          per_content AS (
+              SELECT c.id AS content_id, k.name AS category,
+                     COALESCE(d.starts, 0) AS starts, COALESCE(d.completions, 0) AS completions,
+                     COALESCE(p.progress_sum, 0) AS progress_sum,
+                     COALESCE(p.helpful, 0) AS helpful, COALESCE(p.not_helpful, 0) AS not_helpful
+              FROM contents c
+              JOIN categories k ON k.id = c.category_id
+              LEFT JOIN deltas d ON d.content_id = c.id
+              LEFT JOIN recounted p ON p.content_id = c.id
+              LEFT JOIN content_engagement_rollups r ON r.content_id = c.id
+              WHERE d.content_id IS NOT NULL
+                 OR p.content_id IS NOT NULL
+                 OR r.content_id IS NOT NULL
+          ),
+          """
+          + UPSERTS_CTE.formatted(
+              "EXCLUDED.progress_sum", "EXCLUDED.helpful", "EXCLUDED.not_helpful");
+
+  private static final String ADD_FEEDBACK_DELTA_SQL =
+      """
+      INSERT INTO engagement_rollup_deltas
+          (content_id, starts, completions, progress_sum, helpful, not_helpful)
+      VALUES (?, 0, 0, 0, ?, ?)
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  @Transactional
+  public int foldDeltas() {
+    return foldUnderLock(FOLD_SQL);
+  }
+
+  @Override
+  @Transactional
+  public int foldDeltasAndRecount() {
+    return foldUnderLock(FOLD_AND_RECOUNT_SQL);
+  }
+
+  @Override
+  @Transactional
+  public void addFeedbackDeltas(final List<FeedbackCountsDto> deltas) {
+    jdbcTemplate.batchUpdate(
+        ADD_FEEDBACK_DELTA_SQL,
+        deltas,
+        deltas.size(),
+        (ps, delta) -> {
+          ps.setObject(1, delta.contentId());
+          ps.setInt(2, Math.toIntExact(delta.helpful()));
+          ps.setInt(3, Math.toIntExact(delta.notHelpful()));
+        });
+  }
+
+  private int foldUnderLock(final String sql) {
+    if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_SQL, Boolean.class))) {
+      return -1;
+    }
+    final Integer folded = jdbcTemplate.queryForObject(sql, Integer.class);
+    return folded == null ? 0 : folded;
+  }
+}
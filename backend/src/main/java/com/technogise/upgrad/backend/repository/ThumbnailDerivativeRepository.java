@@ -0,0 +1,22 @@
+package com.technogise.upgrad.backend.repository;
+
+import com.technogise.upgrad.backend.entity.ThumbnailDerivative;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ThumbnailDerivativeRepository extends JpaRepository<ThumbnailDerivative, UUID> {
+  List<ThumbnailDerivative> findByContentIdInOrderByWidthAsc(Collection<UUID> contentIds);
+
+  boolean existsByFileName(String fileName);
+
+  @Modifying
+  @Query("DELETE FROM ThumbnailDerivative d WHERE d.contentId = :contentId")
+  void deleteByContentId(@Param("contentId") UUID contentId);
+}
@@ -0,0 +1,18 @@
+package com.technogise.upgrad.backend.repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface UserActivityOperations {
+
+  /**
+   * Sets a viewer's bit for a day in one statement, creating the calendar on the first active day
+   * and growing it as needed. Setting a bit that is already set, or one before the calendar starts,
+   * writes nothing.
+   *
+   * @param userId the viewer
+   * @param day the day the viewer was active
+   * @throws org.springframework.dao.DataIntegrityViolationException if the user does not exist
+   */
+  void markActive(UUID userId, LocalDate day);
+}
@@ -0,0 +1,40 @@
+package com.technogise.upgrad.backend.repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+public class UserActivityOperationsImpl implements UserActivityOperations {
+
+  // EXCLUDED.first_day carries the day being marked; its offset from the stored first day is the
+  // bit to set. The bitmap grows by whole bytes, and the WHERE clause skips rows whose bit is set.
+  private static final String MARK_ACTIVE_SQL =
+      """
+      INSERT INTO user_activity AS a (user_id, first_day, days)
+      VALUES (?, ?, decode('01', 'hex'))
+      ON CONFLICT (user_id) DO UPDATE SET days = set_bit(
+          CASE
+              WHEN octet_length(a.days) * 8 > EXCLUDED.first_day - a.first_day THEN a.days
+              ELSE a.days || decode(repeat('00',
+                  (EXCLUDED.first_day - a.first_day) / 8 + 1 - octet_length(a.days)), 'hex')
+          END,
+          EXCLUDED.first_day - a.first_day, 1)
+      WHERE EXCLUDED.first_day >= a.first_day
+        AND (octet_length(a.days) * 8 <= EXCLUDED.first_day - a.first_day
+             OR get_bit(a.days, EXCLUDED.first_day - a.first_day) = 0)
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  // Marks run after the progress write commits, when its connection is no longer committed; a
+  // transaction of their own is what makes them stick.
+  @Override
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void markActive(final UUID userId, final LocalDate day) {
+    jdbcTemplate.update(MARK_ACTIVE_SQL, userId, day);
+  }
+}
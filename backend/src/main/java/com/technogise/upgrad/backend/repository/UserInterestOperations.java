@@ -0,0 +1,24 @@
+package com.technogise.upgrad.backend.repository;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface UserInterestOperations {
+
+  /**
+   * Removes some of a user's interests in a single statement.
+   *
+   * @param userId the user
+   * @param categoryIds the categories of the interests to remove
+   * @return the number of interests removed
+   */
+  int deleteInterests(UUID userId, Collection<Short> categoryIds);
+
+  /**
+   * Adds interests to a user in a single JDBC batch.
+   *
+   * @param userId the user
+   * @param categoryIds the categories of the interests to add, none of which the user has yet
+   */
+  void insertInterests(UUID userId, Collection<Short> categoryIds);
+}
@@ -0,0 +1,54 @@
+package com.technogise.upgrad.backend.repository;
+
+import java.util.Collection;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+public class UserInterestOperationsImpl implements UserInterestOperations {
+
+  private static final String DELETE_INTERESTS_SQL =
+      "DELETE FROM user_interests WHERE user_id = ? AND category_id = ANY (?)";
+
+  private static final String INSERT_INTEREST_SQL =
+      """
+      INSERT INTO user_interests (id, user_id, category_id, created_at)
+      VALUES (?, ?, ?, CURRENT_TIMESTAMP)
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  @Transactional
+  public int deleteInterests(final UUID userId, final Collection<Short> categoryIds) {
+    if (categoryIds.isEmpty()) {
+      return 0;
+    }
+    return jdbcTemplate.update(
+        DELETE_INTERESTS_SQL,
+        ps -> {
+          ps.setObject(1, userId);
+          ps.setArray(
+              2, ps.getConnection().createArrayOf("smallint", categoryIds.toArray(Short[]::new)));
+        });
+  }
+
+  @Override
+  @Transactional
+  public void insertInterests(final UUID userId, final Collection<Short> categoryIds) {
+    if (categoryIds.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(
+        INSERT_INTEREST_SQL,
+        categoryIds,
+        categoryIds.size(),
+        (ps, categoryId) -> {
+          ps.setObject(1, UUID.randomUUID());
+          ps.setObject(2, userId);
+          ps.setShort(3, categoryId);
+        });
+  }
+}
@@ -4,11 +4,18 @@ import com.technogise.upgrad.backend.entity.UserInterest;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface UserInterestRepository extends JpaRepository<UserInterest, UUID> {
+public interface UserInterestRepository
+    extends JpaRepository<UserInterest, UUID>, UserInterestOperations {
   List<UserInterest> findByUserId(UUID userId);
 
-  void deleteByUserId(UUID userId);
+  @Query("SELECT i.category.name FROM UserInterest i WHERE i.user.id = :userId")
+  List<String> findInterestNamesByUserId(@Param("userId") UUID userId);
+
+  @Query("SELECT i.category.id FROM UserInterest i WHERE i.user.id = :userId")
+  List<Short> findCategoryIdsByUserId(@Param("userId") UUID userId);
 }
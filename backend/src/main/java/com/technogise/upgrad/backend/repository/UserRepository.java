@@ -18,4 +18,8 @@ public interface UserRepository extends JpaRepository<User, UUID> {
   @Modifying
   @Query("UPDATE User u SET u.onboardingCompleted = true WHERE u.id = :userId")
   void markOnboardingCompleted(@Param("userId") UUID userId);
+
+  @Modifying
+  @Query("UPDATE User u SET u.interestMask = :interestMask WHERE u.id = :userId")
+  void updateInterestMask(@Param("userId") UUID userId, @Param("interestMask") int interestMask);
 }
@@ -0,0 +1,73 @@
+package com.technogise.upgrad.backend.repository;
+
+import com.technogise.upgrad.backend.constants.Feedback;
+import com.technogise.upgrad.backend.dto.FeedbackChange;
+import com.technogise.upgrad.backend.dto.WatchHistoryExportRow;
+import com.technogise.upgrad.backend.dto.WatchProgressUpdate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface WatchHistoryBulkOperations {
+
+  /**
+   * Inserts or updates one progress row in a single statement, matching existing history by user
+   * and content. The foreign keys reject unknown users and content. An update older than the stored
+   * row is ignored.
+   *
+   * @param update the progress update
+   * @return 1 if the row was written, 0 if the stored row was newer
+   * @throws org.springframework.dao.DataIntegrityViolationException if the user or content does not
+   *     exist
+   */
+  int upsertProgress(WatchProgressUpdate update);
+
+  /**
+   * Inserts or updates progress rows in a single JDBC batch, matching existing history by user and
+   * content. An update older than the stored row is ignored, so replays cannot move progress back.
+   *
+   * @param updates progress updates with distinct (userId, contentId) pairs
+   * @return the affected row count per update, 0 where the stored row was newer; with {@code
+   *     reWriteBatchedInserts} the driver reports {@link java.sql.Statement#SUCCESS_NO_INFO}
+   *     instead
+   */
+  int[] upsertProgress(List<WatchProgressUpdate> updates);
+
+  /**
+   * Applies progress queued by an offline client in one statement, in list order. Like {@link
+   * #upsertProgress(List)}, an update older than the stored row is ignored, so a queued update
+   * replayed late cannot overwrite newer progress from another device.
+   *
+   * @param updates progress updates with distinct (userId, contentId) pairs, each stamped with the
+   *     time the client recorded it
+   * @return the content of every update that was written
+   * @throws org.springframework.dao.DataIntegrityViolationException if a user or content item does
+   *     not exist
+   */
+  List<UUID> replayProgress(List<WatchProgressUpdate> updates);
+
+  /**
+   * Stores a viewer's vote on their history row in one statement, locking the row so that
+   * concurrent votes by the same viewer each see the vote they replace.
+   *
+   * @param userId the viewer
+   * @param contentId the content voted on
+   * @param feedback the new vote
+   * @return the stored vote and the one it replaced, or empty if the viewer has no history row
+   */
+  Optional<FeedbackChange> updateFeedback(UUID userId, UUID contentId, Feedback feedback);
+
+  /**
+   * Reads one page of history rows joined with their content, in (user, content) order, starting
+   * after a given row. Each page is a single short statement walking the (user_id, content_id)
+   * unique index, so paging through an export holds no snapshot open for its whole length.
+   *
+   * @param since only rows watched at or after this time, or {@code null} for all rows
+   * @param after the last row of the previous page, or {@code null} for the first page
+   * @param limit the most rows to return
+   * @return the page, shorter than {@code limit} only when it is the last one
+   */
+  List<WatchHistoryExportRow> findExportPage(
+      LocalDateTime since, WatchHistoryExportRow after, int limit);
+}
@@ -0,0 +1,202 @@
+package com.technogise.upgrad.backend.repository;
+
+import com.technogise.upgrad.backend.constants.Feedback;
+import com.technogise.upgrad.backend.dto.FeedbackChange;
+import com.technogise.upgrad.backend.dto.WatchHistoryExportRow;
+import com.technogise.upgrad.backend.dto.WatchProgressUpdate;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+public class WatchHistoryBulkOperationsImpl implements WatchHistoryBulkOperations {
+
+  // last_active_at keys the continue-watching index, so it only moves once it is five minutes
+  // stale; heartbeats in between change no indexed column and are HOT updates.
+  private static final String ON_PROGRESS_CONFLICT_SQL =
+      """
+      ON CONFLICT (user_id, content_id) DO UPDATE SET
+          progress_percent = EXCLUDED.progress_percent,
+          last_watched_position = EXCLUDED.last_watched_position,
+          last_watched_at = EXCLUDED.last_watched_at,
+          last_active_at = CASE
+              WHEN watch_history.last_active_at > EXCLUDED.last_active_at - INTERVAL '5 minutes'
+              THEN watch_history.last_active_at
+              ELSE EXCLUDED.last_active_at
+          END
+      WHERE watch_history.last_watched_at <= EXCLUDED.last_watched_at
+      """;
+
+  private static final String UPSERT_PROGRESS_SQL =
+      """
+      INSERT INTO watch_history (id, user_id, content_id, progress_percent,
+                                 last_watched_position, last_watched_at, last_active_at)
+      VALUES (?, ?, ?, ?, ?, ?, ?)
+      """
+          + ON_PROGRESS_CONFLICT_SQL;
+
+  // One statement rather than a JDBC batch, so that RETURNING reports which rows the conflict guard
+  // let through; a rewritten batch only reports SUCCESS_NO_INFO.
+  private static final String REPLAY_PROGRESS_SQL =
+      """
+      INSERT INTO watch_history (id, user_id, content_id, progress_percent,
+                                 last_watched_position, last_watched_at, last_active_at)
+      SELECT u.id, u.user_id, u.content_id, u.progress_percent, u.last_watched_position,
+             u.last_watched_at, u.last_watched_at
+      FROM unnest(?::UUID[], ?::UUID[], ?::UUID[], ?::INT[], ?::INT[], ?::TIMESTAMP[])
+          WITH ORDINALITY AS u(id, user_id, content_id, progress_percent, last_watched_position,
+                               last_watched_at, ord)
+      ORDER BY u.ord
+      """
+          + ON_PROGRESS_CONFLICT_SQL
+          + "RETURNING content_id";
+
+  // The locking subquery reads the vote being replaced; RETURNING on the updated row alone would
+  // only see the new value.
+  private static final String UPDATE_FEEDBACK_SQL =
+      """
+      UPDATE watch_history w SET feedback = ?
+      FROM (SELECT id, feedback FROM watch_history
+            WHERE user_id = ? AND content_id = ? FOR UPDATE) previous
+      WHERE w.id = previous.id
+      RETURNING previous.feedback
+      """;
+
+  private static final String EXPORT_SQL =
+      """
+      SELECT w.user_id, w.content_id, c.title, k.name AS category, c.episode_number,
+             c.duration_seconds, w.progress_percent, w.last_watched_position, w.feedback,
+             w.last_watched_at
+      FROM watch_history w
+      JOIN contents c ON c.id = w.content_id
+      JOIN categories k ON k.id = c.category_id
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public int upsertProgress(final WatchProgressUpdate update) {
+    final Timestamp lastWatchedAt = Timestamp.valueOf(update.lastWatchedAt());
+    return jdbcTemplate.update(
+        UPSERT_PROGRESS_SQL,
+        UUID.randomUUID(),
+        update.userId(),
+        update.contentId(),
+        update.progressPercent(),
+        update.lastWatchedPosition(),
+        lastWatchedAt,
+        lastWatchedAt);
+  }
+
+  @Override
+  @Transactional
+  public int[] upsertProgress(final List<WatchProgressUpdate> updates) {
+    final int[][] counts =
+        jdbcTemplate.batchUpdate(
+            UPSERT_PROGRESS_SQL,
+            updates,
+            updates.size(),
+            (ps, update) -> {
+              ps.setObject(1, UUID.randomUUID());
+              ps.setObject(2, update.userId());
+              ps.setObject(3, update.contentId());
+              ps.setInt(4, update.progressPercent());
+              ps.setInt(5, update.lastWatchedPosition());
+              final Timestamp lastWatchedAt = Timestamp.valueOf(update.lastWatchedAt());
+              ps.setTimestamp(6, lastWatchedAt);
+              ps.setTimestamp(7, lastWatchedAt);
+            });
+    return counts.length == 0 ? new int[0] : counts[0];
+  }
+
+  @Override
+  public List<UUID> replayProgress(final List<WatchProgressUpdate> updates) {
+    return jdbcTemplate.query(
+        connection -> {
+          final PreparedStatement ps = connection.prepareStatement(REPLAY_PROGRESS_SQL);
+          ps.setArray(1, connection.createArrayOf("uuid", column(updates, u -> UUID.randomUUID())));
+          ps.setArray(
+              2, connection.createArrayOf("uuid", column(updates, WatchProgressUpdate::userId)));
+          ps.setArray(
+              3, connection.createArrayOf("uuid", column(updates, WatchProgressUpdate::contentId)));
+          ps.setArray(
+              4,
+              connection.createArrayOf(
+                  "int4", column(updates, WatchProgressUpdate::progressPercent)));
+          ps.setArray(
+              5,
+              connection.createArrayOf(
+                  "int4", column(updates, WatchProgressUpdate::lastWatchedPosition)));
+          ps.setArray(
+              6,
+              connection.createArrayOf(
+                  "timestamp", column(updates, u -> Timestamp.valueOf(u.lastWatchedAt()))));
+          return ps;
+        },
+        (rs, rowNum) -> rs.getObject(1, UUID.class));
+  }
+
+  private static Object[] column(
+      final List<WatchProgressUpdate> updates, final Function<WatchProgressUpdate, Object> value) {
+    return updates.stream().map(value).toArray();
+  }
+
+  @Override
+  public Optional<FeedbackChange> updateFeedback(
+      final UUID userId, final UUID contentId, final Feedback feedback) {
+    final List<Optional<Feedback>> previous =
+        jdbcTemplate.query(
+            UPDATE_FEEDBACK_SQL,
+            (rs, rowNum) -> Optional.ofNullable(rs.getString(1)).map(Feedback::valueOf),
+            feedback.name(),
+            userId,
+            contentId);
+    return previous.stream()
+        .findFirst()
+        .map(replaced -> new FeedbackChange(contentId, replaced.orElse(null), feedback));
+  }
+
+  @Override
+  public List<WatchHistoryExportRow> findExportPage(
+      final LocalDateTime since, final WatchHistoryExportRow after, final int limit) {
+    final List<String> conditions = new ArrayList<>();
+    final List<Object> args = new ArrayList<>();
+    if (since != null) {
+      conditions.add("w.last_watched_at >= ?");
+      args.add(Timestamp.valueOf(since));
+    }
+    if (after != null) {
+      conditions.add("(w.user_id, w.content_id) > (?, ?)");
+      args.add(after.userId());
+      args.add(after.contentId());
+    }
+    args.add(limit);
+    final String sql =
+        EXPORT_SQL
+            + (conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + "\n")
+            + "ORDER BY w.user_id, w.content_id LIMIT ?";
+    return jdbcTemplate.query(
+        sql,
+        (rs, rowNum) ->
+            new WatchHistoryExportRow(
+                rs.getObject(1, UUID.class),
+                rs.getObject(2, UUID.class),
+                rs.getString(3),
+                rs.getString(4),
+                rs.getObject(5, Integer.class),
+                rs.getObject(6, Integer.class),
+                rs.getInt(7),
+                rs.getInt(8),
+                rs.getString(9),
+                rs.getTimestamp(10).toLocalDateTime()),
+        args.toArray());
+  }
+}
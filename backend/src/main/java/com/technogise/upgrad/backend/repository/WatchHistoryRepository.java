@@ -1,15 +1,61 @@
 package com.technogise.upgrad.backend.repository;
 
+import com.technogise.upgrad.backend.dto.ContinueWatchingDto;
+import com.technogise.upgrad.backend.dto.WatchProgressResponse;
 import com.technogise.upgrad.backend.entity.WatchHistory;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface WatchHistoryRepository extends JpaRepository<WatchHistory, UUID> {
-  Optional<WatchHistory> findTopByUserIdAndProgressPercentLessThanOrderByLastWatchedAtDesc(
-      UUID userId, int maxProgress);
+public interface WatchHistoryRepository
+    extends JpaRepository<WatchHistory, UUID>, WatchHistoryBulkOperations {
+
+  /**
+   * Projects the most recently watched, unfinished items for the homepage, joining only the content
+   * columns the tile needs instead of loading the user and content entities. Served by the partial
+   * index {@code idx_watch_history_continue_watching}, whose predicate the literal {@code false}
+   * must match; a bound parameter would keep generic plans from using it. Items watched within five
+   * minutes of each other may appear in either order.
+   */
+  @Query(
+      "SELECT new com.technogise.upgrad.backend.dto.ContinueWatchingDto("
+          + "c.id, c.title, c.description, c.thumbnailUrl, w.progressPercent, c.category.name, "
+          + "c.episodeNumber, w.lastWatchedPosition) "
+          + "FROM WatchHistory w JOIN w.content c "
+          + "WHERE w.user.id = :userId AND w.completed = false "
+          + "ORDER BY w.lastActiveAt DESC")
+  List<ContinueWatchingDto> findContinueWatching(@Param("userId") UUID userId, Limit limit);
+
+  /**
+   * Projects a viewer's progress on the given content items from the (user_id, content_id) unique
+   * index, reading the content id from the foreign key instead of joining or loading entities.
+   */
+  @Query(
+      "SELECT new com.technogise.upgrad.backend.dto.WatchProgressResponse("
+          + "w.content.id, w.progressPercent, w.lastWatchedPosition) "
+          + "FROM WatchHistory w "
+          + "WHERE w.user.id = :userId AND w.content.id IN :contentIds")
+  List<WatchProgressResponse> findProgress(
+      @Param("userId") UUID userId, @Param("contentIds") Collection<UUID> contentIds);
+
+  /**
+   * Projects a viewer's unfinished items, most recent first. Like {@link #findContinueWatching} it
+   * is served by {@code idx_watch_history_continue_watching}, without joining the content.
+   */
+  @Query(
+      "SELECT new com.technogise.upgrad.backend.dto.WatchProgressResponse("
+          + "w.content.id, w.progressPercent, w.lastWatchedPosition) "
+          + "FROM WatchHistory w "
+          + "WHERE w.user.id = :userId AND w.completed = false "
+          + "ORDER BY w.lastActiveAt DESC")
+  List<WatchProgressResponse> findInProgress(@Param("userId") UUID userId, Limit limit);
 
   Optional<WatchHistory> findByUserIdAndContentId(UUID userId, UUID contentId);
 }
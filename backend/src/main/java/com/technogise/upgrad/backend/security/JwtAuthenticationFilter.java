@@ -1,5 +1,6 @@
 package com.technogise.upgrad.backend.security;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.technogise.upgrad.backend.service.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -8,6 +9,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,6 +22,12 @@ import org.springframework.web.filter.OncePerRequestFilter;
 @lombok.extern.slf4j.Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+  /**
+   * Request attribute holding the authenticated user's id, taken from the token subject. Lets hot
+   * endpoints skip the lookup by email.
+   */
+  public static final String USER_ID_ATTRIBUTE = "upgrad.userId";
+
   private final JwtService jwtService;
 
   @Override
@@ -41,8 +49,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     if (token != null) {
       try {
-        String email = jwtService.getEmailFromToken(token);
+        DecodedJWT jwt = jwtService.verifyToken(token);
+        String email = jwt.getClaim("email").asString();
         if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+          request.setAttribute(USER_ID_ATTRIBUTE, UUID.fromString(jwt.getSubject()));
           UsernamePasswordAuthenticationToken authToken =
               new UsernamePasswordAuthenticationToken(email, null, Collections.emptyList());
           authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
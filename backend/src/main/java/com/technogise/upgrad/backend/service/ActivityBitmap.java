@@ -0,0 +1,70 @@
+package com.technogise.upgrad.backend.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A viewer's activity calendar as stored in {@code user_activity}: bit n is set when the viewer was
+ * active on {@code firstDay + n}. {@link BitSet#valueOf(byte[])} reads the bytes in the same order
+ * Postgres {@code set_bit} writes them, so the stored value is used as is.
+ */
+final class ActivityBitmap {
+
+  private static final ActivityBitmap EMPTY = new ActivityBitmap(LocalDate.EPOCH, new BitSet());
+
+  private final LocalDate firstDay;
+  private final BitSet days;
+
+  private ActivityBitmap(final LocalDate firstDay, final BitSet days) {
+    this.firstDay = firstDay;
+    this.days = days;
+  }
+
+  static ActivityBitmap of(final LocalDate firstDay, final byte[] days) {
+    return new ActivityBitmap(firstDay, BitSet.valueOf(days));
+  }
+
+  static ActivityBitmap empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Counts the consecutive active days ending today, or ending yesterday while today has no
+   * activity yet, so a streak is not shown as broken before the viewer has had a chance to watch.
+   */
+  int currentStreak(final LocalDate today) {
+    final long todayBit = offset(today);
+    if (todayBit < 0 || todayBit > days.length()) {
+      return 0;
+    }
+    final int end = days.get((int) todayBit) ? (int) todayBit : (int) todayBit - 1;
+    if (end < 0 || !days.get(end)) {
+      return 0;
+    }
+    return end - days.previousClearBit(end);
+  }
+
+  /** Returns the days of the month, numbered from 1, on which the viewer was active. */
+  List<Integer> activeDays(final YearMonth month) {
+    // Clamped to the calendar, so months outside it cost nothing.
+    final int from = Math.clamp(offset(month.atDay(1)), 0, days.length());
+    final int to = Math.clamp(offset(month.atEndOfMonth()) + 1, 0, days.length());
+    if (to <= from) {
+      return List.of();
+    }
+    final BitSet inMonth = days.get(from, to);
+    final List<Integer> active = new ArrayList<>(inMonth.cardinality());
+    for (int bit = inMonth.nextSetBit(0); bit >= 0; bit = inMonth.nextSetBit(bit + 1)) {
+      active.add(firstDay.plusDays(from + bit).getDayOfMonth());
+    }
+    return active;
+  }
+
+  private long offset(final LocalDate day) {
+    return ChronoUnit.DAYS.between(firstDay, day);
+  }
+}
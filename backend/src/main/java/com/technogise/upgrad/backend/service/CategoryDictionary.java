@@ -0,0 +1,47 @@
+package com.technogise.upgrad.backend.service;
+
+import com.technogise.upgrad.backend.entity.Category;
+import com.technogise.upgrad.backend.repository.CategoryRepository;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+
+/**
+ * In-memory copy of the categories dictionary, so category names are turned into ids without a
+ * query. There are few categories and they are only ever added, by migrations for interests and by
+ * content ingestion for other categories; a name not seen yet reloads the whole table.
+ */
+@Service
+@RequiredArgsConstructor
+public class CategoryDictionary {
+
+  private final CategoryRepository categoryRepository;
+  private final Map<String, Short> idsByName = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the id of a category.
+   *
+   * @param name the category name
+   * @return the category id
+   * @throws IllegalStateException if there is no such category
+   */
+  public short idOf(@NonNull final String name) {
+    Short id = idsByName.get(name);
+    if (id == null) {
+      reload();
+      id = idsByName.get(name);
+      if (id == null) {
+        throw new IllegalStateException("Unknown category: " + name);
+      }
+    }
+    return id;
+  }
+
+  private void reload() {
+    for (final Category category : categoryRepository.findAll()) {
+      idsByName.put(category.getName(), category.getId());
+    }
+  }
+}
@@ -0,0 +1,132 @@
+package com.technogise.upgrad.backend.service;
+
+import com.technogise.upgrad.backend.config.CompletionEventConfig;
+import com.technogise.upgrad.backend.event.ContentCompletedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Hands committed completions to every {@link ContentCompletionListener} on a small bounded pool,
+ * so their side effects never add latency to the progress write. Events published inside a
+ * transaction are dispatched once it commits and dropped if it rolls back; events published outside
+ * one are dispatched straight away. When the queue is full, deliveries are dropped and counted
+ * rather than slowing the publisher down.
+ */
+@Service
+@Slf4j
+public class CompletionEventDispatcher {
+
+  static final String METRIC_NAME = "watch_progress.completions";
+
+  private final List<ContentCompletionListener> listeners;
+  private final CompletionEventConfig config;
+  private final Clock clock;
+  private final MeterRegistry meterRegistry;
+  private final ThreadPoolExecutor executor;
+  private final Counter dispatchedCounter;
+  private final Counter droppedCounter;
+  private final Counter failedCounter;
+
+  public CompletionEventDispatcher(
+      final List<ContentCompletionListener> listeners,
+      final CompletionEventConfig config,
+      final Clock clock,
+      final MeterRegistry meterRegistry) {
+    this.listeners = List.copyOf(listeners);
+    this.config = config;
+    this.clock = clock;
+    this.meterRegistry = meterRegistry;
+    final AtomicInteger threadCount = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            config.getPoolSize(),
+            config.getPoolSize(),
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(config.getQueueCapacity()),
+            runnable -> {
+              final Thread thread =
+                  new Thread(runnable, "completion-listener-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    this.dispatchedCounter = counter("dispatched");
+    this.droppedCounter = counter("dropped");
+    this.failedCounter = counter("failed");
+    Gauge.builder(METRIC_NAME + ".queued", executor.getQueue(), BlockingQueue::size)
+        .description("Completion deliveries waiting for a listener thread")
+        .register(meterRegistry);
+  }
+
+  private Counter counter(final String outcome) {
+    return Counter.builder(METRIC_NAME).tag("outcome", outcome).register(meterRegistry);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdown();
+    try {
+      executor.awaitTermination(config.getShutdownTimeoutMs(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Queues one delivery per listener. Runs on the publishing thread and never blocks.
+   *
+   * @param event the committed completion
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onContentCompleted(final ContentCompletedEvent event) {
+    for (final ContentCompletionListener listener : listeners) {
+      try {
+        executor.execute(() -> deliver(listener, event));
+        dispatchedCounter.increment();
+      } catch (RejectedExecutionException e) {
+        droppedCounter.increment();
+        log.warn(
+            "Completion queue is full, dropping {} for content {}",
+            nameOf(listener),
+            event.contentId());
+      }
+    }
+  }
+
+  private void deliver(
+      final ContentCompletionListener listener, final ContentCompletedEvent event) {
+    final String name = nameOf(listener);
+    // Lag is how long the completion waited for a listener thread, the signal to grow the pool.
+    Timer.builder(METRIC_NAME + ".lag")
+        .tag("listener", name)
+        .register(meterRegistry)
+        .record(Duration.between(event.completedAt(), clock.instant()));
+    try {
+      listener.onContentCompleted(event);
+    } catch (RuntimeException e) {
+      failedCounter.increment();
+      log.error("Completion listener {} failed for content {}", name, event.contentId(), e);
+    }
+  }
+
+  private static String nameOf(final ContentCompletionListener listener) {
+    return ClassUtils.getUserClass(listener).getSimpleName();
+  }
+}
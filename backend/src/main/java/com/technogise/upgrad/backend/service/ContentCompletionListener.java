@@ -0,0 +1,16 @@
+package com.technogise.upgrad.backend.service;
+
+import com.technogise.upgrad.backend.event.ContentCompletedEvent;
+
+/**
+ * Side effect of a viewer finishing a content item, run by {@link CompletionEventDispatcher} on its
+ * own threads after the completion has committed.
+ *
+ * <p>Implementations must be idempotent: the same completion can be delivered more than once, and
+ * deliveries are dropped when the dispatcher queue is full, so anything a listener maintains must
+ * be derivable again from {@code watch_history}.
+ */
+public interface ContentCompletionListener {
+
+  void onContentCompleted(ContentCompletedEvent event);
+}
@@ -0,0 +1,296 @@
+package com.technogise.upgrad.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.technogise.upgrad.backend.config.ContentIngestionConfig;
+import com.technogise.upgrad.backend.constants.ManifestFormat;
+import com.technogise.upgrad.backend.dto.ContentManifestRow;
+import com.technogise.upgrad.backend.dto.IngestionReject;
+import com.technogise.upgrad.backend.dto.IngestionReport;
+import com.technogise.upgrad.backend.event.CatalogChangedEvent;
+import com.technogise.upgrad.backend.repository.ContentRepository;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class ContentIngestionService {
+
+  private static final int MAX_TITLE_LENGTH = 255;
+  private static final int MAX_CATEGORY_LENGTH = 100;
+  private static final int MAX_URL_LENGTH = 500;
+
+  private final ContentRepository contentRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ContentIngestionConfig config;
+  private final ObjectReader rowReader;
+
+  public ContentIngestionService(
+      final ContentRepository contentRepository,
+      final ApplicationEventPublisher eventPublisher,
+      final ContentIngestionConfig config,
+      final ObjectMapper objectMapper) {
+    this.contentRepository = contentRepository;
+    this.eventPublisher = eventPublisher;
+    this.config = config;
+    this.rowReader = objectMapper.readerFor(ContentManifestRow.class);
+  }
+
+  /**
+   * Streams a manifest into the catalog, upserting valid rows by title in batches. Only the rows of
+   * the current batch are held in memory, so manifests of any size can be ingested. A batch the
+   * database refuses is retried row by row, so one bad row is rejected on its own.
+   *
+   * @param manifest the manifest body, UTF-8 encoded
+   * @param format JSON Lines (one object per line) or CSV with a header row
+   * @return counts of accepted, unchanged and rejected rows with the reasons for rejection
+   * @throws IOException if the manifest cannot be read
+   */
+  public IngestionReport ingest(
+      @NonNull final InputStream manifest, @NonNull final ManifestFormat format)
+      throws IOException {
+    final IngestionRun run = new IngestionRun();
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(manifest, StandardCharsets.UTF_8))) {
+      Map<String, Integer> csvColumns = null;
+      long lineNumber = 0;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        if (line.isBlank()) {
+          continue;
+        }
+        if (format == ManifestFormat.CSV && csvColumns == null) {
+          csvColumns = parseCsvHeader(line);
+          continue;
+        }
+        accept(run, lineNumber, line, csvColumns);
+      }
+    }
+    flush(run);
+    return new IngestionReport(
+        run.batches, run.accepted, run.unchanged, run.rejected, List.copyOf(run.rejects));
+  }
+
+  private void accept(
+      final IngestionRun run,
+      final long lineNumber,
+      final String line,
+      final Map<String, Integer> csvColumns) {
+    final ContentManifestRow row;
+    try {
+      row = csvColumns == null ? rowReader.readValue(line) : toRow(csvColumns, parseCsvLine(line));
+    } catch (JsonProcessingException | IllegalArgumentException e) {
+      run.reject(lineNumber, null, "Malformed row");
+      return;
+    }
+
+    final ContentManifestRow normalized = normalize(row);
+    final String violation = validate(normalized);
+    if (violation != null) {
+      run.reject(lineNumber, normalized.title(), violation);
+      return;
+    }
+    if (!run.seenTitles.add(normalized.title())) {
+      run.reject(lineNumber, normalized.title(), "Duplicate title in manifest");
+      return;
+    }
+
+    run.pending.add(new ManifestEntry(lineNumber, normalized));
+    if (run.pending.size() >= config.getBatchSize()) {
+      flush(run);
+    }
+  }
+
+  private void flush(final IngestionRun run) {
+    if (run.pending.isEmpty()) {
+      return;
+    }
+    final List<ManifestEntry> batch = List.copyOf(run.pending);
+    run.pending.clear();
+    final long rejectedBefore = run.rejected;
+
+    final List<String> changed = new ArrayList<>();
+    try {
+      changed.addAll(
+          contentRepository.upsertByTitle(batch.stream().map(ManifestEntry::row).toList()));
+    } catch (DataAccessException e) {
+      log.warn(
+          "Ingestion batch of {} rows failed, retrying row by row: {}",
+          batch.size(),
+          e.getMostSpecificCause().getMessage());
+      for (final ManifestEntry entry : batch) {
+        try {
+          changed.addAll(contentRepository.upsertByTitle(List.of(entry.row())));
+        } catch (DataAccessException rowFailure) {
+          log.warn(
+              "Ingestion row {} failed: {}",
+              entry.lineNumber(),
+              rowFailure.getMostSpecificCause().getMessage());
+          run.reject(entry.lineNumber(), entry.row().title(), "Write failed");
+        }
+      }
+    }
+
+    final long written = batch.size() - (run.rejected - rejectedBefore);
+    if (written > 0) {
+      run.batches++;
+    }
+    run.accepted += changed.size();
+    run.unchanged += written - changed.size();
+    if (!changed.isEmpty()) {
+      eventPublisher.publishEvent(new CatalogChangedEvent(List.copyOf(changed)));
+    }
+  }
+
+  private static ContentManifestRow normalize(final ContentManifestRow row) {
+    return new ContentManifestRow(
+        trimToNull(row.title()),
+        row.description(),
+        trimToNull(row.thumbnailUrl()),
+        trimToNull(row.videoUrl()),
+        trimToNull(row.category()),
+        row.episodeNumber(),
+        row.durationSeconds());
+  }
+
+  private static String validate(final ContentManifestRow row) {
+    if (row.title() == null) {
+      return "title is required";
+    }
+    if (row.title().length() > MAX_TITLE_LENGTH) {
+      return "title exceeds " + MAX_TITLE_LENGTH + " characters";
+    }
+    if (row.category() == null) {
+      return "category is required";
+    }
+    if (row.category().length() > MAX_CATEGORY_LENGTH) {
+      return "category exceeds " + MAX_CATEGORY_LENGTH + " characters";
+    }
+    if (row.thumbnailUrl() != null && row.thumbnailUrl().length() > MAX_URL_LENGTH) {
+      return "thumbnailUrl exceeds " + MAX_URL_LENGTH + " characters";
+    }
+    if (row.videoUrl() != null && row.videoUrl().length() > MAX_URL_LENGTH) {
+      return "videoUrl exceeds " + MAX_URL_LENGTH + " characters";
+    }
+    if (row.episodeNumber() != null && row.episodeNumber() < 0) {
+      return "episodeNumber must not be negative";
+    }
+    if (row.durationSeconds() != null && row.durationSeconds() < 0) {
+      return "durationSeconds must not be negative";
+    }
+    return null;
+  }
+
+  private static Map<String, Integer> parseCsvHeader(final String line) {
+    final List<String> names = parseCsvLine(line);
+    final Map<String, Integer> columns = new HashMap<>();
+    for (int i = 0; i < names.size(); i++) {
+      columns.put(names.get(i).trim(), i);
+    }
+    return columns;
+  }
+
+  private static ContentManifestRow toRow(
+      final Map<String, Integer> columns, final List<String> values) {
+    return new ContentManifestRow(
+        column(columns, values, "title"),
+        column(columns, values, "description"),
+        column(columns, values, "thumbnailUrl"),
+        column(columns, values, "videoUrl"),
+        column(columns, values, "category"),
+        parseInteger(column(columns, values, "episodeNumber")),
+        parseInteger(column(columns, values, "durationSeconds")));
+  }
+
+  private static String column(
+      final Map<String, Integer> columns, final List<String> values, final String name) {
+    final Integer index = columns.get(name);
+    if (index == null || index >= values.size()) {
+      return null;
+    }
+    final String value = values.get(index);
+    return value.isEmpty() ? null : value;
+  }
+
+  private static Integer parseInteger(final String value) {
+    return value == null ? null : Integer.valueOf(value.trim());
+  }
+
+  /**
+   * Splits one RFC 4180 record. Quoted fields may contain commas and doubled quotes but not line
+   * breaks, which keeps the reader strictly line-oriented.
+   */
+  static List<String> parseCsvLine(final String line) {
+    final List<String> fields = new ArrayList<>();
+    final StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      final char c = line.charAt(i);
+      if (quoted) {
+        if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else if (c == '"') {
+          quoted = false;
+        } else {
+          field.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+    if (quoted) {
+      throw new IllegalArgumentException("Unterminated quoted field");
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+
+  private static String trimToNull(final String value) {
+    if (value == null) {
+      return null;
+    }
+    final String trimmed = value.trim();
+    return trimmed.isEmpty() ? null : trimmed;
+  }
+
+  private record ManifestEntry(long lineNumber, ContentManifestRow row) {}
+
+  private final class IngestionRun {
+    private final List<ManifestEntry> pending = new ArrayList<>();
+    private final Set<String> seenTitles = new HashSet<>();
+    private final List<IngestionReject> rejects = new ArrayList<>();
+    private int batches;
+    private long accepted;
+    private long unchanged;
+    private long rejected;
+
+    private void reject(final long lineNumber, final String title, final String reason) {
+      rejected++;
+      if (rejects.size() < config.getMaxReportedRejects()) {
+        rejects.add(new IngestionReject(lineNumber, title, reason));
+      }
+    }
+  }
+}
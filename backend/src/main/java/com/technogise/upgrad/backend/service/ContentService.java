@@ -4,6 +4,8 @@ import com.technogise.upgrad.backend.dto.ContentDetailDto;
 import com.technogise.upgrad.backend.entity.Content;
 import com.technogise.upgrad.backend.exception.ResourceNotFoundException;
 import com.technogise.upgrad.backend.repository.ContentRepository;
+import com.technogise.upgrad.backend.service.LocalMediaStore.MediaFile;
+import java.io.IOException;
 import java.util.Optional;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +17,9 @@ import org.springframework.transaction.annotation.Transactional;
 public class ContentService {
 
   private final ContentRepository contentRepository;
+  private final MediaUrlSigner mediaUrlSigner;
+  private final LocalMediaStore localMediaStore;
+  private final ContentViewerService contentViewerService;
 
   @Transactional(readOnly = true)
   public ContentDetailDto getContent(UUID id) {
@@ -37,21 +42,38 @@ public class ContentService {
     }
 
     return contentRepository
-        .findFirstByCategoryAndEpisodeNumberGreaterThanOrderByEpisodeNumberAsc(
-            current.getCategory(), current.getEpisodeNumber())
+        .findFirstByCategoryIdAndEpisodeNumberGreaterThanOrderByEpisodeNumberAsc(
+            current.getCategory().getId(), current.getEpisodeNumber())
         .map(this::toDto);
   }
 
+  @Transactional(readOnly = true)
+  public MediaFile getMediaFile(UUID contentId) throws IOException {
+    final String videoUrl =
+        contentRepository
+            .findVideoUrlById(contentId)
+            .orElseThrow(
+                () -> new ResourceNotFoundException("No video for content with id: " + contentId));
+    return localMediaStore
+        .resolve(videoUrl)
+        .orElseThrow(
+            () ->
+                new ResourceNotFoundException(
+                    "Video is not hosted locally for content with id: " + contentId));
+  }
+
   private ContentDetailDto toDto(Content content) {
     return new ContentDetailDto(
         content.getId(),
         content.getTitle(),
         content.getDescription(),
+        // Thumbnails are public and cached as immutable, so only the video URL is signed.
         content.getThumbnailUrl(),
-        content.getVideoUrl(),
-        content.getCategory(),
+        mediaUrlSigner.sign(localMediaStore.playbackUrl(content.getId(), content.getVideoUrl())),
+        content.getCategory().getName(),
         content.getEpisodeNumber(),
         content.getDurationSeconds(),
-        content.getCreatedAt());
+        content.getCreatedAt(),
+        contentViewerService.countViewers(content.getId()));
   }
 }
@@ -0,0 +1,19 @@
+package com.technogise.upgrad.backend.service;
+
+import com.technogise.upgrad.backend.event.ContentCompletedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/** Adds a viewer who finished a content item to its unique-viewer sketches. */
+@Component
+@RequiredArgsConstructor
+public class ContentViewerCompletionListener implements ContentCompletionListener {
+
+  private final ContentViewerService contentViewerService;
+
+  @Override
+  public void onContentCompleted(final ContentCompletedEvent event) {
+    // Sketch registers only ever take the maximum, so a redelivered completion changes nothing.
+    contentViewerService.recordViewer(event.userId(), event.contentId());
+  }
+}
@@ -0,0 +1,209 @@
+package com.technogise.upgrad.backend.service;
+
+import com.technogise.upgrad.backend.config.ViewerCountConfig;
+import com.technogise.upgrad.backend.dto.UniqueViewersDto;
+import com.technogise.upgrad.backend.repository.ContentViewerSketchRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Counts distinct viewers per content item with {@link HyperLogLog} sketches kept all-time and per
+ * day, instead of {@code COUNT(DISTINCT user_id)} over watch history. A completion adds the viewer
+ * to the content's sketches through {@link ContentViewerCompletionListener}; the day each viewer
+ * was last added to each content item is remembered so that repeat completions that day do not
+ * reach the database at all. Counts for a category or a date range merge the stored sketches. Daily
+ * sketches older than the retention period are pruned on a fixed interval, so date-range counts
+ * reach back that far and no further; all-time counts are unaffected.
+ */
+@Service
+@Slf4j
+public class ContentViewerService {
+
+  private final ContentViewerSketchRepository sketchRepository;
+  private final ViewerCountConfig config;
+  private final Clock clock;
+  private final Map<Viewing, LocalDate> lastAdded = new ConcurrentHashMap<>();
+  private ScheduledExecutorService scheduler;
+
+  public ContentViewerService(
+      final ContentViewerSketchRepository sketchRepository,
+      final ViewerCountConfig config,
+      final Clock clock) {
+    this.sketchRepository = sketchRepository;
+    this.config = config;
+    this.clock = clock;
+  }
+
+  private record Viewing(UUID userId, UUID contentId) {}
+
+  @PostConstruct
+  void start() {
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              final Thread thread = new Thread(runnable, "viewer-sketch-prune");
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduler.scheduleWithFixedDelay(
+        this::pruneQuietly,
+        config.getPruneIntervalMs(),
+        config.getPruneIntervalMs(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+  }
+
+  /**
+   * Deletes daily sketches that have fallen out of the retention period.
+   *
+   * @return the number of sketches deleted
+   */
+  public int pruneDailySketches() {
+    return sketchRepository.deleteDailySketchesBefore(
+        today().minusDays(config.getDailyRetentionDays()));
+  }
+
+  private void pruneQuietly() {
+    try {
+      final int pruned = pruneDailySketches();
+      if (pruned > 0) {
+        log.info("Pruned {} daily viewer sketches", pruned);
+      }
+    } catch (DataAccessException e) {
+      log.warn("Pruning daily viewer sketches failed: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Adds a viewer who has just finished a content item to its sketches. Failures are logged rather
+   * than thrown: a missed viewer costs a count that is an estimate anyway, not the other completion
+   * listeners.
+   *
+   * @param userId the viewer
+   * @param contentId the content item watched
+   */
+  public void recordViewer(@NonNull final UUID userId, @NonNull final UUID contentId) {
+    final LocalDate today = today();
+    final Viewing viewing = new Viewing(userId, contentId);
+    if (today.equals(lastAdded.get(viewing))) {
+      return;
+    }
+    final long hash = HyperLogLog.hash(userId);
+    try {
+      sketchRepository.addViewer(
+          contentId, today, HyperLogLog.register(hash), HyperLogLog.rank(hash));
+    } catch (DataAccessException e) {
+      log.warn("Could not record viewer {} of content {} on {}", userId, contentId, today, e);
+      return;
+    }
+    if (lastAdded.size() >= config.getMaxCachedViewings() && !lastAdded.containsKey(viewing)) {
+      // Entries from earlier days are useless anyway; a cleared cache costs one write per viewing.
+      lastAdded.clear();
+    }
+    lastAdded.put(viewing, today);
+  }
+
+  /**
+   * Estimates how many distinct viewers have made progress on a content item, for its tile.
+   *
+   * @param contentId the content item
+   * @return the estimate, zero for content nobody has watched
+   */
+  @Transactional(readOnly = true)
+  public long countViewers(@NonNull final UUID contentId) {
+    return sketchRepository
+        .findById(contentId)
+        .map(sketch -> HyperLogLog.fromBytes(sketch.getRegisters()).estimate())
+        .orElse(0L);
+  }
+
+  /**
+   * Estimates a content item's distinct viewers, all time or over a date range.
+   *
+   * @param contentId the content item
+   * @param from the first day, or {@code null} with {@code to} for all time
+   * @param to the last day, or {@code null} with {@code from} for all time
+   * @return the estimate with its error bound
+   * @throws IllegalArgumentException if only one bound is given or the range is invalid
+   */
+  @Transactional(readOnly = true)
+  public UniqueViewersDto getContentViewers(
+      @NonNull final UUID contentId, final LocalDate from, final LocalDate to) {
+    if (!validateRange(from, to)) {
+      return toDto(contentId.toString(), from, to, countViewers(contentId));
+    }
+    final HyperLogLog merged = HyperLogLog.empty();
+    sketchRepository.scanDailySketches(contentId, from, to, merged::merge);
+    return toDto(contentId.toString(), from, to, merged.estimate());
+  }
+
+  /**
+   * Estimates a category's distinct viewers, all time or over a date range. A viewer of several of
+   * the category's content items, or on several days, is counted once.
+   *
+   * @param category the category name
+   * @param from the first day, or {@code null} with {@code to} for all time
+   * @param to the last day, or {@code null} with {@code from} for all time
+   * @return the estimate with its error bound, zero for an unknown category
+   * @throws IllegalArgumentException if only one bound is given or the range is invalid
+   */
+  @Transactional(readOnly = true)
+  public UniqueViewersDto getCategoryViewers(
+      @NonNull final String category, final LocalDate from, final LocalDate to) {
+    final HyperLogLog merged = HyperLogLog.empty();
+    if (validateRange(from, to)) {
+      sketchRepository.scanCategoryDailySketches(category, from, to, merged::merge);
+    } else {
+      sketchRepository.scanCategorySketches(category, merged::merge);
+    }
+    return toDto(category, from, to, merged.estimate());
+  }
+
+  /** Returns whether a date range was given, false when counting all time. */
+  private boolean validateRange(final LocalDate from, final LocalDate to) {
+    if (from == null && to == null) {
+      return false;
+    }
+    if (from == null || to == null) {
+      throw new IllegalArgumentException("from and to must be given together");
+    }
+    if (from.isAfter(to)) {
+      throw new IllegalArgumentException("from must not be after to");
+    }
+    if (ChronoUnit.DAYS.between(from, to) >= config.getMaxRangeDays()) {
+      throw new IllegalArgumentException(
+          "Date range must not exceed " + config.getMaxRangeDays() + " days");
+    }
+    return true;
+  }
+
+  private static UniqueViewersDto toDto(
+      final String key, final LocalDate from, final LocalDate to, final long estimate) {
+    return new UniqueViewersDto(key, from, to, estimate, HyperLogLog.STANDARD_ERROR);
+  }
+
+  private LocalDate today() {
+    return LocalDate.now(clock.withZone(ZoneId.of(config.getZone())));
+  }
+}
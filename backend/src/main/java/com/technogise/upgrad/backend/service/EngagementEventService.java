@@ -0,0 +1,222 @@
+package com.technogise.upgrad.backend.service;
+
+import com.technogise.upgrad.backend.config.EngagementEventConfig;
+import com.technogise.upgrad.backend.dto.EngagementEventRequest;
+import com.technogise.upgrad.backend.dto.EngagementEventRow;
+import com.technogise.upgrad.backend.dto.EngagementIngestResult;
+import com.technogise.upgrad.backend.repository.EngagementEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+
+/**
+ * Ingests player engagement events. Request threads only offer events to a bounded in-memory queue
+ * and never wait on the database; a single drainer thread appends them to the partitioned event log
+ * in large JDBC batches. When the queue is full, the remaining events of a request are rejected
+ * immediately and the caller is expected to retry them later.
+ */
+@Service
+@Slf4j
+public class EngagementEventService {
+
+  static final String METRIC_NAME = "engagement.events";
+
+  private final EngagementEventConfig config;
+  private final EngagementEventRepository engagementEventRepository;
+  private final Clock clock;
+  private final BlockingQueue<EngagementEventRow> queue;
+  private final Counter acceptedCounter;
+  private final Counter rejectedCounter;
+  private final Counter writtenCounter;
+  private final Counter droppedCounter;
+  private final ScheduledExecutorService drainer;
+
+  public EngagementEventService(
+      final EngagementEventConfig config,
+      final EngagementEventRepository engagementEventRepository,
+      final Clock clock,
+      final MeterRegistry meterRegistry) {
+    this.config = config;
+    this.engagementEventRepository = engagementEventRepository;
+    this.clock = clock;
+    this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+    this.acceptedCounter = counter(meterRegistry, "accepted");
+    this.rejectedCounter = counter(meterRegistry, "rejected");
+    this.writtenCounter = counter(meterRegistry, "written");
+    this.droppedCounter = counter(meterRegistry, "dropped");
+    Gauge.builder(METRIC_NAME + ".queued", queue, BlockingQueue::size)
+        .description("Engagement events waiting to be written")
+        .register(meterRegistry);
+    this.drainer =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              final Thread thread = new Thread(runnable, "engagement-drainer");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  private static Counter counter(final MeterRegistry meterRegistry, final String outcome) {
+    return Counter.builder(METRIC_NAME).tag("outcome", outcome).register(meterRegistry);
+  }
+
+  @PostConstruct
+  void start() {
+    drainer.scheduleWithFixedDelay(
+        this::ensurePartitions, 0, TimeUnit.DAYS.toMillis(1), TimeUnit.MILLISECONDS);
+    drainer.scheduleWithFixedDelay(
+        this::drainQuietly,
+        config.getDrainIntervalMs(),
+        config.getDrainIntervalMs(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    drainer.shutdown();
+    try {
+      drainer.awaitTermination(config.getDrainIntervalMs(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    drain();
+  }
+
+  /**
+   * Queues a user's events in order without blocking. Stops at the first event that does not fit.
+   *
+   * @param userId the viewer
+   * @param events the events, oldest first
+   * @return how many events were queued and how many were rejected
+   */
+  public EngagementIngestResult submit(
+      @NonNull final UUID userId, @NonNull final List<EngagementEventRequest> events) {
+    final LocalDateTime receivedAt = LocalDateTime.now(clock);
+    int accepted = 0;
+    for (final EngagementEventRequest event : events) {
+      if (!queue.offer(toRow(userId, event, receivedAt))) {
+        break;
+      }
+      accepted++;
+    }
+    final int rejected = events.size() - accepted;
+    acceptedCounter.increment(accepted);
+    if (rejected > 0) {
+      rejectedCounter.increment(rejected);
+      log.warn("Engagement event queue is full, rejected {} events", rejected);
+    }
+    return new EngagementIngestResult(accepted, rejected);
+  }
+
+  public int getRetryAfterSeconds() {
+    return config.getRetryAfterSeconds();
+  }
+
+  /**
+   * Writes queued events in batches until the queue is empty or a write fails.
+   *
+   * @return the number of events written
+   */
+  public int drain() {
+    int written = 0;
+    while (true) {
+      final List<EngagementEventRow> batch = new ArrayList<>(config.getBatchSize());
+      queue.drainTo(batch, config.getBatchSize());
+      if (batch.isEmpty()) {
+        return written;
+      }
+      final int batchWritten = write(batch);
+      if (batchWritten < 0) {
+        return written;
+      }
+      written += batchWritten;
+    }
+  }
+
+  /** Returns the number of events written, or -1 if the batch was requeued for a later run. */
+  private int write(final List<EngagementEventRow> batch) {
+    try {
+      engagementEventRepository.appendEvents(batch);
+      writtenCounter.increment(batch.size());
+      return batch.size();
+    } catch (DataIntegrityViolationException e) {
+      // Retrying cannot fix a batch the schema rejects; keep the drainer moving.
+      droppedCounter.increment(batch.size());
+      log.error("Dropping {} engagement events rejected by the database", batch.size(), e);
+      return 0;
+    } catch (DataAccessException e) {
+      // Put the batch back for the next run; whatever no longer fits is lost.
+      int dropped = 0;
+      for (final EngagementEventRow event : batch) {
+        if (!queue.offer(event)) {
+          dropped++;
+        }
+      }
+      droppedCounter.increment(dropped);
+      log.warn(
+          "Writing {} engagement events failed, requeued {}",
+          batch.size(),
+          batch.size() - dropped,
+          e);
+      return -1;
+    }
+  }
+
+  private void drainQuietly() {
+    try {
+      drain();
+    } catch (RuntimeException e) {
+      log.error("Engagement event drain failed", e);
+    }
+  }
+
+  void ensurePartitions() {
+    final YearMonth current = YearMonth.now(clock);
+    for (int ahead = 0; ahead <= config.getPartitionMonthsAhead(); ahead++) {
+      final YearMonth month = current.plusMonths(ahead);
+      try {
+        engagementEventRepository.createMonthlyPartition(month);
+      } catch (DataAccessException e) {
+        log.warn("Could not create engagement event partition for {}: {}", month, e.getMessage());
+      }
+    }
+  }
+
+  private EngagementEventRow toRow(
+      final UUID userId, final EngagementEventRequest event, final LocalDateTime receivedAt) {
+    LocalDateTime occurredAt =
+        event.occurredAt() == null
+            ? receivedAt
+            : LocalDateTime.ofInstant(event.occurredAt(), clock.getZone());
+    if (occurredAt.isAfter(receivedAt)) {
+      // Client clocks run ahead; an event cannot have happened after it was received.
+      occurredAt = receivedAt;
+    }
+    return new EngagementEventRow(
+        userId,
+        event.contentId(),
+        event.type(),
+        event.positionSeconds(),
+        event.watchDurationSeconds(),
+        occurredAt,
+        receivedAt);
+  }
+}
@@ -0,0 +1,178 @@
+package com.technogise.upgrad.backend.service;
+
+import com.technogise.upgrad.backend.config.EngagementRollupConfig;
+import com.technogise.upgrad.backend.dto.EngagementStatsDto;
+import com.technogise.upgrad.backend.entity.CategoryEngagementRollup;
+import com.technogise.upgrad.backend.entity.ContentEngagementRollup;
+import com.technogise.upgrad.backend.exception.ResourceNotFoundException;
+import com.technogise.upgrad.backend.repository.CategoryEngagementRollupRepository;
+import com.technogise.upgrad.backend.repository.ContentEngagementRollupRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Serves content-efficacy aggregates from summary tables that a database trigger keeps current
+ * through an append-only delta log. Deltas are folded in on a fixed interval, so every read is a
+ * primary-key lookup and the figures lag writes by at most one interval. Heartbeats that only move
+ * progress are not logged, and votes still counted in memory are lost if their instance stops;
+ * progress sums and vote totals are recounted from watch history on a longer interval, so average
+ * progress lags, and a lost vote is missing, for up to that interval instead.
+ */
+@Service
+@Slf4j
+public class EngagementRollupService {
+
+  private final EngagementRollupConfig config;
+  private final ContentEngagementRollupRepository contentRollupRepository;
+  private final CategoryEngagementRollupRepository categoryRollupRepository;
+  private ScheduledExecutorService scheduler;
+
+  public EngagementRollupService(
+      final EngagementRollupConfig config,
+      final ContentEngagementRollupRepository contentRollupRepository,
+      final CategoryEngagementRollupRepository categoryRollupRepository) {
+    this.config = config;
+    this.contentRollupRepository = contentRollupRepository;
+    this.categoryRollupRepository = categoryRollupRepository;
+  }
+
+  @PostConstruct
+  void start() {
+    if (!config.isEnabled()) {
+      return;
+    }
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              final Thread thread = new Thread(runnable, "engagement-rollup");
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduler.scheduleWithFixedDelay(
+        this::foldQuietly,
+        config.getFoldIntervalMs(),
+        config.getFoldIntervalMs(),
+        TimeUnit.MILLISECONDS);
+    scheduler.scheduleWithFixedDelay(
+        this::recountQuietly,
+        config.getRecountIntervalMs(),
+        config.getRecountIntervalMs(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+  }
+
+  /**
+   * Folds pending deltas into the rollups.
+   *
+   * @return the number of deltas folded, or -1 if another instance is folding
+   */
+  public int fold() {
+    return contentRollupRepository.foldDeltas();
+  }
+
+  /**
+   * Folds pending deltas and recounts every rollup's progress sum and vote totals from watch
+   * history.
+   *
+   * @return the number of deltas folded, or -1 if another instance is folding
+   */
+  public int recount() {
+    return contentRollupRepository.foldDeltasAndRecount();
+  }
+
+  @Transactional(readOnly = true)
+  public EngagementStatsDto getContentStats(final UUID contentId) {
+    final ContentEngagementRollup rollup =
+        contentRollupRepository
+            .findById(contentId)
+            .orElseThrow(
+                () ->
+                    new ResourceNotFoundException(
+                        "No engagement recorded for content: " + contentId));
+    return toStats(
+        contentId.toString(),
+        rollup.getStarts(),
+        rollup.getCompletions(),
+        rollup.getProgressSum(),
+        rollup.getHelpful(),
+        rollup.getNotHelpful());
+  }
+
+  @Transactional(readOnly = true)
+  public EngagementStatsDto getCategoryStats(final String category) {
+    return toStats(
+        categoryRollupRepository
+            .findById(category)
+            .orElseThrow(
+                () ->
+                    new ResourceNotFoundException(
+                        "No engagement recorded for category: " + category)));
+  }
+
+  /** Lists every category's aggregates; there is one row per category, not per view. */
+  @Transactional(readOnly = true)
+  public List<EngagementStatsDto> getAllCategoryStats() {
+    return categoryRollupRepository.findAll().stream()
+        .map(EngagementRollupService::toStats)
+        .sorted(Comparator.comparing(EngagementStatsDto::key))
+        .toList();
+  }
+
+  private void foldQuietly() {
+    try {
+      final int folded = fold();
+      if (folded > 0) {
+        log.debug("Folded {} engagement deltas", folded);
+      }
+    } catch (DataAccessException e) {
+      log.warn("Engagement rollup fold failed: {}", e.getMessage());
+    }
+  }
+
+  private void recountQuietly() {
+    try {
+      if (recount() < 0) {
+        log.debug("Engagement recount skipped, another instance is folding");
+      }
+    } catch (DataAccessException e) {
+      log.warn("Engagement recount failed: {}", e.getMessage());
+    }
+  }
+
+  private static EngagementStatsDto toStats(final CategoryEngagementRollup rollup) {
+    return toStats(
+        rollup.getCategory(),
+        rollup.getStarts(),
+        rollup.getCompletions(),
+        rollup.getProgressSum(),
+        rollup.getHelpful(),
+        rollup.getNotHelpful());
+  }
+
+  private static EngagementStatsDto toStats(
+      final String key,
+      final long starts,
+      final long completions,
+      final long progressSum,
+      final long helpful,
+      final long notHelpful) {
+    final double averageProgress = starts == 0 ? 0 : (double) progressSum / starts;
+    return new EngagementStatsDto(key, starts, completions, averageProgress, helpful, notHelpful);
+  }
+}
@@ -0,0 +1,179 @@
+package com.technogise.upgrad.backend.service;
+
+import com.technogise.upgrad.backend.config.FeedbackCounterConfig;
+import com.technogise.upgrad.backend.constants.Feedback;
+import com.technogise.upgrad.backend.dto.FeedbackChange;
+import com.technogise.upgrad.backend.dto.FeedbackCountsDto;
+import com.technogise.upgrad.backend.entity.ContentEngagementRollup;
+import com.technogise.upgrad.backend.repository.ContentEngagementRollupRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Counts helpful and not-helpful votes per content item. Votes only bump striped in-memory adders,
+ * so concurrent voters on a popular item never contend on a lock or a database row; the deltas are
+ * appended to the engagement rollup deltas on a fixed interval and folded into {@code
+ * content_engagement_rollups}, the only stored vote totals. Reads combine the content rollup with
+ * this instance's unflushed deltas, so they cost one primary-key lookup, and lag other instances'
+ * votes by up to one flush and one fold. Deltas an instance had not flushed when it stopped are
+ * lost; the periodic rollup recount restores them from {@code watch_history.feedback}.
+ */
+@Service
+@Slf4j
+public class FeedbackCounterService {
+
+  private final FeedbackCounterConfig config;
+  private final ContentEngagementRollupRepository rollupRepository;
+  // Entries are kept once created, so an increment can never race with a removal. The map is
+  // bounded by the number of content items voted on.
+  private final Map<UUID, PendingCounts> pending = new ConcurrentHashMap<>();
+  private final ReentrantLock flushLock = new ReentrantLock();
+  private ScheduledExecutorService scheduler;
+
+  public FeedbackCounterService(
+      final FeedbackCounterConfig config,
+      final ContentEngagementRollupRepository rollupRepository) {
+    this.config = config;
+    this.rollupRepository = rollupRepository;
+  }
+
+  @PostConstruct
+  void start() {
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              final Thread thread = new Thread(runnable, "feedback-counter-flush");
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduler.scheduleWithFixedDelay(
+        this::flushQuietly,
+        config.getFlushIntervalMs(),
+        config.getFlushIntervalMs(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    if (scheduler == null) {
+      return;
+    }
+    scheduler.shutdown();
+    try {
+      scheduler.awaitTermination(config.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    flush();
+  }
+
+  /**
+   * Counts a stored vote, moving it from the replaced vote's counter when the viewer changed their
+   * mind.
+   *
+   * @param change the vote as stored in the viewer's history
+   */
+  public void record(final FeedbackChange change) {
+    if (change.previous() == change.current()) {
+      return;
+    }
+    final PendingCounts counts =
+        pending.computeIfAbsent(change.contentId(), id -> new PendingCounts());
+    counts.adder(change.current()).increment();
+    if (change.previous() != null) {
+      counts.adder(change.previous()).decrement();
+    }
+  }
+
+  /**
+   * Returns the vote totals for a content item, including votes not yet flushed by this instance.
+   *
+   * @param contentId the content item
+   * @return the totals, zero for an item nobody has voted on
+   */
+  public FeedbackCountsDto getCounts(final UUID contentId) {
+    final Optional<ContentEngagementRollup> stored = rollupRepository.findById(contentId);
+    long helpful = stored.map(ContentEngagementRollup::getHelpful).orElse(0L);
+    long notHelpful = stored.map(ContentEngagementRollup::getNotHelpful).orElse(0L);
+    final PendingCounts counts = pending.get(contentId);
+    if (counts != null) {
+      helpful += counts.helpful.sum();
+      notHelpful += counts.notHelpful.sum();
+    }
+    return new FeedbackCountsDto(contentId, helpful, notHelpful);
+  }
+
+  /**
+   * Records every unflushed delta for the next rollup fold in one batch. On failure the deltas are
+   * kept for the next flush.
+   *
+   * @return the number of content items whose votes changed
+   */
+  public int flush() {
+    flushLock.lock();
+    try {
+      final List<FeedbackCountsDto> deltas = new ArrayList<>();
+      pending.forEach(
+          (contentId, counts) -> {
+            // Increments landing after the reset stay in the adders for the next flush.
+            final long helpful = counts.helpful.sumThenReset();
+            final long notHelpful = counts.notHelpful.sumThenReset();
+            if (helpful != 0 || notHelpful != 0) {
+              deltas.add(new FeedbackCountsDto(contentId, helpful, notHelpful));
+            }
+          });
+      if (deltas.isEmpty()) {
+        return 0;
+      }
+      try {
+        rollupRepository.addFeedbackDeltas(deltas);
+        return deltas.size();
+      } catch (DataAccessException e) {
+        log.warn(
+            "Requeueing feedback counts for {} content items: {}", deltas.size(), e.getMessage());
+        deltas.forEach(this::restore);
+        return 0;
+      }
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  private void restore(final FeedbackCountsDto delta) {
+    final PendingCounts counts =
+        pending.computeIfAbsent(delta.contentId(), id -> new PendingCounts());
+    counts.helpful.add(delta.helpful());
+    counts.notHelpful.add(delta.notHelpful());
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (RuntimeException e) {
+      log.error("Feedback counter flush failed", e);
+    }
+  }
+
+  private static final class PendingCounts {
+    private final LongAdder helpful = new LongAdder();
+    private final LongAdder notHelpful = new LongAdder();
+
+    LongAdder adder(final Feedback feedback) {
+      return feedback == Feedback.HELPFUL ? helpful : notHelpful;
+    }
+  }
+}
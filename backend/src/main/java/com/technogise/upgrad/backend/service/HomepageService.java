@@ -3,15 +3,14 @@ package com.technogise.upgrad.backend.service;
 import com.technogise.upgrad.backend.dto.ContentDto;
 import com.technogise.upgrad.backend.dto.ContinueWatchingDto;
 import com.technogise.upgrad.backend.dto.HomepageSectionsDto;
-import com.technogise.upgrad.backend.entity.Content;
-import com.technogise.upgrad.backend.entity.UserInterest;
-import com.technogise.upgrad.backend.entity.WatchHistory;
 import com.technogise.upgrad.backend.repository.ContentRepository;
-import com.technogise.upgrad.backend.repository.UserInterestRepository;
 import com.technogise.upgrad.backend.repository.WatchHistoryRepository;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
@@ -21,80 +20,102 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class HomepageService {
 
-  private static final int COMPLETE_PROGRESS = 100;
+  private static final int CONTINUE_WATCHING_LIMIT = 10;
   private static final int RECOMMENDED_PAGE_SIZE = 5;
 
   private final ContentRepository contentRepository;
   private final WatchHistoryRepository watchHistoryRepository;
-  private final UserInterestRepository userInterestRepository;
+  private final ThumbnailService thumbnailService;
 
+  /**
+   * Builds the homepage rails for a user.
+   *
+   * @param userId the user
+   * @param interestMask the user's {@link com.technogise.upgrad.backend.constants.Interest} bits,
+   *     as loaded with the user, so no interest lookup is needed
+   * @return the continue-watching, recommended and exploration rails
+   */
   @Transactional(readOnly = true)
-  public HomepageSectionsDto getHomepageSections(@NonNull final UUID userId) {
-    final ContinueWatchingDto continueWatching = buildContinueWatching(userId);
-    final List<String> userCategories = getUserInterestCategories(userId);
-    final List<ContentDto> recommended = buildRecommended(userCategories);
-    final List<ContentDto> exploration = buildExploration(userCategories);
+  public HomepageSectionsDto getHomepageSections(
+      @NonNull final UUID userId, final int interestMask) {
+    final List<ContinueWatchingDto> continueWatching = buildContinueWatching(userId);
+    final List<ContentDto> recommended = buildRecommended(interestMask);
+    final List<ContentDto> exploration = buildExploration(interestMask);
 
-    return new HomepageSectionsDto(continueWatching, recommended, exploration);
-  }
+    final List<UUID> contentIds = new ArrayList<>();
+    continueWatching.forEach(item -> contentIds.add(item.contentId()));
+    recommended.forEach(tile -> contentIds.add(tile.id()));
+    exploration.forEach(tile -> contentIds.add(tile.id()));
+    final Map<UUID, String> srcsets = thumbnailService.findSrcsets(contentIds);
 
-  private ContinueWatchingDto buildContinueWatching(final UUID userId) {
-    return watchHistoryRepository
-        .findTopByUserIdAndProgressPercentLessThanOrderByLastWatchedAtDesc(
-            userId, COMPLETE_PROGRESS)
-        .map(this::toDto)
-        .orElse(null);
+    return new HomepageSectionsDto(
+        presentContinueWatching(continueWatching, srcsets),
+        present(recommended, srcsets),
+        present(exploration, srcsets));
   }
 
-  private List<String> getUserInterestCategories(final UUID userId) {
-    return userInterestRepository.findByUserId(userId).stream()
-        .map(UserInterest::getInterestName)
-        .toList();
+  private List<ContinueWatchingDto> buildContinueWatching(final UUID userId) {
+    return watchHistoryRepository.findContinueWatching(userId, Limit.of(CONTINUE_WATCHING_LIMIT));
   }
 
-  private List<ContentDto> buildRecommended(final List<String> userCategories) {
-    if (userCategories.isEmpty()) {
+  private List<ContentDto> buildRecommended(final int interestMask) {
+    if (interestMask == 0) {
       return List.of();
     }
-    return contentRepository
-        .findByCategoryIn(userCategories, PageRequest.of(0, RECOMMENDED_PAGE_SIZE))
-        .stream()
-        .map(this::toDto)
-        .toList();
+    return contentRepository.findTilesMatchingInterests(
+        interestMask, PageRequest.of(0, RECOMMENDED_PAGE_SIZE));
   }
 
-  private List<ContentDto> buildExploration(final List<String> userCategories) {
-    if (userCategories.isEmpty()) {
-      return contentRepository.findAll(PageRequest.of(0, RECOMMENDED_PAGE_SIZE)).stream()
-          .map(this::toDto)
-          .toList();
+  private List<ContentDto> buildExploration(final int interestMask) {
+    if (interestMask == 0) {
+      return contentRepository.findTiles(PageRequest.of(0, RECOMMENDED_PAGE_SIZE));
     }
-    return contentRepository
-        .findByCategoryNotIn(userCategories, PageRequest.of(0, RECOMMENDED_PAGE_SIZE))
-        .stream()
-        .map(this::toDto)
-        .toList();
+    return contentRepository.findTilesOutsideInterests(
+        interestMask, PageRequest.of(0, RECOMMENDED_PAGE_SIZE));
   }
 
-  private ContinueWatchingDto toDto(final WatchHistory watchHistory) {
-    final Content content = watchHistory.getContent();
-    return new ContinueWatchingDto(
-        content.getId(),
-        content.getTitle(),
-        content.getDescription(),
-        content.getThumbnailUrl(),
-        watchHistory.getProgressPercent(),
-        content.getCategory(),
-        content.getEpisodeNumber(),
-        watchHistory.getLastWatchedPosition());
+  // Presenting projected tiles attaches the derivative srcset, reusing the projected record when
+  // there is none. Thumbnails are not signed: they are public and cached as immutable, and an
+  // expiring query string would change their URL on every response.
+
+  private List<ContentDto> present(final List<ContentDto> tiles, final Map<UUID, String> srcsets) {
+    if (srcsets.isEmpty()) {
+      return tiles;
+    }
+    return tiles.stream().map(tile -> present(tile, srcsets.get(tile.id()))).toList();
   }
 
-  private ContentDto toDto(final Content content) {
+  private ContentDto present(final ContentDto tile, final String srcset) {
+    if (srcset == null) {
+      return tile;
+    }
     return new ContentDto(
-        content.getId(),
-        content.getTitle(),
-        content.getDescription(),
-        content.getThumbnailUrl(),
-        content.getCategory());
+        tile.id(), tile.title(), tile.description(), tile.thumbnailUrl(), tile.category(), srcset);
+  }
+
+  private List<ContinueWatchingDto> presentContinueWatching(
+      final List<ContinueWatchingDto> items, final Map<UUID, String> srcsets) {
+    if (srcsets.isEmpty()) {
+      return items;
+    }
+    return items.stream().map(item -> present(item, srcsets)).toList();
+  }
+
+  private ContinueWatchingDto present(
+      final ContinueWatchingDto item, final Map<UUID, String> srcsets) {
+    final String srcset = srcsets.get(item.contentId());
+    if (srcset == null) {
+      return item;
+    }
+    return new ContinueWatchingDto(
+        item.contentId(),
+        item.title(),
+        item.description(),
+        item.thumbnailUrl(),
+        item.progressPercent(),
+        item.category(),
+        item.episodeNumber(),
+        item.lastWatchedPosition(),
+        srcset);
   }
 }
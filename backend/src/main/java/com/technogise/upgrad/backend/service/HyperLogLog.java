@@ -0,0 +1,125 @@
+package com.technogise.upgrad.backend.service;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * A HyperLogLog sketch of a set of viewers, as stored in {@code content_viewer_sketches}: {@value
+ * #REGISTERS} one-byte registers, precision {@value #PRECISION}. A viewer's 64-bit hash picks a
+ * register with its top bits and sets it to at least the rank of the rest, the position of their
+ * first one bit. The register values estimate how many distinct viewers were added, whatever the
+ * number of repeats.
+ *
+ * <p>The estimate has a relative standard error of {@code 1.04 / sqrt(REGISTERS)}, about 2.3%, at
+ * every cardinality: two counts in three fall within 2.3% of the truth and nearly all within 7%.
+ * Below a few thousand viewers, when some registers are still zero, linear counting takes over and
+ * small counts are close to exact. Sketches merge by register-wise max with no loss of accuracy, so
+ * a merged sketch counts each viewer once however many sketches saw them.
+ */
+final class HyperLogLog {
+
+  static final int PRECISION = 11;
+  static final int REGISTERS = 1 << PRECISION;
+
+  /** Relative standard error of {@link #estimate()}. */
+  static final double STANDARD_ERROR = 1.04 / Math.sqrt(REGISTERS);
+
+  private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+  private final byte[] registers;
+
+  private HyperLogLog(final byte[] registers) {
+    this.registers = registers;
+  }
+
+  static HyperLogLog empty() {
+    return new HyperLogLog(new byte[REGISTERS]);
+  }
+
+  /**
+   * Wraps stored registers without copying them.
+   *
+   * @throws IllegalArgumentException if the registers are not of this sketch's precision
+   */
+  static HyperLogLog fromBytes(final byte[] registers) {
+    return new HyperLogLog(checkLength(registers));
+  }
+
+  private static byte[] checkLength(final byte[] registers) {
+    if (registers.length != REGISTERS) {
+      throw new IllegalArgumentException(
+          "Expected " + REGISTERS + " registers, got " + registers.length);
+    }
+    return registers;
+  }
+
+  /** Mixes both halves of the id with the MurmurHash3 finalizer, so every bit is well spread. */
+  static long hash(final UUID id) {
+    return fmix64(id.getMostSignificantBits() ^ fmix64(id.getLeastSignificantBits()));
+  }
+
+  private static long fmix64(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  static int register(final long hash) {
+    return (int) (hash >>> (Long.SIZE - PRECISION));
+  }
+
+  /** One plus the leading zeros of the bits below the register index, at most 54. */
+  static int rank(final long hash) {
+    return Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+  }
+
+  HyperLogLog add(final UUID id) {
+    final long hash = hash(id);
+    final int register = register(hash);
+    registers[register] = (byte) Math.max(registers[register], rank(hash));
+    return this;
+  }
+
+  /**
+   * Folds another sketch's registers into this one, which then counts the union of both.
+   *
+   * @throws IllegalArgumentException if the registers are not of this sketch's precision
+   */
+  HyperLogLog merge(final byte[] other) {
+    checkLength(other);
+    for (int i = 0; i < REGISTERS; i++) {
+      if (other[i] > registers[i]) {
+        registers[i] = other[i];
+      }
+    }
+    return this;
+  }
+
+  HyperLogLog merge(final HyperLogLog other) {
+    return merge(other.registers);
+  }
+
+  long estimate() {
+    double sum = 0;
+    int zeros = 0;
+    for (final byte value : registers) {
+      sum += Math.scalb(1.0, -value);
+      if (value == 0) {
+        zeros++;
+      }
+    }
+    final double raw = ALPHA * REGISTERS * REGISTERS / sum;
+    if (raw <= 2.5 * REGISTERS && zeros > 0) {
+      return Math.round(REGISTERS * Math.log((double) REGISTERS / zeros));
+    }
+    // 64-bit hashes do not saturate at any realistic count, so no large-range correction.
+    return Math.round(raw);
+  }
+
+  byte[] toBytes() {
+    return Arrays.copyOf(registers, REGISTERS);
+  }
+}
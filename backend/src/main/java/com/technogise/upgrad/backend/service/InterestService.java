@@ -1,29 +1,58 @@
 package com.technogise.upgrad.backend.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.technogise.upgrad.backend.constants.Interest;
 import com.technogise.upgrad.backend.dto.InterestDTO;
 import com.technogise.upgrad.backend.entity.User;
-import com.technogise.upgrad.backend.entity.UserInterest;
 import com.technogise.upgrad.backend.repository.UserInterestRepository;
 import com.technogise.upgrad.backend.repository.UserRepository;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.CacheControl;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
-@RequiredArgsConstructor
 public class InterestService {
+  // The catalog only changes with a deploy; after a day clients revalidate against the ETag.
+  private static final CacheControl CATALOG_CACHE_CONTROL =
+      CacheControl.maxAge(1, TimeUnit.DAYS).cachePrivate();
+
   private final UserInterestRepository userInterestRepository;
   private final UserRepository userRepository;
+  private final CategoryDictionary categoryDictionary;
+  private final StaticJsonResponse interestCatalog;
+
+  public InterestService(
+      final UserInterestRepository userInterestRepository,
+      final UserRepository userRepository,
+      final CategoryDictionary categoryDictionary,
+      final ObjectMapper objectMapper) {
+    this.userInterestRepository = userInterestRepository;
+    this.userRepository = userRepository;
+    this.categoryDictionary = categoryDictionary;
+    this.interestCatalog =
+        StaticJsonResponse.of(objectMapper, getAllInterests(), CATALOG_CACHE_CONTROL);
+  }
+
+  /**
+   * Returns all available interests from the enum, serialized once at startup.
+   *
+   * @return the interest catalog as a JSON array of {@link InterestDTO}
+   */
+  public StaticJsonResponse getInterestCatalog() {
+    return interestCatalog;
+  }
 
   /**
    * Returns all available interests from the enum.
    *
    * @return list of available interests as DTOs
    */
-  @Transactional(readOnly = true)
   public List<InterestDTO> getAllInterests() {
     return Interest.getAll().stream()
         .map(
@@ -37,7 +66,8 @@ public class InterestService {
   }
 
   /**
-   * Saves user's selected interests.
+   * Replaces user's selected interests, deleting the ones no longer selected and inserting the new
+   * ones.
    *
    * @param user the authenticated user entity
    * @param interestNames list of interest names to save
@@ -59,18 +89,23 @@ public class InterestService {
           "Invalid interest names: " + String.join(", ", invalidNames));
     }
 
-    // Delete existing user interests (idempotent operation)
-    userInterestRepository.deleteByUserId(user.getId());
+    // Touch only the rows that change: saving the same selection again writes nothing.
+    final Set<String> selected = new LinkedHashSet<>(interestNames);
+    final Set<Short> selectedIds = new LinkedHashSet<>();
+    selected.forEach(name -> selectedIds.add(categoryDictionary.idOf(name)));
+    final Set<Short> current =
+        new HashSet<>(userInterestRepository.findCategoryIdsByUserId(user.getId()));
+    final List<Short> removed = current.stream().filter(id -> !selectedIds.contains(id)).toList();
+    final List<Short> added = selectedIds.stream().filter(id -> !current.contains(id)).toList();
 
-    // Create new user-interest relationships
-    final List<UserInterest> userInterests =
-        interestNames.stream()
-            .map(
-                interestName ->
-                    UserInterest.builder().user(user).interestName(interestName).build())
-            .toList();
+    userInterestRepository.deleteInterests(user.getId(), removed);
+    userInterestRepository.insertInterests(user.getId(), added);
 
-    userInterestRepository.saveAll(userInterests);
+    // The rows stay the record of the selection; the mask on users is what the homepage matches.
+    final int interestMask = Interest.maskOf(selected);
+    if (interestMask != user.getInterestMask()) {
+      userRepository.updateInterestMask(user.getId(), interestMask);
+    }
 
     // Mark onboarding as completed
     if (!user.getOnboardingCompleted()) {
@@ -0,0 +1,19 @@
+package com.technogise.upgrad.backend.service;
+
+import com.technogise.upgrad.backend.event.ContentCompletedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/** Marks the day a viewer finished something as active in their streak calendar. */
+@Component
+@RequiredArgsConstructor
+public class LearningActivityCompletionListener implements ContentCompletionListener {
+
+  private final LearningActivityService learningActivityService;
+
+  @Override
+  public void onContentCompleted(final ContentCompletedEvent event) {
+    // Marking a day is idempotent, so a redelivered completion changes nothing.
+    learningActivityService.recordActivity(event.userId());
+  }
+}
@@ -0,0 +1,91 @@
+package com.technogise.upgrad.backend.service;
+
+import com.technogise.upgrad.backend.config.ActivityConfig;
+import com.technogise.upgrad.backend.dto.ActivitySummaryDto;
+import com.technogise.upgrad.backend.repository.UserActivityRepository;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps each viewer's day-activity calendar and answers streak questions from it. A completion
+ * marks the current day through {@link LearningActivityCompletionListener}; the last day marked per
+ * viewer is remembered so that the rest of the day's completions do not reach the database at all.
+ */
+@Service
+@Slf4j
+public class LearningActivityService {
+
+  private final UserActivityRepository userActivityRepository;
+  private final ActivityConfig config;
+  private final Clock clock;
+  private final Map<UUID, LocalDate> lastMarked = new ConcurrentHashMap<>();
+
+  public LearningActivityService(
+      final UserActivityRepository userActivityRepository,
+      final ActivityConfig config,
+      final Clock clock) {
+    this.userActivityRepository = userActivityRepository;
+    this.config = config;
+    this.clock = clock;
+  }
+
+  /**
+   * Marks today as active for a viewer who has just finished a content item. Failures are logged
+   * rather than thrown: a missed day costs a streak, not the other completion listeners.
+   *
+   * @param userId the viewer
+   */
+  public void recordActivity(@NonNull final UUID userId) {
+    final LocalDate today = today();
+    if (today.equals(lastMarked.get(userId))) {
+      return;
+    }
+    try {
+      userActivityRepository.markActive(userId, today);
+    } catch (DataAccessException e) {
+      log.warn("Could not record activity for user {} on {}", userId, today, e);
+      return;
+    }
+    if (lastMarked.size() >= config.getMaxCachedUsers() && !lastMarked.containsKey(userId)) {
+      // Entries from earlier days are useless anyway; a cleared cache costs one write per viewer.
+      lastMarked.clear();
+    }
+    lastMarked.put(userId, today);
+  }
+
+  /**
+   * Summarises a viewer's activity: the current streak and the active days of a month.
+   *
+   * @param userId the viewer
+   * @param month the month to report, or {@code null} for the current month
+   * @return the summary, all zeros for a viewer with no activity
+   */
+  @Transactional(readOnly = true)
+  public ActivitySummaryDto getSummary(@NonNull final UUID userId, final YearMonth month) {
+    final LocalDate today = today();
+    final YearMonth reported = month == null ? YearMonth.from(today) : month;
+    final ActivityBitmap bitmap =
+        userActivityRepository
+            .findById(userId)
+            .map(activity -> ActivityBitmap.of(activity.getFirstDay(), activity.getDays()))
+            .orElseGet(ActivityBitmap::empty);
+    final List<Integer> activeDays = bitmap.activeDays(reported);
+    return new ActivitySummaryDto(
+        bitmap.currentStreak(today), reported, activeDays.size(), activeDays);
+  }
+
+  private LocalDate today() {
+    return LocalDate.now(clock.withZone(ZoneId.of(config.getZone())));
+  }
+}
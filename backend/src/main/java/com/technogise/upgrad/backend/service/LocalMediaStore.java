@@ -0,0 +1,102 @@
+package com.technogise.upgrad.backend.service;
+
+import com.technogise.upgrad.backend.config.MediaStorageConfig;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Resolves video URLs that are stored as paths relative to the configured media directory, for
+ * deployments that host media on local disk instead of a CDN.
+ */
+@Service
+public class LocalMediaStore {
+
+  static final String MEDIA_PATH = "/api/media/";
+
+  private final MediaStorageConfig config;
+
+  public LocalMediaStore(final MediaStorageConfig config) {
+    this.config = config;
+  }
+
+  /**
+   * Returns the URL clients should play a video from: the media endpoint for locally hosted files,
+   * otherwise the stored URL unchanged.
+   */
+  public String playbackUrl(final UUID contentId, final String videoUrl) {
+    return isLocal(videoUrl) ? mediaUrl(contentId) : videoUrl;
+  }
+
+  /** Returns the media endpoint URL for a content item, as handed out before signing. */
+  public String mediaUrl(final UUID contentId) {
+    return MEDIA_PATH + contentId;
+  }
+
+  /**
+   * Resolves a stored video URL to a readable file inside the media directory.
+   *
+   * @return the file, or empty if local hosting is off, the URL is remote, or it escapes the media
+   *     directory or does not exist
+   */
+  public Optional<MediaFile> resolve(final String videoUrl) throws IOException {
+    if (!isLocal(videoUrl)) {
+      return Optional.empty();
+    }
+    final Path root = Path.of(config.getRootDir()).toAbsolutePath().normalize();
+    final Path path;
+    try {
+      path = root.resolve(videoUrl).normalize();
+    } catch (InvalidPathException e) {
+      return Optional.empty();
+    }
+    if (!path.startsWith(root) || !Files.isRegularFile(path) || !Files.isReadable(path)) {
+      return Optional.empty();
+    }
+    // Resolve symlinks too, so a link inside the directory cannot expose files outside it. The
+    // canonical path is also what Tomcat requires for sendfile.
+    final Path realPath = path.toRealPath();
+    if (!realPath.startsWith(root.toRealPath())) {
+      return Optional.empty();
+    }
+
+    final BasicFileAttributes attributes =
+        Files.readAttributes(realPath, BasicFileAttributes.class);
+    final long length = attributes.size();
+    final long lastModified = attributes.lastModifiedTime().toMillis();
+    return Optional.of(
+        new MediaFile(
+            realPath,
+            length,
+            lastModified,
+            '"' + Long.toHexString(length) + '-' + Long.toHexString(lastModified) + '"',
+            MediaTypeFactory.getMediaType(path.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM)));
+  }
+
+  public long getCacheMaxAgeSeconds() {
+    return config.getCacheMaxAgeSeconds();
+  }
+
+  private boolean isLocal(final String videoUrl) {
+    return config.isEnabled()
+        && videoUrl != null
+        && !videoUrl.isBlank()
+        && !videoUrl.contains("://")
+        && !videoUrl.startsWith("//");
+  }
+
+  /**
+   * A locally hosted media file. The entity tag is derived from size and modification time, so it
+   * changes whenever the file is replaced and is strong enough to validate {@code If-Range}.
+   */
+  public record MediaFile(
+      Path path, long length, long lastModified, String etag, MediaType contentType) {}
+}
@@ -0,0 +1,134 @@
+package com.technogise.upgrad.backend.service;
+
+import com.technogise.upgrad.backend.config.MediaSigningConfig;
+import com.technogise.upgrad.backend.event.CatalogChangedEvent;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Appends an expiring HMAC signature to media URLs. A signature stays valid for a full window, so
+ * each URL is signed once per window and the cached result is reused until it is close enough to
+ * expiry that a client could not finish using it.
+ */
+@Service
+public class MediaUrlSigner {
+
+  private static final String ALGORITHM = "HmacSHA256";
+  public static final String EXPIRES_PARAM = "expires";
+  public static final String SIGNATURE_PARAM = "signature";
+
+  private final MediaSigningConfig config;
+  private final Clock clock;
+  private final Map<String, SignedUrl> cache = new ConcurrentHashMap<>();
+  private final ThreadLocal<Mac> mac = ThreadLocal.withInitial(this::newMac);
+
+  public MediaUrlSigner(final MediaSigningConfig config, final Clock clock) {
+    this.config = config;
+    this.clock = clock;
+  }
+
+  @PostConstruct
+  void validateConfig() {
+    if (config.isEnabled() && (config.getSecret() == null || config.getSecret().isBlank())) {
+      throw new IllegalStateException(
+          "Media URL signing is enabled but app.media.signing.secret is not configured");
+    }
+    if (config.getRefreshMarginSeconds() >= config.getWindowSeconds()) {
+      throw new IllegalStateException(
+          "app.media.signing.refresh-margin-seconds must be shorter than window-seconds");
+    }
+  }
+
+  /**
+   * Returns the signed form of a media URL, reusing a cached signature while it is fresh.
+   *
+   * @param url the unsigned media URL, may be null
+   * @return the signed URL, or the input unchanged when signing is disabled or the URL is null
+   */
+  public String sign(final String url) {
+    if (!config.isEnabled() || url == null) {
+      return url;
+    }
+    final long now = clock.instant().getEpochSecond();
+    final SignedUrl cached = cache.get(url);
+    if (cached != null && now < cached.expiresAt() - config.getRefreshMarginSeconds()) {
+      return cached.url();
+    }
+
+    final long expiresAt = now + config.getWindowSeconds();
+    final SignedUrl signed =
+        new SignedUrl(
+            url
+                + (url.indexOf('?') >= 0 ? '&' : '?')
+                + EXPIRES_PARAM
+                + '='
+                + expiresAt
+                + '&'
+                + SIGNATURE_PARAM
+                + '='
+                + signature(url, expiresAt),
+            expiresAt);
+    if (cache.size() >= config.getMaxCachedUrls()) {
+      cache.clear();
+    }
+    cache.put(url, signed);
+    return signed.url();
+  }
+
+  /**
+   * Checks a signature produced by {@link #sign(String)}.
+   *
+   * @param url the unsigned URL the signature was issued for
+   * @param expiresAt the expiry, in epoch seconds, carried by the signed URL
+   * @param signature the signature carried by the signed URL
+   * @return true if the signature matches and has not expired
+   */
+  public boolean verify(final String url, final long expiresAt, final String signature) {
+    if (signature == null || clock.instant().getEpochSecond() >= expiresAt) {
+      return false;
+    }
+    return MessageDigest.isEqual(
+        signature(url, expiresAt).getBytes(StandardCharsets.US_ASCII),
+        signature.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  public boolean isEnabled() {
+    return config.isEnabled();
+  }
+
+  // Catalog updates may replace media URLs, so drop signatures for URLs that may no longer exist.
+  @EventListener
+  public void onCatalogChanged(final CatalogChangedEvent event) {
+    cache.clear();
+  }
+
+  private String signature(final String url, final long expiresAt) {
+    final byte[] digest =
+        mac.get().doFinal((url + '\n' + expiresAt).getBytes(StandardCharsets.UTF_8));
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+  }
+
+  private Mac newMac() {
+    try {
+      final Mac instance = Mac.getInstance(ALGORITHM);
+      instance.init(
+          new SecretKeySpec(config.getSecret().getBytes(StandardCharsets.UTF_8), ALGORITHM));
+      return instance;
+    } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+      throw new IllegalStateException("Unable to initialise media URL signing", e);
+    }
+  }
+
+  private record SignedUrl(String url, long expiresAt) {}
+}
@@ -0,0 +1,168 @@
+package com.technogise.upgrad.backend.service;
+
+import java.util.UUID;
+
+/**
+ * Parses the compact end-of-session progress beacon sent by the player while the page unloads:
+ *
+ * <pre>contentId,progressPercent,lastWatchedPosition,csrfToken</pre>
+ *
+ * <p>The payload is ASCII. The content id is a canonical UUID, both numbers are unsigned decimals
+ * with the same bounds as {@link com.technogise.upgrad.backend.dto.WatchProgressRequest}, and the
+ * CSRF token is carried in the body because {@code navigator.sendBeacon} cannot set headers.
+ *
+ * <p>Instances are mutable and reusable: {@link #parse} fills the fields in place without
+ * allocating, so a request thread can keep one instance for its lifetime. Not thread-safe.
+ */
+public final class ProgressBeacon {
+
+  /** Upper bound for a well-formed payload; anything longer is rejected unread. */
+  public static final int MAX_LENGTH = 256;
+
+  private static final int UUID_LENGTH = 36;
+  private static final int MAX_INT_DIGITS = 9;
+
+  private byte[] payload;
+  private long contentIdMostSignificantBits;
+  private long contentIdLeastSignificantBits;
+  private int progressPercent;
+  private int lastWatchedPosition;
+  private int tokenOffset;
+  private int tokenLength;
+  // Value read by the last parseInt call, which returns the index after the digits.
+  private int lastInt;
+
+  /**
+   * Parses a payload in place.
+   *
+   * @param bytes the buffer holding the payload; retained until the next call
+   * @param length the number of payload bytes at the start of the buffer
+   * @return whether the payload was well-formed and within bounds
+   */
+  public boolean parse(final byte[] bytes, final int length) {
+    payload = bytes;
+    tokenLength = 0;
+    if (length < UUID_LENGTH + 6 || length > MAX_LENGTH || length > bytes.length) {
+      return false;
+    }
+    if (!parseUuid(bytes) || bytes[UUID_LENGTH] != ',') {
+      return false;
+    }
+    int pos = UUID_LENGTH + 1;
+
+    int end = parseInt(bytes, pos, length);
+    if (end < 0 || end == length || bytes[end] != ',') {
+      return false;
+    }
+    progressPercent = lastInt;
+    pos = end + 1;
+
+    end = parseInt(bytes, pos, length);
+    if (end < 0 || end == length || bytes[end] != ',') {
+      return false;
+    }
+    lastWatchedPosition = lastInt;
+    pos = end + 1;
+
+    for (int i = pos; i < length; i++) {
+      final byte b = bytes[i];
+      if (b <= ' ' || b > '~' || b == ',') {
+        return false;
+      }
+    }
+    if (pos == length || progressPercent > 100) {
+      return false;
+    }
+    tokenOffset = pos;
+    tokenLength = length - pos;
+    return true;
+  }
+
+  /** Parses unsigned decimal digits from {@code from}; returns the index after them, or -1. */
+  private int parseInt(final byte[] bytes, final int from, final int length) {
+    int value = 0;
+    int i = from;
+    while (i < length && bytes[i] >= '0' && bytes[i] <= '9') {
+      if (i - from == MAX_INT_DIGITS) {
+        return -1;
+      }
+      value = value * 10 + (bytes[i] - '0');
+      i++;
+    }
+    if (i == from) {
+      return -1;
+    }
+    lastInt = value;
+    return i;
+  }
+
+  private boolean parseUuid(final byte[] bytes) {
+    long msb = 0;
+    long lsb = 0;
+    int digits = 0;
+    for (int i = 0; i < UUID_LENGTH; i++) {
+      final byte b = bytes[i];
+      if (i == 8 || i == 13 || i == 18 || i == 23) {
+        if (b != '-') {
+          return false;
+        }
+        continue;
+      }
+      final int nibble = hexValue(b);
+      if (nibble < 0) {
+        return false;
+      }
+      if (digits < 16) {
+        msb = (msb << 4) | nibble;
+      } else {
+        lsb = (lsb << 4) | nibble;
+      }
+      digits++;
+    }
+    contentIdMostSignificantBits = msb;
+    contentIdLeastSignificantBits = lsb;
+    return true;
+  }
+
+  private static int hexValue(final byte b) {
+    if (b >= '0' && b <= '9') {
+      return b - '0';
+    }
+    if (b >= 'a' && b <= 'f') {
+      return b - 'a' + 10;
+    }
+    if (b >= 'A' && b <= 'F') {
+      return b - 'A' + 10;
+    }
+    return -1;
+  }
+
+  /**
+   * Compares the carried CSRF token with the expected one in time independent of where they differ.
+   *
+   * @param expected the token issued to the client, or {@code null} when none was presented
+   * @return whether the beacon carries exactly that token
+   */
+  public boolean tokenMatches(final String expected) {
+    if (expected == null || tokenLength == 0 || expected.length() != tokenLength) {
+      return false;
+    }
+    int diff = 0;
+    for (int i = 0; i < tokenLength; i++) {
+      diff |= expected.charAt(i) ^ payload[tokenOffset + i];
+    }
+    return diff == 0;
+  }
+
+  public UUID contentId() {
+    return new UUID(contentIdMostSignificantBits, contentIdLeastSignificantBits);
+  }
+
+  public int progressPercent() {
+    return progressPercent;
+  }
+
+  public int lastWatchedPosition() {
+    return lastWatchedPosition;
+  }
+}
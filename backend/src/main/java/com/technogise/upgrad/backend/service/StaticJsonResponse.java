@@ -0,0 +1,73 @@
+package com.technogise.upgrad.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * A JSON response body serialized once, for reference data that only changes with a deploy. Every
+ * request is answered with the same bytes, so there is no mapping or serialization per call. The
+ * strong ETag is a hash of those bytes: it changes exactly when the payload does, and Spring MVC
+ * answers a matching {@code If-None-Match} with 304 and no body.
+ */
+public final class StaticJsonResponse {
+
+  private final byte[] body;
+  private final String eTag;
+  private final CacheControl cacheControl;
+
+  private StaticJsonResponse(
+      final byte[] body, final String eTag, final CacheControl cacheControl) {
+    this.body = body;
+    this.eTag = eTag;
+    this.cacheControl = cacheControl;
+  }
+
+  /**
+   * Serializes a value with the application's object mapper, so the bytes match what the controller
+   * would have produced.
+   *
+   * @param objectMapper the mapper to serialize with
+   * @param value the response payload
+   * @param cacheControl how long clients may reuse the response without revalidating
+   * @throws IllegalStateException if the value cannot be serialized
+   */
+  public static StaticJsonResponse of(
+      final ObjectMapper objectMapper, final Object value, final CacheControl cacheControl) {
+    final byte[] body;
+    try {
+      body = objectMapper.writeValueAsBytes(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not serialize static response", e);
+    }
+    return new StaticJsonResponse(body, eTag(body), cacheControl);
+  }
+
+  private static String eTag(final byte[] body) {
+    try {
+      final byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+      // 128 bits of the digest are plenty to tell payload versions apart.
+      return '"' + HexFormat.of().formatHex(digest, 0, 16) + '"';
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  public String getETag() {
+    return eTag;
+  }
+
+  /** Builds the response around the shared bytes; callers must not modify the body. */
+  public ResponseEntity<byte[]> toResponseEntity() {
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .eTag(eTag)
+        .cacheControl(cacheControl)
+        .body(body);
+  }
+}
@@ -0,0 +1,248 @@
+package com.technogise.upgrad.backend.service;
+
+import com.technogise.upgrad.backend.constants.TelemetryEventType;
+import com.technogise.upgrad.backend.dto.TelemetryRecord;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * One fixed-size, memory-mapped telemetry file. After a 16-byte header (magic, version, creation
+ * time) come records, each an int payload length followed by the payload, padded to 8 bytes:
+ *
+ * <pre>
+ *   0  int   payload length, written last
+ *   4  int   position seconds
+ *   8  long  occurred at, epoch millis
+ *  16  long  user id, most significant bits
+ *  24  long  user id, least significant bits
+ *  32  long  content id, most significant bits
+ *  40  long  content id, least significant bits
+ *  48  int   value
+ *  52  byte  event type ordinal
+ * </pre>
+ *
+ * <p>Writers claim space with one atomic add on the write position, fill in the payload with plain
+ * stores and then publish the record with a release store of its length. Readers load the length
+ * with acquire semantics, so a non-zero length guarantees a complete payload; the file starts out
+ * zero-filled, so a zero length marks space that is unclaimed or still being written.
+ *
+ * <p>A segment reopened after a restart is sealed: it takes no more appends, and a zero length
+ * before its last published record is a hole left by a writer that died mid-record, which readers
+ * step over.
+ */
+final class TelemetrySegment {
+
+  static final String FILE_SUFFIX = ".seg";
+
+  private static final int MAGIC = 0x544c4d31;
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 16;
+  private static final int PAYLOAD_LENGTH = 49;
+  private static final int RECORD_SIZE = align(Integer.BYTES + PAYLOAD_LENGTH);
+  private static final TelemetryEventType[] TYPES = TelemetryEventType.values();
+
+  private static final VarHandle LENGTH =
+      MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private final long sequence;
+  private final long createdAtMillis;
+  private final Path path;
+  private final MappedByteBuffer buffer;
+  private final int capacity;
+  private final AtomicInteger writePosition;
+  private final boolean sealed;
+
+  private TelemetrySegment(
+      final long sequence,
+      final long createdAtMillis,
+      final Path path,
+      final MappedByteBuffer buffer,
+      final int writePosition,
+      final boolean sealed) {
+    this.sequence = sequence;
+    this.createdAtMillis = createdAtMillis;
+    this.path = path;
+    this.buffer = buffer;
+    this.capacity = buffer.capacity();
+    this.writePosition = new AtomicInteger(writePosition);
+    this.sealed = sealed;
+  }
+
+  private static int align(final int size) {
+    return (size + 7) & ~7;
+  }
+
+  static int recordSize() {
+    return RECORD_SIZE;
+  }
+
+  static int headerSize() {
+    return HEADER_SIZE;
+  }
+
+  static Path fileName(final Path directory, final long sequence) {
+    return directory.resolve(String.format("%020d%s", sequence, FILE_SUFFIX));
+  }
+
+  /** Creates and maps a new, zero-filled segment file. */
+  static TelemetrySegment create(
+      final Path directory, final long sequence, final int size, final long createdAtMillis)
+      throws IOException {
+    final Path path = fileName(directory, sequence);
+    final MappedByteBuffer buffer;
+    try (FileChannel channel =
+        FileChannel.open(
+            path,
+            StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      // Mapping past the end grows the file; the new pages read as zeros.
+      buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(4, VERSION);
+    buffer.putLong(8, createdAtMillis);
+    buffer.putInt(0, MAGIC);
+    return new TelemetrySegment(sequence, createdAtMillis, path, buffer, HEADER_SIZE, false);
+  }
+
+  /**
+   * Maps an existing segment file, sealed, and finds its end: the slot after the last published
+   * record. Every slot is checked, since records published after a writer died mid-record follow a
+   * hole; appending from the first hole would overwrite them.
+   *
+   * @throws IOException if the file cannot be read or is not a telemetry segment
+   */
+  static TelemetrySegment open(final Path path, final long sequence) throws IOException {
+    final MappedByteBuffer buffer;
+    try (FileChannel channel =
+        FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+    }
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    if (buffer.capacity() < HEADER_SIZE
+        || buffer.getInt(0) != MAGIC
+        || buffer.getInt(4) != VERSION) {
+      throw new IOException("Not a telemetry segment: " + path);
+    }
+    final TelemetrySegment segment =
+        new TelemetrySegment(sequence, buffer.getLong(8), path, buffer, HEADER_SIZE, true);
+    int end = HEADER_SIZE;
+    for (int offset = HEADER_SIZE;
+        offset <= segment.capacity - RECORD_SIZE;
+        offset += RECORD_SIZE) {
+      if (segment.lengthAt(offset) > 0) {
+        end = offset + RECORD_SIZE;
+      }
+    }
+    segment.writePosition.set(end);
+    return segment;
+  }
+
+  long sequence() {
+    return sequence;
+  }
+
+  long createdAtMillis() {
+    return createdAtMillis;
+  }
+
+  Path path() {
+    return path;
+  }
+
+  /**
+   * Appends a record without locking.
+   *
+   * @return false if the segment is sealed or has no room left, in which case nothing was written
+   */
+  boolean tryAppend(final TelemetryRecord record) {
+    // Checking first keeps writers racing into a full segment from pushing the position far past
+    // the end.
+    if (sealed || writePosition.get() > capacity - RECORD_SIZE) {
+      return false;
+    }
+    final int offset = writePosition.getAndAdd(RECORD_SIZE);
+    if (offset > capacity - RECORD_SIZE) {
+      return false;
+    }
+    buffer.putInt(offset + 4, record.positionSeconds());
+    buffer.putLong(offset + 8, record.occurredAt().toEpochMilli());
+    buffer.putLong(offset + 16, record.userId().getMostSignificantBits());
+    buffer.putLong(offset + 24, record.userId().getLeastSignificantBits());
+    buffer.putLong(offset + 32, record.contentId().getMostSignificantBits());
+    buffer.putLong(offset + 40, record.contentId().getLeastSignificantBits());
+    buffer.putInt(offset + 48, record.value());
+    buffer.put(offset + 52, (byte) record.type().ordinal());
+    LENGTH.setRelease(buffer, offset, PAYLOAD_LENGTH);
+    return true;
+  }
+
+  /**
+   * Hands published records to the sink in append order, starting at an offset, and stops at the
+   * first record not yet published. In a sealed segment, holes are skipped instead.
+   *
+   * @param from offset of the first record to read; offsets inside the header read from the start
+   * @param maxRecords the most records to read
+   * @param sink receives each record
+   * @return the offset after the last record read
+   */
+  int read(final int from, final int maxRecords, final Consumer<TelemetryRecord> sink) {
+    int offset = Math.max(from, HEADER_SIZE);
+    int read = 0;
+    while (read < maxRecords) {
+      if (lengthAt(offset) > 0) {
+        sink.accept(decode(offset));
+        offset = nextOffset(offset);
+        read++;
+      } else if (sealed && offset < writePosition.get()) {
+        offset += RECORD_SIZE;
+      } else {
+        break;
+      }
+    }
+    return offset;
+  }
+
+  /** Whether space after an offset was claimed by a writer, whether or not it is published yet. */
+  boolean hasClaimedAfter(final int offset) {
+    final int usableEnd = capacity - (capacity - HEADER_SIZE) % RECORD_SIZE;
+    return offset < Math.min(writePosition.get(), usableEnd);
+  }
+
+  /** Flushes written pages to the file, so they survive a crash of the machine. */
+  void force() {
+    buffer.force();
+  }
+
+  private int lengthAt(final int offset) {
+    if (offset > capacity - Integer.BYTES) {
+      return 0;
+    }
+    return (int) LENGTH.getAcquire(buffer, offset);
+  }
+
+  private int nextOffset(final int offset) {
+    return offset + align(Integer.BYTES + lengthAt(offset));
+  }
+
+  private TelemetryRecord decode(final int offset) {
+    return new TelemetryRecord(
+        new UUID(buffer.getLong(offset + 16), buffer.getLong(offset + 24)),
+        new UUID(buffer.getLong(offset + 32), buffer.getLong(offset + 40)),
+        TYPES[buffer.get(offset + 52)],
+        buffer.getInt(offset + 4),
+        buffer.getInt(offset + 48),
+        Instant.ofEpochMilli(buffer.getLong(offset + 8)));
+  }
+}
@@ -0,0 +1,322 @@
+package com.technogise.upgrad.backend.service;
+
+import com.technogise.upgrad.backend.config.TelemetryConfig;
+import com.technogise.upgrad.backend.dto.EngagementIngestResult;
+import com.technogise.upgrad.backend.dto.TelemetryCursor;
+import com.technogise.upgrad.backend.dto.TelemetryEventRequest;
+import com.technogise.upgrad.backend.dto.TelemetryRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+
+/**
+ * Append-only local store for player telemetry, too chatty for a row per event in Postgres. Records
+ * go into fixed-size memory-mapped segment files that roll over when full and are deleted once
+ * older than the retention period; batch jobs read them back in append order with {@link #scan}.
+ *
+ * <p>Appends take no lock: a writer claims space in the active segment with an atomic add and
+ * copies the record into the mapped pages, which the operating system writes back to disk. Only the
+ * writer that finds the segment full takes a monitor, once per segment, to map the next one.
+ * Records survive a crash of the process but not of the machine, except for segments already rolled
+ * over, which are flushed. Segments left by a previous run are only read, never appended to.
+ */
+@Service
+@Slf4j
+public class TelemetrySegmentStore {
+
+  static final String METRIC_NAME = "telemetry.records";
+
+  private final TelemetryConfig config;
+  private final Clock clock;
+  private final NavigableMap<Long, TelemetrySegment> segments = new ConcurrentSkipListMap<>();
+  private final Object rollMonitor = new Object();
+  private final Counter appendedCounter;
+  private final Counter droppedCounter;
+  private final ScheduledExecutorService retention;
+  private Path directory;
+  private volatile TelemetrySegment active;
+
+  public TelemetrySegmentStore(
+      final TelemetryConfig config, final Clock clock, final MeterRegistry meterRegistry) {
+    this.config = config;
+    this.clock = clock;
+    this.appendedCounter = counter(meterRegistry, "appended");
+    this.droppedCounter = counter(meterRegistry, "dropped");
+    Gauge.builder(METRIC_NAME + ".segments", segments, Map::size)
+        .description("Telemetry segment files retained on disk")
+        .register(meterRegistry);
+    this.retention =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              final Thread thread = new Thread(runnable, "telemetry-retention");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  private static Counter counter(final MeterRegistry meterRegistry, final String outcome) {
+    return Counter.builder(METRIC_NAME).tag("outcome", outcome).register(meterRegistry);
+  }
+
+  /**
+   * Opens the segments left by a previous run for reading, starts a new segment for appends and
+   * starts enforcing retention. A previous run may have died mid-record, so its segments are sealed
+   * rather than appended to. Does nothing when no directory is configured.
+   *
+   * @throws IOException if the directory cannot be created or listed
+   * @throws IllegalStateException if segments are too small to hold a record
+   */
+  @PostConstruct
+  void start() throws IOException {
+    if (config.getDirectory().isBlank()) {
+      log.info("Telemetry directory not configured, telemetry will be discarded");
+      return;
+    }
+    if (config.getSegmentSizeBytes()
+        < TelemetrySegment.headerSize() + TelemetrySegment.recordSize()) {
+      throw new IllegalStateException(
+          "app.telemetry.segment-size-bytes is too small to hold a record");
+    }
+    directory = Path.of(config.getDirectory()).toAbsolutePath();
+    Files.createDirectories(directory);
+    long nextSequence = 0;
+    try (Stream<Path> files = Files.list(directory)) {
+      for (final Path file : files.toList()) {
+        nextSequence = Math.max(nextSequence, openExisting(file) + 1);
+      }
+    }
+    active = createSegment(nextSequence);
+    retention.scheduleWithFixedDelay(
+        this::purgeExpiredQuietly,
+        config.getRetentionCheckIntervalMs(),
+        config.getRetentionCheckIntervalMs(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  /** Returns the sequence in a segment file's name, even if the file is unreadable, or -1. */
+  private long openExisting(final Path file) {
+    final String name = file.getFileName().toString();
+    if (!name.endsWith(TelemetrySegment.FILE_SUFFIX)) {
+      return -1;
+    }
+    final long sequence;
+    try {
+      sequence =
+          Long.parseLong(name.substring(0, name.length() - TelemetrySegment.FILE_SUFFIX.length()));
+    } catch (NumberFormatException e) {
+      log.warn("Skipping unreadable telemetry segment {}", file, e);
+      return -1;
+    }
+    try {
+      segments.put(sequence, TelemetrySegment.open(file, sequence));
+    } catch (IOException e) {
+      log.warn("Skipping unreadable telemetry segment {}", file, e);
+    }
+    return sequence;
+  }
+
+  private TelemetrySegment createSegment(final long sequence) throws IOException {
+    final TelemetrySegment segment =
+        TelemetrySegment.create(directory, sequence, config.getSegmentSizeBytes(), clock.millis());
+    segments.put(sequence, segment);
+    return segment;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    retention.shutdown();
+    final TelemetrySegment current = active;
+    if (current != null) {
+      current.force();
+    }
+  }
+
+  public boolean isEnabled() {
+    return active != null;
+  }
+
+  /**
+   * Stores a viewer's telemetry events, stamping those without a client time with the time they
+   * were received.
+   *
+   * @param userId the viewer
+   * @param events the events, oldest first
+   * @return how many events were stored and how many were dropped
+   */
+  public EngagementIngestResult submit(
+      @NonNull final UUID userId, @NonNull final List<TelemetryEventRequest> events) {
+    final Instant receivedAt = clock.instant();
+    final List<TelemetryRecord> records =
+        events.stream()
+            .map(
+                event ->
+                    new TelemetryRecord(
+                        userId,
+                        event.contentId(),
+                        event.type(),
+                        event.positionSeconds(),
+                        event.value(),
+                        event.occurredAt() == null ? receivedAt : event.occurredAt()))
+            .toList();
+    final int appended = append(records);
+    return new EngagementIngestResult(appended, records.size() - appended);
+  }
+
+  /**
+   * Appends records in order. Safe to call from any number of threads at once.
+   *
+   * @param records the records to store
+   * @return how many were stored: all of them, or none when the store is disabled or a new segment
+   *     could not be created
+   */
+  public int append(@NonNull final List<TelemetryRecord> records) {
+    if (!isEnabled()) {
+      droppedCounter.increment(records.size());
+      return 0;
+    }
+    int appended = 0;
+    try {
+      for (final TelemetryRecord record : records) {
+        append(record);
+        appended++;
+      }
+    } catch (UncheckedIOException e) {
+      droppedCounter.increment(records.size() - appended);
+      log.error(
+          "Could not roll telemetry segment, dropped {} records", records.size() - appended, e);
+    }
+    appendedCounter.increment(appended);
+    return appended;
+  }
+
+  private void append(final TelemetryRecord record) {
+    while (true) {
+      final TelemetrySegment segment = active;
+      if (segment.tryAppend(record)) {
+        return;
+      }
+      roll(segment);
+    }
+  }
+
+  private void roll(final TelemetrySegment full) {
+    synchronized (rollMonitor) {
+      if (active != full) {
+        // Another writer rolled it already.
+        return;
+      }
+      try {
+        active = createSegment(full.sequence() + 1);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    // Flushed off the writer's thread; slots still being filled in reach disk with the normal page
+    // cache write-back.
+    try {
+      retention.execute(full::force);
+    } catch (RejectedExecutionException e) {
+      full.force();
+    }
+  }
+
+  /**
+   * Reads records in append order from a cursor, across segments. Records still being written by
+   * concurrent appends end the scan; they are returned by the next scan from the returned cursor.
+   * Records deleted by retention since the cursor was taken are skipped.
+   *
+   * @param from where to start, {@link TelemetryCursor#START} for the oldest record retained
+   * @param maxRecords the most records to read
+   * @param sink receives each record
+   * @return where the next scan should start
+   */
+  public TelemetryCursor scan(
+      @NonNull final TelemetryCursor from,
+      final int maxRecords,
+      @NonNull final Consumer<TelemetryRecord> sink) {
+    if (maxRecords <= 0) {
+      throw new IllegalArgumentException("maxRecords must be positive");
+    }
+    final int[] read = {0};
+    final Consumer<TelemetryRecord> counting =
+        record -> {
+          read[0]++;
+          sink.accept(record);
+        };
+    TelemetryCursor cursor = from;
+    Map.Entry<Long, TelemetrySegment> entry = segments.ceilingEntry(from.segment());
+    while (entry != null) {
+      final TelemetrySegment segment = entry.getValue();
+      final int start = segment.sequence() == cursor.segment() ? cursor.offset() : 0;
+      final int end = segment.read(start, maxRecords - read[0], counting);
+      cursor = new TelemetryCursor(segment.sequence(), end);
+      final Map.Entry<Long, TelemetrySegment> next = segments.higherEntry(entry.getKey());
+      // A record claimed but not yet published holds the cursor back, even in a rolled-over
+      // segment.
+      if (read[0] == maxRecords || next == null || segment.hasClaimedAfter(end)) {
+        break;
+      }
+      entry = next;
+    }
+    return cursor;
+  }
+
+  /**
+   * Deletes rolled-over segments whose records all predate the retention period. A segment's
+   * records were appended before the next segment was created, so that creation time bounds them.
+   *
+   * @return the number of segments deleted
+   */
+  int purgeExpired() {
+    final long cutoff = clock.millis() - TimeUnit.HOURS.toMillis(config.getRetentionHours());
+    int deleted = 0;
+    for (final TelemetrySegment segment : segments.values()) {
+      final Map.Entry<Long, TelemetrySegment> next = segments.higherEntry(segment.sequence());
+      if (next == null || next.getValue().createdAtMillis() > cutoff) {
+        break;
+      }
+      segments.remove(segment.sequence());
+      try {
+        // Scans holding the mapping keep reading it; the space is freed once they drop it.
+        Files.deleteIfExists(segment.path());
+        deleted++;
+      } catch (IOException e) {
+        log.warn("Could not delete expired telemetry segment {}", segment.path(), e);
+      }
+    }
+    return deleted;
+  }
+
+  private void purgeExpiredQuietly() {
+    try {
+      final int deleted = purgeExpired();
+      if (deleted > 0) {
+        log.info("Deleted {} expired telemetry segments", deleted);
+      }
+    } catch (RuntimeException e) {
+      log.error("Telemetry retention failed", e);
+    }
+  }
+}
@@ -0,0 +1,456 @@
+package com.technogise.upgrad.backend.service;
+
+import com.technogise.upgrad.backend.config.ThumbnailConfig;
+import com.technogise.upgrad.backend.dto.ThumbnailBackfillReport;
+import com.technogise.upgrad.backend.dto.ThumbnailSource;
+import com.technogise.upgrad.backend.entity.ThumbnailDerivative;
+import com.technogise.upgrad.backend.repository.ContentRepository;
+import com.technogise.upgrad.backend.repository.ThumbnailDerivativeRepository;
+import jakarta.annotation.PreDestroy;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Generates resized JPEG derivatives of content thumbnails, one per configured width class. Each
+ * source is decoded once and its widths are rendered in parallel on a fixed-size pool, so a
+ * backfill uses the configured CPUs without starving request threads. Files are named by the
+ * SHA-256 of their bytes and are therefore immutable; a file is deleted once no derivative row
+ * refers to it. Remote sources are fetched only from the configured hosts, without following
+ * redirects, so a manifest URL cannot be bounced to an internal address.
+ */
+@Service
+@Slf4j
+public class ThumbnailService {
+
+  static final String THUMBNAIL_PATH = "/api/thumbnails/";
+  private static final String EXTENSION = ".jpg";
+  private static final int FILE_NAME_LENGTH = 64 + EXTENSION.length();
+
+  private final ThumbnailConfig config;
+  private final ContentRepository contentRepository;
+  private final ThumbnailDerivativeRepository derivativeRepository;
+  private final LocalMediaStore localMediaStore;
+  private final TransactionTemplate transactionTemplate;
+  private final HttpClient httpClient;
+  private final ThreadPoolExecutor executor;
+
+  public ThumbnailService(
+      final ThumbnailConfig config,
+      final ContentRepository contentRepository,
+      final ThumbnailDerivativeRepository derivativeRepository,
+      final LocalMediaStore localMediaStore,
+      final PlatformTransactionManager transactionManager) {
+    this.config = config;
+    this.contentRepository = contentRepository;
+    this.derivativeRepository = derivativeRepository;
+    this.localMediaStore = localMediaStore;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.httpClient =
+        HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(config.getFetchTimeoutSeconds()))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+    final AtomicInteger threadCount = new AtomicInteger();
+    // A full queue makes the submitting thread render the task itself, which throttles a backfill
+    // to the speed of the pool instead of buffering decoded images without bound.
+    this.executor =
+        new ThreadPoolExecutor(
+            config.getPoolSize(),
+            config.getPoolSize(),
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(config.getQueueCapacity()),
+            runnable -> {
+              final Thread thread =
+                  new Thread(runnable, "thumbnail-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+    httpClient.close();
+  }
+
+  /**
+   * Builds an HTML {@code srcset} value for each content item that has derivatives.
+   *
+   * @param contentIds the content shown on a page
+   * @return srcset values keyed by content id; items without derivatives are absent
+   */
+  public Map<UUID, String> findSrcsets(final Collection<UUID> contentIds) {
+    if (contentIds.isEmpty()) {
+      return Map.of();
+    }
+    final Map<UUID, StringJoiner> srcsets = new LinkedHashMap<>();
+    for (final ThumbnailDerivative derivative :
+        derivativeRepository.findByContentIdInOrderByWidthAsc(contentIds)) {
+      srcsets
+          .computeIfAbsent(derivative.getContentId(), id -> new StringJoiner(", "))
+          .add(THUMBNAIL_PATH + derivative.getFileName() + ' ' + derivative.getWidth() + 'w');
+    }
+    return srcsets.entrySet().stream()
+        .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().toString()));
+  }
+
+  /**
+   * Resolves a derivative file by its content-addressed name.
+   *
+   * @return the file, or empty if the name is not a derivative name or no such file exists
+   */
+  public Optional<Path> findFile(final String fileName) {
+    if (fileName.length() != FILE_NAME_LENGTH || !fileName.endsWith(EXTENSION)) {
+      return Optional.empty();
+    }
+    final Path file = outputDir().resolve(fileName);
+    return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+  }
+
+  /**
+   * Generates derivatives for every content item whose thumbnail has none yet, or whose derivatives
+   * were made from a different source URL or width set. Items that are up to date are skipped, so
+   * the backfill can be rerun safely after imports.
+   */
+  public ThumbnailBackfillReport backfill() {
+    long scanned = 0;
+    long generated = 0;
+    long upToDate = 0;
+    long failed = 0;
+    for (int page = 0; ; page++) {
+      final List<ThumbnailSource> sources =
+          contentRepository.findThumbnailSources(
+              PageRequest.of(page, config.getBackfillPageSize()));
+      if (sources.isEmpty()) {
+        break;
+      }
+      scanned += sources.size();
+
+      final Map<UUID, List<ThumbnailDerivative>> existing =
+          derivativeRepository
+              .findByContentIdInOrderByWidthAsc(
+                  sources.stream().map(ThumbnailSource::contentId).toList())
+              .stream()
+              .collect(Collectors.groupingBy(ThumbnailDerivative::getContentId));
+
+      final Map<ThumbnailSource, CompletableFuture<List<Rendition>>> pending =
+          new LinkedHashMap<>();
+      for (final ThumbnailSource source : sources) {
+        if (isUpToDate(source, existing.get(source.contentId()))) {
+          upToDate++;
+        } else {
+          pending.put(source, render(source.thumbnailUrl()));
+        }
+      }
+
+      for (final Map.Entry<ThumbnailSource, CompletableFuture<List<Rendition>>> entry :
+          pending.entrySet()) {
+        final ThumbnailSource source = entry.getKey();
+        try {
+          store(source, entry.getValue().join(), existing.get(source.contentId()));
+          generated++;
+        } catch (CompletionException | DataAccessException e) {
+          failed++;
+          final Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+          log.warn(
+              "Thumbnail derivatives failed for content {} ({}): {}",
+              source.contentId(),
+              source.thumbnailUrl(),
+              cause.getMessage());
+        }
+      }
+
+      if (sources.size() < config.getBackfillPageSize()) {
+        break;
+      }
+    }
+    return new ThumbnailBackfillReport(scanned, generated, upToDate, failed);
+  }
+
+  private boolean isUpToDate(
+      final ThumbnailSource source, final List<ThumbnailDerivative> derivatives) {
+    if (derivatives == null || derivatives.size() != config.getWidths().size()) {
+      return false;
+    }
+    final Set<Integer> widths = new HashSet<>(config.getWidths());
+    for (final ThumbnailDerivative derivative : derivatives) {
+      if (!source.thumbnailUrl().equals(derivative.getSourceUrl())
+          || !widths.contains(derivative.getWidth())
+          || !Files.isRegularFile(outputDir().resolve(derivative.getFileName()))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private CompletableFuture<List<Rendition>> render(final String sourceUrl) {
+    return CompletableFuture.supplyAsync(() -> decode(load(sourceUrl)), executor)
+        .thenCompose(
+            image -> {
+              final List<CompletableFuture<Rendition>> renditions =
+                  config.getWidths().stream()
+                      .map(
+                          width ->
+                              CompletableFuture.supplyAsync(
+                                  () -> renderWidth(image, width), executor))
+                      .toList();
+              return CompletableFuture.allOf(renditions.toArray(CompletableFuture[]::new))
+                  .thenApply(done -> renditions.stream().map(CompletableFuture::join).toList());
+            });
+  }
+
+  private void store(
+      final ThumbnailSource source,
+      final List<Rendition> renditions,
+      final List<ThumbnailDerivative> previous) {
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          derivativeRepository.deleteByContentId(source.contentId());
+          derivativeRepository.saveAll(
+              renditions.stream()
+                  .map(
+                      rendition ->
+                          ThumbnailDerivative.builder()
+                              .contentId(source.contentId())
+                              .width(rendition.width())
+                              .fileName(rendition.fileName())
+                              .sourceUrl(source.thumbnailUrl())
+                              .build())
+                  .toList());
+        });
+    if (previous != null) {
+      final Set<String> current =
+          renditions.stream().map(Rendition::fileName).collect(Collectors.toSet());
+      previous.stream()
+          .map(ThumbnailDerivative::getFileName)
+          .filter(fileName -> !current.contains(fileName))
+          .distinct()
+          .forEach(this::deleteIfUnreferenced);
+    }
+  }
+
+  // Identical renditions share a file, so another content item may still refer to it.
+  private void deleteIfUnreferenced(final String fileName) {
+    if (derivativeRepository.existsByFileName(fileName)) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(outputDir().resolve(fileName));
+    } catch (IOException e) {
+      log.warn("Could not delete superseded thumbnail {}: {}", fileName, e.getMessage());
+    }
+  }
+
+  private byte[] load(final String url) {
+    try {
+      if (url.startsWith("http://") || url.startsWith("https://")) {
+        return fetch(url);
+      }
+      final Path file =
+          localMediaStore
+              .resolve(url)
+              .map(LocalMediaStore.MediaFile::path)
+              .orElseThrow(() -> new IOException("Thumbnail is not a readable local file"));
+      if (Files.size(file) > config.getMaxSourceBytes()) {
+        throw new IOException("Thumbnail exceeds " + config.getMaxSourceBytes() + " bytes");
+      }
+      return Files.readAllBytes(file);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private byte[] fetch(final String url) throws IOException {
+    final URI uri = URI.create(url);
+    if (uri.getHost() == null
+        || config.getAllowedHosts().stream().noneMatch(uri.getHost()::equalsIgnoreCase)) {
+      throw new IOException("Thumbnail host is not allowed: " + uri.getHost());
+    }
+    final HttpRequest request =
+        HttpRequest.newBuilder(uri)
+            .timeout(Duration.ofSeconds(config.getFetchTimeoutSeconds()))
+            .GET()
+            .build();
+    final HttpResponse<InputStream> response;
+    try {
+      response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while fetching thumbnail", e);
+    }
+    try (InputStream body = response.body()) {
+      if (response.statusCode() != 200) {
+        throw new IOException("Thumbnail fetch returned HTTP " + response.statusCode());
+      }
+      final byte[] bytes = body.readNBytes(config.getMaxSourceBytes() + 1);
+      if (bytes.length > config.getMaxSourceBytes()) {
+        throw new IOException("Thumbnail exceeds " + config.getMaxSourceBytes() + " bytes");
+      }
+      return bytes;
+    }
+  }
+
+  private BufferedImage decode(final byte[] bytes) {
+    try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+      final Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+      if (!readers.hasNext()) {
+        throw new IllegalArgumentException("Thumbnail is not a supported image format");
+      }
+      final ImageReader reader = readers.next();
+      try {
+        reader.setInput(input, true, true);
+        // Check the header before decoding so a small file cannot expand into a huge raster.
+        if ((long) reader.getWidth(0) * reader.getHeight(0) > config.getMaxSourcePixels()) {
+          throw new IllegalArgumentException("Thumbnail exceeds the maximum pixel count");
+        }
+        return reader.read(0);
+      } finally {
+        reader.dispose();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private Rendition renderWidth(final BufferedImage source, final int widthClass) {
+    final int width = Math.min(widthClass, source.getWidth());
+    final int height =
+        Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+    final byte[] bytes = encode(scale(source, width, height));
+    final String fileName = sha256(bytes) + EXTENSION;
+    write(fileName, bytes);
+    return new Rendition(widthClass, fileName);
+  }
+
+  /**
+   * Scales by repeated halving, which keeps bilinear filtering from skipping source pixels on large
+   * reductions. The result is always opaque RGB because JPEG has no alpha channel.
+   */
+  private static BufferedImage scale(
+      final BufferedImage source, final int targetWidth, final int targetHeight) {
+    BufferedImage current = source;
+    int width = source.getWidth();
+    int height = source.getHeight();
+    do {
+      width = Math.max(targetWidth, width / 2);
+      height = Math.max(targetHeight, height / 2);
+      final BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+      final Graphics2D graphics = next.createGraphics();
+      try {
+        graphics.setRenderingHint(
+            RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.setRenderingHint(
+            RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        graphics.drawImage(current, 0, 0, width, height, Color.WHITE, null);
+      } finally {
+        graphics.dispose();
+      }
+      current = next;
+    } while (width != targetWidth || height != targetHeight);
+    return current;
+  }
+
+  private byte[] encode(final BufferedImage image) {
+    final ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+    final ImageWriteParam param = writer.getDefaultWriteParam();
+    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+    param.setCompressionQuality(config.getQuality());
+    param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+      writer.setOutput(output);
+      writer.write(null, new IIOImage(image, null, null), param);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      writer.dispose();
+    }
+    return bytes.toByteArray();
+  }
+
+  // Identical bytes always get the same name, so an existing file never needs rewriting. New
+  // files are written under a temporary name and moved into place so readers never see a partial
+  // file.
+  private void write(final String fileName, final byte[] bytes) {
+    final Path target = outputDir().resolve(fileName);
+    if (Files.exists(target)) {
+      return;
+    }
+    try {
+      Files.createDirectories(target.getParent());
+      final Path temp = Files.createTempFile(target.getParent(), fileName, ".tmp");
+      try {
+        Files.write(temp, bytes);
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private Path outputDir() {
+    return Path.of(config.getOutputDir()).toAbsolutePath().normalize();
+  }
+
+  private static String sha256(final byte[] bytes) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private record Rendition(int width, String fileName) {}
+}
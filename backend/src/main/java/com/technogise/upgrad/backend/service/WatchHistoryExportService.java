@@ -0,0 +1,170 @@
+package com.technogise.upgrad.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.technogise.upgrad.backend.config.WatchHistoryExportConfig;
+import com.technogise.upgrad.backend.constants.ManifestFormat;
+import com.technogise.upgrad.backend.dto.WatchHistoryExportRow;
+import com.technogise.upgrad.backend.repository.WatchHistoryRepository;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+
+/**
+ * Writes watch history joined with its content to a stream for analysts, a page of rows at a time,
+ * so exports of any size hold one page in memory. Pages are read in their own short statements
+ * rather than through one cursor: a transaction held open for a long download would pin the oldest
+ * visible row version and keep vacuum and HOT pruning from reclaiming dead progress rows.
+ */
+@Service
+@Slf4j
+public class WatchHistoryExportService {
+
+  private static final List<String> CSV_COLUMNS =
+      List.of(
+          "userId",
+          "contentId",
+          "title",
+          "category",
+          "episodeNumber",
+          "durationSeconds",
+          "progressPercent",
+          "lastWatchedPosition",
+          "feedback",
+          "lastWatchedAt");
+
+  private final WatchHistoryRepository watchHistoryRepository;
+  private final WatchHistoryExportConfig config;
+  private final ObjectWriter rowWriter;
+
+  public WatchHistoryExportService(
+      final WatchHistoryRepository watchHistoryRepository,
+      final WatchHistoryExportConfig config,
+      final ObjectMapper objectMapper) {
+    this.watchHistoryRepository = watchHistoryRepository;
+    this.config = config;
+    this.rowWriter = objectMapper.writerFor(WatchHistoryExportRow.class);
+  }
+
+  /**
+   * Streams the export. Rows written while it runs may or may not be included, as each page sees
+   * the history as of its own query.
+   *
+   * @param format JSON Lines (one object per line) or CSV with a header row
+   * @param since only rows watched at or after this time, or {@code null} for all rows
+   * @param out the response body; flushed but not closed
+   * @return the number of rows written
+   * @throws IOException if the stream cannot be written, typically because the client went away
+   */
+  public long export(
+      @NonNull final ManifestFormat format,
+      final LocalDateTime since,
+      @NonNull final OutputStream out)
+      throws IOException {
+    final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    final long rows;
+    if (format == ManifestFormat.CSV) {
+      writeCsvLine(writer, CSV_COLUMNS);
+      rows = stream(since, row -> writeCsvRow(writer, row));
+    } else {
+      try (JsonGenerator generator =
+          rowWriter
+              .getFactory()
+              .createGenerator(writer)
+              .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+        rows = stream(since, row -> writeJsonLine(generator, row));
+      }
+    }
+    writer.flush();
+    log.info("Exported {} watch history rows as {}", rows, format);
+    return rows;
+  }
+
+  private long stream(final LocalDateTime since, final Consumer<WatchHistoryExportRow> sink)
+      throws IOException {
+    final int pageSize = config.getPageSize();
+    long rows = 0;
+    WatchHistoryExportRow last = null;
+    List<WatchHistoryExportRow> page;
+    do {
+      page = watchHistoryRepository.findExportPage(since, last, pageSize);
+      try {
+        page.forEach(sink);
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+      rows += page.size();
+      last = page.isEmpty() ? last : page.get(page.size() - 1);
+    } while (page.size() == pageSize);
+    return rows;
+  }
+
+  private void writeJsonLine(final JsonGenerator generator, final WatchHistoryExportRow row) {
+    try {
+      rowWriter.writeValue(generator, row);
+      generator.writeRaw('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void writeCsvRow(final Writer writer, final WatchHistoryExportRow row) {
+    try {
+      writeCsvLine(
+          writer,
+          List.of(
+              row.userId().toString(),
+              row.contentId().toString(),
+              nullToEmpty(row.title()),
+              nullToEmpty(row.category()),
+              nullToEmpty(row.episodeNumber()),
+              nullToEmpty(row.durationSeconds()),
+              Integer.toString(row.progressPercent()),
+              Integer.toString(row.lastWatchedPosition()),
+              nullToEmpty(row.feedback()),
+              row.lastWatchedAt().toString()));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static String nullToEmpty(final Object value) {
+    return value == null ? "" : value.toString();
+  }
+
+  private static void writeCsvLine(final Writer writer, final List<String> fields)
+      throws IOException {
+    for (int i = 0; i < fields.size(); i++) {
+      if (i > 0) {
+        writer.write(',');
+      }
+      writeCsvField(writer, fields.get(i));
+    }
+    writer.write('\n');
+  }
+
+  /** Quotes fields holding separators, quotes or line breaks, doubling the quotes (RFC 4180). */
+  private static void writeCsvField(final Writer writer, final String field) throws IOException {
+    if (field.indexOf(',') < 0
+        && field.indexOf('"') < 0
+        && field.indexOf('\n') < 0
+        && field.indexOf('\r') < 0) {
+      writer.write(field);
+      return;
+    }
+    writer.write('"');
+    writer.write(field.replace("\"", "\"\""));
+    writer.write('"');
+  }
+}
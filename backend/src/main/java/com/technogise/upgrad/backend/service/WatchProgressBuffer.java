@@ -0,0 +1,276 @@
+package com.technogise.upgrad.backend.service;
+
+import com.technogise.upgrad.backend.config.WatchProgressBufferConfig;
+import com.technogise.upgrad.backend.dto.WatchProgressUpdate;
+import com.technogise.upgrad.backend.repository.WatchHistoryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Write-behind buffer for watch-progress heartbeats. Only the latest position per (user, content)
+ * is kept, and pending positions are written in JDBC batches on a fixed interval or as soon as the
+ * buffer fills up. Until a position is written, {@link #find} returns it in place of the stored
+ * row, so readers never see progress move backwards.
+ *
+ * <p>The flusher always runs, because end-of-session beacons are queued here regardless of
+ * configuration; {@link #isEnabled} only decides whether regular heartbeats are buffered too.
+ */
+@Service
+@Slf4j
+public class WatchProgressBuffer {
+
+  private static final Comparator<Key> WRITE_ORDER =
+      Comparator.comparing(Key::userId).thenComparing(Key::contentId);
+
+  private final WatchProgressBufferConfig config;
+  private final WatchHistoryRepository watchHistoryRepository;
+  private final Clock clock;
+  private final Map<Key, WatchProgressUpdate> pending = new ConcurrentHashMap<>();
+  // Entries taken by a running flush stay readable here until their batch commits.
+  private final Map<Key, WatchProgressUpdate> inflight = new ConcurrentHashMap<>();
+  private final ReentrantLock flushLock = new ReentrantLock();
+  private final AtomicBoolean earlyFlushRequested = new AtomicBoolean();
+  private ScheduledExecutorService scheduler;
+
+  public WatchProgressBuffer(
+      final WatchProgressBufferConfig config,
+      final WatchHistoryRepository watchHistoryRepository,
+      final Clock clock) {
+    this.config = config;
+    this.watchHistoryRepository = watchHistoryRepository;
+    this.clock = clock;
+  }
+
+  @PostConstruct
+  void start() {
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              final Thread thread = new Thread(runnable, "watch-progress-flush");
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduler.scheduleWithFixedDelay(
+        this::flushQuietly,
+        config.getFlushIntervalMs(),
+        config.getFlushIntervalMs(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    if (scheduler == null) {
+      return;
+    }
+    scheduler.shutdown();
+    try {
+      scheduler.awaitTermination(config.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    flush();
+  }
+
+  public boolean isEnabled() {
+    return config.isEnabled();
+  }
+
+  /**
+   * Records the latest position for a user and content item, replacing any unflushed one.
+   *
+   * @param userId the viewer
+   * @param contentId the content being watched
+   * @param progressPercent progress through the content
+   * @param lastWatchedPosition playback position in seconds
+   */
+  public void record(
+      final UUID userId,
+      final UUID contentId,
+      final int progressPercent,
+      final int lastWatchedPosition) {
+    final WatchProgressUpdate update =
+        new WatchProgressUpdate(
+            userId, contentId, progressPercent, lastWatchedPosition, LocalDateTime.now(clock));
+    pending.merge(new Key(userId, contentId), update, WatchProgressBuffer::latest);
+    if (pending.size() >= config.getMaxEntries()) {
+      requestEarlyFlush();
+    }
+  }
+
+  /**
+   * Returns the position recorded for a user and content item that has not been written yet.
+   *
+   * @param userId the viewer
+   * @param contentId the content being watched
+   * @return the unflushed position, or empty when the stored row is current
+   */
+  public Optional<WatchProgressUpdate> find(final UUID userId, final UUID contentId) {
+    final Key key = new Key(userId, contentId);
+    final WatchProgressUpdate update = pending.get(key);
+    return Optional.ofNullable(update != null ? update : inflight.get(key));
+  }
+
+  /**
+   * Writes the unflushed position for one user and content item, if any, so that callers about to
+   * update the same row read and write it after the heartbeat. Joins the caller's transaction.
+   *
+   * @param userId the viewer
+   * @param contentId the content being watched
+   */
+  public void flushEntry(final UUID userId, final UUID contentId) {
+    flushLock.lock();
+    try {
+      final WatchProgressUpdate update = pending.remove(new Key(userId, contentId));
+      if (update != null) {
+        watchHistoryRepository.upsertProgress(List.of(update));
+      }
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  /**
+   * Drops unflushed positions that writes already in the database supersede. A position recorded
+   * after the write it would be compared with is kept.
+   *
+   * @param written the positions just written
+   */
+  public void discard(final Collection<WatchProgressUpdate> written) {
+    for (final WatchProgressUpdate update : written) {
+      pending.computeIfPresent(
+          new Key(update.userId(), update.contentId()),
+          (key, buffered) ->
+              buffered.lastWatchedAt().isAfter(update.lastWatchedAt()) ? buffered : null);
+    }
+  }
+
+  /**
+   * Writes every pending position in batches of the configured size.
+   *
+   * @return the number of positions written
+   */
+  public int flush() {
+    flushLock.lock();
+    try {
+      final List<Key> keys = new ArrayList<>(pending.keySet());
+      keys.sort(WRITE_ORDER);
+      int written = 0;
+      for (int from = 0; from < keys.size(); from += config.getBatchSize()) {
+        final List<WatchProgressUpdate> batch =
+            take(keys.subList(from, Math.min(from + config.getBatchSize(), keys.size())));
+        try {
+          written += write(batch);
+        } finally {
+          batch.forEach(
+              update -> inflight.remove(new Key(update.userId(), update.contentId()), update));
+        }
+      }
+      return written;
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  private List<WatchProgressUpdate> take(final List<Key> keys) {
+    final List<WatchProgressUpdate> batch = new ArrayList<>(keys.size());
+    for (final Key key : keys) {
+      final WatchProgressUpdate update = pending.get(key);
+      if (update != null) {
+        // Publish to inflight first so a concurrent find never misses the entry. A heartbeat that
+        // replaced it meanwhile stays pending for the next flush.
+        inflight.put(key, update);
+        pending.remove(key, update);
+        batch.add(update);
+      }
+    }
+    return batch;
+  }
+
+  private int write(final List<WatchProgressUpdate> batch) {
+    if (batch.isEmpty()) {
+      return 0;
+    }
+    try {
+      watchHistoryRepository.upsertProgress(batch);
+      return batch.size();
+    } catch (DataAccessException e) {
+      log.warn("Batched progress write of {} rows failed, retrying row by row", batch.size(), e);
+    }
+    int written = 0;
+    for (final WatchProgressUpdate update : batch) {
+      try {
+        watchHistoryRepository.upsertProgress(List.of(update));
+        written++;
+      } catch (DataIntegrityViolationException e) {
+        // The user or content was deleted since the heartbeat; there is no row left to update.
+        log.warn(
+            "Dropping progress for user {} and content {}: {}",
+            update.userId(),
+            update.contentId(),
+            e.getMostSpecificCause().getMessage());
+      } catch (DataAccessException e) {
+        log.warn("Requeueing progress for user {}: {}", update.userId(), e.getMessage());
+        requeue(update);
+      }
+    }
+    return written;
+  }
+
+  private void requeue(final WatchProgressUpdate update) {
+    pending.merge(
+        new Key(update.userId(), update.contentId()), update, WatchProgressBuffer::latest);
+  }
+
+  private void requestEarlyFlush() {
+    if (scheduler == null || !earlyFlushRequested.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      scheduler.execute(
+          () -> {
+            earlyFlushRequested.set(false);
+            flushQuietly();
+          });
+    } catch (RejectedExecutionException e) {
+      earlyFlushRequested.set(false);
+    }
+  }
+
+  private void flushQuietly() {
+    try {
+      final int written = flush();
+      if (written > 0) {
+        log.debug("Flushed {} buffered watch-progress rows", written);
+      }
+    } catch (RuntimeException e) {
+      log.error("Watch-progress flush failed", e);
+    }
+  }
+
+  private static WatchProgressUpdate latest(
+      final WatchProgressUpdate current, final WatchProgressUpdate candidate) {
+    return candidate.lastWatchedAt().isBefore(current.lastWatchedAt()) ? current : candidate;
+  }
+
+  private record Key(UUID userId, UUID contentId) {}
+}
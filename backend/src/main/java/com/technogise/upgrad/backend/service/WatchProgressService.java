@@ -1,71 +1,251 @@
 package com.technogise.upgrad.backend.service;
 
+import com.technogise.upgrad.backend.constants.ProgressSyncStatus;
 import com.technogise.upgrad.backend.dto.EpisodeFeedbackRequest;
+import com.technogise.upgrad.backend.dto.FeedbackChange;
+import com.technogise.upgrad.backend.dto.WatchProgressBatchItemResult;
+import com.technogise.upgrad.backend.dto.WatchProgressBatchResponse;
 import com.technogise.upgrad.backend.dto.WatchProgressRequest;
 import com.technogise.upgrad.backend.dto.WatchProgressResponse;
-import com.technogise.upgrad.backend.entity.Content;
-import com.technogise.upgrad.backend.entity.User;
-import com.technogise.upgrad.backend.entity.WatchHistory;
+import com.technogise.upgrad.backend.dto.WatchProgressUpdate;
+import com.technogise.upgrad.backend.event.ContentCompletedEvent;
 import com.technogise.upgrad.backend.exception.ResourceNotFoundException;
 import com.technogise.upgrad.backend.repository.ContentRepository;
-import com.technogise.upgrad.backend.repository.UserRepository;
 import com.technogise.upgrad.backend.repository.WatchHistoryRepository;
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
+@Slf4j
 @RequiredArgsConstructor
 public class WatchProgressService {
 
+  /** Most content items a progress snapshot covers, requested by id or in progress. */
+  public static final int MAX_SNAPSHOT_ITEMS = 200;
+
+  private static final int COMPLETE_PROGRESS = 100;
+
   private final WatchHistoryRepository watchHistoryRepository;
   private final ContentRepository contentRepository;
-  private final UserRepository userRepository;
+  private final WatchProgressBuffer watchProgressBuffer;
+  private final FeedbackCounterService feedbackCounterService;
+  private final WatchProgressThrottle watchProgressThrottle;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Clock clock;
 
-  @Transactional
   public void saveProgress(
       @NonNull final UUID userId, @NonNull final WatchProgressRequest request) {
+    final UUID contentId = request.contentId();
+    final int progressPercent = request.progressPercent();
+    final int lastWatchedPosition = request.lastWatchedPosition();
+    if (!watchProgressThrottle.shouldPersist(
+        userId, contentId, progressPercent, lastWatchedPosition)) {
+      return;
+    }
 
-    final User user =
-        userRepository
-            .findById(userId)
-            .orElseThrow(() -> new ResourceNotFoundException("User not found: " + userId));
+    final boolean completes = progressPercent >= COMPLETE_PROGRESS;
+    if (watchProgressBuffer.isEnabled() && !completes) {
+      // Heartbeats are coalesced and written in batches; unknown content fails the foreign key at
+      // flush time and is dropped there.
+      watchProgressBuffer.record(userId, contentId, progressPercent, lastWatchedPosition);
+      watchProgressThrottle.persisted(userId, contentId, progressPercent, lastWatchedPosition);
+      return;
+    }
 
-    final Content content =
-        contentRepository
-            .findById(request.contentId())
-            .orElseThrow(
-                () -> new ResourceNotFoundException("Content not found: " + request.contentId()));
-
-    final Optional<WatchHistory> existing =
-        watchHistoryRepository.findByUserIdAndContentId(userId, request.contentId());
-
-    if (existing.isPresent()) {
-      final WatchHistory history = existing.get();
-      history.setProgressPercent(request.progressPercent());
-      history.setLastWatchedPosition(request.lastWatchedPosition());
-      history.setLastWatchedAt(LocalDateTime.now());
-      watchHistoryRepository.save(history);
-    } else {
-      final WatchHistory history =
-          WatchHistory.builder()
-              .user(user)
-              .content(content)
-              .progressPercent(request.progressPercent())
-              .lastWatchedPosition(request.lastWatchedPosition())
-              .lastWatchedAt(LocalDateTime.now())
-              .build();
-      watchHistoryRepository.save(history);
+    final WatchProgressUpdate update =
+        new WatchProgressUpdate(
+            userId, contentId, progressPercent, lastWatchedPosition, LocalDateTime.now(clock));
+    final int written;
+    try {
+      // One round trip: the unique (user_id, content_id) constraint resolves concurrent tabs and
+      // the foreign keys stand in for loading the user and content first.
+      written = watchHistoryRepository.upsertProgress(update);
+    } catch (DataIntegrityViolationException e) {
+      throw new ResourceNotFoundException(
+          "User or content not found: " + userId + ", " + contentId);
+    }
+    watchProgressThrottle.persisted(userId, contentId, progressPercent, lastWatchedPosition);
+    if (completes && written > 0) {
+      // Completions skip the buffer, so the event only follows a committed write.
+      watchProgressBuffer.discard(List.of(update));
+      publishCompletion(userId, contentId);
+    }
+  }
+
+  /**
+   * Records the final position a closing page sent as a beacon. Positions are queued whether or not
+   * heartbeats are buffered, except one that finishes the content: that is written straight away,
+   * as any completion is, so its completion event follows the committed write. A completion for
+   * content that no longer exists is dropped, as a queued position is at flush time.
+   *
+   * @param userId the viewer
+   * @param contentId the content being watched
+   * @param progressPercent progress through the content
+   * @param lastWatchedPosition playback position in seconds
+   */
+  public void saveBeacon(
+      @NonNull final UUID userId,
+      @NonNull final UUID contentId,
+      final int progressPercent,
+      final int lastWatchedPosition) {
+    if (progressPercent >= COMPLETE_PROGRESS) {
+      try {
+        saveProgress(
+            userId, new WatchProgressRequest(contentId, progressPercent, lastWatchedPosition));
+      } catch (ResourceNotFoundException e) {
+        log.debug("Dropping completion beacon for missing content {}", contentId);
+      }
+      return;
+    }
+    watchProgressBuffer.record(userId, contentId, progressPercent, lastWatchedPosition);
+    watchProgressThrottle.forget(userId, List.of(contentId));
+  }
+
+  private void publishCompletion(final UUID userId, final UUID contentId) {
+    // The dispatcher measures delivery lag against the same clock.
+    eventPublisher.publishEvent(new ContentCompletedEvent(userId, contentId, clock.instant()));
+  }
+
+  /** Runs the action once the current transaction commits, or now outside a transaction. */
+  private static void afterCommit(final Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
     }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+
+  /**
+   * Applies progress queued by an offline client in one transaction. Only the last entry per
+   * content is written, in a single statement, and every entry gets its own status. Entries are
+   * ordered against stored progress by when the client recorded them, so one replayed after newer
+   * progress from another device is reported stale rather than written.
+   *
+   * @param userId the viewer
+   * @param requests the queued updates, oldest first
+   * @return one result per request, in request order
+   */
+  @Transactional
+  public WatchProgressBatchResponse saveProgressBatch(
+      @NonNull final UUID userId, @NonNull final List<WatchProgressRequest> requests) {
+    final WatchProgressBatchItemResult[] results =
+        new WatchProgressBatchItemResult[requests.size()];
+    final Map<UUID, Integer> latestIndexByContent = new HashMap<>();
+    for (int i = 0; i < requests.size(); i++) {
+      final WatchProgressRequest request = requests.get(i);
+      final String violation = validate(request);
+      if (violation != null) {
+        results[i] =
+            new WatchProgressBatchItemResult(
+                i,
+                request == null ? null : request.contentId(),
+                ProgressSyncStatus.REJECTED,
+                violation);
+        continue;
+      }
+      final Integer superseded = latestIndexByContent.put(request.contentId(), i);
+      if (superseded != null) {
+        results[superseded] =
+            new WatchProgressBatchItemResult(
+                superseded, request.contentId(), ProgressSyncStatus.SUPERSEDED, null);
+      }
+    }
+
+    final Set<UUID> knownContent =
+        latestIndexByContent.isEmpty()
+            ? Set.of()
+            : new HashSet<>(contentRepository.findExistingIds(latestIndexByContent.keySet()));
+    final LocalDateTime now = LocalDateTime.now(clock);
+    final List<WatchProgressUpdate> updates = new ArrayList<>();
+    for (final Map.Entry<UUID, Integer> latest : latestIndexByContent.entrySet()) {
+      final int index = latest.getValue();
+      final UUID contentId = latest.getKey();
+      if (!knownContent.contains(contentId)) {
+        results[index] =
+            new WatchProgressBatchItemResult(
+                index, contentId, ProgressSyncStatus.NOT_FOUND, "Content not found");
+        continue;
+      }
+      final WatchProgressRequest request = requests.get(index);
+      updates.add(
+          new WatchProgressUpdate(
+              userId,
+              contentId,
+              request.progressPercent(),
+              request.lastWatchedPosition(),
+              recordedAt(request, now)));
+    }
+
+    if (!updates.isEmpty()) {
+      // A fixed row order keeps concurrent batches for the same user from deadlocking.
+      updates.sort(Comparator.comparing(WatchProgressUpdate::contentId));
+      final Set<UUID> written;
+      try {
+        written = new HashSet<>(watchHistoryRepository.replayProgress(updates));
+      } catch (DataIntegrityViolationException e) {
+        throw new ResourceNotFoundException("User not found: " + userId);
+      }
+      final List<WatchProgressUpdate> applied =
+          updates.stream().filter(update -> written.contains(update.contentId())).toList();
+      // Beacons buffer positions even when heartbeats are not buffered.
+      watchProgressBuffer.discard(applied);
+      watchProgressThrottle.forget(userId, List.copyOf(written));
+      for (final WatchProgressUpdate update : updates) {
+        final int index = latestIndexByContent.get(update.contentId());
+        final boolean appliedUpdate = written.contains(update.contentId());
+        results[index] =
+            new WatchProgressBatchItemResult(
+                index,
+                update.contentId(),
+                appliedUpdate ? ProgressSyncStatus.APPLIED : ProgressSyncStatus.STALE,
+                appliedUpdate ? null : "Newer progress is already stored");
+        // Dispatched once the batch commits.
+        if (appliedUpdate && update.progressPercent() >= COMPLETE_PROGRESS) {
+          publishCompletion(userId, update.contentId());
+        }
+      }
+    }
+    return new WatchProgressBatchResponse(Arrays.asList(results));
   }
 
   @Transactional(readOnly = true)
   public Optional<WatchProgressResponse> getProgress(
       @NonNull final UUID userId, @NonNull final UUID contentId) {
+    final Optional<WatchProgressUpdate> buffered = watchProgressBuffer.find(userId, contentId);
+    if (buffered.isPresent()) {
+      final WatchProgressUpdate update = buffered.get();
+      return Optional.of(
+          new WatchProgressResponse(
+              contentId, update.progressPercent(), update.lastWatchedPosition()));
+    }
     return watchHistoryRepository
         .findByUserIdAndContentId(userId, contentId)
         .map(
@@ -74,18 +254,100 @@ public class WatchProgressService {
                     wh.getContent().getId(), wh.getProgressPercent(), wh.getLastWatchedPosition()));
   }
 
+  /**
+   * Returns a viewer's progress on several content items at once, for drawing tile progress bars
+   * without a request per tile. Items the viewer has not started are left out.
+   *
+   * @param userId the viewer
+   * @param contentIds the items to report, or {@code null} for every unfinished item, most recent
+   *     first
+   * @return progress per item, in request order when ids are given
+   * @throws IllegalArgumentException if more than {@link #MAX_SNAPSHOT_ITEMS} ids are requested
+   */
+  @Transactional(readOnly = true)
+  public List<WatchProgressResponse> getProgressSnapshot(
+      @NonNull final UUID userId, final Collection<UUID> contentIds) {
+    if (contentIds == null) {
+      return watchHistoryRepository.findInProgress(userId, Limit.of(MAX_SNAPSHOT_ITEMS)).stream()
+          .map(stored -> withBuffered(userId, stored.contentId(), stored))
+          .filter(progress -> progress.progressPercent() < COMPLETE_PROGRESS)
+          .toList();
+    }
+    final Set<UUID> requested = new LinkedHashSet<>(contentIds);
+    if (requested.size() > MAX_SNAPSHOT_ITEMS) {
+      throw new IllegalArgumentException(
+          "At most " + MAX_SNAPSHOT_ITEMS + " content ids can be requested at once");
+    }
+    if (requested.isEmpty()) {
+      return List.of();
+    }
+    final Map<UUID, WatchProgressResponse> stored = new HashMap<>();
+    watchHistoryRepository
+        .findProgress(userId, requested)
+        .forEach(progress -> stored.put(progress.contentId(), progress));
+    final List<WatchProgressResponse> snapshot = new ArrayList<>(requested.size());
+    for (final UUID contentId : requested) {
+      final WatchProgressResponse progress = withBuffered(userId, contentId, stored.get(contentId));
+      if (progress != null) {
+        snapshot.add(progress);
+      }
+    }
+    return snapshot;
+  }
+
+  /** Prefers a position still waiting in the buffer over the stored one, which may be null. */
+  private WatchProgressResponse withBuffered(
+      final UUID userId, final UUID contentId, final WatchProgressResponse stored) {
+    return watchProgressBuffer
+        .find(userId, contentId)
+        .map(
+            update ->
+                new WatchProgressResponse(
+                    contentId, update.progressPercent(), update.lastWatchedPosition()))
+        .orElse(stored);
+  }
+
   @Transactional
   public void saveFeedback(
       @NonNull final UUID userId, @NonNull final EpisodeFeedbackRequest request) {
-    final WatchHistory history =
+    // A beacon may have buffered the first position even when heartbeats are not buffered.
+    watchProgressBuffer.flushEntry(userId, request.contentId());
+    final FeedbackChange change =
         watchHistoryRepository
-            .findByUserIdAndContentId(userId, request.contentId())
+            .updateFeedback(userId, request.contentId(), request.feedback())
             .orElseThrow(
                 () ->
                     new ResourceNotFoundException(
                         "No watch history found for content: " + request.contentId()));
+    // Counted only once stored, so a rolled-back vote never reaches the totals.
+    afterCommit(() -> feedbackCounterService.record(change));
+  }
+
+  /**
+   * When a queued update was recorded: the client's time, clamped to now so that a fast client
+   * clock cannot hold the row against later writes, or now when the client sent none.
+   */
+  private LocalDateTime recordedAt(final WatchProgressRequest request, final LocalDateTime now) {
+    if (request.occurredAt() == null) {
+      return now;
+    }
+    final LocalDateTime occurredAt = LocalDateTime.ofInstant(request.occurredAt(), clock.getZone());
+    return occurredAt.isAfter(now) ? now : occurredAt;
+  }
 
-    history.setFeedback(request.feedback().name());
-    watchHistoryRepository.save(history);
+  private static String validate(final WatchProgressRequest request) {
+    if (request == null) {
+      return "entry is required";
+    }
+    if (request.contentId() == null) {
+      return "contentId is required";
+    }
+    if (request.progressPercent() < 0 || request.progressPercent() > 100) {
+      return "progressPercent must be between 0 and 100";
+    }
+    if (request.lastWatchedPosition() < 0) {
+      return "lastWatchedPosition must not be negative";
+    }
+    return null;
   }
 }
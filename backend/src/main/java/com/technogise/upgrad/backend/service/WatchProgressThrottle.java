@@ -0,0 +1,135 @@
+package com.technogise.upgrad.backend.service;
+
+import com.technogise.upgrad.backend.config.WatchProgressThrottleConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Service;
+
+/**
+ * Suppresses heartbeats that would not change stored progress meaningfully. The last position
+ * persisted per (user, content) is kept in memory; a heartbeat is written only when it moves the
+ * position or the percentage by at least the configured deltas, crosses the completion boundary, or
+ * arrives after the maximum interval, which keeps {@code last_watched_at} roughly current.
+ *
+ * <p>The cache is a hint, not a source of truth: a missing entry always lets the write through, so
+ * evictions and restarts only cost writes. Other write paths call {@link #forget} so that a later
+ * heartbeat is never compared against a position the database no longer holds.
+ */
+@Service
+public class WatchProgressThrottle {
+
+  static final String METRIC_NAME = "watch_progress.heartbeats";
+
+  private static final int COMPLETE_PROGRESS = 100;
+
+  private final WatchProgressThrottleConfig config;
+  private final Clock clock;
+  private final Map<Key, Persisted> recent = new ConcurrentHashMap<>();
+  private final Counter persistedCounter;
+  private final Counter suppressedCounter;
+
+  public WatchProgressThrottle(
+      final WatchProgressThrottleConfig config,
+      final Clock clock,
+      final MeterRegistry meterRegistry) {
+    this.config = config;
+    this.clock = clock;
+    this.persistedCounter = counter(meterRegistry, "persisted");
+    this.suppressedCounter = counter(meterRegistry, "suppressed");
+  }
+
+  private static Counter counter(final MeterRegistry meterRegistry, final String outcome) {
+    return Counter.builder(METRIC_NAME).tag("outcome", outcome).register(meterRegistry);
+  }
+
+  /**
+   * Decides whether a heartbeat is worth writing, counting the ones that are not.
+   *
+   * @param userId the viewer
+   * @param contentId the content being watched
+   * @param progressPercent progress through the content
+   * @param lastWatchedPosition playback position in seconds
+   * @return whether the heartbeat should be persisted
+   */
+  public boolean shouldPersist(
+      final UUID userId,
+      final UUID contentId,
+      final int progressPercent,
+      final int lastWatchedPosition) {
+    if (!config.isEnabled()) {
+      return true;
+    }
+    final Persisted last = recent.get(new Key(userId, contentId));
+    if (last == null || isSignificant(last, progressPercent, lastWatchedPosition)) {
+      return true;
+    }
+    suppressedCounter.increment();
+    return false;
+  }
+
+  private boolean isSignificant(
+      final Persisted last, final int progressPercent, final int lastWatchedPosition) {
+    final boolean wasComplete = last.progressPercent() >= COMPLETE_PROGRESS;
+    final boolean isComplete = progressPercent >= COMPLETE_PROGRESS;
+    // Completion gates the feedback prompt and the continue-watching rail, so it always lands.
+    return wasComplete != isComplete
+        || Math.abs(progressPercent - last.progressPercent()) >= config.getMinPercentDelta()
+        || Math.abs(lastWatchedPosition - last.lastWatchedPosition())
+            >= config.getMinPositionDeltaSeconds()
+        || clock.millis() - last.persistedAtMillis() >= config.getMaxIntervalMs();
+  }
+
+  /**
+   * Remembers a heartbeat that was persisted, as the baseline for the next ones.
+   *
+   * @param userId the viewer
+   * @param contentId the content being watched
+   * @param progressPercent progress through the content
+   * @param lastWatchedPosition playback position in seconds
+   */
+  public void persisted(
+      final UUID userId,
+      final UUID contentId,
+      final int progressPercent,
+      final int lastWatchedPosition) {
+    persistedCounter.increment();
+    if (!config.isEnabled()) {
+      return;
+    }
+    final Key key = new Key(userId, contentId);
+    if (recent.size() >= config.getMaxEntries() && !recent.containsKey(key)) {
+      evictExpired();
+      if (recent.size() >= config.getMaxEntries()) {
+        return;
+      }
+    }
+    recent.put(key, new Persisted(progressPercent, lastWatchedPosition, clock.millis()));
+  }
+
+  /**
+   * Drops the baselines for content whose progress was written by another path.
+   *
+   * @param userId the viewer
+   * @param contentIds the content written
+   */
+  public void forget(final UUID userId, final Collection<UUID> contentIds) {
+    for (final UUID contentId : contentIds) {
+      recent.remove(new Key(userId, contentId));
+    }
+  }
+
+  private void evictExpired() {
+    final long cutoff = clock.millis() - config.getMaxIntervalMs();
+    // Expired baselines would let the next heartbeat through anyway.
+    recent.values().removeIf(persisted -> persisted.persistedAtMillis() <= cutoff);
+  }
+
+  private record Key(UUID userId, UUID contentId) {}
+
+  private record Persisted(int progressPercent, int lastWatchedPosition, long persistedAtMillis) {}
+}
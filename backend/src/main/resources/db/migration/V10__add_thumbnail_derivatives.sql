@@ -0,0 +1,11 @@
+-- Resized thumbnails per width class. Files are named by the SHA-256 of their bytes, so a
+-- derivative never changes once written and can be cached forever.
+CREATE TABLE thumbnail_derivatives (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    content_id UUID NOT NULL REFERENCES contents(id) ON DELETE CASCADE,
+    width INT NOT NULL,
+    file_name VARCHAR(100) NOT NULL,
+    source_url VARCHAR(500) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE(content_id, width)
+);
@@ -0,0 +1,20 @@
+-- Append-only engagement events (play, pause, seek, complete), range-partitioned by month on
+-- occurred_at so old months can be detached or dropped without touching live partitions.
+-- Monthly partitions are created ahead of time by the application; the default partition only
+-- catches events that arrive for a month that has no partition yet.
+-- No foreign keys: events are written in large batches and a deleted user or content item must
+-- not fail the batch; analytics joins tolerate orphans.
+CREATE TABLE engagement_events (
+    id UUID NOT NULL,
+    user_id UUID NOT NULL,
+    content_id UUID NOT NULL,
+    event_type VARCHAR(16) NOT NULL
+        CHECK (event_type IN ('PLAY', 'PAUSE', 'SEEK', 'COMPLETE')),
+    position_seconds INT CHECK (position_seconds >= 0),
+    watch_duration_seconds INT CHECK (watch_duration_seconds >= 0),
+    occurred_at TIMESTAMP NOT NULL,
+    received_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+
+CREATE TABLE engagement_events_default PARTITION OF engagement_events DEFAULT;
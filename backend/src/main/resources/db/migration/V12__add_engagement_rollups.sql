@@ -0,0 +1,100 @@
+-- Engagement rollups per content item and per category, kept current incrementally.
+-- Every watch_history write appends its delta to engagement_rollup_deltas from a trigger, so
+-- concurrent heartbeats never contend on a shared summary row. The application periodically folds
+-- the deltas into the summary tables, which are then read by primary key.
+CREATE TABLE content_engagement_rollups (
+    content_id UUID PRIMARY KEY REFERENCES contents(id) ON DELETE CASCADE,
+    starts BIGINT NOT NULL DEFAULT 0,
+    completions BIGINT NOT NULL DEFAULT 0,
+    progress_sum BIGINT NOT NULL DEFAULT 0,
+    helpful BIGINT NOT NULL DEFAULT 0,
+    not_helpful BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE category_engagement_rollups (
+    category VARCHAR(100) PRIMARY KEY,
+    starts BIGINT NOT NULL DEFAULT 0,
+    completions BIGINT NOT NULL DEFAULT 0,
+    progress_sum BIGINT NOT NULL DEFAULT 0,
+    helpful BIGINT NOT NULL DEFAULT 0,
+    not_helpful BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE engagement_rollup_deltas (
+    content_id UUID NOT NULL,
+    starts INT NOT NULL,
+    completions INT NOT NULL,
+    progress_sum INT NOT NULL,
+    helpful INT NOT NULL,
+    not_helpful INT NOT NULL
+);
+
+CREATE FUNCTION record_engagement_rollup_delta() RETURNS trigger AS $$
+DECLARE
+    d_starts INT := 0;
+    d_completions INT := 0;
+    d_progress INT := 0;
+    d_helpful INT := 0;
+    d_not_helpful INT := 0;
+    row_content_id UUID;
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        row_content_id := NEW.content_id;
+        d_completions := (NEW.progress_percent >= 100)::INT;
+        d_progress := NEW.progress_percent;
+        d_helpful := (NEW.feedback IS NOT DISTINCT FROM 'HELPFUL')::INT;
+        d_not_helpful := (NEW.feedback IS NOT DISTINCT FROM 'NOT_HELPFUL')::INT;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        row_content_id := OLD.content_id;
+        d_completions := d_completions - (OLD.progress_percent >= 100)::INT;
+        d_progress := d_progress - OLD.progress_percent;
+        d_helpful := d_helpful - (OLD.feedback IS NOT DISTINCT FROM 'HELPFUL')::INT;
+        d_not_helpful := d_not_helpful - (OLD.feedback IS NOT DISTINCT FROM 'NOT_HELPFUL')::INT;
+    END IF;
+    IF TG_OP = 'INSERT' THEN
+        d_starts := 1;
+    ELSIF TG_OP = 'DELETE' THEN
+        d_starts := -1;
+    END IF;
+
+    -- Timestamp-only updates change no aggregate and are not recorded.
+    IF d_starts <> 0 OR d_completions <> 0 OR d_progress <> 0
+            OR d_helpful <> 0 OR d_not_helpful <> 0 THEN
+        INSERT INTO engagement_rollup_deltas
+            (content_id, starts, completions, progress_sum, helpful, not_helpful)
+        VALUES (row_content_id, d_starts, d_completions, d_progress, d_helpful, d_not_helpful);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_watch_history_engagement_rollup
+    AFTER INSERT OR UPDATE OR DELETE ON watch_history
+    FOR EACH ROW EXECUTE FUNCTION record_engagement_rollup_delta();
+
+-- Seed the rollups from the history recorded so far.
+INSERT INTO content_engagement_rollups
+    (content_id, starts, completions, progress_sum, helpful, not_helpful)
+SELECT content_id,
+       COUNT(*),
+       COUNT(*) FILTER (WHERE progress_percent >= 100),
+       SUM(progress_percent),
+       COUNT(*) FILTER (WHERE feedback = 'HELPFUL'),
+       COUNT(*) FILTER (WHERE feedback = 'NOT_HELPFUL')
+FROM watch_history
+GROUP BY content_id;
+
+INSERT INTO category_engagement_rollups
+    (category, starts, completions, progress_sum, helpful, not_helpful)
+SELECT c.category,
+       SUM(r.starts),
+       SUM(r.completions),
+       SUM(r.progress_sum),
+       SUM(r.helpful),
+       SUM(r.not_helpful)
+FROM content_engagement_rollups r
+JOIN contents c ON c.id = r.content_id
+GROUP BY c.category;
@@ -0,0 +1,9 @@
+-- Continue-watching rail: a viewer's unfinished items, most recently watched first.
+-- The partial index holds only unfinished rows, already in rail order, so the query reads the
+-- first N entries for the viewer instead of sorting their whole history and filtering afterwards.
+-- It includes the history columns the tile needs, leaving only the content lookup by primary key.
+-- The predicate must stay a literal in the query for the planner to match it to this index.
+CREATE INDEX idx_watch_history_continue_watching
+    ON watch_history (user_id, last_watched_at DESC)
+    INCLUDE (content_id, progress_percent, last_watched_position)
+    WHERE progress_percent < 100;
@@ -0,0 +1,17 @@
+-- Per-content vote totals, read by primary key for ranking. The application counts votes in
+-- memory and adds the deltas here on a short interval; each viewer's own vote stays in
+-- watch_history.feedback.
+CREATE TABLE content_feedback_counters (
+    content_id UUID PRIMARY KEY REFERENCES contents(id) ON DELETE CASCADE,
+    helpful BIGINT NOT NULL DEFAULT 0,
+    not_helpful BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO content_feedback_counters (content_id, helpful, not_helpful)
+SELECT content_id,
+       COUNT(*) FILTER (WHERE feedback = 'HELPFUL'),
+       COUNT(*) FILTER (WHERE feedback = 'NOT_HELPFUL')
+FROM watch_history
+WHERE feedback IS NOT NULL
+GROUP BY content_id;
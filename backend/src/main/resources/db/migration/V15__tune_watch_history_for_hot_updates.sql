@@ -0,0 +1,35 @@
+-- Lay watch_history out for heap-only-tuple (HOT) updates. A heartbeat rewrites progress_percent,
+-- last_watched_position and last_watched_at; Postgres can only update the row in place on its page,
+-- without touching any index, when none of those columns is an index key, INCLUDE column or partial
+-- index predicate, and the page has free space for the new version.
+
+-- Leave a fifth of every page free for new row versions. Existing pages are repacked by the table
+-- rewrite below.
+ALTER TABLE watch_history SET (
+    fillfactor = 80,
+    autovacuum_vacuum_scale_factor = 0.02,
+    autovacuum_vacuum_threshold = 1000,
+    autovacuum_analyze_scale_factor = 0.05
+);
+
+-- Rail order key: last_watched_at, moved forward by heartbeats only once it is five minutes behind.
+-- Heartbeats in between leave it unchanged, so they stay HOT.
+ALTER TABLE watch_history ADD COLUMN last_active_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+UPDATE watch_history SET last_active_at = last_watched_at;
+
+-- Rail filter: flips only when an item is finished or restarted. Adding a stored generated column
+-- rewrites the table, which also drops the dead versions left by the backfill.
+ALTER TABLE watch_history
+    ADD COLUMN completed BOOLEAN GENERATED ALWAYS AS (progress_percent >= 100) STORED;
+
+-- Covered by the (user_id, content_id) unique index.
+DROP INDEX idx_watch_history_user_id;
+-- No query filters on feedback; vote totals are kept in content_engagement_rollups.
+DROP INDEX idx_watch_history_feedback;
+
+-- The continue-watching rail keyed on columns heartbeats do not change.
+DROP INDEX idx_watch_history_continue_watching;
+CREATE INDEX idx_watch_history_continue_watching
+    ON watch_history (user_id, last_active_at DESC)
+    INCLUDE (content_id)
+    WHERE NOT completed;
@@ -0,0 +1,29 @@
+-- Per-user activity calendar: bit n of days (bit n % 8 of byte n / 8, as set_bit numbers them) is
+-- set when the viewer made progress on first_day + n. A year of history takes 46 bytes, so streaks
+-- and monthly counts are answered from one primary-key read instead of grouping watch_history by
+-- date. The application sets today's bit on the first progress write of the day.
+CREATE TABLE user_activity (
+    user_id UUID PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    first_day DATE NOT NULL,
+    days BYTEA NOT NULL
+);
+
+-- Seed from the history recorded so far. watch_history keeps only the last day each item was
+-- watched, so earlier days of activity are not recoverable.
+INSERT INTO user_activity (user_id, first_day, days)
+SELECT user_id,
+       MIN(last_watched_at::DATE),
+       decode(repeat('00', (MAX(last_watched_at::DATE) - MIN(last_watched_at::DATE)) / 8 + 1), 'hex')
+FROM watch_history
+GROUP BY user_id;
+
+DO $$
+DECLARE
+    r RECORD;
+BEGIN
+    FOR r IN SELECT DISTINCT user_id, last_watched_at::DATE AS day FROM watch_history LOOP
+        UPDATE user_activity
+        SET days = set_bit(days, r.day - first_day, 1)
+        WHERE user_id = r.user_id;
+    END LOOP;
+END $$;
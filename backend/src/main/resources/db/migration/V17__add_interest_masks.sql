@@ -0,0 +1,32 @@
+-- Interests as bitmasks, so the homepage matches content to a user's interests with a bitwise AND
+-- on values already loaded instead of a lookup in user_interests. Bit n is the n-th value of the
+-- Interest enum; user_interests stays the record of the selection.
+
+ALTER TABLE users ADD COLUMN interest_mask INTEGER NOT NULL DEFAULT 0;
+-- The interest bit matching the content's category, 0 for categories that are not interests.
+ALTER TABLE contents ADD COLUMN category_mask INTEGER NOT NULL DEFAULT 0;
+
+CREATE TEMPORARY TABLE interest_bits (name VARCHAR(100) PRIMARY KEY, bit INTEGER NOT NULL)
+    ON COMMIT DROP;
+INSERT INTO interest_bits (name, bit) VALUES
+    ('PYTHON_PROGRAMMING', 1),
+    ('DATA_SCIENCE', 2),
+    ('UI_UX_DESIGN', 4),
+    ('DIGITAL_MARKETING', 8),
+    ('CLOUD_COMPUTING', 16),
+    ('CYBERSECURITY', 32),
+    ('REACT_FRAMEWORK', 64),
+    ('PERSONAL_FINANCE', 128);
+
+UPDATE users u
+SET interest_mask = selected.mask
+FROM (SELECT ui.user_id, bit_or(b.bit) AS mask
+      FROM user_interests ui
+      JOIN interest_bits b ON b.name = ui.interest_name
+      GROUP BY ui.user_id) selected
+WHERE selected.user_id = u.id;
+
+UPDATE contents c
+SET category_mask = b.bit
+FROM interest_bits b
+WHERE b.name = c.category;
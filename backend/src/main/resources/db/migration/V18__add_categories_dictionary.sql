@@ -0,0 +1,45 @@
+-- Categories dictionary: contents and user_interests reference a category by a two-byte id instead
+-- of repeating its name, so their rows and the indexes over them shrink and lookups compare
+-- integers. Interests are the categories of the same name. Category names are still what the API
+-- and the category engagement rollups use.
+
+CREATE TABLE categories (
+    id SMALLINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(100) NOT NULL UNIQUE
+);
+
+-- Every interest is a category whether or not content exists for it yet; new interests need a
+-- migration adding theirs.
+INSERT INTO categories (name)
+SELECT name FROM (VALUES
+    ('PYTHON_PROGRAMMING'),
+    ('DATA_SCIENCE'),
+    ('UI_UX_DESIGN'),
+    ('DIGITAL_MARKETING'),
+    ('CLOUD_COMPUTING'),
+    ('CYBERSECURITY'),
+    ('REACT_FRAMEWORK'),
+    ('PERSONAL_FINANCE')) AS interests (name)
+UNION
+SELECT category FROM contents
+UNION
+SELECT interest_name FROM user_interests
+ORDER BY name;
+
+ALTER TABLE contents ADD COLUMN category_id SMALLINT REFERENCES categories (id);
+UPDATE contents c SET category_id = k.id FROM categories k WHERE k.name = c.category;
+ALTER TABLE contents ALTER COLUMN category_id SET NOT NULL;
+DROP INDEX idx_contents_category;
+ALTER TABLE contents DROP COLUMN category;
+-- Serves the next-episode lookup, which filters on the category and orders by episode.
+CREATE INDEX idx_contents_category_episode ON contents (category_id, episode_number);
+
+ALTER TABLE user_interests ADD COLUMN category_id SMALLINT REFERENCES categories (id);
+UPDATE user_interests ui SET category_id = k.id FROM categories k WHERE k.name = ui.interest_name;
+ALTER TABLE user_interests ALTER COLUMN category_id SET NOT NULL;
+-- Drops the (user_id, interest_name) unique constraint along with the column.
+ALTER TABLE user_interests DROP COLUMN interest_name;
+ALTER TABLE user_interests
+    ADD CONSTRAINT uk_user_interests_user_category UNIQUE (user_id, category_id);
+-- Covered by the unique index, which leads with user_id.
+DROP INDEX idx_user_interests_user_id;
@@ -0,0 +1,17 @@
+-- Unique viewers per content item as HyperLogLog sketches: 2048 one-byte registers (precision 11,
+-- about 2.3% standard error) in place of COUNT(DISTINCT user_id) over watch_history. A viewer sets
+-- one register to the max of its value and the viewer's rank, so adding a viewer is a single-row
+-- upsert that writes nothing when the register is already high enough. Sketches merge by taking
+-- the register-wise max, which gives category and date-range counts without double counting.
+CREATE TABLE content_viewer_sketches (
+    content_id UUID PRIMARY KEY REFERENCES contents(id) ON DELETE CASCADE,
+    registers BYTEA NOT NULL
+);
+
+-- The same sketch kept per day, for counts over a date range.
+CREATE TABLE content_daily_viewer_sketches (
+    content_id UUID NOT NULL REFERENCES contents(id) ON DELETE CASCADE,
+    day DATE NOT NULL,
+    registers BYTEA NOT NULL,
+    PRIMARY KEY (content_id, day)
+);
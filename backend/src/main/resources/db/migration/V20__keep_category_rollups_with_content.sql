@@ -0,0 +1,98 @@
+-- Two corrections to the engagement rollups of V12.
+--
+-- 1. Category rollups follow their content. The fold attributes deltas to a content item's category
+-- at fold time and drops the deltas of deleted content, so the totals already folded for an item
+-- stayed with its category after the item was deleted or moved to another category. A trigger on
+-- contents now takes the item's folded totals out of its old category, and on a category change
+-- adds them to the new one. It holds the fold's advisory lock, so no fold runs between reading
+-- the item's totals and committing the move; deltas still pending fold into the new category, or
+-- are dropped with a deleted item, along with the history they describe.
+--
+-- 2. Heartbeats no longer write deltas. An update that only moves progress_percent, without
+-- crossing 100, changes no count, so the watch_history update trigger now fires only when feedback
+-- or completion changes; heartbeats write just their own, heap-only row version. progress_sum is
+-- still moved by starts, removals and completions, and the application recomputes it from
+-- watch_history on a longer interval to take in the heartbeats in between.
+
+-- Keeps application instances still running from folding while the rollups are rebuilt below.
+SELECT pg_advisory_xact_lock(hashtext('engagement_rollup_fold'));
+
+DROP TRIGGER trg_watch_history_engagement_rollup ON watch_history;
+
+CREATE TRIGGER trg_watch_history_engagement_rollup
+    AFTER INSERT OR DELETE ON watch_history
+    FOR EACH ROW EXECUTE FUNCTION record_engagement_rollup_delta();
+
+CREATE TRIGGER trg_watch_history_engagement_rollup_update
+    AFTER UPDATE OF progress_percent, feedback ON watch_history
+    FOR EACH ROW
+    WHEN (OLD.feedback IS DISTINCT FROM NEW.feedback
+          OR (OLD.progress_percent >= 100) <> (NEW.progress_percent >= 100))
+    EXECUTE FUNCTION record_engagement_rollup_delta();
+
+CREATE FUNCTION move_content_engagement_rollup() RETURNS trigger AS $$
+DECLARE
+    r content_engagement_rollups%ROWTYPE;
+BEGIN
+    IF TG_OP = 'UPDATE' AND NEW.category_id = OLD.category_id THEN
+        RETURN NEW;
+    END IF;
+    PERFORM pg_advisory_xact_lock(hashtext('engagement_rollup_fold'));
+    SELECT * INTO r FROM content_engagement_rollups WHERE content_id = OLD.id;
+    IF FOUND THEN
+        UPDATE category_engagement_rollups cr SET
+            starts = cr.starts - r.starts,
+            completions = cr.completions - r.completions,
+            progress_sum = cr.progress_sum - r.progress_sum,
+            helpful = cr.helpful - r.helpful,
+            not_helpful = cr.not_helpful - r.not_helpful,
+            updated_at = CURRENT_TIMESTAMP
+        FROM categories k
+        WHERE k.id = OLD.category_id AND cr.category = k.name;
+        IF TG_OP = 'UPDATE' THEN
+            INSERT INTO category_engagement_rollups AS cr
+                (category, starts, completions, progress_sum, helpful, not_helpful, updated_at)
+            SELECT k.name, r.starts, r.completions, r.progress_sum, r.helpful, r.not_helpful,
+                   CURRENT_TIMESTAMP
+            FROM categories k
+            WHERE k.id = NEW.category_id
+            ON CONFLICT (category) DO UPDATE SET
+                starts = cr.starts + EXCLUDED.starts,
+                completions = cr.completions + EXCLUDED.completions,
+                progress_sum = cr.progress_sum + EXCLUDED.progress_sum,
+                helpful = cr.helpful + EXCLUDED.helpful,
+                not_helpful = cr.not_helpful + EXCLUDED.not_helpful,
+                updated_at = EXCLUDED.updated_at;
+        END IF;
+    END IF;
+    IF TG_OP = 'DELETE' THEN
+        RETURN OLD;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- BEFORE, so that the item's rollup is read before the delete cascades to it.
+CREATE TRIGGER trg_contents_move_engagement_rollup
+    BEFORE DELETE OR UPDATE OF category_id ON contents
+    FOR EACH ROW EXECUTE FUNCTION move_content_engagement_rollup();
+
+-- Start from exact category totals: sum the content rollups of the content that still exists.
+UPDATE category_engagement_rollups cr SET
+    starts = COALESCE(t.starts, 0),
+    completions = COALESCE(t.completions, 0),
+    progress_sum = COALESCE(t.progress_sum, 0),
+    helpful = COALESCE(t.helpful, 0),
+    not_helpful = COALESCE(t.not_helpful, 0),
+    updated_at = CURRENT_TIMESTAMP
+FROM category_engagement_rollups c0
+LEFT JOIN (
+    SELECT k.name, SUM(r.starts) AS starts, SUM(r.completions) AS completions,
+           SUM(r.progress_sum) AS progress_sum, SUM(r.helpful) AS helpful,
+           SUM(r.not_helpful) AS not_helpful
+    FROM content_engagement_rollups r
+    JOIN contents c ON c.id = r.content_id
+    JOIN categories k ON k.id = c.category_id
+    GROUP BY k.name
+) t ON t.name = c0.category
+WHERE cr.category = c0.category;
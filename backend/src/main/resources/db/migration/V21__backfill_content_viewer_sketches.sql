@@ -0,0 +1,77 @@
+-- Seed the viewer sketches from the history recorded before they existed, so unique viewer counts
+-- cover every viewer rather than only those seen since the sketches were added. watch_history keeps
+-- only the last day each item was watched, so a viewer lands in the daily sketch of that day only;
+-- earlier days of viewing are not recoverable.
+--
+-- The helpers reproduce HyperLogLog.hash, register and rank, so the backfilled registers are the
+-- ones the application would have set. Java's long arithmetic wraps; numeric stands in for it.
+CREATE FUNCTION viewer_sketch_mul64(a BIGINT, b BIGINT) RETURNS BIGINT
+LANGUAGE sql IMMUTABLE AS $$
+    SELECT (CASE WHEN p >= 9223372036854775808 THEN p - 18446744073709551616 ELSE p END)::BIGINT
+    FROM (SELECT mod(mod(a::NUMERIC * b, 18446744073709551616) + 18446744073709551616,
+                     18446744073709551616) AS p) m
+$$;
+
+-- MurmurHash3 fmix64; the mask makes >> a logical shift like Java's >>>.
+CREATE FUNCTION viewer_sketch_fmix64(h BIGINT) RETURNS BIGINT
+LANGUAGE plpgsql IMMUTABLE AS $$
+BEGIN
+    h := h # ((h >> 33) & 2147483647);
+    h := viewer_sketch_mul64(h, -49064778989728563);
+    h := h # ((h >> 33) & 2147483647);
+    h := viewer_sketch_mul64(h, -4265267296055464877);
+    RETURN h # ((h >> 33) & 2147483647);
+END $$;
+
+CREATE FUNCTION viewer_sketch_hash(id UUID) RETURNS BIGINT
+LANGUAGE sql IMMUTABLE AS $$
+    SELECT viewer_sketch_fmix64(
+        ('x' || substr(replace(id::TEXT, '-', ''), 1, 16))::BIT(64)::BIGINT
+        # viewer_sketch_fmix64(('x' || substr(replace(id::TEXT, '-', ''), 17, 16))::BIT(64)::BIGINT))
+$$;
+
+-- Register-wise max, for sketches the application has already started filling.
+CREATE FUNCTION viewer_sketch_merge(a BYTEA, b BYTEA) RETURNS BYTEA
+LANGUAGE sql IMMUTABLE AS $$
+    SELECT decode(string_agg(lpad(to_hex(greatest(get_byte(a, i), get_byte(b, i))), 2, '0'), ''
+                             ORDER BY i), 'hex')
+    FROM generate_series(0, 2047) i
+$$;
+
+CREATE TEMPORARY TABLE viewer_ranks ON COMMIT DROP AS
+SELECT content_id,
+       last_watched_at::DATE AS day,
+       ((h >> 53) & 2047)::INT AS register,
+       position('1' IN ((h << 11) | 1024)::BIT(64)) AS rank
+FROM (SELECT content_id, last_watched_at, viewer_sketch_hash(user_id) AS h FROM watch_history) w;
+
+INSERT INTO content_viewer_sketches AS s (content_id, registers)
+SELECT c.content_id,
+       decode(string_agg(lpad(to_hex(COALESCE(r.rank, 0)), 2, '0'), '' ORDER BY i.register), 'hex')
+FROM (SELECT DISTINCT content_id FROM viewer_ranks) c
+CROSS JOIN generate_series(0, 2047) i(register)
+LEFT JOIN (SELECT content_id, register, MAX(rank) AS rank
+           FROM viewer_ranks
+           GROUP BY content_id, register) r
+       ON r.content_id = c.content_id AND r.register = i.register
+GROUP BY c.content_id
+ON CONFLICT (content_id) DO UPDATE SET registers = viewer_sketch_merge(s.registers, EXCLUDED.registers);
+
+INSERT INTO content_daily_viewer_sketches AS s (content_id, day, registers)
+SELECT c.content_id,
+       c.day,
+       decode(string_agg(lpad(to_hex(COALESCE(r.rank, 0)), 2, '0'), '' ORDER BY i.register), 'hex')
+FROM (SELECT DISTINCT content_id, day FROM viewer_ranks) c
+CROSS JOIN generate_series(0, 2047) i(register)
+LEFT JOIN (SELECT content_id, day, register, MAX(rank) AS rank
+           FROM viewer_ranks
+           GROUP BY content_id, day, register) r
+       ON r.content_id = c.content_id AND r.day = c.day AND r.register = i.register
+GROUP BY c.content_id, c.day
+ON CONFLICT (content_id, day) DO UPDATE
+SET registers = viewer_sketch_merge(s.registers, EXCLUDED.registers);
+
+DROP FUNCTION viewer_sketch_merge(BYTEA, BYTEA);
+DROP FUNCTION viewer_sketch_hash(UUID);
+DROP FUNCTION viewer_sketch_fmix64(BIGINT);
+DROP FUNCTION viewer_sketch_mul64(BIGINT, BIGINT);
@@ -0,0 +1,61 @@
+-- Vote totals have one home: content_engagement_rollups. V14 kept a second copy in
+-- content_feedback_counters, fed by the application, while the V12 trigger counted the same votes
+-- into the rollups; the two could drift apart.
+--
+-- The application now adds its in-memory vote deltas to engagement_rollup_deltas, and the fold
+-- carries them into the content and category rollups along with everything else. The trigger
+-- therefore no longer counts vote changes on existing rows, which would count them twice; it still
+-- counts the vote on a row that is inserted or deleted, since the application sees neither.
+
+-- Keeps application instances still running from folding while the trigger is replaced.
+SELECT pg_advisory_xact_lock(hashtext('engagement_rollup_fold'));
+
+CREATE OR REPLACE FUNCTION record_engagement_rollup_delta() RETURNS trigger AS $$
+DECLARE
+    d_starts INT := 0;
+    d_completions INT := 0;
+    d_progress INT := 0;
+    d_helpful INT := 0;
+    d_not_helpful INT := 0;
+    row_content_id UUID;
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        row_content_id := NEW.content_id;
+        d_completions := (NEW.progress_percent >= 100)::INT;
+        d_progress := NEW.progress_percent;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        row_content_id := OLD.content_id;
+        d_completions := d_completions - (OLD.progress_percent >= 100)::INT;
+        d_progress := d_progress - OLD.progress_percent;
+    END IF;
+    IF TG_OP = 'INSERT' THEN
+        d_starts := 1;
+        d_helpful := (NEW.feedback IS NOT DISTINCT FROM 'HELPFUL')::INT;
+        d_not_helpful := (NEW.feedback IS NOT DISTINCT FROM 'NOT_HELPFUL')::INT;
+    ELSIF TG_OP = 'DELETE' THEN
+        d_starts := -1;
+        d_helpful := -(OLD.feedback IS NOT DISTINCT FROM 'HELPFUL')::INT;
+        d_not_helpful := -(OLD.feedback IS NOT DISTINCT FROM 'NOT_HELPFUL')::INT;
+    END IF;
+
+    -- Timestamp-only updates change no aggregate and are not recorded.
+    IF d_starts <> 0 OR d_completions <> 0 OR d_progress <> 0
+            OR d_helpful <> 0 OR d_not_helpful <> 0 THEN
+        INSERT INTO engagement_rollup_deltas
+            (content_id, starts, completions, progress_sum, helpful, not_helpful)
+        VALUES (row_content_id, d_starts, d_completions, d_progress, d_helpful, d_not_helpful);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER trg_watch_history_engagement_rollup_update ON watch_history;
+
+CREATE TRIGGER trg_watch_history_engagement_rollup_update
+    AFTER UPDATE OF progress_percent ON watch_history
+    FOR EACH ROW
+    WHEN ((OLD.progress_percent >= 100) <> (NEW.progress_percent >= 100))
+    EXECUTE FUNCTION record_engagement_rollup_delta();
+
+DROP TABLE content_feedback_counters;
@@ -0,0 +1,17 @@
+-- Storage of the viewer sketches. Each sketch is a dense 2048-byte register array, which puts its
+-- row just over the 2 kB toast threshold, so PostgreSQL compresses the array before storing it. A
+-- low-cardinality sketch is almost all zero registers and compresses to a few dozen bytes, so the
+-- long tail of rarely watched content-days costs about as much as a sparse encoding would, without
+-- a second format to read and merge. Sketches only become incompressible once they hold hundreds
+-- of viewers, and at that point the dense array is also the smallest exact encoding.
+--
+-- The default EXTENDED storage would move an incompressible array into the toast table, which
+-- costs every range scan an extra index lookup per row. MAIN still compresses but keeps the array
+-- in the row; three uncompressed sketches fit on a page. It applies to sketches written from now
+-- on.
+--
+-- Daily sketches are also pruned by ContentViewerService once they are older than
+-- app.viewers.daily-retention-days, so one row per content item and day does not grow without
+-- bound. All-time sketches are one row per content item and are kept.
+ALTER TABLE content_viewer_sketches ALTER COLUMN registers SET STORAGE MAIN;
+ALTER TABLE content_daily_viewer_sketches ALTER COLUMN registers SET STORAGE MAIN;
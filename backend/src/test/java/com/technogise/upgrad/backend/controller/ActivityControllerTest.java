@@ -0,0 +1,124 @@
+package com.technogise.upgrad.backend.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.technogise.upgrad.backend.config.SecurityConfig;
+import com.technogise.upgrad.backend.dto.ActivitySummaryDto;
+import com.technogise.upgrad.backend.entity.User;
+import com.technogise.upgrad.backend.exception.GlobalExceptionHandler;
+import com.technogise.upgrad.backend.repository.UserRepository;
+import com.technogise.upgrad.backend.security.JwtAuthenticationFilter;
+import com.technogise.upgrad.backend.service.LearningActivityService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(ActivityController.class)
+@Import({GlobalExceptionHandler.class, SecurityConfig.class})
+class ActivityControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockitoBean private LearningActivityService learningActivityService;
+  @MockitoBean private UserRepository userRepository;
+  @MockitoBean private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+  private static final String TEST_EMAIL = "test@example.com";
+  private static final UUID TEST_USER_ID = UUID.randomUUID();
+  private User testUser;
+
+  @BeforeEach
+  void setUp() throws ServletException, IOException {
+    testUser =
+        User.builder()
+            .id(TEST_USER_ID)
+            .email(TEST_EMAIL)
+            .onboardingCompleted(true)
+            .createdAt(LocalDateTime.now())
+            .build();
+
+    // Default filter behavior: pass through without authentication
+    Mockito.doAnswer(
+            invocation -> {
+              FilterChain chain = invocation.getArgument(2);
+              chain.doFilter(invocation.getArgument(0), invocation.getArgument(1));
+              return null;
+            })
+        .when(jwtAuthenticationFilter)
+        .doFilter(any(), any(), any());
+  }
+
+  private void setupAuthenticatedUser() throws ServletException, IOException {
+    Mockito.doAnswer(
+            invocation -> {
+              Authentication auth =
+                  new UsernamePasswordAuthenticationToken(
+                      TEST_EMAIL, null, Collections.emptyList());
+              SecurityContextHolder.getContext().setAuthentication(auth);
+              FilterChain chain = invocation.getArgument(2);
+              chain.doFilter(invocation.getArgument(0), invocation.getArgument(1));
+              return null;
+            })
+        .when(jwtAuthenticationFilter)
+        .doFilter(any(), any(), any());
+  }
+
+  @Test
+  void shouldReturnCurrentMonthActivity() throws Exception {
+    setupAuthenticatedUser();
+    when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(testUser));
+    when(learningActivityService.getSummary(eq(TEST_USER_ID), isNull()))
+        .thenReturn(new ActivitySummaryDto(3, YearMonth.of(2026, 10), 4, List.of(1, 17, 18, 19)));
+
+    mockMvc
+        .perform(get("/api/me/activity").with(csrf()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.currentStreak").value(3))
+        .andExpect(jsonPath("$.month").value("2026-10"))
+        .andExpect(jsonPath("$.activeDaysInMonth").value(4))
+        .andExpect(jsonPath("$.activeDays[3]").value(19));
+  }
+
+  @Test
+  void shouldReturnRequestedMonthActivity() throws Exception {
+    setupAuthenticatedUser();
+    when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(testUser));
+    when(learningActivityService.getSummary(TEST_USER_ID, YearMonth.of(2026, 9)))
+        .thenReturn(new ActivitySummaryDto(0, YearMonth.of(2026, 9), 1, List.of(30)));
+
+    mockMvc
+        .perform(get("/api/me/activity").param("month", "2026-09").with(csrf()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.month").value("2026-09"))
+        .andExpect(jsonPath("$.activeDays[0]").value(30));
+  }
+
+  @Test
+  void shouldRejectUnauthenticatedRequest() throws Exception {
+    mockMvc.perform(get("/api/me/activity").with(csrf())).andExpect(status().isForbidden());
+  }
+}
@@ -0,0 +1,134 @@
+package com.technogise.upgrad.backend.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.technogise.upgrad.backend.config.SecurityConfig;
+import com.technogise.upgrad.backend.exception.GlobalExceptionHandler;
+import com.technogise.upgrad.backend.security.JwtAuthenticationFilter;
+import com.technogise.upgrad.backend.service.WatchProgressService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.Cookie;
+import java.util.Collections;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(BeaconController.class)
+@Import({GlobalExceptionHandler.class, SecurityConfig.class})
+class BeaconControllerTest {
+
+  private static final UUID USER_ID = UUID.randomUUID();
+  private static final UUID CONTENT_ID = UUID.randomUUID();
+  private static final String CSRF_TOKEN = "0b6f1c2e-5a7d-4e3f-8c9b-1d2e3f4a5b6c";
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockitoBean private WatchProgressService watchProgressService;
+  @MockitoBean private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    Mockito.doAnswer(
+            invocation -> {
+              final ServletRequest request = invocation.getArgument(0);
+              SecurityContextHolder.getContext()
+                  .setAuthentication(
+                      new UsernamePasswordAuthenticationToken(
+                          "viewer@example.com", null, Collections.emptyList()));
+              request.setAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE, USER_ID);
+              FilterChain chain = invocation.getArgument(2);
+              chain.doFilter(request, invocation.getArgument(1));
+              return null;
+            })
+        .when(jwtAuthenticationFilter)
+        .doFilter(any(), any(), any());
+  }
+
+  @Test
+  void shouldQueueProgressWithoutCsrfHeader() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/beacon/progress")
+                .contentType("text/plain;charset=UTF-8")
+                .cookie(new Cookie(BeaconController.CSRF_COOKIE, CSRF_TOKEN))
+                .content(CONTENT_ID + ",75,900," + CSRF_TOKEN))
+        .andExpect(status().isNoContent());
+
+    verify(watchProgressService).saveBeacon(USER_ID, CONTENT_ID, 75, 900);
+  }
+
+  @Test
+  void shouldRejectTokenThatDoesNotMatchCookie() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/beacon/progress")
+                .contentType(MediaType.TEXT_PLAIN)
+                .cookie(new Cookie(BeaconController.CSRF_COOKIE, CSRF_TOKEN))
+                .content(CONTENT_ID + ",75,900,forged-token"))
+        .andExpect(status().isForbidden());
+
+    verify(watchProgressService, never()).saveBeacon(any(), any(), anyInt(), anyInt());
+  }
+
+  @Test
+  void shouldRejectBeaconWithoutCsrfCookie() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/beacon/progress")
+                .contentType(MediaType.TEXT_PLAIN)
+                .content(CONTENT_ID + ",75,900," + CSRF_TOKEN))
+        .andExpect(status().isForbidden());
+
+    verify(watchProgressService, never()).saveBeacon(any(), any(), anyInt(), anyInt());
+  }
+
+  @Test
+  void shouldRejectMalformedPayload() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/beacon/progress")
+                .contentType(MediaType.TEXT_PLAIN)
+                .cookie(new Cookie(BeaconController.CSRF_COOKIE, CSRF_TOKEN))
+                .content(CONTENT_ID + ",175,900," + CSRF_TOKEN))
+        .andExpect(status().isBadRequest());
+
+    verify(watchProgressService, never()).saveBeacon(any(), any(), anyInt(), anyInt());
+  }
+
+  @Test
+  void shouldRejectAnonymousBeacon() throws Exception {
+    Mockito.doAnswer(
+            invocation -> {
+              FilterChain chain = invocation.getArgument(2);
+              chain.doFilter(invocation.getArgument(0), invocation.getArgument(1));
+              return null;
+            })
+        .when(jwtAuthenticationFilter)
+        .doFilter(any(), any(), any());
+
+    mockMvc
+        .perform(
+            post("/api/beacon/progress")
+                .contentType(MediaType.TEXT_PLAIN)
+                .cookie(new Cookie(BeaconController.CSRF_COOKIE, CSRF_TOKEN))
+                .content(CONTENT_ID + ",75,900," + CSRF_TOKEN))
+        .andExpect(status().isForbidden());
+
+    verify(watchProgressService, never()).saveBeacon(any(), any(), anyInt(), anyInt());
+  }
+}
@@ -64,7 +64,8 @@ class ContentControllerTest {
             "Test Category",
             1,
             120,
-            LocalDateTime.now());
+            LocalDateTime.now(),
+            42);
 
     when(contentService.getContent(contentId)).thenReturn(contentDto);
 
@@ -78,7 +79,8 @@ class ContentControllerTest {
         .andExpect(jsonPath("$.videoUrl").value("http://example.com/video.mp4"))
         .andExpect(jsonPath("$.category").value("Test Category"))
         .andExpect(jsonPath("$.episodeNumber").value(1))
-        .andExpect(jsonPath("$.durationSeconds").value(120));
+        .andExpect(jsonPath("$.durationSeconds").value(120))
+        .andExpect(jsonPath("$.uniqueViewers").value(42));
   }
 
   @Test
@@ -106,7 +108,8 @@ class ContentControllerTest {
             "Test Category",
             2,
             150,
-            LocalDateTime.now());
+            LocalDateTime.now(),
+            0);
 
     when(contentService.getNextEpisode(contentId)).thenReturn(Optional.of(nextDto));
 
@@ -0,0 +1,133 @@
+package com.technogise.upgrad.backend.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.technogise.upgrad.backend.config.SecurityConfig;
+import com.technogise.upgrad.backend.constants.ManifestFormat;
+import com.technogise.upgrad.backend.dto.IngestionReject;
+import com.technogise.upgrad.backend.dto.IngestionReport;
+import com.technogise.upgrad.backend.exception.GlobalExceptionHandler;
+import com.technogise.upgrad.backend.security.JwtAuthenticationFilter;
+import com.technogise.upgrad.backend.service.ContentIngestionService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(ContentIngestionController.class)
+@Import({GlobalExceptionHandler.class, SecurityConfig.class})
+@TestPropertySource(properties = "app.admin.emails=admin@example.com")
+class ContentIngestionControllerTest {
+
+  private static final String ADMIN_EMAIL = "admin@example.com";
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockitoBean private ContentIngestionService contentIngestionService;
+  @MockitoBean private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+  private void authenticateAs(String email) throws ServletException, IOException {
+    Mockito.doAnswer(
+            invocation -> {
+              SecurityContextHolder.getContext()
+                  .setAuthentication(
+                      new UsernamePasswordAuthenticationToken(
+                          email, null, Collections.emptyList()));
+              FilterChain chain = invocation.getArgument(2);
+              chain.doFilter(invocation.getArgument(0), invocation.getArgument(1));
+              return null;
+            })
+        .when(jwtAuthenticationFilter)
+        .doFilter(any(), any(), any());
+  }
+
+  @Test
+  void shouldImportCsvManifestForAdmin() throws Exception {
+    authenticateAs(ADMIN_EMAIL);
+    when(contentIngestionService.ingest(any(), eq(ManifestFormat.CSV)))
+        .thenReturn(
+            new IngestionReport(
+                1, 1, 0, 1, List.of(new IngestionReject(3, null, "title is required"))));
+
+    mockMvc
+        .perform(
+            post("/api/admin/contents/import")
+                .with(csrf())
+                .contentType("text/csv")
+                .content("title,category\nA,DATA_SCIENCE\n,DATA_SCIENCE"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.accepted").value(1))
+        .andExpect(jsonPath("$.rejects[0].lineNumber").value(3))
+        .andExpect(jsonPath("$.rejects[0].reason").value("title is required"));
+  }
+
+  @Test
+  void shouldImportJsonLinesManifestForAdmin() throws Exception {
+    authenticateAs(ADMIN_EMAIL);
+    when(contentIngestionService.ingest(any(), eq(ManifestFormat.JSON_LINES)))
+        .thenReturn(new IngestionReport(1, 1, 0, 0, List.of()));
+
+    mockMvc
+        .perform(
+            post("/api/admin/contents/import")
+                .with(csrf())
+                .contentType(ManifestFormat.NDJSON_VALUE)
+                .content("{\"title\":\"A\",\"category\":\"DATA_SCIENCE\"}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.batches").value(1));
+  }
+
+  @Test
+  void shouldForbidImportForNonAdminUser() throws Exception {
+    authenticateAs("learner@example.com");
+
+    mockMvc
+        .perform(
+            post("/api/admin/contents/import")
+                .with(csrf())
+                .contentType("text/csv")
+                .content("title,category"))
+        .andExpect(status().isForbidden());
+
+    verify(contentIngestionService, never()).ingest(any(), any());
+  }
+
+  @Test
+  void shouldForbidImportForAnonymousUser() throws Exception {
+    Mockito.doAnswer(
+            invocation -> {
+              FilterChain chain = invocation.getArgument(2);
+              chain.doFilter(invocation.getArgument(0), invocation.getArgument(1));
+              return null;
+            })
+        .when(jwtAuthenticationFilter)
+        .doFilter(any(), any(), any());
+
+    mockMvc
+        .perform(
+            post("/api/admin/contents/import")
+                .with(csrf())
+                .contentType("text/csv")
+                .content("title,category"))
+        .andExpect(status().isForbidden());
+  }
+}
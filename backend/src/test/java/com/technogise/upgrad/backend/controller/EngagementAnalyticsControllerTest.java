@@ -0,0 +1,186 @@
+package com.technogise.upgrad.backend.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.technogise.upgrad.backend.config.SecurityConfig;
+import com.technogise.upgrad.backend.dto.EngagementStatsDto;
+import com.technogise.upgrad.backend.dto.FeedbackCountsDto;
+import com.technogise.upgrad.backend.dto.UniqueViewersDto;
+import com.technogise.upgrad.backend.exception.GlobalExceptionHandler;
+import com.technogise.upgrad.backend.exception.ResourceNotFoundException;
+import com.technogise.upgrad.backend.security.JwtAuthenticationFilter;
+import com.technogise.upgrad.backend.service.ContentViewerService;
+import com.technogise.upgrad.backend.service.EngagementRollupService;
+import com.technogise.upgrad.backend.service.FeedbackCounterService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(EngagementAnalyticsController.class)
+@Import({GlobalExceptionHandler.class, SecurityConfig.class})
+@TestPropertySource(properties = "app.admin.emails=admin@example.com")
+class EngagementAnalyticsControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockitoBean private EngagementRollupService engagementRollupService;
+  @MockitoBean private FeedbackCounterService feedbackCounterService;
+  @MockitoBean private ContentViewerService contentViewerService;
+  @MockitoBean private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+  private void authenticateAs(String email) throws ServletException, IOException {
+    Mockito.doAnswer(
+            invocation -> {
+              SecurityContextHolder.getContext()
+                  .setAuthentication(
+                      new UsernamePasswordAuthenticationToken(
+                          email, null, Collections.emptyList()));
+              FilterChain chain = invocation.getArgument(2);
+              chain.doFilter(invocation.getArgument(0), invocation.getArgument(1));
+              return null;
+            })
+        .when(jwtAuthenticationFilter)
+        .doFilter(any(), any(), any());
+  }
+
+  @Test
+  void shouldReturnContentStatsForAdmin() throws Exception {
+    authenticateAs("admin@example.com");
+    UUID contentId = UUID.randomUUID();
+    when(engagementRollupService.getContentStats(contentId))
+        .thenReturn(new EngagementStatsDto(contentId.toString(), 4, 1, 62.5, 2, 1));
+
+    mockMvc
+        .perform(get("/api/admin/analytics/content/{id}", contentId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.key").value(contentId.toString()))
+        .andExpect(jsonPath("$.starts").value(4))
+        .andExpect(jsonPath("$.completions").value(1))
+        .andExpect(jsonPath("$.averageProgressPercent").value(62.5))
+        .andExpect(jsonPath("$.helpful").value(2))
+        .andExpect(jsonPath("$.notHelpful").value(1));
+  }
+
+  @Test
+  void shouldReturnFeedbackCountsForAdmin() throws Exception {
+    authenticateAs("admin@example.com");
+    UUID contentId = UUID.randomUUID();
+    when(feedbackCounterService.getCounts(contentId))
+        .thenReturn(new FeedbackCountsDto(contentId, 42, 3));
+
+    mockMvc
+        .perform(get("/api/admin/analytics/content/{contentId}/feedback", contentId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.helpful").value(42))
+        .andExpect(jsonPath("$.notHelpful").value(3));
+  }
+
+  @Test
+  void shouldReturnCategoryStatsForAdmin() throws Exception {
+    authenticateAs("admin@example.com");
+    when(engagementRollupService.getAllCategoryStats())
+        .thenReturn(
+            List.of(
+                new EngagementStatsDto("DESIGN", 3, 0, 10, 0, 0),
+                new EngagementStatsDto("PYTHON", 9, 4, 70, 3, 1)));
+    when(engagementRollupService.getCategoryStats("PYTHON"))
+        .thenReturn(new EngagementStatsDto("PYTHON", 9, 4, 70, 3, 1));
+
+    mockMvc
+        .perform(get("/api/admin/analytics/categories"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[1].key").value("PYTHON"));
+    mockMvc
+        .perform(get("/api/admin/analytics/categories/PYTHON"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.starts").value(9));
+  }
+
+  @Test
+  void shouldReturnNotFoundWithoutRecordedEngagement() throws Exception {
+    authenticateAs("admin@example.com");
+    UUID contentId = UUID.randomUUID();
+    when(engagementRollupService.getContentStats(contentId))
+        .thenThrow(new ResourceNotFoundException("No engagement recorded"));
+
+    mockMvc
+        .perform(get("/api/admin/analytics/content/{id}", contentId))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void shouldRejectNonAdmin() throws Exception {
+    authenticateAs("learner@example.com");
+
+    mockMvc.perform(get("/api/admin/analytics/categories")).andExpect(status().isForbidden());
+
+    verify(engagementRollupService, never()).getAllCategoryStats();
+  }
+
+  @Test
+  void shouldReturnContentViewersForDateRange() throws Exception {
+    authenticateAs("admin@example.com");
+    UUID contentId = UUID.randomUUID();
+    LocalDate from = LocalDate.of(2026, 10, 1);
+    LocalDate to = LocalDate.of(2026, 10, 7);
+    when(contentViewerService.getContentViewers(contentId, from, to))
+        .thenReturn(new UniqueViewersDto(contentId.toString(), from, to, 1_530, 0.023));
+
+    mockMvc
+        .perform(
+            get("/api/admin/analytics/content/{id}/viewers", contentId)
+                .param("from", "2026-10-01")
+                .param("to", "2026-10-07"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.key").value(contentId.toString()))
+        .andExpect(jsonPath("$.from").value("2026-10-01"))
+        .andExpect(jsonPath("$.uniqueViewers").value(1_530))
+        .andExpect(jsonPath("$.relativeStandardError").value(0.023));
+  }
+
+  @Test
+  void shouldReturnAllTimeCategoryViewers() throws Exception {
+    authenticateAs("admin@example.com");
+    when(contentViewerService.getCategoryViewers("PYTHON", null, null))
+        .thenReturn(new UniqueViewersDto("PYTHON", null, null, 12_000, 0.023));
+
+    mockMvc
+        .perform(get("/api/admin/analytics/categories/{category}/viewers", "PYTHON"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.key").value("PYTHON"))
+        .andExpect(jsonPath("$.uniqueViewers").value(12_000));
+  }
+
+  @Test
+  void shouldReturn400ForHalfOpenViewerRange() throws Exception {
+    authenticateAs("admin@example.com");
+    when(contentViewerService.getCategoryViewers("PYTHON", LocalDate.of(2026, 10, 1), null))
+        .thenThrow(new IllegalArgumentException("from and to must be given together"));
+
+    mockMvc
+        .perform(
+            get("/api/admin/analytics/categories/{category}/viewers", "PYTHON")
+                .param("from", "2026-10-01"))
+        .andExpect(status().isBadRequest());
+  }
+}
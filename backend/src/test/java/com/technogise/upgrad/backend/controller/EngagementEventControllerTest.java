@@ -0,0 +1,135 @@
+package com.technogise.upgrad.backend.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.technogise.upgrad.backend.config.SecurityConfig;
+import com.technogise.upgrad.backend.dto.EngagementIngestResult;
+import com.technogise.upgrad.backend.exception.GlobalExceptionHandler;
+import com.technogise.upgrad.backend.security.JwtAuthenticationFilter;
+import com.technogise.upgrad.backend.service.EngagementEventService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletRequest;
+import java.util.Collections;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(EngagementEventController.class)
+@Import({GlobalExceptionHandler.class, SecurityConfig.class})
+class EngagementEventControllerTest {
+
+  private static final String TEST_EMAIL = "viewer@example.com";
+  private static final UUID USER_ID = UUID.randomUUID();
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockitoBean private EngagementEventService engagementEventService;
+  @MockitoBean private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+  private String body;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    Mockito.doAnswer(
+            invocation -> {
+              final ServletRequest request = invocation.getArgument(0);
+              SecurityContextHolder.getContext()
+                  .setAuthentication(
+                      new UsernamePasswordAuthenticationToken(
+                          TEST_EMAIL, null, Collections.emptyList()));
+              request.setAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE, USER_ID);
+              FilterChain chain = invocation.getArgument(2);
+              chain.doFilter(request, invocation.getArgument(1));
+              return null;
+            })
+        .when(jwtAuthenticationFilter)
+        .doFilter(any(), any(), any());
+    body =
+        String.format(
+            "{\"events\":[{\"contentId\":\"%s\",\"type\":\"PLAY\",\"positionSeconds\":0},"
+                + "{\"contentId\":\"%s\",\"type\":\"PAUSE\",\"positionSeconds\":42,"
+                + "\"occurredAt\":\"2026-03-15T10:00:00Z\"}]}",
+            UUID.randomUUID(), UUID.randomUUID());
+  }
+
+  @Test
+  void shouldAcceptQueuedEvents() throws Exception {
+    when(engagementEventService.submit(eq(USER_ID), anyList()))
+        .thenReturn(new EngagementIngestResult(2, 0));
+
+    mockMvc
+        .perform(
+            post("/api/events").with(csrf()).contentType(MediaType.APPLICATION_JSON).content(body))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.accepted").value(2))
+        .andExpect(jsonPath("$.rejected").value(0));
+  }
+
+  @Test
+  void shouldAskClientToRetryRejectedTailWhenQueueIsFull() throws Exception {
+    when(engagementEventService.submit(eq(USER_ID), anyList()))
+        .thenReturn(new EngagementIngestResult(1, 1));
+    when(engagementEventService.getRetryAfterSeconds()).thenReturn(5);
+
+    mockMvc
+        .perform(
+            post("/api/events").with(csrf()).contentType(MediaType.APPLICATION_JSON).content(body))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"))
+        .andExpect(jsonPath("$.accepted").value(1))
+        .andExpect(jsonPath("$.rejected").value(1));
+  }
+
+  @Test
+  void shouldRejectUnknownEventType() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/events")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    String.format(
+                        "{\"events\":[{\"contentId\":\"%s\",\"type\":\"REWIND\"}]}",
+                        UUID.randomUUID())))
+        .andExpect(status().isBadRequest());
+
+    verify(engagementEventService, never()).submit(any(), anyList());
+  }
+
+  @Test
+  void shouldRejectNegativePosition() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/events")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    String.format(
+                        "{\"events\":[{\"contentId\":\"%s\",\"type\":\"SEEK\","
+                            + "\"positionSeconds\":-1}]}",
+                        UUID.randomUUID())))
+        .andExpect(status().isBadRequest());
+
+    verify(engagementEventService, never()).submit(any(), anyList());
+  }
+}
@@ -93,8 +93,16 @@ class HomepageControllerTest {
     UUID contentId = UUID.randomUUID();
     HomepageSectionsDto sections =
         new HomepageSectionsDto(
-            new ContinueWatchingDto(
-                contentId, "Python Intro", "Desc", "thumb.jpg", 50, "PYTHON_PROGRAMMING", 1, 120),
+            List.of(
+                new ContinueWatchingDto(
+                    contentId,
+                    "Python Intro",
+                    "Desc",
+                    "thumb.jpg",
+                    50,
+                    "PYTHON_PROGRAMMING",
+                    1,
+                    120)),
             List.of(
                 new ContentDto(
                     contentId, "Python Intro", "Desc", "thumb.jpg", "PYTHON_PROGRAMMING")),
@@ -102,13 +110,14 @@ class HomepageControllerTest {
                 new ContentDto(UUID.randomUUID(), "Design", "Desc", "thumb2.jpg", "UI_UX_DESIGN")));
 
     when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(testUser));
-    when(homepageService.getHomepageSections(TEST_USER_ID)).thenReturn(sections);
+    when(homepageService.getHomepageSections(TEST_USER_ID, testUser.getInterestMask()))
+        .thenReturn(sections);
 
     mockMvc
         .perform(get("/api/homepage").with(csrf()))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$.continueWatching.contentId").value(contentId.toString()))
-        .andExpect(jsonPath("$.continueWatching.progressPercent").value(50))
+        .andExpect(jsonPath("$.continueWatching[0].contentId").value(contentId.toString()))
+        .andExpect(jsonPath("$.continueWatching[0].progressPercent").value(50))
         .andExpect(jsonPath("$.recommended").isArray())
         .andExpect(jsonPath("$.recommended[0].title").value("Python Intro"))
         .andExpect(jsonPath("$.exploration").isArray())
@@ -126,19 +135,20 @@ class HomepageControllerTest {
 
     HomepageSectionsDto sections =
         new HomepageSectionsDto(
-            null,
+            List.of(),
             List.of(
                 new ContentDto(
                     UUID.randomUUID(), "Python", "Desc", "thumb.jpg", "PYTHON_PROGRAMMING")),
             List.of());
 
     when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(testUser));
-    when(homepageService.getHomepageSections(TEST_USER_ID)).thenReturn(sections);
+    when(homepageService.getHomepageSections(TEST_USER_ID, testUser.getInterestMask()))
+        .thenReturn(sections);
 
     mockMvc
         .perform(get("/api/homepage").with(csrf()))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$.continueWatching").doesNotExist())
+        .andExpect(jsonPath("$.continueWatching").isEmpty())
         .andExpect(jsonPath("$.recommended[0].title").value("Python"));
   }
 }
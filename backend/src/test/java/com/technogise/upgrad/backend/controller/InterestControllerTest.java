@@ -8,6 +8,8 @@ import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -20,6 +22,7 @@ import com.technogise.upgrad.backend.exception.GlobalExceptionHandler;
 import com.technogise.upgrad.backend.repository.UserRepository;
 import com.technogise.upgrad.backend.security.JwtAuthenticationFilter;
 import com.technogise.upgrad.backend.service.InterestService;
+import com.technogise.upgrad.backend.service.StaticJsonResponse;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import java.io.IOException;
@@ -28,12 +31,15 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -97,6 +103,11 @@ class InterestControllerTest {
         .doFilter(any(), any(), any());
   }
 
+  private StaticJsonResponse catalog(List<InterestDTO> interests) {
+    return StaticJsonResponse.of(
+        objectMapper, interests, CacheControl.maxAge(1, TimeUnit.DAYS).cachePrivate());
+  }
+
   // ============ GET /api/interests tests ============
 
   @Test
@@ -107,11 +118,15 @@ class InterestControllerTest {
             new InterestDTO("PYTHON_PROGRAMMING", "Python Programming", "Learn Python", "puzzle"),
             new InterestDTO("DATA_SCIENCE", "Data Science", "Master data analysis", "chart"));
 
-    when(interestService.getAllInterests()).thenReturn(interests);
+    StaticJsonResponse catalog = catalog(interests);
+    when(interestService.getInterestCatalog()).thenReturn(catalog);
 
     mockMvc
         .perform(get("/api/interests"))
         .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(header().string(HttpHeaders.ETAG, catalog.getETag()))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=86400, private"))
         .andExpect(jsonPath("$").isArray())
         .andExpect(jsonPath("$.length()").value(2))
         .andExpect(jsonPath("$[0].id").value("PYTHON_PROGRAMMING"))
@@ -119,13 +134,27 @@ class InterestControllerTest {
         .andExpect(jsonPath("$[0].iconName").value("puzzle"))
         .andExpect(jsonPath("$[1].id").value("DATA_SCIENCE"));
 
-    verify(interestService).getAllInterests();
+    verify(interestService).getInterestCatalog();
+  }
+
+  @Test
+  @WithMockUser
+  void shouldReturnNotModifiedWhenETagMatches() throws Exception {
+    StaticJsonResponse catalog =
+        catalog(List.of(new InterestDTO("DATA_SCIENCE", "Data Science", "Master data", "chart")));
+    when(interestService.getInterestCatalog()).thenReturn(catalog);
+
+    mockMvc
+        .perform(get("/api/interests").header(HttpHeaders.IF_NONE_MATCH, catalog.getETag()))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, catalog.getETag()))
+        .andExpect(content().bytes(new byte[0]));
   }
 
   @Test
   @WithMockUser
   void shouldReturnEmptyListWhenNoInterestsExist() throws Exception {
-    when(interestService.getAllInterests()).thenReturn(Collections.emptyList());
+    when(interestService.getInterestCatalog()).thenReturn(catalog(Collections.emptyList()));
 
     mockMvc
         .perform(get("/api/interests"))
@@ -0,0 +1,259 @@
+package com.technogise.upgrad.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.technogise.upgrad.backend.config.SecurityConfig;
+import com.technogise.upgrad.backend.exception.GlobalExceptionHandler;
+import com.technogise.upgrad.backend.exception.ResourceNotFoundException;
+import com.technogise.upgrad.backend.security.JwtAuthenticationFilter;
+import com.technogise.upgrad.backend.service.ContentService;
+import com.technogise.upgrad.backend.service.LocalMediaStore;
+import com.technogise.upgrad.backend.service.LocalMediaStore.MediaFile;
+import com.technogise.upgrad.backend.service.MediaUrlSigner;
+import jakarta.servlet.FilterChain;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@WebMvcTest(MediaController.class)
+@Import({GlobalExceptionHandler.class, SecurityConfig.class})
+@WithMockUser
+class MediaControllerTest {
+
+  private static final long LAST_MODIFIED = 1_700_000_000_000L;
+  private static final String ETAG = "\"64-18bcfe56800\"";
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockitoBean private ContentService contentService;
+
+  @MockitoBean private LocalMediaStore localMediaStore;
+
+  @MockitoBean private MediaUrlSigner mediaUrlSigner;
+
+  @MockitoBean private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+  @TempDir private Path tempDir;
+
+  private UUID contentId;
+  private byte[] video;
+  private MediaFile media;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    Mockito.doAnswer(
+            invocation -> {
+              FilterChain chain = invocation.getArgument(2);
+              chain.doFilter(invocation.getArgument(0), invocation.getArgument(1));
+              return null;
+            })
+        .when(jwtAuthenticationFilter)
+        .doFilter(any(), any(), any());
+
+    contentId = UUID.randomUUID();
+    video = new byte[100];
+    for (int i = 0; i < video.length; i++) {
+      video[i] = (byte) i;
+    }
+    final Path file = Files.write(tempDir.resolve("intro.mp4"), video);
+    media =
+        new MediaFile(
+            file, video.length, LAST_MODIFIED, ETAG, MediaType.parseMediaType("video/mp4"));
+    when(contentService.getMediaFile(contentId)).thenReturn(media);
+    when(localMediaStore.getCacheMaxAgeSeconds()).thenReturn(3600L);
+  }
+
+  @Test
+  void shouldStreamWholeFileWithCacheHeaders() throws Exception {
+    mockMvc
+        .perform(get("/api/media/{id}", contentId))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600, private"))
+        .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+        .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED))
+        .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 100))
+        .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "video/mp4"))
+        .andExpect(content().bytes(video));
+  }
+
+  @Test
+  void shouldStreamRequestedRange() throws Exception {
+    mockMvc
+        .perform(get("/api/media/{id}", contentId).header(HttpHeaders.RANGE, "bytes=10-19"))
+        .andExpect(status().isPartialContent())
+        .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-19/100"))
+        .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+        .andExpect(content().bytes(Arrays.copyOfRange(video, 10, 20)));
+  }
+
+  @Test
+  void shouldStreamSuffixRange() throws Exception {
+    mockMvc
+        .perform(get("/api/media/{id}", contentId).header(HttpHeaders.RANGE, "bytes=-10"))
+        .andExpect(status().isPartialContent())
+        .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 90-99/100"))
+        .andExpect(content().bytes(Arrays.copyOfRange(video, 90, 100)));
+  }
+
+  @Test
+  void shouldRejectUnsatisfiableRange() throws Exception {
+    mockMvc
+        .perform(get("/api/media/{id}", contentId).header(HttpHeaders.RANGE, "bytes=200-"))
+        .andExpect(status().isRequestedRangeNotSatisfiable())
+        .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */100"));
+  }
+
+  @Test
+  void shouldServeWholeFileForMalformedOrMultipleRanges() throws Exception {
+    mockMvc
+        .perform(get("/api/media/{id}", contentId).header(HttpHeaders.RANGE, "items=1-2"))
+        .andExpect(status().isOk())
+        .andExpect(content().bytes(video));
+    mockMvc
+        .perform(get("/api/media/{id}", contentId).header(HttpHeaders.RANGE, "bytes=0-1,5-6"))
+        .andExpect(status().isOk())
+        .andExpect(content().bytes(video));
+  }
+
+  @Test
+  void shouldHonourRangeWhenIfRangeMatches() throws Exception {
+    mockMvc
+        .perform(
+            get("/api/media/{id}", contentId)
+                .header(HttpHeaders.RANGE, "bytes=0-9")
+                .header(HttpHeaders.IF_RANGE, ETAG))
+        .andExpect(status().isPartialContent());
+    mockMvc
+        .perform(
+            get("/api/media/{id}", contentId)
+                .header(HttpHeaders.RANGE, "bytes=0-9")
+                .header(HttpHeaders.IF_RANGE, "Tue, 14 Nov 2023 22:13:20 GMT"))
+        .andExpect(status().isPartialContent());
+  }
+
+  @Test
+  void shouldServeWholeFileWhenIfRangeIsStale() throws Exception {
+    mockMvc
+        .perform(
+            get("/api/media/{id}", contentId)
+                .header(HttpHeaders.RANGE, "bytes=0-9")
+                .header(HttpHeaders.IF_RANGE, "\"stale\""))
+        .andExpect(status().isOk())
+        .andExpect(content().bytes(video));
+    mockMvc
+        .perform(
+            get("/api/media/{id}", contentId)
+                .header(HttpHeaders.RANGE, "bytes=0-9")
+                .header(HttpHeaders.IF_RANGE, "W/" + ETAG))
+        .andExpect(status().isOk());
+    mockMvc
+        .perform(
+            get("/api/media/{id}", contentId)
+                .header(HttpHeaders.RANGE, "bytes=0-9")
+                .header(HttpHeaders.IF_RANGE, "Mon, 13 Nov 2023 22:13:20 GMT"))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  void shouldReturnNotModifiedWhenETagMatches() throws Exception {
+    mockMvc
+        .perform(get("/api/media/{id}", contentId).header(HttpHeaders.IF_NONE_MATCH, ETAG))
+        .andExpect(status().isNotModified())
+        .andExpect(content().bytes(new byte[0]));
+  }
+
+  @Test
+  void shouldHandOffToSendfileWhenConnectorSupportsIt() throws Exception {
+    final MvcResult result =
+        mockMvc
+            .perform(
+                get("/api/media/{id}", contentId)
+                    .header(HttpHeaders.RANGE, "bytes=50-")
+                    .requestAttr(MediaController.SENDFILE_SUPPORTED, Boolean.TRUE))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 50))
+            .andExpect(content().bytes(new byte[0]))
+            .andReturn();
+
+    assertThat(result.getRequest().getAttribute(MediaController.SENDFILE_FILENAME))
+        .isEqualTo(media.path().toString());
+    assertThat(result.getRequest().getAttribute(MediaController.SENDFILE_START)).isEqualTo(50L);
+    assertThat(result.getRequest().getAttribute(MediaController.SENDFILE_END)).isEqualTo(100L);
+  }
+
+  @Test
+  void shouldSendHeadersOnlyForHeadRequests() throws Exception {
+    mockMvc
+        .perform(head("/api/media/{id}", contentId))
+        .andExpect(status().isOk())
+        .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 100))
+        .andExpect(content().bytes(new byte[0]));
+  }
+
+  @Test
+  void shouldStreamWhenSignatureIsValid() throws Exception {
+    when(mediaUrlSigner.isEnabled()).thenReturn(true);
+    when(localMediaStore.mediaUrl(contentId)).thenReturn("/api/media/" + contentId);
+    when(mediaUrlSigner.verify("/api/media/" + contentId, 1_700_003_600L, "sig")).thenReturn(true);
+
+    mockMvc
+        .perform(
+            get("/api/media/{id}", contentId)
+                .param("expires", "1700003600")
+                .param("signature", "sig"))
+        .andExpect(status().isOk())
+        .andExpect(content().bytes(video));
+  }
+
+  @Test
+  void shouldRefuseMissingOrInvalidSignatureWhenSigningIsOn() throws Exception {
+    when(mediaUrlSigner.isEnabled()).thenReturn(true);
+    when(localMediaStore.mediaUrl(contentId)).thenReturn("/api/media/" + contentId);
+
+    mockMvc.perform(get("/api/media/{id}", contentId)).andExpect(status().isForbidden());
+    mockMvc
+        .perform(
+            get("/api/media/{id}", contentId).param("expires", "soon").param("signature", "sig"))
+        .andExpect(status().isForbidden());
+    mockMvc
+        .perform(
+            get("/api/media/{id}", contentId)
+                .param("expires", "1700003600")
+                .param("signature", "forged"))
+        .andExpect(status().isForbidden());
+    verify(contentService, never()).getMediaFile(any());
+  }
+
+  @Test
+  void shouldReturnNotFoundWhenVideoIsNotLocal() throws Exception {
+    final UUID remoteId = UUID.randomUUID();
+    when(contentService.getMediaFile(remoteId))
+        .thenThrow(new ResourceNotFoundException("Video is not hosted locally"));
+
+    mockMvc.perform(get("/api/media/{id}", remoteId)).andExpect(status().isNotFound());
+  }
+}
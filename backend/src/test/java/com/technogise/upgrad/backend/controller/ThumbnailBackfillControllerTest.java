@@ -0,0 +1,81 @@
+package com.technogise.upgrad.backend.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.technogise.upgrad.backend.config.SecurityConfig;
+import com.technogise.upgrad.backend.dto.ThumbnailBackfillReport;
+import com.technogise.upgrad.backend.exception.GlobalExceptionHandler;
+import com.technogise.upgrad.backend.security.JwtAuthenticationFilter;
+import com.technogise.upgrad.backend.service.ThumbnailService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(ThumbnailBackfillController.class)
+@Import({GlobalExceptionHandler.class, SecurityConfig.class})
+@TestPropertySource(properties = "app.admin.emails=admin@example.com")
+class ThumbnailBackfillControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockitoBean private ThumbnailService thumbnailService;
+  @MockitoBean private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+  private void authenticateAs(String email) throws ServletException, IOException {
+    Mockito.doAnswer(
+            invocation -> {
+              SecurityContextHolder.getContext()
+                  .setAuthentication(
+                      new UsernamePasswordAuthenticationToken(
+                          email, null, Collections.emptyList()));
+              FilterChain chain = invocation.getArgument(2);
+              chain.doFilter(invocation.getArgument(0), invocation.getArgument(1));
+              return null;
+            })
+        .when(jwtAuthenticationFilter)
+        .doFilter(any(), any(), any());
+  }
+
+  @Test
+  void shouldRunBackfillForAdmin() throws Exception {
+    authenticateAs("admin@example.com");
+    when(thumbnailService.backfill()).thenReturn(new ThumbnailBackfillReport(10, 7, 2, 1));
+
+    mockMvc
+        .perform(post("/api/admin/thumbnails/backfill").with(csrf()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.scanned").value(10))
+        .andExpect(jsonPath("$.generated").value(7))
+        .andExpect(jsonPath("$.upToDate").value(2))
+        .andExpect(jsonPath("$.failed").value(1));
+  }
+
+  @Test
+  void shouldRejectBackfillForNonAdmin() throws Exception {
+    authenticateAs("learner@example.com");
+
+    mockMvc
+        .perform(post("/api/admin/thumbnails/backfill").with(csrf()))
+        .andExpect(status().isForbidden());
+
+    verify(thumbnailService, never()).backfill();
+  }
+}
@@ -0,0 +1,89 @@
+package com.technogise.upgrad.backend.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.technogise.upgrad.backend.config.SecurityConfig;
+import com.technogise.upgrad.backend.exception.GlobalExceptionHandler;
+import com.technogise.upgrad.backend.security.JwtAuthenticationFilter;
+import com.technogise.upgrad.backend.service.ThumbnailService;
+import jakarta.servlet.FilterChain;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(ThumbnailController.class)
+@Import({GlobalExceptionHandler.class, SecurityConfig.class})
+class ThumbnailControllerTest {
+
+  private static final String FILE_NAME = "a".repeat(64) + ".jpg";
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockitoBean private ThumbnailService thumbnailService;
+
+  @MockitoBean private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+  @TempDir private Path tempDir;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // No authentication: derivatives are public so shared caches can serve them.
+    Mockito.doAnswer(
+            invocation -> {
+              FilterChain chain = invocation.getArgument(2);
+              chain.doFilter(invocation.getArgument(0), invocation.getArgument(1));
+              return null;
+            })
+        .when(jwtAuthenticationFilter)
+        .doFilter(any(), any(), any());
+  }
+
+  @Test
+  void shouldServeDerivativeWithImmutableCacheHeaders() throws Exception {
+    final Path file = Files.write(tempDir.resolve(FILE_NAME), new byte[] {1, 2, 3});
+    when(thumbnailService.findFile(FILE_NAME)).thenReturn(Optional.of(file));
+
+    mockMvc
+        .perform(get("/api/thumbnails/{fileName}", FILE_NAME))
+        .andExpect(status().isOk())
+        .andExpect(
+            header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+        .andExpect(header().string(HttpHeaders.ETAG, "\"" + FILE_NAME + "\""))
+        .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/jpeg"))
+        .andExpect(content().bytes(new byte[] {1, 2, 3}));
+  }
+
+  @Test
+  void shouldReturnNotModifiedForKnownETag() throws Exception {
+    final Path file = Files.write(tempDir.resolve(FILE_NAME), new byte[] {1, 2, 3});
+    when(thumbnailService.findFile(FILE_NAME)).thenReturn(Optional.of(file));
+
+    mockMvc
+        .perform(
+            get("/api/thumbnails/{fileName}", FILE_NAME)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + FILE_NAME + "\""))
+        .andExpect(status().isNotModified());
+  }
+
+  @Test
+  void shouldReturnNotFoundForUnknownDerivative() throws Exception {
+    when(thumbnailService.findFile(FILE_NAME)).thenReturn(Optional.empty());
+
+    mockMvc.perform(get("/api/thumbnails/{fileName}", FILE_NAME)).andExpect(status().isNotFound());
+  }
+}
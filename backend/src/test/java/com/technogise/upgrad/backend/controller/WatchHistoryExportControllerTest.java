@@ -0,0 +1,140 @@
+package com.technogise.upgrad.backend.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.technogise.upgrad.backend.config.SecurityConfig;
+import com.technogise.upgrad.backend.config.WatchHistoryExportConfig;
+import com.technogise.upgrad.backend.constants.ManifestFormat;
+import com.technogise.upgrad.backend.exception.GlobalExceptionHandler;
+import com.technogise.upgrad.backend.security.JwtAuthenticationFilter;
+import com.technogise.upgrad.backend.service.WatchHistoryExportService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@WebMvcTest(WatchHistoryExportController.class)
+@Import({GlobalExceptionHandler.class, SecurityConfig.class, WatchHistoryExportConfig.class})
+@TestPropertySource(properties = "app.admin.emails=admin@example.com")
+class WatchHistoryExportControllerTest {
+
+  private static final String ADMIN_EMAIL = "admin@example.com";
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockitoBean private WatchHistoryExportService watchHistoryExportService;
+  @MockitoBean private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+  private void authenticateAs(String email) throws ServletException, IOException {
+    Mockito.doAnswer(
+            invocation -> {
+              SecurityContextHolder.getContext()
+                  .setAuthentication(
+                      new UsernamePasswordAuthenticationToken(
+                          email, null, Collections.emptyList()));
+              FilterChain chain = invocation.getArgument(2);
+              chain.doFilter(invocation.getArgument(0), invocation.getArgument(1));
+              return null;
+            })
+        .when(jwtAuthenticationFilter)
+        .doFilter(any(), any(), any());
+  }
+
+  private void givenExportWrites(ManifestFormat format, LocalDateTime since, String body)
+      throws IOException {
+    doAnswer(
+            invocation -> {
+              OutputStream out = invocation.getArgument(2);
+              out.write(body.getBytes(StandardCharsets.UTF_8));
+              return 1L;
+            })
+        .when(watchHistoryExportService)
+        .export(eq(format), since == null ? isNull() : eq(since), any());
+  }
+
+  @Test
+  void shouldStreamNdjsonByDefault() throws Exception {
+    authenticateAs(ADMIN_EMAIL);
+    givenExportWrites(ManifestFormat.JSON_LINES, null, "{\"progressPercent\":45}\n");
+
+    MvcResult result =
+        mockMvc
+            .perform(get("/api/admin/exports/watch-history"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Type", ManifestFormat.NDJSON_VALUE))
+        .andExpect(
+            header().string("Content-Disposition", "attachment; filename=\"watch-history.ndjson\""))
+        .andExpect(content().string("{\"progressPercent\":45}\n"));
+  }
+
+  @Test
+  void shouldStreamCsvSinceGivenTime() throws Exception {
+    authenticateAs(ADMIN_EMAIL);
+    LocalDateTime since = LocalDateTime.of(2026, 10, 1, 0, 0);
+    givenExportWrites(ManifestFormat.CSV, since, "userId\n");
+
+    MvcResult result =
+        mockMvc
+            .perform(
+                get("/api/admin/exports/watch-history")
+                    .param("format", "csv")
+                    .param("since", "2026-10-01T00:00:00"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Type", ManifestFormat.CSV_VALUE))
+        .andExpect(content().string("userId\n"));
+    verify(watchHistoryExportService).export(eq(ManifestFormat.CSV), eq(since), any());
+  }
+
+  @Test
+  void shouldRejectUnknownFormat() throws Exception {
+    authenticateAs(ADMIN_EMAIL);
+
+    mockMvc
+        .perform(get("/api/admin/exports/watch-history").param("format", "xlsx"))
+        .andExpect(status().isBadRequest());
+    verifyNoInteractions(watchHistoryExportService);
+  }
+
+  @Test
+  void shouldRejectNonAdmin() throws Exception {
+    authenticateAs("viewer@example.com");
+
+    mockMvc.perform(get("/api/admin/exports/watch-history")).andExpect(status().isForbidden());
+    verifyNoInteractions(watchHistoryExportService);
+  }
+}
@@ -13,7 +13,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.technogise.upgrad.backend.config.SecurityConfig;
 import com.technogise.upgrad.backend.constants.Feedback;
+import com.technogise.upgrad.backend.constants.ProgressSyncStatus;
 import com.technogise.upgrad.backend.dto.EpisodeFeedbackRequest;
+import com.technogise.upgrad.backend.dto.WatchProgressBatchItemResult;
+import com.technogise.upgrad.backend.dto.WatchProgressBatchRequest;
+import com.technogise.upgrad.backend.dto.WatchProgressBatchResponse;
 import com.technogise.upgrad.backend.dto.WatchProgressRequest;
 import com.technogise.upgrad.backend.dto.WatchProgressResponse;
 import com.technogise.upgrad.backend.entity.User;
@@ -26,6 +30,7 @@ import jakarta.servlet.ServletException;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -154,6 +159,50 @@ class WatchProgressControllerTest {
         .andExpect(status().isNoContent());
   }
 
+  @Test
+  void shouldReturnPerItemStatusForProgressBatch() throws Exception {
+    setupAuthenticatedUser();
+    UUID contentId = UUID.randomUUID();
+    List<WatchProgressRequest> updates =
+        List.of(
+            new WatchProgressRequest(contentId, 10, 60),
+            new WatchProgressRequest(contentId, 20, 120));
+
+    when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(testUser));
+    when(watchProgressService.saveProgressBatch(TEST_USER_ID, updates))
+        .thenReturn(
+            new WatchProgressBatchResponse(
+                List.of(
+                    new WatchProgressBatchItemResult(
+                        0, contentId, ProgressSyncStatus.SUPERSEDED, null),
+                    new WatchProgressBatchItemResult(
+                        1, contentId, ProgressSyncStatus.APPLIED, null))));
+
+    mockMvc
+        .perform(
+            put("/api/watch-progress/batch")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new WatchProgressBatchRequest(updates))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.results[0].status").value("SUPERSEDED"))
+        .andExpect(jsonPath("$.results[1].status").value("APPLIED"))
+        .andExpect(jsonPath("$.results[1].index").value(1));
+  }
+
+  @Test
+  void shouldRejectEmptyProgressBatch() throws Exception {
+    setupAuthenticatedUser();
+
+    mockMvc
+        .perform(
+            put("/api/watch-progress/batch")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"updates\":[]}"))
+        .andExpect(status().isBadRequest());
+  }
+
   @Test
   void shouldSaveFeedbackForAuthenticatedUser() throws Exception {
     setupAuthenticatedUser();
@@ -238,4 +287,56 @@ class WatchProgressControllerTest {
                 .content(nullJson))
         .andExpect(status().isBadRequest());
   }
+
+  @Test
+  void shouldReturnProgressSnapshotForRequestedContent() throws Exception {
+    setupAuthenticatedUser();
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+
+    when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(testUser));
+    when(watchProgressService.getProgressSnapshot(TEST_USER_ID, List.of(first, second)))
+        .thenReturn(List.of(new WatchProgressResponse(second, 30, 180)));
+
+    mockMvc
+        .perform(get("/api/watch-progress").param("contentIds", first + "," + second))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].contentId").value(second.toString()))
+        .andExpect(jsonPath("$[0].progressPercent").value(30))
+        .andExpect(jsonPath("$[0].lastWatchedPosition").value(180));
+  }
+
+  @Test
+  void shouldReturnInProgressSnapshotWithoutContentIds() throws Exception {
+    setupAuthenticatedUser();
+    UUID contentId = UUID.randomUUID();
+
+    when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(testUser));
+    when(watchProgressService.getProgressSnapshot(TEST_USER_ID, null))
+        .thenReturn(List.of(new WatchProgressResponse(contentId, 45, 270)));
+
+    mockMvc
+        .perform(get("/api/watch-progress"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].contentId").value(contentId.toString()));
+  }
+
+  @Test
+  void shouldRejectOversizedProgressSnapshot() throws Exception {
+    setupAuthenticatedUser();
+
+    when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(testUser));
+    when(watchProgressService.getProgressSnapshot(eq(TEST_USER_ID), any()))
+        .thenThrow(new IllegalArgumentException("At most 200 content ids can be requested"));
+
+    mockMvc
+        .perform(get("/api/watch-progress").param("contentIds", UUID.randomUUID().toString()))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void shouldRejectUnauthenticatedProgressSnapshot() throws Exception {
+    mockMvc.perform(get("/api/watch-progress")).andExpect(status().isForbidden());
+  }
 }
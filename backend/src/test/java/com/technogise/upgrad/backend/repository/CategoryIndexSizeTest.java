@@ -0,0 +1,107 @@
+package com.technogise.upgrad.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Compares the indexes keyed on category ids with the same indexes keyed on category names, as they
+ * were before the categories dictionary. The name-keyed copies are built from the same rows in
+ * scratch tables.
+ */
+class CategoryIndexSizeTest extends PostgresRepositoryTest {
+
+  private static final Logger log = LoggerFactory.getLogger(CategoryIndexSizeTest.class);
+
+  private static final int CONTENTS = 20_000;
+  private static final int USERS = 5_000;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    // Spread across the interest categories, which the migration seeds.
+    jdbcTemplate.update(
+        """
+        INSERT INTO contents (title, category_id, episode_number)
+        SELECT 'Index size ' || n,
+               (SELECT id FROM categories ORDER BY id OFFSET n % 8 LIMIT 1),
+               n
+        FROM generate_series(1, ?) AS n
+        """,
+        CONTENTS);
+    jdbcTemplate.update(
+        """
+        INSERT INTO users (email)
+        SELECT 'index-size-' || n || '@example.com' FROM generate_series(1, ?) AS n
+        """,
+        USERS);
+    jdbcTemplate.update(
+        """
+        INSERT INTO user_interests (user_id, category_id)
+        SELECT u.id, k.id
+        FROM users u
+        CROSS JOIN (SELECT id FROM categories ORDER BY id LIMIT 3) k
+        WHERE u.email LIKE 'index-size-%'
+        """);
+    jdbcTemplate.execute(
+        """
+        CREATE TABLE contents_by_name AS
+        SELECT k.name AS category, c.episode_number
+        FROM contents c JOIN categories k ON k.id = c.category_id
+        """);
+    jdbcTemplate.execute(
+        "CREATE INDEX idx_contents_by_name ON contents_by_name (category, episode_number)");
+    jdbcTemplate.execute(
+        """
+        CREATE TABLE user_interests_by_name AS
+        SELECT ui.user_id, k.name AS interest_name
+        FROM user_interests ui JOIN categories k ON k.id = ui.category_id
+        """);
+    jdbcTemplate.execute(
+        "CREATE UNIQUE INDEX idx_user_interests_by_name "
+            + "ON user_interests_by_name (user_id, interest_name)");
+    // The scratch indexes are built in one sorted pass, leaving their pages 90% full; rebuild the
+    // real ones the same way rather than compare them half-split from row-by-row inserts.
+    jdbcTemplate.execute("REINDEX INDEX idx_contents_category_episode");
+    jdbcTemplate.execute("REINDEX INDEX uk_user_interests_user_category");
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.execute("DROP TABLE contents_by_name, user_interests_by_name");
+    jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'index-size-%'");
+    jdbcTemplate.update("DELETE FROM contents WHERE title LIKE 'Index size %'");
+  }
+
+  private long indexBytes(final String index) {
+    return jdbcTemplate.queryForObject("SELECT pg_relation_size(?::regclass)", Long.class, index);
+  }
+
+  @Test
+  void shouldKeepCategoryIndexesSmallerThanNameKeyedOnes() {
+    final long contentsById = indexBytes("idx_contents_category_episode");
+    final long contentsByName = indexBytes("idx_contents_by_name");
+    final long interestsById = indexBytes("uk_user_interests_user_category");
+    final long interestsByName = indexBytes("idx_user_interests_by_name");
+
+    log.info(
+        "Contents (category, episode) index: {} bytes by id, {} bytes by name",
+        contentsById,
+        contentsByName);
+    log.info(
+        "User interests (user, category) index: {} bytes by id, {} bytes by name",
+        interestsById,
+        interestsByName);
+    // An index tuple is an 8-byte header and its key padded to 8 bytes: 8 for (smallint, int)
+    // against 24 for an interest name and an int, 24 for (uuid, smallint) against 32 or 40.
+    assertThat(contentsById).isLessThan(contentsByName * 2 / 3);
+    assertThat(interestsById).isLessThan(interestsByName);
+  }
+}
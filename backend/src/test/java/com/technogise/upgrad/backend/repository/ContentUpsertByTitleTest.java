@@ -0,0 +1,45 @@
+package com.technogise.upgrad.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.technogise.upgrad.backend.dto.ContentManifestRow;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Checks that the manifest upsert reports only the rows it wrote, so an unchanged re-ingest neither
+ * counts as accepted nor invalidates caches.
+ */
+class ContentUpsertByTitleTest extends PostgresRepositoryTest {
+
+  @Autowired private ContentRepository contentRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM contents WHERE title LIKE 'Upsert %'");
+  }
+
+  private static ContentManifestRow row(final String title, final Integer durationSeconds) {
+    return new ContentManifestRow(
+        title, "About " + title, null, null, "DATA_SCIENCE", 1, durationSeconds);
+  }
+
+  @Test
+  void shouldReturnOnlyInsertedAndChangedTitles() {
+    assertThat(contentRepository.upsertByTitle(List.of(row("Upsert A", 600), row("Upsert B", 600))))
+        .containsExactlyInAnyOrder("Upsert A", "Upsert B");
+
+    assertThat(contentRepository.upsertByTitle(List.of(row("Upsert A", 600), row("Upsert B", 900))))
+        .containsExactly("Upsert B");
+    assertThat(contentRepository.upsertByTitle(List.of(row("Upsert A", 600), row("Upsert B", 900))))
+        .isEmpty();
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT duration_seconds FROM contents WHERE title = 'Upsert B'", Integer.class))
+        .isEqualTo(900);
+  }
+}
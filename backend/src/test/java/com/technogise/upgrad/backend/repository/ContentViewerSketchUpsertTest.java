@@ -0,0 +1,179 @@
+package com.technogise.upgrad.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.technogise.upgrad.backend.entity.Category;
+import com.technogise.upgrad.backend.entity.Content;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Checks the sketch register upserts and the merge scans, and that adds which leave a register
+ * unchanged write no new row version.
+ */
+class ContentViewerSketchUpsertTest extends PostgresRepositoryTest {
+
+  private static final LocalDate DAY = LocalDate.of(2026, 10, 19);
+
+  @Autowired private ContentViewerSketchRepository sketchRepository;
+  @Autowired private ContentRepository contentRepository;
+  @Autowired private CategoryRepository categoryRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private Category python;
+  private UUID firstId;
+  private UUID secondId;
+
+  @BeforeEach
+  void setUp() {
+    python = categoryRepository.save(Category.builder().name("SKETCH_PYTHON").build());
+    firstId = contentRepository.save(content("Sketch 1", 1)).getId();
+    secondId = contentRepository.save(content("Sketch 2", 2)).getId();
+  }
+
+  @AfterEach
+  void tearDown() {
+    contentRepository.deleteAllById(List.of(firstId, secondId));
+    categoryRepository.delete(python);
+  }
+
+  private Content content(final String title, final int episode) {
+    return Content.builder()
+        .title(title)
+        .description("Description")
+        .thumbnailUrl("http://example.com/thumb.jpg")
+        .videoUrl("http://example.com/video.mp4")
+        .category(python)
+        .episodeNumber(episode)
+        .durationSeconds(120)
+        .build();
+  }
+
+  private byte[] storedRegisters(final UUID contentId) {
+    return sketchRepository.findById(contentId).orElseThrow().getRegisters();
+  }
+
+  /** The row version's location and creating transaction, both unchanged if nothing wrote it. */
+  private String rowVersion(final UUID contentId) {
+    return jdbcTemplate.queryForObject(
+        "SELECT ctid::text || '/' || xmin::text FROM content_viewer_sketches WHERE content_id = ?",
+        String.class,
+        contentId);
+  }
+
+  private List<byte[]> scanCategory(final LocalDate from, final LocalDate to) {
+    final List<byte[]> sketches = new ArrayList<>();
+    sketchRepository.scanCategoryDailySketches("SKETCH_PYTHON", from, to, sketches::add);
+    return sketches;
+  }
+
+  @Test
+  void shouldCreateZeroedSketchesWithViewerRegister() {
+    sketchRepository.addViewer(firstId, DAY, 7, 3);
+
+    final byte[] registers = storedRegisters(firstId);
+    assertEquals(ContentViewerSketchOperations.SKETCH_REGISTERS, registers.length);
+    assertEquals(3, registers[7]);
+    int set = 0;
+    for (final byte register : registers) {
+      set += register == 0 ? 0 : 1;
+    }
+    assertEquals(1, set);
+    final List<byte[]> daily = new ArrayList<>();
+    sketchRepository.scanDailySketches(firstId, DAY, DAY, daily::add);
+    assertEquals(1, daily.size());
+    assertArrayEquals(registers, daily.get(0));
+  }
+
+  @Test
+  void shouldKeepHighestRankPerRegister() {
+    sketchRepository.addViewer(firstId, DAY, 2047, 5);
+    sketchRepository.addViewer(firstId, DAY, 2047, 2);
+    sketchRepository.addViewer(firstId, DAY, 2047, 9);
+    sketchRepository.addViewer(firstId, DAY, 0, 1);
+
+    final byte[] registers = storedRegisters(firstId);
+    assertEquals(9, registers[2047]);
+    assertEquals(1, registers[0]);
+  }
+
+  @Test
+  void shouldNotWriteWhenRegisterIsAlreadyHigher() {
+    sketchRepository.addViewer(firstId, DAY, 100, 6);
+    final String before = rowVersion(firstId);
+
+    sketchRepository.addViewer(firstId, DAY, 100, 4);
+    sketchRepository.addViewer(firstId, DAY, 100, 6);
+
+    assertEquals(before, rowVersion(firstId));
+    sketchRepository.addViewer(firstId, DAY, 100, 7);
+    assertNotEquals(before, rowVersion(firstId));
+  }
+
+  @Test
+  void shouldScanSketchesByCategoryAndDay() {
+    sketchRepository.addViewer(firstId, DAY, 1, 1);
+    sketchRepository.addViewer(firstId, DAY.minusDays(1), 2, 1);
+    sketchRepository.addViewer(secondId, DAY, 3, 1);
+    sketchRepository.addViewer(secondId, DAY.minusDays(30), 4, 1);
+
+    assertEquals(2, scanCategory(DAY, DAY).size());
+    assertEquals(3, scanCategory(DAY.minusDays(7), DAY).size());
+    final List<byte[]> allTime = new ArrayList<>();
+    sketchRepository.scanCategorySketches("SKETCH_PYTHON", allTime::add);
+    assertEquals(2, allTime.size());
+  }
+
+  @Test
+  void shouldDeleteOnlyDailySketchesBeforeCutoff() {
+    sketchRepository.addViewer(firstId, DAY, 1, 1);
+    sketchRepository.addViewer(firstId, DAY.minusDays(1), 2, 1);
+    sketchRepository.addViewer(secondId, DAY.minusDays(30), 3, 1);
+
+    assertEquals(2, sketchRepository.deleteDailySketchesBefore(DAY));
+
+    assertEquals(1, scanCategory(DAY.minusDays(60), DAY).size());
+    final List<byte[]> allTime = new ArrayList<>();
+    sketchRepository.scanCategorySketches("SKETCH_PYTHON", allTime::add);
+    assertEquals(2, allTime.size());
+  }
+
+  @Test
+  void shouldStoreSparseSketchesCompressedInline() {
+    sketchRepository.addViewer(firstId, DAY, 7, 3);
+    sketchRepository.addViewer(firstId, DAY, 1500, 2);
+
+    final int stored =
+        jdbcTemplate.queryForObject(
+            """
+            SELECT pg_column_size(registers) FROM content_daily_viewer_sketches
+            WHERE content_id = ? AND day = ?
+            """,
+            Integer.class,
+            firstId,
+            DAY);
+    assertTrue(stored < 128, "a two-viewer sketch takes " + stored + " bytes");
+    assertArrayEquals(storedRegisters(firstId), dailyRegisters(firstId));
+  }
+
+  private byte[] dailyRegisters(final UUID contentId) {
+    final List<byte[]> daily = new ArrayList<>();
+    sketchRepository.scanDailySketches(contentId, DAY, DAY, daily::add);
+    return daily.get(0);
+  }
+
+  @Test
+  void shouldRejectUnknownContent() {
+    assertThrows(
+        DataIntegrityViolationException.class,
+        () -> sketchRepository.addViewer(UUID.randomUUID(), DAY, 0, 1));
+  }
+}
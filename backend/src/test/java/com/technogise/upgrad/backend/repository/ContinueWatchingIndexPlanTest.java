@@ -0,0 +1,124 @@
+package com.technogise.upgrad.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Guards the plan of the continue-watching query: for a viewer with a long, mostly finished history
+ * it must walk the partial index in order and stop after the limit, without sorting. The SQL under
+ * test is the one Hibernate generates for the repository method, explained as a generic plan so
+ * that a parameterised predicate would be caught.
+ */
+// A @DataJpaTest here would bring back its own test transaction, in which VACUUM cannot run.
+@TestPropertySource(
+    properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.technogise.upgrad.backend.repository.ContinueWatchingIndexPlanTest$LastStatement")
+class ContinueWatchingIndexPlanTest extends PostgresRepositoryTest {
+
+  private static final int USERS = 50;
+  private static final int CONTENTS = 1000;
+  private static final int RAIL_SIZE = 10;
+
+  @Autowired private WatchHistoryRepository watchHistoryRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private UUID heavyWatcher;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate.execute("TRUNCATE watch_history, users, contents CASCADE");
+    jdbcTemplate.update(
+        "INSERT INTO users (email, onboarding_completed) "
+            + "SELECT 'plan' || g || '@example.com', TRUE FROM generate_series(1, ?) g",
+        USERS);
+    jdbcTemplate.update(
+        "INSERT INTO contents (title, category_id, episode_number, duration_seconds) "
+            + "SELECT 'Plan ' || g, k.id, g, 600 FROM generate_series(1, ?) g "
+            + "JOIN categories k ON k.name = 'PYTHON_PROGRAMMING'",
+        CONTENTS);
+    // Every viewer has watched the whole catalogue and finished nineteen items in twenty.
+    jdbcTemplate.update(
+        "INSERT INTO watch_history "
+            + "(user_id, content_id, progress_percent, last_watched_position, last_watched_at) "
+            + "SELECT u.id, c.id, CASE WHEN random() < 0.05 THEN 40 ELSE 100 END, 300, "
+            + "NOW() - random() * INTERVAL '365 days' FROM users u CROSS JOIN contents c");
+    jdbcTemplate.update("UPDATE watch_history SET last_active_at = last_watched_at");
+    jdbcTemplate.execute("VACUUM ANALYZE watch_history");
+    jdbcTemplate.execute("ANALYZE contents");
+    heavyWatcher =
+        jdbcTemplate.queryForObject(
+            "SELECT id FROM users WHERE email = 'plan1@example.com'", UUID.class);
+  }
+
+  @Test
+  void shouldReadRailFromPartialIndexWithoutSorting() {
+    assertThat(watchHistoryRepository.findContinueWatching(heavyWatcher, Limit.of(RAIL_SIZE)))
+        .hasSize(RAIL_SIZE);
+    final String sql = LastStatement.sql;
+
+    final String plan = explainGeneric(sql);
+
+    assertThat(plan)
+        .contains("Index Scan using idx_watch_history_continue_watching")
+        .doesNotContain("Sort")
+        .doesNotContain("Seq Scan on watch_history");
+  }
+
+  private String explainGeneric(final String sql) {
+    final String[] parts = sql.split("\\?", -1);
+    final StringBuilder numbered = new StringBuilder(parts[0]);
+    for (int i = 1; i < parts.length; i++) {
+      numbered.append('$').append(i).append(parts[i]);
+    }
+    return jdbcTemplate.execute(
+        (ConnectionCallback<String>)
+            connection -> {
+              try (Statement statement = connection.createStatement()) {
+                statement.execute("SET plan_cache_mode = force_generic_plan");
+                statement.execute("PREPARE continue_watching AS " + numbered);
+              }
+              // EXECUTE takes its arguments inline: EXPLAIN, a utility statement, cannot be bound.
+              try (Statement explain = connection.createStatement();
+                  ResultSet rows =
+                      explain.executeQuery(
+                          "EXPLAIN EXECUTE continue_watching('%s', %d)"
+                              .formatted(heavyWatcher, RAIL_SIZE))) {
+                final List<String> lines = new ArrayList<>();
+                while (rows.next()) {
+                  lines.add(rows.getString(1));
+                }
+                return String.join("\n", lines);
+              } finally {
+                try (Statement statement = connection.createStatement()) {
+                  statement.execute("DEALLOCATE continue_watching");
+                  statement.execute("RESET plan_cache_mode");
+                }
+              }
+            });
+  }
+
+  /** Remembers the last SQL statement Hibernate prepared. */
+  public static class LastStatement implements StatementInspector {
+    static volatile String sql;
+
+    @Override
+    public String inspect(final String statement) {
+      sql = statement;
+      return statement;
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package com.technogise.upgrad.backend.repository;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.testcontainers.DockerClientFactory;
+
+/**
+ * Skips PostgreSQL tests when Docker cannot be reached. Testcontainers' own check can block for a
+ * long time when a Docker socket or host is configured but nothing answers on it, so the probe is
+ * bounded, and it runs once per test JVM.
+ */
+class DockerAvailableCondition implements ExecutionCondition {
+
+  private static final long PROBE_TIMEOUT_SECONDS = 20;
+
+  private static final CompletableFuture<Boolean> DOCKER_AVAILABLE =
+      CompletableFuture.supplyAsync(() -> DockerClientFactory.instance().isDockerAvailable());
+
+  @Override
+  public ConditionEvaluationResult evaluateExecutionCondition(final ExtensionContext context) {
+    try {
+      return DOCKER_AVAILABLE.get(PROBE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+          ? ConditionEvaluationResult.enabled("Docker is available")
+          : ConditionEvaluationResult.disabled("Docker is not available");
+    } catch (TimeoutException e) {
+      return ConditionEvaluationResult.disabled(
+          "Docker did not respond within " + PROBE_TIMEOUT_SECONDS + " seconds");
+    } catch (ExecutionException e) {
+      return ConditionEvaluationResult.disabled("Docker check failed: " + e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return ConditionEvaluationResult.disabled("Interrupted while checking for Docker");
+    }
+  }
+}
@@ -0,0 +1,257 @@
+package com.technogise.upgrad.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.technogise.upgrad.backend.dto.FeedbackCountsDto;
+import com.technogise.upgrad.backend.dto.WatchProgressUpdate;
+import com.technogise.upgrad.backend.entity.Category;
+import com.technogise.upgrad.backend.entity.CategoryEngagementRollup;
+import com.technogise.upgrad.backend.entity.Content;
+import com.technogise.upgrad.backend.entity.ContentEngagementRollup;
+import com.technogise.upgrad.backend.entity.User;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/** Exercises the watch-history trigger, the feedback deltas and the delta fold. */
+class EngagementRollupFoldTest extends PostgresRepositoryTest {
+
+  @Autowired private WatchHistoryRepository watchHistoryRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private ContentRepository contentRepository;
+  @Autowired private CategoryRepository categoryRepository;
+  @Autowired private ContentEngagementRollupRepository contentRollupRepository;
+  @Autowired private CategoryEngagementRollupRepository categoryRollupRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private String category;
+  private UUID contentId;
+  private List<UUID> userIds;
+
+  @BeforeEach
+  void setUp() {
+    category = "ROLLUP_" + UUID.randomUUID().toString().substring(0, 8);
+    contentId =
+        contentRepository
+            .save(
+                Content.builder()
+                    .title("Rollup " + UUID.randomUUID())
+                    .category(categoryRepository.save(Category.builder().name(category).build()))
+                    .episodeNumber(1)
+                    .durationSeconds(600)
+                    .build())
+            .getId();
+    userIds =
+        List.of(1, 2, 3).stream()
+            .map(
+                i ->
+                    userRepository
+                        .save(
+                            User.builder()
+                                .email(UUID.randomUUID() + "@example.com")
+                                .onboardingCompleted(true)
+                                .build())
+                        .getId())
+            .toList();
+    contentRollupRepository.foldDeltas();
+  }
+
+  private void progress(final UUID userId, final int percent) {
+    progress(userId, contentId, percent);
+  }
+
+  private void progress(final UUID userId, final UUID content, final int percent) {
+    watchHistoryRepository.upsertProgress(
+        new WatchProgressUpdate(userId, content, percent, percent * 6, LocalDateTime.now()));
+  }
+
+  private UUID otherContent(final Category inCategory) {
+    return contentRepository
+        .save(
+            Content.builder()
+                .title("Rollup " + UUID.randomUUID())
+                .category(inCategory)
+                .episodeNumber(2)
+                .durationSeconds(600)
+                .build())
+        .getId();
+  }
+
+  private int pendingDeltas() {
+    return jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM engagement_rollup_deltas WHERE content_id = ?",
+        Integer.class,
+        contentId);
+  }
+
+  @Test
+  void shouldFoldProgressAndFeedbackIntoContentAndCategoryRollups() {
+    progress(userIds.get(0), 20);
+    progress(userIds.get(0), 100);
+    progress(userIds.get(1), 50);
+    progress(userIds.get(2), 30);
+    jdbcTemplate.update(
+        "UPDATE watch_history SET feedback = 'HELPFUL' WHERE user_id = ? AND content_id = ?",
+        userIds.get(0),
+        contentId);
+    jdbcTemplate.update(
+        "UPDATE watch_history SET feedback = 'NOT_HELPFUL' WHERE user_id = ? AND content_id = ?",
+        userIds.get(1),
+        contentId);
+    // The votes are counted by the application, not by the trigger.
+    contentRollupRepository.addFeedbackDeltas(List.of(new FeedbackCountsDto(contentId, 1, 1)));
+
+    assertTrue(contentRollupRepository.foldDeltas() >= 5);
+
+    final ContentEngagementRollup content = contentRollupRepository.findById(contentId).get();
+    assertEquals(3, content.getStarts());
+    assertEquals(1, content.getCompletions());
+    assertEquals(180, content.getProgressSum());
+    assertEquals(1, content.getHelpful());
+    assertEquals(1, content.getNotHelpful());
+    final CategoryEngagementRollup byCategory = categoryRollupRepository.findById(category).get();
+    assertEquals(3, byCategory.getStarts());
+    assertEquals(180, byCategory.getProgressSum());
+    assertEquals(1, byCategory.getHelpful());
+    assertEquals(0, contentRollupRepository.foldDeltas());
+  }
+
+  @Test
+  void shouldSubtractRemovedHistory() {
+    progress(userIds.get(0), 100);
+    progress(userIds.get(1), 40);
+    contentRollupRepository.foldDeltas();
+
+    userRepository.deleteById(userIds.get(0));
+    contentRollupRepository.foldDeltas();
+
+    final ContentEngagementRollup content = contentRollupRepository.findById(contentId).get();
+    assertEquals(1, content.getStarts());
+    assertEquals(0, content.getCompletions());
+    assertEquals(40, content.getProgressSum());
+  }
+
+  @Test
+  void shouldSubtractVoteOfRemovedHistory() {
+    progress(userIds.get(0), 100);
+    jdbcTemplate.update(
+        "UPDATE watch_history SET feedback = 'HELPFUL' WHERE user_id = ? AND content_id = ?",
+        userIds.get(0),
+        contentId);
+    contentRollupRepository.addFeedbackDeltas(List.of(new FeedbackCountsDto(contentId, 1, 0)));
+    contentRollupRepository.foldDeltas();
+
+    userRepository.deleteById(userIds.get(0));
+    contentRollupRepository.foldDeltas();
+
+    assertEquals(0, contentRollupRepository.findById(contentId).get().getHelpful());
+  }
+
+  @Test
+  void shouldNotRecordTimestampOnlyUpdates() {
+    progress(userIds.get(0), 40);
+    contentRollupRepository.foldDeltas();
+
+    progress(userIds.get(0), 40);
+
+    assertEquals(0, contentRollupRepository.foldDeltas());
+  }
+
+  @Test
+  void shouldRecordNoDeltaForHeartbeatsAndRecountTheirProgress() {
+    progress(userIds.get(0), 10);
+    contentRollupRepository.foldDeltas();
+
+    progress(userIds.get(0), 35);
+    progress(userIds.get(0), 60);
+
+    assertEquals(0, pendingDeltas());
+    assertEquals(10, contentRollupRepository.findById(contentId).get().getProgressSum());
+    progress(userIds.get(1), 20);
+    assertEquals(1, contentRollupRepository.foldDeltasAndRecount());
+    assertEquals(80, contentRollupRepository.findById(contentId).get().getProgressSum());
+    assertEquals(2, contentRollupRepository.findById(contentId).get().getStarts());
+    assertEquals(80, categoryRollupRepository.findById(category).get().getProgressSum());
+  }
+
+  @Test
+  void shouldRecountVotesAnInstanceLostBeforeFlushing() {
+    progress(userIds.get(0), 50);
+    progress(userIds.get(1), 50);
+    // Both votes are stored, but only the first reached the deltas before its instance stopped.
+    jdbcTemplate.update(
+        "UPDATE watch_history SET feedback = 'HELPFUL' WHERE content_id = ?", contentId);
+    contentRollupRepository.addFeedbackDeltas(List.of(new FeedbackCountsDto(contentId, 1, 0)));
+    contentRollupRepository.foldDeltas();
+    assertEquals(1, contentRollupRepository.findById(contentId).get().getHelpful());
+
+    contentRollupRepository.foldDeltasAndRecount();
+
+    assertEquals(2, contentRollupRepository.findById(contentId).get().getHelpful());
+    assertEquals(0, contentRollupRepository.findById(contentId).get().getNotHelpful());
+    assertEquals(2, categoryRollupRepository.findById(category).get().getHelpful());
+  }
+
+  @Test
+  void shouldRecordCompletionButNotVoteChanges() {
+    progress(userIds.get(0), 90);
+    contentRollupRepository.foldDeltas();
+
+    progress(userIds.get(0), 100);
+    jdbcTemplate.update(
+        "UPDATE watch_history SET feedback = 'HELPFUL' WHERE user_id = ? AND content_id = ?",
+        userIds.get(0),
+        contentId);
+
+    assertEquals(1, pendingDeltas());
+  }
+
+  @Test
+  void shouldTakeDeletedContentOutOfItsCategory() {
+    final UUID sibling =
+        otherContent(contentRepository.findById(contentId).orElseThrow().getCategory());
+    progress(userIds.get(0), 100);
+    progress(userIds.get(1), 40);
+    progress(userIds.get(2), sibling, 30);
+    contentRollupRepository.foldDeltas();
+    // Left pending when the content goes.
+    progress(userIds.get(2), 50);
+
+    jdbcTemplate.update("DELETE FROM contents WHERE id = ?", contentId);
+    contentRollupRepository.foldDeltas();
+
+    final CategoryEngagementRollup byCategory = categoryRollupRepository.findById(category).get();
+    assertEquals(1, byCategory.getStarts());
+    assertEquals(0, byCategory.getCompletions());
+    assertEquals(30, byCategory.getProgressSum());
+    assertTrue(contentRollupRepository.findById(contentId).isEmpty());
+  }
+
+  @Test
+  void shouldMoveHistoryWithRecategorizedContent() {
+    final String target = category + "_MOVED";
+    final Category moved = categoryRepository.save(Category.builder().name(target).build());
+    progress(userIds.get(0), 100);
+    progress(userIds.get(1), 40);
+    contentRollupRepository.foldDeltas();
+    // Folded after the move, into the new category.
+    progress(userIds.get(2), 20);
+
+    jdbcTemplate.update(
+        "UPDATE contents SET category_id = ? WHERE id = ?", moved.getId(), contentId);
+    contentRollupRepository.foldDeltas();
+
+    final CategoryEngagementRollup before = categoryRollupRepository.findById(category).get();
+    assertEquals(0, before.getStarts());
+    assertEquals(0, before.getCompletions());
+    assertEquals(0, before.getProgressSum());
+    final CategoryEngagementRollup after = categoryRollupRepository.findById(target).get();
+    assertEquals(3, after.getStarts());
+    assertEquals(1, after.getCompletions());
+    assertEquals(160, after.getProgressSum());
+  }
+}
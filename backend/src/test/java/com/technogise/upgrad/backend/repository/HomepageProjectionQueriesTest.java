@@ -0,0 +1,264 @@
+package com.technogise.upgrad.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.technogise.upgrad.backend.constants.Interest;
+import com.technogise.upgrad.backend.dto.ContentDto;
+import com.technogise.upgrad.backend.dto.ContinueWatchingDto;
+import com.technogise.upgrad.backend.dto.WatchProgressResponse;
+import com.technogise.upgrad.backend.entity.Category;
+import com.technogise.upgrad.backend.entity.Content;
+import com.technogise.upgrad.backend.entity.User;
+import com.technogise.upgrad.backend.entity.UserInterest;
+import com.technogise.upgrad.backend.entity.WatchHistory;
+import jakarta.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class HomepageProjectionQueriesTest {
+
+  private static final Logger log = LoggerFactory.getLogger(HomepageProjectionQueriesTest.class);
+
+  private static final int PAGE_SIZE = 5;
+  private static final int PYTHON_MASK = Interest.PYTHON_PROGRAMMING.getMask();
+  private static final int WARMUP_CALLS = 200;
+  private static final int MEASURED_CALLS = 500;
+
+  @Autowired private EntityManager entityManager;
+  @Autowired private ContentRepository contentRepository;
+  @Autowired private WatchHistoryRepository watchHistoryRepository;
+  @Autowired private UserInterestRepository userInterestRepository;
+
+  private UUID userId;
+  private Content watchedContent;
+
+  @BeforeEach
+  void setUp() {
+    final User user =
+        User.builder()
+            .email("viewer@example.com")
+            .onboardingCompleted(true)
+            .interestMask(PYTHON_MASK)
+            .build();
+    entityManager.persist(user);
+    userId = user.getId();
+    final Category python = Category.builder().name("PYTHON_PROGRAMMING").build();
+    final Category design = Category.builder().name("UI_UX_DESIGN").build();
+    entityManager.persist(python);
+    entityManager.persist(design);
+    entityManager.persist(UserInterest.builder().user(user).category(python).build());
+
+    for (int i = 0; i < 20; i++) {
+      final Content content =
+          Content.builder()
+              .title("Episode " + i)
+              .description("A description that the tiles render. ".repeat(6))
+              .thumbnailUrl("https://example.com/" + i + ".jpg")
+              .videoUrl("https://example.com/" + i + ".mp4")
+              .category(i % 2 == 0 ? python : design)
+              .episodeNumber(i)
+              .durationSeconds(600)
+              .build();
+      entityManager.persist(content);
+      if (i == 0) {
+        watchedContent = content;
+      }
+    }
+
+    entityManager.persist(
+        WatchHistory.builder()
+            .user(user)
+            .content(watchedContent)
+            .progressPercent(40)
+            .lastWatchedPosition(240)
+            .lastWatchedAt(LocalDateTime.now())
+            .build());
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  @Test
+  void shouldProjectContinueWatchingWithoutLoadingEntities() {
+    final List<ContinueWatchingDto> result =
+        watchHistoryRepository.findContinueWatching(userId, Limit.of(1));
+
+    assertEquals(1, result.size());
+    final ContinueWatchingDto item = result.get(0);
+    assertEquals(watchedContent.getId(), item.contentId());
+    assertEquals("Episode 0", item.title());
+    assertEquals("https://example.com/0.jpg", item.thumbnailUrl());
+    assertEquals(40, item.progressPercent());
+    assertEquals(0, item.episodeNumber());
+    assertEquals(240, item.lastWatchedPosition());
+    assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+  }
+
+  @Test
+  void shouldListUnfinishedItemsMostRecentFirst() {
+    final User user = entityManager.find(User.class, userId);
+    final List<Content> contents =
+        contentRepository.findAll().stream()
+            .filter(content -> !content.getId().equals(watchedContent.getId()))
+            .limit(3)
+            .toList();
+    final LocalDateTime now = LocalDateTime.now();
+    // The first item is finished and must be skipped even though it was watched last.
+    for (int i = 0; i < contents.size(); i++) {
+      entityManager.persist(
+          WatchHistory.builder()
+              .user(user)
+              .content(contents.get(i))
+              .progressPercent(i == 0 ? 100 : 10 * i)
+              .lastWatchedPosition(60 * i)
+              .lastWatchedAt(now.plusMinutes(contents.size() - i))
+              .build());
+    }
+    entityManager.flush();
+    entityManager.clear();
+
+    final List<UUID> result =
+        watchHistoryRepository.findContinueWatching(userId, Limit.of(10)).stream()
+            .map(ContinueWatchingDto::contentId)
+            .toList();
+
+    assertEquals(
+        List.of(contents.get(1).getId(), contents.get(2).getId(), watchedContent.getId()), result);
+    assertEquals(2, watchHistoryRepository.findContinueWatching(userId, Limit.of(2)).size());
+  }
+
+  @Test
+  void shouldProjectProgressSnapshotWithoutLoadingEntities() {
+    final UUID unwatched =
+        contentRepository.findAll().stream()
+            .map(Content::getId)
+            .filter(id -> !id.equals(watchedContent.getId()))
+            .findFirst()
+            .orElseThrow();
+    entityManager.clear();
+
+    final List<WatchProgressResponse> requested =
+        watchHistoryRepository.findProgress(userId, List.of(watchedContent.getId(), unwatched));
+    final List<WatchProgressResponse> inProgress =
+        watchHistoryRepository.findInProgress(userId, Limit.of(10));
+
+    final WatchProgressResponse expected =
+        new WatchProgressResponse(watchedContent.getId(), 40, 240);
+    assertEquals(List.of(expected), requested);
+    assertEquals(List.of(expected), inProgress);
+    assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+  }
+
+  @Test
+  void shouldProjectRailsByInterestMask() {
+    final List<ContentDto> recommended =
+        contentRepository.findTilesMatchingInterests(PYTHON_MASK, PageRequest.of(0, PAGE_SIZE));
+    final List<ContentDto> exploration =
+        contentRepository.findTilesOutsideInterests(PYTHON_MASK, PageRequest.of(0, PAGE_SIZE));
+    final List<ContentDto> all = contentRepository.findTiles(PageRequest.of(0, PAGE_SIZE));
+
+    assertEquals(PAGE_SIZE, recommended.size());
+    assertTrue(recommended.stream().allMatch(tile -> "PYTHON_PROGRAMMING".equals(tile.category())));
+    assertEquals(PAGE_SIZE, exploration.size());
+    assertTrue(exploration.stream().allMatch(tile -> "UI_UX_DESIGN".equals(tile.category())));
+    assertEquals(PAGE_SIZE, all.size());
+    assertNotNull(all.get(0).description());
+  }
+
+  @Test
+  void shouldDeriveCategoryMaskOnPersist() {
+    final Category misc = Category.builder().name("NOT_AN_INTEREST").build();
+    entityManager.persist(misc);
+    final Content uncategorised =
+        Content.builder().title("Misc").category(misc).durationSeconds(60).build();
+    entityManager.persist(uncategorised);
+    entityManager.flush();
+
+    assertEquals(
+        PYTHON_MASK, entityManager.find(Content.class, watchedContent.getId()).getCategoryMask());
+    assertEquals(0, uncategorised.getCategoryMask());
+    assertEquals(
+        List.of("PYTHON_PROGRAMMING"), userInterestRepository.findInterestNamesByUserId(userId));
+  }
+
+  @Test
+  void shouldReportAllocationPerHomepageForEntitiesAndProjections() {
+    // Reported, not compared: per-call allocation moves with the JIT, the GC and whatever else
+    // shares the JVM, so a threshold here would fail builds at random.
+    final long entityBytes = allocatedPerCall(this::loadHomepageEntities);
+    final long projectionBytes = allocatedPerCall(this::loadHomepageProjections);
+
+    log.info(
+        "Homepage queries allocate {} bytes/call with entities, {} bytes/call with projections",
+        entityBytes,
+        projectionBytes);
+  }
+
+  private void loadHomepageEntities() {
+    final List<String> interests =
+        entityManager
+            .createQuery(
+                "SELECT i FROM UserInterest i WHERE i.user.id = :userId", UserInterest.class)
+            .setParameter("userId", userId)
+            .getResultList()
+            .stream()
+            .map(interest -> interest.getCategory().getName())
+            .toList();
+    entityManager
+        .createQuery(
+            "SELECT w FROM WatchHistory w WHERE w.user.id = :userId AND w.progressPercent < 100 "
+                + "ORDER BY w.lastWatchedAt DESC",
+            WatchHistory.class)
+        .setParameter("userId", userId)
+        .setMaxResults(1)
+        .getResultList();
+    entityManager
+        .createQuery("SELECT c FROM Content c WHERE c.category.name IN :categories", Content.class)
+        .setParameter("categories", interests)
+        .setMaxResults(PAGE_SIZE)
+        .getResultList();
+    entityManager
+        .createQuery(
+            "SELECT c FROM Content c WHERE c.category.name NOT IN :categories", Content.class)
+        .setParameter("categories", interests)
+        .setMaxResults(PAGE_SIZE)
+        .getResultList();
+  }
+
+  private void loadHomepageProjections() {
+    // The interest mask arrives with the user the controller already loaded.
+    watchHistoryRepository.findContinueWatching(userId, Limit.of(1));
+    contentRepository.findTilesMatchingInterests(PYTHON_MASK, PageRequest.of(0, PAGE_SIZE));
+    contentRepository.findTilesOutsideInterests(PYTHON_MASK, PageRequest.of(0, PAGE_SIZE));
+  }
+
+  private long allocatedPerCall(final Runnable homepageCall) {
+    final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    final long threadId = Thread.currentThread().threadId();
+    for (int i = 0; i < WARMUP_CALLS; i++) {
+      homepageCall.run();
+      entityManager.clear();
+    }
+    final long before = threads.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < MEASURED_CALLS; i++) {
+      homepageCall.run();
+      // Each request gets a fresh persistence context.
+      entityManager.clear();
+    }
+    return (threads.getThreadAllocatedBytes(threadId) - before) / MEASURED_CALLS;
+  }
+}
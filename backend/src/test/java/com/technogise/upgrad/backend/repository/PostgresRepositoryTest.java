@@ -0,0 +1,34 @@
+package com.technogise.upgrad.backend.repository;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Base for repository tests that need PostgreSQL itself rather than H2: upserts, triggers, bytea
+ * functions, query plans and index sizes. The schema comes from the Flyway migrations.
+ *
+ * <p>All subclasses share one container, started on first use and removed when the JVM exits, and,
+ * unless they change the configuration, one application context, so the migrations run once. Tests
+ * run without a surrounding transaction, the way the application's own statements commit, and clean
+ * up the rows they create; no test may rely on a table being empty unless it empties it first.
+ * Without a reachable Docker daemon they are skipped rather than left waiting for one.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=none")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ExtendWith(DockerAvailableCondition.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+abstract class PostgresRepositoryTest {
+
+  @ServiceConnection
+  static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+  static {
+    // Not a JUnit-managed @Container, which would be stopped after each test class.
+    POSTGRES.start();
+  }
+}
@@ -0,0 +1,93 @@
+package com.technogise.upgrad.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.technogise.upgrad.backend.entity.User;
+import com.technogise.upgrad.backend.entity.UserActivity;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Checks the activity calendar upsert, including growth by whole bytes, and that the bits {@code
+ * set_bit} stores read back in {@link BitSet#valueOf(byte[])} order.
+ */
+class UserActivityUpsertTest extends PostgresRepositoryTest {
+
+  private static final LocalDate FIRST_DAY = LocalDate.of(2026, 10, 1);
+
+  @Autowired private UserActivityRepository userActivityRepository;
+  @Autowired private UserRepository userRepository;
+
+  private UUID userId;
+
+  @BeforeEach
+  void setUp() {
+    userId =
+        userRepository
+            .save(User.builder().email("streak@example.com").onboardingCompleted(true).build())
+            .getId();
+  }
+
+  @AfterEach
+  void tearDown() {
+    userRepository.deleteById(userId);
+  }
+
+  private BitSet storedDays() {
+    final UserActivity activity = userActivityRepository.findById(userId).orElseThrow();
+    assertEquals(FIRST_DAY, activity.getFirstDay());
+    return BitSet.valueOf(activity.getDays());
+  }
+
+  @Test
+  void shouldStartCalendarOnFirstActiveDay() {
+    userActivityRepository.markActive(userId, FIRST_DAY);
+
+    final UserActivity activity = userActivityRepository.findById(userId).orElseThrow();
+    assertArrayEquals(new byte[] {0x01}, activity.getDays());
+    assertEquals(FIRST_DAY, activity.getFirstDay());
+  }
+
+  @Test
+  void shouldGrowCalendarByWholeBytes() {
+    userActivityRepository.markActive(userId, FIRST_DAY);
+    userActivityRepository.markActive(userId, FIRST_DAY.plusDays(7));
+    userActivityRepository.markActive(userId, FIRST_DAY.plusDays(8));
+    userActivityRepository.markActive(userId, FIRST_DAY.plusDays(40));
+
+    final UserActivity activity = userActivityRepository.findById(userId).orElseThrow();
+    assertEquals(6, activity.getDays().length);
+    final BitSet expected = new BitSet();
+    expected.set(0);
+    expected.set(7);
+    expected.set(8);
+    expected.set(40);
+    assertEquals(expected, storedDays());
+  }
+
+  @Test
+  void shouldIgnoreRepeatedAndEarlierDays() {
+    userActivityRepository.markActive(userId, FIRST_DAY);
+    userActivityRepository.markActive(userId, FIRST_DAY.plusDays(2));
+    userActivityRepository.markActive(userId, FIRST_DAY.plusDays(2));
+    userActivityRepository.markActive(userId, FIRST_DAY.minusDays(1));
+
+    final BitSet expected = new BitSet();
+    expected.set(0);
+    expected.set(2);
+    assertEquals(expected, storedDays());
+  }
+
+  @Test
+  void shouldRejectUnknownUser() {
+    assertThrows(
+        DataIntegrityViolationException.class,
+        () -> userActivityRepository.markActive(UUID.randomUUID(), FIRST_DAY));
+  }
+}
@@ -0,0 +1,133 @@
+package com.technogise.upgrad.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.technogise.upgrad.backend.constants.Interest;
+import com.technogise.upgrad.backend.entity.Category;
+import com.technogise.upgrad.backend.entity.User;
+import com.technogise.upgrad.backend.service.CategoryDictionary;
+import com.technogise.upgrad.backend.service.InterestService;
+import jakarta.persistence.EntityManager;
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+/**
+ * Counts the statements one interest save sends: Hibernate's own through its statistics, the
+ * set-based writes through the JDBC template they go through.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class UserInterestDiffWriteTest {
+
+  @Autowired private EntityManager entityManager;
+  @Autowired private UserInterestRepository userInterestRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private CategoryRepository categoryRepository;
+  @MockitoSpyBean private JdbcTemplate jdbcTemplate;
+
+  private InterestService interestService;
+  private User user;
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    for (final Interest interest : Interest.values()) {
+      entityManager.persist(Category.builder().name(interest.name()).build());
+    }
+    final CategoryDictionary categoryDictionary = new CategoryDictionary(categoryRepository);
+    // Loads the dictionary, as the first request after startup would.
+    categoryDictionary.idOf(Interest.DATA_SCIENCE.name());
+    interestService =
+        new InterestService(
+            userInterestRepository, userRepository, categoryDictionary, new ObjectMapper());
+    user = User.builder().email("diff-writer@example.com").onboardingCompleted(true).build();
+    entityManager.persist(user);
+    entityManager.flush();
+    statistics = entityManager.unwrap(Session.class).getSessionFactory().getStatistics();
+  }
+
+  private void save(final List<String> interestNames) {
+    interestService.saveUserInterests(user, interestNames);
+  }
+
+  private void resetCounts() {
+    // Like a request, start from the user as stored, interest mask included.
+    entityManager.refresh(user);
+    statistics.clear();
+    clearInvocations(jdbcTemplate);
+  }
+
+  private void verifyBatchedInserts(final int times) {
+    verify(jdbcTemplate, times(times))
+        .batchUpdate(
+            anyString(),
+            ArgumentMatchers.<Collection<Short>>any(),
+            anyInt(),
+            ArgumentMatchers.<ParameterizedPreparedStatementSetter<Short>>any());
+  }
+
+  private void verifyDeletes(final int times) {
+    verify(jdbcTemplate, times(times)).update(anyString(), any(PreparedStatementSetter.class));
+  }
+
+  @Test
+  void shouldInsertFirstSelectionInOneBatch() {
+    resetCounts();
+
+    save(List.of("PYTHON_PROGRAMMING", "DATA_SCIENCE", "CLOUD_COMPUTING"));
+
+    // One query for the current selection, one batch for the three rows, one mask update.
+    assertEquals(2, statistics.getPrepareStatementCount());
+    verifyBatchedInserts(1);
+    verifyDeletes(0);
+    assertEquals(
+        List.of("CLOUD_COMPUTING", "DATA_SCIENCE", "PYTHON_PROGRAMMING"),
+        userInterestRepository.findInterestNamesByUserId(user.getId()).stream().sorted().toList());
+  }
+
+  @Test
+  void shouldWriteNothingWhenSelectionIsUnchanged() {
+    save(List.of("PYTHON_PROGRAMMING", "DATA_SCIENCE"));
+    resetCounts();
+
+    save(List.of("DATA_SCIENCE", "PYTHON_PROGRAMMING"));
+
+    assertEquals(1, statistics.getPrepareStatementCount());
+    verifyBatchedInserts(0);
+    verifyDeletes(0);
+  }
+
+  @Test
+  void shouldDeleteRemovedAndInsertAddedInOneStatementEach() {
+    save(List.of("PYTHON_PROGRAMMING", "DATA_SCIENCE", "CLOUD_COMPUTING"));
+    resetCounts();
+
+    save(List.of("DATA_SCIENCE", "CYBERSECURITY"));
+
+    assertEquals(2, statistics.getPrepareStatementCount());
+    verifyDeletes(1);
+    verifyBatchedInserts(1);
+    assertEquals(
+        List.of("CYBERSECURITY", "DATA_SCIENCE"),
+        userInterestRepository.findInterestNamesByUserId(user.getId()).stream().sorted().toList());
+  }
+}
@@ -0,0 +1,109 @@
+package com.technogise.upgrad.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.technogise.upgrad.backend.dto.WatchHistoryExportRow;
+import com.technogise.upgrad.backend.entity.Category;
+import com.technogise.upgrad.backend.entity.Content;
+import com.technogise.upgrad.backend.entity.User;
+import com.technogise.upgrad.backend.entity.WatchHistory;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class WatchHistoryExportQueryTest {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 19, 12, 0);
+
+  @Autowired private EntityManager entityManager;
+  @Autowired private WatchHistoryRepository watchHistoryRepository;
+
+  private User user;
+
+  @BeforeEach
+  void setUp() {
+    user = User.builder().email("analyst-subject@example.com").onboardingCompleted(true).build();
+    entityManager.persist(user);
+    final Category python = Category.builder().name("PYTHON").build();
+    entityManager.persist(python);
+    for (int i = 0; i < 3; i++) {
+      final Content content =
+          Content.builder()
+              .title("Episode " + i)
+              .category(python)
+              .episodeNumber(i)
+              .durationSeconds(600)
+              .build();
+      entityManager.persist(content);
+      entityManager.persist(
+          WatchHistory.builder()
+              .user(user)
+              .content(content)
+              .progressPercent(10 * i)
+              .lastWatchedPosition(60 * i)
+              .lastWatchedAt(NOW.minusDays(i))
+              .feedback(i == 0 ? "HELPFUL" : null)
+              .build());
+    }
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  private List<WatchHistoryExportRow> export(final LocalDateTime since) {
+    final List<WatchHistoryExportRow> rows = new ArrayList<>();
+    List<WatchHistoryExportRow> page = watchHistoryRepository.findExportPage(since, null, 2);
+    while (!page.isEmpty()) {
+      rows.addAll(page);
+      page = watchHistoryRepository.findExportPage(since, page.get(page.size() - 1), 2);
+    }
+    return rows;
+  }
+
+  @Test
+  void shouldExportEveryRowJoinedWithContent() {
+    final List<WatchHistoryExportRow> rows = export(null);
+
+    assertEquals(3, rows.size());
+    final WatchHistoryExportRow first =
+        rows.stream().filter(row -> row.title().equals("Episode 0")).findFirst().orElseThrow();
+    assertEquals(user.getId(), first.userId());
+    assertEquals("PYTHON", first.category());
+    assertEquals(0, first.episodeNumber());
+    assertEquals(600, first.durationSeconds());
+    assertEquals("HELPFUL", first.feedback());
+    assertEquals(NOW, first.lastWatchedAt());
+  }
+
+  @Test
+  void shouldExportOnlyRowsWatchedSinceGivenTime() {
+    final List<WatchHistoryExportRow> rows = export(NOW.minusDays(1));
+
+    assertEquals(
+        List.of("Episode 0", "Episode 1"),
+        rows.stream().map(WatchHistoryExportRow::title).sorted().toList());
+  }
+
+  @Test
+  void shouldReturnPagesInKeyOrderWithoutRepeats() {
+    final List<WatchHistoryExportRow> first = watchHistoryRepository.findExportPage(null, null, 2);
+    final List<WatchHistoryExportRow> rest =
+        watchHistoryRepository.findExportPage(null, first.get(1), 2);
+
+    assertEquals(2, first.size());
+    assertEquals(1, rest.size());
+    final List<String> contentIds =
+        Stream.concat(first.stream(), rest.stream())
+            .map(row -> row.contentId().toString())
+            .toList();
+    assertEquals(contentIds.stream().sorted().toList(), contentIds);
+  }
+}
@@ -0,0 +1,319 @@
+package com.technogise.upgrad.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.technogise.upgrad.backend.dto.WatchProgressUpdate;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * Checks that heartbeats update {@code watch_history} rows as heap-only tuples, leaving every index
+ * untouched, and that the continue-watching columns still move when they should. The
+ * sustained-write benchmark runs only with {@code RUN_BENCHMARKS=true}, for {@code
+ * BENCHMARK_DURATION} (an ISO-8601 duration, one hour by default).
+ */
+class WatchHistoryHotUpdateTest extends PostgresRepositoryTest {
+
+  private static final Logger log = LoggerFactory.getLogger(WatchHistoryHotUpdateTest.class);
+
+  private static final int CONTENTS = 50;
+  private static final int HEARTBEAT_ROUNDS = 4;
+  private static final int HEARTBEAT_SECONDS = 15;
+
+  private static final int BENCHMARK_USERS = 500;
+  private static final int BENCHMARK_WRITERS = 8;
+  private static final Duration SAMPLE_INTERVAL = Duration.ofMinutes(1);
+  // Cumulative statistics of busy backends reach the shared view within a second, idle ones within
+  // ten.
+  private static final Duration STATS_FLUSH_DELAY = Duration.ofSeconds(11);
+  private static final int LATENCY_BUCKET_MICROS = 10;
+  private static final int LATENCY_BUCKETS = 10_000;
+
+  @Autowired private DataSource dataSource;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private WatchHistoryRepository watchHistoryRepository;
+
+  private Connection connection;
+  private JdbcTemplate session;
+  private WatchHistoryBulkOperations sessionWrites;
+  private UUID userId;
+  private List<UUID> contentIds;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    jdbcTemplate.execute("TRUNCATE watch_history, users, contents CASCADE");
+    jdbcTemplate.update(
+        "INSERT INTO users (email, onboarding_completed) "
+            + "SELECT 'hot' || g || '@example.com', TRUE FROM generate_series(1, ?) g",
+        BENCHMARK_USERS);
+    jdbcTemplate.update(
+        "INSERT INTO contents (title, category_id, episode_number, duration_seconds) "
+            + "SELECT 'Hot ' || g, k.id, g, 600 FROM generate_series(1, ?) g "
+            + "JOIN categories k ON k.name = 'PYTHON_PROGRAMMING'",
+        CONTENTS);
+    userId =
+        jdbcTemplate.queryForObject(
+            "SELECT id FROM users WHERE email = 'hot1@example.com'", UUID.class);
+    contentIds = jdbcTemplate.queryForList("SELECT id FROM contents ORDER BY title", UUID.class);
+
+    // Writes and statistics reads share one backend, so its counters can be flushed on demand.
+    connection = dataSource.getConnection();
+    session = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+    sessionWrites = new WatchHistoryBulkOperationsImpl(session);
+  }
+
+  @AfterEach
+  void tearDown() throws SQLException {
+    connection.close();
+  }
+
+  @Test
+  void shouldUpdateHeartbeatsAsHeapOnlyTuples() {
+    final LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    for (final UUID contentId : contentIds) {
+      sessionWrites.upsertProgress(new WatchProgressUpdate(userId, contentId, 0, 0, start));
+    }
+    final TableStats before = sessionStats();
+
+    for (int round = 1; round <= HEARTBEAT_ROUNDS; round++) {
+      final int seconds = round * HEARTBEAT_SECONDS;
+      for (final UUID contentId : contentIds) {
+        sessionWrites.upsertProgress(
+            new WatchProgressUpdate(userId, contentId, round, seconds, start.plusSeconds(seconds)));
+      }
+    }
+    final TableStats after = sessionStats();
+
+    final long updates = after.updates() - before.updates();
+    assertThat(updates).isEqualTo((long) HEARTBEAT_ROUNDS * CONTENTS);
+    // Page pruning keeps room for new versions; allow the odd page that fills up between prunes.
+    assertThat(after.hotUpdates() - before.hotUpdates()).isGreaterThanOrEqualTo(updates * 9 / 10);
+  }
+
+  @Test
+  void shouldUpdateBufferedAndReplayedHeartbeatsAsHeapOnlyTuples() {
+    final LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    sessionWrites.upsertProgress(heartbeats(0, start));
+    // Versions written by one statement cannot be pruned before it commits, so the first batch to
+    // rewrite every row of a freshly packed page finds room there for only some of them. The
+    // rest move to new pages, after which each page has room for a whole batch.
+    sessionWrites.upsertProgress(heartbeats(1, start));
+    final TableStats before = sessionStats();
+
+    // Buffer flushes and offline replays write whole batches through their own statements.
+    for (int round = 2; round <= HEARTBEAT_ROUNDS + 1; round++) {
+      final List<WatchProgressUpdate> batch = heartbeats(round, start);
+      if (round % 2 == 0) {
+        sessionWrites.upsertProgress(batch);
+      } else {
+        assertThat(sessionWrites.replayProgress(batch)).hasSize(CONTENTS);
+      }
+    }
+    final TableStats after = sessionStats();
+
+    final long updates = after.updates() - before.updates();
+    assertThat(updates).isEqualTo((long) HEARTBEAT_ROUNDS * CONTENTS);
+    assertThat(after.hotUpdates() - before.hotUpdates()).isGreaterThanOrEqualTo(updates * 9 / 10);
+  }
+
+  private List<WatchProgressUpdate> heartbeats(final int round, final LocalDateTime start) {
+    final int seconds = round * HEARTBEAT_SECONDS;
+    return contentIds.stream()
+        .map(
+            contentId ->
+                new WatchProgressUpdate(
+                    userId, contentId, round, seconds, start.plusSeconds(seconds)))
+        .toList();
+  }
+
+  @Test
+  void shouldMoveRailKeyOnlyOnceItIsFiveMinutesBehind() {
+    final UUID contentId = contentIds.get(0);
+    final LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    sessionWrites.upsertProgress(new WatchProgressUpdate(userId, contentId, 10, 60, start));
+    sessionWrites.upsertProgress(
+        new WatchProgressUpdate(userId, contentId, 20, 120, start.plusMinutes(4)));
+    assertThat(railKey(contentId)).isEqualTo(start);
+
+    sessionWrites.upsertProgress(
+        new WatchProgressUpdate(userId, contentId, 30, 180, start.plusMinutes(6)));
+    assertThat(railKey(contentId)).isEqualTo(start.plusMinutes(6));
+  }
+
+  @Test
+  void shouldDeriveCompletionFromProgress() {
+    final UUID contentId = contentIds.get(0);
+    final LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    sessionWrites.upsertProgress(new WatchProgressUpdate(userId, contentId, 99, 594, start));
+    assertThat(completed(contentId)).isFalse();
+
+    sessionWrites.upsertProgress(
+        new WatchProgressUpdate(userId, contentId, 100, 600, start.plusSeconds(6)));
+    assertThat(completed(contentId)).isTrue();
+  }
+
+  /**
+   * Drives heartbeats for every (user, content) pair from several writers at full speed, the way a
+   * busy catalogue does, and reports table and index growth, dead tuples, the HOT ratio and upsert
+   * latency once a minute. Every row keeps its own watch clock, advancing one heartbeat interval
+   * per write, so rail keys move and items are finished and restarted at realistic rates.
+   */
+  @Test
+  @EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+  void shouldSustainHeartbeatWritesWithBoundedBloat() throws Exception {
+    final Duration duration =
+        Duration.parse(System.getenv().getOrDefault("BENCHMARK_DURATION", "PT1H"));
+    final List<UUID> userIds = jdbcTemplate.queryForList("SELECT id FROM users", UUID.class);
+    final LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    jdbcTemplate.update(
+        "INSERT INTO watch_history (user_id, content_id, last_watched_at, last_active_at) "
+            + "SELECT u.id, c.id, ?, ? FROM users u CROSS JOIN contents c",
+        Timestamp.valueOf(start),
+        Timestamp.valueOf(start));
+    jdbcTemplate.execute("VACUUM ANALYZE watch_history");
+    final Map<String, Object> initial = sizes();
+    log.info("Sustained heartbeat writes for {}, starting from {}", duration, initial);
+
+    final AtomicLongArray latencies = new AtomicLongArray(LATENCY_BUCKETS);
+    final long deadline = System.nanoTime() + duration.toNanos();
+    final ExecutorService writers = Executors.newFixedThreadPool(BENCHMARK_WRITERS);
+    final List<Future<Long>> results = new ArrayList<>();
+    for (int writer = 0; writer < BENCHMARK_WRITERS; writer++) {
+      // Each writer owns a slice of the viewers, so no two writers race on a row.
+      final List<UUID> slice =
+          userIds.subList(
+              writer * userIds.size() / BENCHMARK_WRITERS,
+              (writer + 1) * userIds.size() / BENCHMARK_WRITERS);
+      results.add(writers.submit(() -> writeHeartbeats(slice, start, deadline, latencies)));
+    }
+    writers.shutdown();
+    while (!writers.awaitTermination(SAMPLE_INTERVAL.toMillis(), TimeUnit.MILLISECONDS)) {
+      log.info(
+          "{} p50={}us p99={}us", sizes(), percentile(latencies, 50), percentile(latencies, 99));
+    }
+    long written = 0;
+    for (final Future<Long> result : results) {
+      written += result.get();
+    }
+
+    Thread.sleep(STATS_FLUSH_DELAY.toMillis());
+    final Map<String, Object> last = sizes();
+    log.info(
+        "Wrote {} heartbeats: {} p50={}us p99={}us p999={}us",
+        written,
+        last,
+        percentile(latencies, 50),
+        percentile(latencies, 99),
+        percentile(latencies, 99.9));
+    final long updates = ((Number) last.get("n_tup_upd")).longValue();
+    final long hotUpdates = ((Number) last.get("n_tup_hot_upd")).longValue();
+    assertThat(hotUpdates).isGreaterThanOrEqualTo(updates * 8 / 10);
+  }
+
+  private long writeHeartbeats(
+      final List<UUID> userIds,
+      final LocalDateTime start,
+      final long deadline,
+      final AtomicLongArray latencies) {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final int rows = userIds.size() * CONTENTS;
+    final int[] heartbeats = new int[rows];
+    long written = 0;
+    while (System.nanoTime() < deadline) {
+      final int row = random.nextInt(rows);
+      final int heartbeat = ++heartbeats[row];
+      final int position = (heartbeat * HEARTBEAT_SECONDS) % 600;
+      final WatchProgressUpdate update =
+          new WatchProgressUpdate(
+              userIds.get(row / CONTENTS),
+              contentIds.get(row % CONTENTS),
+              position == 0 ? 100 : position / 6,
+              position,
+              start.plusSeconds((long) heartbeat * HEARTBEAT_SECONDS));
+      final long begin = System.nanoTime();
+      watchHistoryRepository.upsertProgress(update);
+      final long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - begin);
+      latencies.incrementAndGet(
+          (int) Math.min(micros / LATENCY_BUCKET_MICROS, LATENCY_BUCKETS - 1));
+      written++;
+    }
+    return written;
+  }
+
+  private static long percentile(final AtomicLongArray latencies, final double percentile) {
+    long total = 0;
+    for (int i = 0; i < latencies.length(); i++) {
+      total += latencies.get(i);
+    }
+    final long rank = (long) Math.ceil(total * percentile / 100);
+    long seen = 0;
+    for (int i = 0; i < latencies.length(); i++) {
+      seen += latencies.get(i);
+      if (seen >= rank && seen > 0) {
+        return (long) (i + 1) * LATENCY_BUCKET_MICROS;
+      }
+    }
+    return 0;
+  }
+
+  private Map<String, Object> sizes() {
+    return jdbcTemplate.queryForMap(
+        "SELECT pg_relation_size('watch_history') AS table_bytes, "
+            + "pg_indexes_size('watch_history') AS index_bytes, "
+            + "n_live_tup, n_dead_tup, n_tup_upd, n_tup_hot_upd, autovacuum_count "
+            + "FROM pg_stat_user_tables WHERE relname = 'watch_history'");
+  }
+
+  private TableStats sessionStats() {
+    // Flushed when this backend next goes idle, i.e. once the statement has returned.
+    session.execute("SELECT pg_stat_force_next_flush()");
+    return session.queryForObject(
+        "SELECT n_tup_upd, n_tup_hot_upd FROM pg_stat_user_tables WHERE relname = 'watch_history'",
+        (rs, rowNum) -> new TableStats(rs.getLong(1), rs.getLong(2)));
+  }
+
+  private LocalDateTime railKey(final UUID contentId) {
+    return session.queryForObject(
+        "SELECT last_active_at FROM watch_history WHERE user_id = ? AND content_id = ?",
+        LocalDateTime.class,
+        userId,
+        contentId);
+  }
+
+  private boolean completed(final UUID contentId) {
+    return Boolean.TRUE.equals(
+        session.queryForObject(
+            "SELECT completed FROM watch_history WHERE user_id = ? AND content_id = ?",
+            Boolean.class,
+            userId,
+            contentId));
+  }
+
+  private record TableStats(long updates, long hotUpdates) {}
+}
@@ -0,0 +1,207 @@
+package com.technogise.upgrad.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.technogise.upgrad.backend.constants.Feedback;
+import com.technogise.upgrad.backend.dto.FeedbackChange;
+import com.technogise.upgrad.backend.dto.WatchProgressUpdate;
+import com.technogise.upgrad.backend.entity.Category;
+import com.technogise.upgrad.backend.entity.Content;
+import com.technogise.upgrad.backend.entity.User;
+import com.technogise.upgrad.backend.entity.WatchHistory;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Races progress upserts for the same viewer and content item, each committing on its own the way
+ * concurrent requests do, and checks that {@code ON CONFLICT} resolves the unique-constraint race.
+ */
+class WatchHistoryUpsertConcurrencyTest extends PostgresRepositoryTest {
+
+  private static final int WRITES_PER_TAB = 50;
+
+  @Autowired private WatchHistoryRepository watchHistoryRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private ContentRepository contentRepository;
+  @Autowired private CategoryRepository categoryRepository;
+
+  private UUID userId;
+  private UUID contentId;
+  private Category category;
+
+  @BeforeEach
+  void setUp() {
+    userId =
+        userRepository
+            .save(User.builder().email("tabs@example.com").onboardingCompleted(true).build())
+            .getId();
+    category =
+        categoryRepository.save(
+            Category.builder().name("CONCURRENCY_" + UUID.randomUUID()).build());
+    contentId =
+        contentRepository
+            .save(
+                Content.builder()
+                    .title("Concurrency " + UUID.randomUUID())
+                    .category(category)
+                    .episodeNumber(1)
+                    .durationSeconds(600)
+                    .build())
+            .getId();
+  }
+
+  @AfterEach
+  void tearDown() {
+    userRepository.deleteById(userId);
+    contentRepository.deleteById(contentId);
+    categoryRepository.delete(category);
+  }
+
+  @Test
+  void shouldKeepOneRowWithLatestPositionWhenTwoTabsWriteAtOnce() throws Exception {
+    final LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    final CyclicBarrier barrier = new CyclicBarrier(2);
+    final ExecutorService tabs = Executors.newFixedThreadPool(2);
+    try {
+      final List<Future<?>> results = new ArrayList<>();
+      for (int tab = 0; tab < 2; tab++) {
+        final int offset = tab;
+        results.add(
+            tabs.submit(
+                () -> {
+                  for (int i = 0; i < WRITES_PER_TAB; i++) {
+                    barrier.await();
+                    // Tabs interleave their timestamps so the newest write alternates between them.
+                    final int tick = i * 2 + offset;
+                    watchHistoryRepository.upsertProgress(
+                        new WatchProgressUpdate(
+                            userId, contentId, tick % 101, tick, start.plusSeconds(tick)));
+                  }
+                  return null;
+                }));
+      }
+      for (final Future<?> result : results) {
+        result.get();
+      }
+    } finally {
+      tabs.shutdownNow();
+    }
+
+    final List<WatchHistory> rows =
+        watchHistoryRepository.findAll().stream()
+            .filter(row -> row.getContent().getId().equals(contentId))
+            .toList();
+    assertEquals(1, rows.size());
+    final int lastTick = WRITES_PER_TAB * 2 - 1;
+    assertEquals(lastTick, rows.get(0).getLastWatchedPosition());
+    assertEquals(start.plusSeconds(lastTick), rows.get(0).getLastWatchedAt());
+  }
+
+  @Test
+  void shouldIgnoreUpdateOlderThanStoredRow() {
+    final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    assertEquals(
+        1,
+        watchHistoryRepository.upsertProgress(
+            new WatchProgressUpdate(userId, contentId, 50, 300, now)));
+
+    assertEquals(
+        0,
+        watchHistoryRepository.upsertProgress(
+            new WatchProgressUpdate(userId, contentId, 10, 60, now.minusSeconds(5))));
+
+    assertEquals(
+        300,
+        watchHistoryRepository
+            .findByUserIdAndContentId(userId, contentId)
+            .orElseThrow()
+            .getLastWatchedPosition());
+  }
+
+  @Test
+  void shouldReplayOnlyEntriesNewerThanStoredRow() {
+    final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    final UUID otherContentId =
+        contentRepository
+            .save(
+                Content.builder()
+                    .title("Replay " + UUID.randomUUID())
+                    .category(category)
+                    .episodeNumber(2)
+                    .durationSeconds(600)
+                    .build())
+            .getId();
+    watchHistoryRepository.upsertProgress(new WatchProgressUpdate(userId, contentId, 50, 300, now));
+
+    try {
+      // The first entry was queued offline before the other device's write.
+      assertEquals(
+          List.of(otherContentId),
+          watchHistoryRepository.replayProgress(
+              List.of(
+                  new WatchProgressUpdate(userId, contentId, 100, 600, now.minusMinutes(10)),
+                  new WatchProgressUpdate(userId, otherContentId, 20, 120, now.minusMinutes(10)))));
+
+      final WatchHistory kept =
+          watchHistoryRepository.findByUserIdAndContentId(userId, contentId).orElseThrow();
+      assertEquals(300, kept.getLastWatchedPosition());
+      assertEquals(now, kept.getLastWatchedAt());
+      assertEquals(
+          now.minusMinutes(10),
+          watchHistoryRepository
+              .findByUserIdAndContentId(userId, otherContentId)
+              .orElseThrow()
+              .getLastWatchedAt());
+    } finally {
+      watchHistoryRepository.deleteAll(
+          watchHistoryRepository.findAll().stream()
+              .filter(row -> row.getContent().getId().equals(otherContentId))
+              .toList());
+      contentRepository.deleteById(otherContentId);
+    }
+  }
+
+  @Test
+  void shouldRejectUnknownContentThroughForeignKey() {
+    final WatchProgressUpdate update =
+        new WatchProgressUpdate(userId, UUID.randomUUID(), 10, 60, LocalDateTime.now());
+
+    assertThrows(
+        DataIntegrityViolationException.class, () -> watchHistoryRepository.upsertProgress(update));
+  }
+
+  @Test
+  void shouldReturnReplacedVoteWhenUpdatingFeedback() {
+    watchHistoryRepository.upsertProgress(
+        new WatchProgressUpdate(userId, contentId, 100, 600, LocalDateTime.now()));
+
+    assertEquals(
+        Optional.of(new FeedbackChange(contentId, null, Feedback.HELPFUL)),
+        watchHistoryRepository.updateFeedback(userId, contentId, Feedback.HELPFUL));
+    assertEquals(
+        Optional.of(new FeedbackChange(contentId, Feedback.HELPFUL, Feedback.NOT_HELPFUL)),
+        watchHistoryRepository.updateFeedback(userId, contentId, Feedback.NOT_HELPFUL));
+    assertEquals(
+        "NOT_HELPFUL",
+        watchHistoryRepository
+            .findByUserIdAndContentId(userId, contentId)
+            .orElseThrow()
+            .getFeedback());
+    assertEquals(
+        Optional.empty(),
+        watchHistoryRepository.updateFeedback(userId, UUID.randomUUID(), Feedback.HELPFUL));
+  }
+}
@@ -3,10 +3,13 @@ package com.technogise.upgrad.backend.security;
 import static org.mockito.Mockito.*;
 
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.technogise.upgrad.backend.service.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,6 +29,10 @@ class JwtAuthenticationFilterTest {
 
   @Mock private FilterChain filterChain;
 
+  @Mock private DecodedJWT decodedJwt;
+
+  @Mock private Claim emailClaim;
+
   @InjectMocks private JwtAuthenticationFilter jwtAuthenticationFilter;
 
   @BeforeEach
@@ -37,14 +44,19 @@ class JwtAuthenticationFilterTest {
   void shouldAuthenticateValidToken() throws Exception {
     String token = "valid.token";
     String email = "test@example.com";
+    UUID userId = UUID.randomUUID();
 
     jakarta.servlet.http.Cookie cookie = new jakarta.servlet.http.Cookie("token", token);
     when(request.getCookies()).thenReturn(new jakarta.servlet.http.Cookie[] {cookie});
-    when(jwtService.getEmailFromToken(token)).thenReturn(email);
+    when(jwtService.verifyToken(token)).thenReturn(decodedJwt);
+    when(decodedJwt.getClaim("email")).thenReturn(emailClaim);
+    when(emailClaim.asString()).thenReturn(email);
+    when(decodedJwt.getSubject()).thenReturn(userId.toString());
 
     jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
-    verify(jwtService).getEmailFromToken(token);
+    verify(jwtService).verifyToken(token);
+    verify(request).setAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE, userId);
     verify(filterChain).doFilter(request, response);
     org.junit.jupiter.api.Assertions.assertNotNull(
         SecurityContextHolder.getContext().getAuthentication());
@@ -80,9 +92,7 @@ class JwtAuthenticationFilterTest {
     String token = "invalid.token";
     jakarta.servlet.http.Cookie cookie = new jakarta.servlet.http.Cookie("token", token);
     when(request.getCookies()).thenReturn(new jakarta.servlet.http.Cookie[] {cookie});
-    doThrow(new JWTVerificationException("Invalid token"))
-        .when(jwtService)
-        .getEmailFromToken(token);
+    doThrow(new JWTVerificationException("Invalid token")).when(jwtService).verifyToken(token);
 
     jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
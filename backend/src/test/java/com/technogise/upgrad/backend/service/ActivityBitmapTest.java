@@ -0,0 +1,88 @@
+package com.technogise.upgrad.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.BitSet;
+import org.junit.jupiter.api.Test;
+
+class ActivityBitmapTest {
+
+  private static final LocalDate FIRST_DAY = LocalDate.of(2026, 9, 28);
+
+  /** Builds a calendar starting on {@link #FIRST_DAY} with the given day offsets set. */
+  private static ActivityBitmap bitmap(final int... activeOffsets) {
+    final BitSet bits = new BitSet();
+    for (final int offset : activeOffsets) {
+      bits.set(offset);
+    }
+    return ActivityBitmap.of(FIRST_DAY, bits.toByteArray());
+  }
+
+  @Test
+  void shouldReadBitsInPostgresSetBitOrder() {
+    // set_bit(days, 9, 1) on two zero bytes gives 0x0002: byte 1, second lowest bit.
+    final ActivityBitmap bitmap = ActivityBitmap.of(FIRST_DAY, new byte[] {0x00, 0x02});
+
+    assertThat(bitmap.activeDays(YearMonth.of(2026, 10))).containsExactly(7);
+  }
+
+  @Test
+  void shouldCountStreakEndingToday() {
+    final ActivityBitmap bitmap = bitmap(0, 2, 3, 4, 5);
+
+    assertThat(bitmap.currentStreak(FIRST_DAY.plusDays(5))).isEqualTo(4);
+  }
+
+  @Test
+  void shouldKeepYesterdaysStreakUntilTodayEnds() {
+    final ActivityBitmap bitmap = bitmap(2, 3, 4);
+
+    assertThat(bitmap.currentStreak(FIRST_DAY.plusDays(5))).isEqualTo(3);
+    assertThat(bitmap.currentStreak(FIRST_DAY.plusDays(6))).isZero();
+  }
+
+  @Test
+  void shouldCountStreakRunningBackToFirstDay() {
+    final ActivityBitmap bitmap = bitmap(0, 1, 2);
+
+    assertThat(bitmap.currentStreak(FIRST_DAY.plusDays(2))).isEqualTo(3);
+  }
+
+  @Test
+  void shouldCountStreakAcrossByteBoundaries() {
+    final ActivityBitmap bitmap = bitmap(5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17);
+
+    assertThat(bitmap.currentStreak(FIRST_DAY.plusDays(17))).isEqualTo(13);
+  }
+
+  @Test
+  void shouldListActiveDaysOfMonthOnly() {
+    // Offsets 3 and 4 are 1 and 2 October; offset 34 is 1 November.
+    final ActivityBitmap bitmap = bitmap(0, 3, 4, 20, 34);
+
+    assertThat(bitmap.activeDays(YearMonth.of(2026, 10))).containsExactly(1, 2, 18);
+    assertThat(bitmap.activeDays(YearMonth.of(2026, 9))).containsExactly(28);
+    assertThat(bitmap.activeDays(YearMonth.of(2026, 11))).containsExactly(1);
+  }
+
+  @Test
+  void shouldReportNothingOutsideTheCalendar() {
+    final ActivityBitmap bitmap = bitmap(0, 1);
+
+    assertThat(bitmap.activeDays(YearMonth.of(2026, 8))).isEmpty();
+    assertThat(bitmap.activeDays(YearMonth.of(2027, 1))).isEmpty();
+    assertThat(bitmap.activeDays(YearMonth.of(999_999_999, 12))).isEmpty();
+    assertThat(bitmap.currentStreak(FIRST_DAY.minusDays(1))).isZero();
+    assertThat(bitmap.currentStreak(FIRST_DAY.plusYears(1))).isZero();
+  }
+
+  @Test
+  void shouldReportNothingForEmptyCalendar() {
+    final ActivityBitmap bitmap = ActivityBitmap.empty();
+
+    assertThat(bitmap.currentStreak(LocalDate.of(2026, 10, 19))).isZero();
+    assertThat(bitmap.activeDays(YearMonth.of(2026, 10))).isEmpty();
+  }
+}
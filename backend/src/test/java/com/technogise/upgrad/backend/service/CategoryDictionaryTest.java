@@ -0,0 +1,58 @@
+package com.technogise.upgrad.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.technogise.upgrad.backend.entity.Category;
+import com.technogise.upgrad.backend.repository.CategoryRepository;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryDictionaryTest {
+
+  private static final Category PYTHON = new Category((short) 1, "PYTHON_PROGRAMMING");
+  private static final Category DESIGN = new Category((short) 2, "UI_UX_DESIGN");
+
+  @Mock private CategoryRepository categoryRepository;
+
+  @InjectMocks private CategoryDictionary categoryDictionary;
+
+  @Test
+  void shouldLoadOnceAndAnswerFromMemory() {
+    when(categoryRepository.findAll()).thenReturn(List.of(PYTHON, DESIGN));
+
+    assertThat(categoryDictionary.idOf("PYTHON_PROGRAMMING")).isEqualTo((short) 1);
+    assertThat(categoryDictionary.idOf("UI_UX_DESIGN")).isEqualTo((short) 2);
+    assertThat(categoryDictionary.idOf("PYTHON_PROGRAMMING")).isEqualTo((short) 1);
+
+    verify(categoryRepository, times(1)).findAll();
+  }
+
+  @Test
+  void shouldReloadForCategoryAddedAfterLoading() {
+    final Category finance = new Category((short) 3, "PERSONAL_FINANCE");
+    when(categoryRepository.findAll())
+        .thenReturn(List.of(PYTHON))
+        .thenReturn(List.of(PYTHON, finance));
+
+    assertThat(categoryDictionary.idOf("PYTHON_PROGRAMMING")).isEqualTo((short) 1);
+    assertThat(categoryDictionary.idOf("PERSONAL_FINANCE")).isEqualTo((short) 3);
+  }
+
+  @Test
+  void shouldRejectUnknownCategory() {
+    when(categoryRepository.findAll()).thenReturn(List.of(PYTHON));
+
+    assertThatThrownBy(() -> categoryDictionary.idOf("NONEXISTENT"))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("NONEXISTENT");
+  }
+}
@@ -0,0 +1,134 @@
+package com.technogise.upgrad.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.technogise.upgrad.backend.config.CompletionEventConfig;
+import com.technogise.upgrad.backend.event.ContentCompletedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CompletionEventDispatcherTest {
+
+  private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final List<ContentCompletedEvent> delivered = new CopyOnWriteArrayList<>();
+  private CompletionEventConfig config;
+  private CompletionEventDispatcher dispatcher;
+
+  @BeforeEach
+  void setUp() {
+    config = new CompletionEventConfig();
+    config.setPoolSize(1);
+    config.setQueueCapacity(1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    dispatcher.shutdown();
+  }
+
+  private ContentCompletedEvent event(final Duration age) {
+    return new ContentCompletedEvent(UUID.randomUUID(), UUID.randomUUID(), NOW.minus(age));
+  }
+
+  private double count(final String outcome) {
+    return meterRegistry
+        .get(CompletionEventDispatcher.METRIC_NAME)
+        .tag("outcome", outcome)
+        .counter()
+        .count();
+  }
+
+  private void awaitDeliveries(final int expected) throws InterruptedException {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (delivered.size() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  @Test
+  void shouldDeliverToEveryListenerOffThePublishingThread() throws InterruptedException {
+    final List<Thread> threads = new CopyOnWriteArrayList<>();
+    final ContentCompletionListener recording = delivered::add;
+    final ContentCompletionListener threadRecording =
+        event -> {
+          threads.add(Thread.currentThread());
+          delivered.add(event);
+        };
+    dispatcher =
+        new CompletionEventDispatcher(
+            List.of(recording, threadRecording), config, clock, meterRegistry);
+    final ContentCompletedEvent event = event(Duration.ofMillis(250));
+
+    dispatcher.onContentCompleted(event);
+    awaitDeliveries(2);
+
+    assertThat(delivered).containsExactly(event, event);
+    assertThat(threads).doesNotContain(Thread.currentThread());
+    assertThat(count("dispatched")).isEqualTo(2.0);
+    // One timer per listener, each recording the 250 ms the event waited.
+    assertThat(meterRegistry.get(CompletionEventDispatcher.METRIC_NAME + ".lag").timers())
+        .hasSize(2)
+        .allSatisfy(timer -> assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(250.0));
+  }
+
+  @Test
+  void shouldDropDeliveriesWhenQueueIsFull() throws InterruptedException {
+    final CountDownLatch started = new CountDownLatch(1);
+    final ContentCompletionListener blocking =
+        event -> {
+          started.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          delivered.add(event);
+        };
+    dispatcher = new CompletionEventDispatcher(List.of(blocking), config, clock, meterRegistry);
+
+    dispatcher.onContentCompleted(event(Duration.ZERO));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    dispatcher.onContentCompleted(event(Duration.ZERO));
+    dispatcher.onContentCompleted(event(Duration.ZERO));
+
+    assertThat(count("dropped")).isEqualTo(1.0);
+    assertThat(meterRegistry.get(CompletionEventDispatcher.METRIC_NAME + ".queued").gauge().value())
+        .isEqualTo(1.0);
+    release.countDown();
+    awaitDeliveries(2);
+    assertThat(delivered).hasSize(2);
+  }
+
+  @Test
+  void shouldKeepDeliveringAfterListenerFailure() throws InterruptedException {
+    final ContentCompletionListener failing =
+        event -> {
+          throw new IllegalStateException("listener failed");
+        };
+    dispatcher =
+        new CompletionEventDispatcher(
+            List.of(failing, delivered::add), config, clock, meterRegistry);
+
+    dispatcher.onContentCompleted(event(Duration.ZERO));
+    awaitDeliveries(1);
+
+    assertThat(delivered).hasSize(1);
+    assertThat(count("failed")).isEqualTo(1.0);
+  }
+}
@@ -0,0 +1,110 @@
+package com.technogise.upgrad.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.technogise.upgrad.backend.config.ClockConfig;
+import com.technogise.upgrad.backend.config.CompletionEventConfig;
+import com.technogise.upgrad.backend.event.ContentCompletedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Checks when completions reach listeners relative to the publishing transaction. */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({
+  CompletionEventDispatcher.class,
+  CompletionEventConfig.class,
+  ClockConfig.class,
+  CompletionEventTransactionTest.Listeners.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CompletionEventTransactionTest {
+
+  @Autowired private ApplicationEventPublisher eventPublisher;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private List<ContentCompletedEvent> delivered;
+
+  private TransactionTemplate transactionTemplate;
+
+  @BeforeEach
+  void setUp() {
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    delivered.clear();
+  }
+
+  private ContentCompletedEvent event() {
+    return new ContentCompletedEvent(UUID.randomUUID(), UUID.randomUUID(), Instant.now());
+  }
+
+  private void awaitDeliveries(final int expected) throws InterruptedException {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (delivered.size() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  @Test
+  void shouldDeliverOnlyAfterCommit() throws InterruptedException {
+    final ContentCompletedEvent event = event();
+
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          eventPublisher.publishEvent(event);
+          assertThat(delivered).isEmpty();
+        });
+    awaitDeliveries(1);
+
+    assertThat(delivered).containsExactly(event);
+  }
+
+  @Test
+  void shouldNotDeliverAfterRollback() throws InterruptedException {
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          eventPublisher.publishEvent(event());
+          status.setRollbackOnly();
+        });
+    final ContentCompletedEvent committed = event();
+    eventPublisher.publishEvent(committed);
+    awaitDeliveries(1);
+
+    assertThat(delivered).containsExactly(committed);
+  }
+
+  @TestConfiguration
+  static class Listeners {
+
+    @Bean
+    List<ContentCompletedEvent> delivered() {
+      return new CopyOnWriteArrayList<>();
+    }
+
+    @Bean
+    ContentCompletionListener recordingListener(final List<ContentCompletedEvent> delivered) {
+      return delivered::add;
+    }
+
+    @Bean
+    MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package com.technogise.upgrad.backend.service;
+
+import static org.mockito.Mockito.verify;
+
+import com.technogise.upgrad.backend.event.ContentCompletedEvent;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ContentCompletionListenersTest {
+
+  private final ContentCompletedEvent event =
+      new ContentCompletedEvent(UUID.randomUUID(), UUID.randomUUID(), Instant.now());
+
+  @Mock private LearningActivityService learningActivityService;
+  @Mock private ContentViewerService contentViewerService;
+
+  @InjectMocks private LearningActivityCompletionListener activityListener;
+  @InjectMocks private ContentViewerCompletionListener viewerListener;
+
+  @Test
+  void shouldMarkTheViewersDayActive() {
+    activityListener.onContentCompleted(event);
+
+    verify(learningActivityService).recordActivity(event.userId());
+  }
+
+  @Test
+  void shouldAddTheViewerToTheContentsSketches() {
+    viewerListener.onContentCompleted(event);
+
+    verify(contentViewerService).recordViewer(event.userId(), event.contentId());
+  }
+}
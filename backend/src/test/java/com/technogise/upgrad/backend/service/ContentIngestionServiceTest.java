@@ -0,0 +1,231 @@
+package com.technogise.upgrad.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.technogise.upgrad.backend.config.ContentIngestionConfig;
+import com.technogise.upgrad.backend.constants.ManifestFormat;
+import com.technogise.upgrad.backend.dto.ContentManifestRow;
+import com.technogise.upgrad.backend.dto.IngestionReport;
+import com.technogise.upgrad.backend.event.CatalogChangedEvent;
+import com.technogise.upgrad.backend.repository.ContentRepository;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+@ExtendWith(MockitoExtension.class)
+class ContentIngestionServiceTest {
+
+  @Mock private ContentRepository contentRepository;
+  @Mock private ApplicationEventPublisher eventPublisher;
+
+  private ContentIngestionConfig config;
+  private ContentIngestionService ingestionService;
+
+  @BeforeEach
+  void setUp() {
+    config = new ContentIngestionConfig();
+    config.setBatchSize(2);
+    ingestionService =
+        new ContentIngestionService(contentRepository, eventPublisher, config, new ObjectMapper());
+  }
+
+  private static InputStream manifest(String... lines) {
+    return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void shouldUpsertJsonLinesInBatchesAndPublishOneEventPerBatch() throws Exception {
+    when(contentRepository.upsertByTitle(anyList()))
+        .thenReturn(List.of("A", "B"))
+        .thenReturn(List.of("C"));
+    IngestionReport report =
+        ingestionService.ingest(
+            manifest(
+                "{\"title\":\"A\",\"category\":\"DATA_SCIENCE\",\"episodeNumber\":1}",
+                "{\"title\":\"B\",\"category\":\"DATA_SCIENCE\",\"episodeNumber\":2}",
+                "",
+                "{\"title\":\"C\",\"category\":\"CYBERSECURITY\"}"),
+            ManifestFormat.JSON_LINES);
+
+    assertThat(report.batches()).isEqualTo(2);
+    assertThat(report.accepted()).isEqualTo(3);
+    assertThat(report.rejected()).isZero();
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<ContentManifestRow>> rows = ArgumentCaptor.forClass(List.class);
+    verify(contentRepository, times(2)).upsertByTitle(rows.capture());
+    assertThat(rows.getAllValues().get(0))
+        .extracting(ContentManifestRow::title)
+        .containsExactly("A", "B");
+    assertThat(rows.getAllValues().get(1))
+        .extracting(ContentManifestRow::title)
+        .containsExactly("C");
+
+    ArgumentCaptor<CatalogChangedEvent> events = ArgumentCaptor.forClass(CatalogChangedEvent.class);
+    verify(eventPublisher, times(2)).publishEvent(events.capture());
+    assertThat(events.getAllValues().get(1).titles()).containsExactly("C");
+  }
+
+  @Test
+  void shouldParseCsvWithQuotedFields() throws Exception {
+    when(contentRepository.upsertByTitle(anyList())).thenReturn(List.of("Intro, Part 1"));
+    IngestionReport report =
+        ingestionService.ingest(
+            manifest(
+                "title,description,category,episodeNumber,durationSeconds",
+                "\"Intro, Part 1\",\"Say \"\"hello\"\"\",DATA_SCIENCE,1,600"),
+            ManifestFormat.CSV);
+
+    assertThat(report.accepted()).isEqualTo(1);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<ContentManifestRow>> rows = ArgumentCaptor.forClass(List.class);
+    verify(contentRepository).upsertByTitle(rows.capture());
+    ContentManifestRow row = rows.getValue().get(0);
+    assertThat(row.title()).isEqualTo("Intro, Part 1");
+    assertThat(row.description()).isEqualTo("Say \"hello\"");
+    assertThat(row.category()).isEqualTo("DATA_SCIENCE");
+    assertThat(row.episodeNumber()).isEqualTo(1);
+    assertThat(row.durationSeconds()).isEqualTo(600);
+    assertThat(row.videoUrl()).isNull();
+  }
+
+  @Test
+  void shouldReportInvalidRowsWithLineNumbers() throws Exception {
+    when(contentRepository.upsertByTitle(anyList())).thenReturn(List.of("C"));
+    IngestionReport report =
+        ingestionService.ingest(
+            manifest(
+                "{\"category\":\"DATA_SCIENCE\"}",
+                "{\"title\":\"A\",\"category\":\"" + "X".repeat(101) + "\"}",
+                "{\"title\":\"B\",\"category\":\"DATA_SCIENCE\",\"durationSeconds\":-1}",
+                "not json",
+                "{\"title\":\"C\",\"category\":\"DATA_SCIENCE\"}",
+                "{\"title\":\"C\",\"category\":\"CYBERSECURITY\"}"),
+            ManifestFormat.JSON_LINES);
+
+    assertThat(report.accepted()).isEqualTo(1);
+    assertThat(report.rejected()).isEqualTo(5);
+    assertThat(report.rejects())
+        .extracting(r -> r.lineNumber() + ":" + r.reason())
+        .containsExactly(
+            "1:title is required",
+            "2:category exceeds 100 characters",
+            "3:durationSeconds must not be negative",
+            "4:Malformed row",
+            "6:Duplicate title in manifest");
+  }
+
+  @Test
+  void shouldCountOnlyRowsTheDatabaseChanged() throws Exception {
+    when(contentRepository.upsertByTitle(anyList())).thenReturn(List.of("B")).thenReturn(List.of());
+
+    IngestionReport report =
+        ingestionService.ingest(
+            manifest(
+                "{\"title\":\"A\",\"category\":\"DATA_SCIENCE\"}",
+                "{\"title\":\"B\",\"category\":\"DATA_SCIENCE\"}",
+                "{\"title\":\"C\",\"category\":\"DATA_SCIENCE\"}"),
+            ManifestFormat.JSON_LINES);
+
+    assertThat(report.batches()).isEqualTo(2);
+    assertThat(report.accepted()).isEqualTo(1);
+    assertThat(report.unchanged()).isEqualTo(2);
+    // The unchanged second batch leaves caches alone.
+    ArgumentCaptor<CatalogChangedEvent> events = ArgumentCaptor.forClass(CatalogChangedEvent.class);
+    verify(eventPublisher).publishEvent(events.capture());
+    assertThat(events.getValue().titles()).containsExactly("B");
+  }
+
+  @Test
+  void shouldRetryFailedBatchRowByRowAndRejectOnlyTheBadRow() throws Exception {
+    when(contentRepository.upsertByTitle(anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<ContentManifestRow> rows = invocation.getArgument(0);
+              if (rows.stream().anyMatch(row -> "Bad".equals(row.title()))) {
+                throw new DataIntegrityViolationException("boom");
+              }
+              return rows.stream().map(ContentManifestRow::title).toList();
+            });
+
+    IngestionReport report =
+        ingestionService.ingest(
+            manifest(
+                "{\"title\":\"A\",\"category\":\"DATA_SCIENCE\"}",
+                "{\"title\":\"Bad\",\"category\":\"DATA_SCIENCE\"}"),
+            ManifestFormat.JSON_LINES);
+
+    assertThat(report.batches()).isEqualTo(1);
+    assertThat(report.accepted()).isEqualTo(1);
+    assertThat(report.unchanged()).isZero();
+    assertThat(report.rejects())
+        .extracting(r -> r.lineNumber() + ":" + r.reason())
+        .containsExactly("2:Write failed");
+    verify(contentRepository, times(3)).upsertByTitle(anyList());
+    ArgumentCaptor<CatalogChangedEvent> events = ArgumentCaptor.forClass(CatalogChangedEvent.class);
+    verify(eventPublisher).publishEvent(events.capture());
+    assertThat(events.getValue().titles()).containsExactly("A");
+  }
+
+  @Test
+  void shouldRejectRowWhenDatabaseWriteFails() throws Exception {
+    doThrow(new DataIntegrityViolationException("boom"))
+        .when(contentRepository)
+        .upsertByTitle(any());
+
+    IngestionReport report =
+        ingestionService.ingest(
+            manifest("{\"title\":\"A\",\"category\":\"DATA_SCIENCE\"}"), ManifestFormat.JSON_LINES);
+
+    assertThat(report.batches()).isZero();
+    assertThat(report.accepted()).isZero();
+    assertThat(report.rejects()).extracting(r -> r.reason()).containsExactly("Write failed");
+    verify(eventPublisher, never()).publishEvent(any());
+  }
+
+  @Test
+  void shouldCapReportedRejectsButCountAll() throws Exception {
+    config.setMaxReportedRejects(1);
+
+    IngestionReport report =
+        ingestionService.ingest(manifest("title,category", ",A", ",B"), ManifestFormat.CSV);
+
+    assertThat(report.rejected()).isEqualTo(2);
+    assertThat(report.rejects()).hasSize(1);
+  }
+
+  @Test
+  void shouldRejectUnterminatedCsvQuote() throws Exception {
+    IngestionReport report =
+        ingestionService.ingest(
+            manifest("title,category", "\"Open,DATA_SCIENCE"), ManifestFormat.CSV);
+
+    assertThat(report.rejects()).extracting(r -> r.reason()).containsExactly("Malformed row");
+  }
+
+  @Test
+  void shouldResolveFormatFromContentType() {
+    assertThat(ManifestFormat.fromContentType("text/csv; charset=UTF-8"))
+        .isEqualTo(ManifestFormat.CSV);
+    assertThat(ManifestFormat.fromContentType("application/x-ndjson"))
+        .isEqualTo(ManifestFormat.JSON_LINES);
+  }
+}
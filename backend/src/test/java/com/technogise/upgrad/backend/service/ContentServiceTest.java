@@ -2,12 +2,18 @@ package com.technogise.upgrad.backend.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.when;
 
+import com.technogise.upgrad.backend.config.MediaSigningConfig;
+import com.technogise.upgrad.backend.config.MediaStorageConfig;
 import com.technogise.upgrad.backend.dto.ContentDetailDto;
+import com.technogise.upgrad.backend.entity.Category;
 import com.technogise.upgrad.backend.entity.Content;
 import com.technogise.upgrad.backend.exception.ResourceNotFoundException;
 import com.technogise.upgrad.backend.repository.ContentRepository;
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,8 +29,18 @@ class ContentServiceTest {
 
   @Mock private ContentRepository contentRepository;
 
+  @Spy
+  private MediaUrlSigner mediaUrlSigner =
+      new MediaUrlSigner(new MediaSigningConfig(), Clock.systemUTC());
+
+  @Spy private LocalMediaStore localMediaStore = new LocalMediaStore(new MediaStorageConfig());
+
+  @Mock private ContentViewerService contentViewerService;
+
   @InjectMocks private ContentService contentService;
 
+  private static final short PYTHON_ID = 1;
+
   private Content buildContent(UUID id, String category, Integer episodeNumber) {
     return Content.builder()
         .id(id)
@@ -31,7 +48,7 @@ class ContentServiceTest {
         .description("Description")
         .thumbnailUrl("http://example.com/thumb.jpg")
         .videoUrl("http://example.com/video.mp4")
-        .category(category)
+        .category(Category.builder().id(PYTHON_ID).name(category).build())
         .episodeNumber(episodeNumber)
         .durationSeconds(120)
         .createdAt(LocalDateTime.now())
@@ -46,8 +63,8 @@ class ContentServiceTest {
     Content next = buildContent(nextId, "PYTHON", 2);
 
     when(contentRepository.findById(currentId)).thenReturn(Optional.of(current));
-    when(contentRepository.findFirstByCategoryAndEpisodeNumberGreaterThanOrderByEpisodeNumberAsc(
-            "PYTHON", 1))
+    when(contentRepository.findFirstByCategoryIdAndEpisodeNumberGreaterThanOrderByEpisodeNumberAsc(
+            PYTHON_ID, 1))
         .thenReturn(Optional.of(next));
 
     Optional<ContentDetailDto> result = contentService.getNextEpisode(currentId);
@@ -75,8 +92,8 @@ class ContentServiceTest {
     Content content = buildContent(contentId, "PYTHON", 5);
 
     when(contentRepository.findById(contentId)).thenReturn(Optional.of(content));
-    when(contentRepository.findFirstByCategoryAndEpisodeNumberGreaterThanOrderByEpisodeNumberAsc(
-            "PYTHON", 5))
+    when(contentRepository.findFirstByCategoryIdAndEpisodeNumberGreaterThanOrderByEpisodeNumberAsc(
+            PYTHON_ID, 5))
         .thenReturn(Optional.empty());
 
     Optional<ContentDetailDto> result = contentService.getNextEpisode(contentId);
@@ -101,12 +118,27 @@ class ContentServiceTest {
     Content content = buildContent(contentId, "PYTHON", 1);
 
     when(contentRepository.findById(contentId)).thenReturn(Optional.of(content));
+    when(contentViewerService.countViewers(contentId)).thenReturn(1_234L);
 
     ContentDetailDto result = contentService.getContent(contentId);
 
     assertThat(result.id()).isEqualTo(contentId);
     assertThat(result.title()).isEqualTo("Title 1");
     assertThat(result.category()).isEqualTo("PYTHON");
+    assertThat(result.uniqueViewers()).isEqualTo(1_234L);
+  }
+
+  @Test
+  void shouldSignOnlyTheVideoUrl_WhenSigningIsEnabled() {
+    UUID contentId = UUID.randomUUID();
+    Content content = buildContent(contentId, "PYTHON", 1);
+    when(contentRepository.findById(contentId)).thenReturn(Optional.of(content));
+    doReturn("http://example.com/signed.mp4").when(mediaUrlSigner).sign(anyString());
+
+    ContentDetailDto result = contentService.getContent(contentId);
+
+    assertThat(result.thumbnailUrl()).isEqualTo("http://example.com/thumb.jpg");
+    assertThat(result.videoUrl()).isEqualTo("http://example.com/signed.mp4");
   }
 
   @Test
@@ -119,4 +151,27 @@ class ContentServiceTest {
         .isInstanceOf(ResourceNotFoundException.class)
         .hasMessageContaining(contentId.toString());
   }
+
+  @Test
+  void shouldThrow_WhenContentHasNoVideo() {
+    UUID contentId = UUID.randomUUID();
+
+    when(contentRepository.findVideoUrlById(contentId)).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> contentService.getMediaFile(contentId))
+        .isInstanceOf(ResourceNotFoundException.class)
+        .hasMessageContaining(contentId.toString());
+  }
+
+  @Test
+  void shouldThrow_WhenVideoIsNotHostedLocally() {
+    UUID contentId = UUID.randomUUID();
+
+    when(contentRepository.findVideoUrlById(contentId))
+        .thenReturn(Optional.of("http://example.com/video.mp4"));
+
+    assertThatThrownBy(() -> contentService.getMediaFile(contentId))
+        .isInstanceOf(ResourceNotFoundException.class)
+        .hasMessageContaining("not hosted locally");
+  }
 }
@@ -0,0 +1,209 @@
+package com.technogise.upgrad.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.technogise.upgrad.backend.config.ViewerCountConfig;
+import com.technogise.upgrad.backend.dto.UniqueViewersDto;
+import com.technogise.upgrad.backend.entity.ContentViewerSketch;
+import com.technogise.upgrad.backend.repository.ContentViewerSketchRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+@ExtendWith(MockitoExtension.class)
+class ContentViewerServiceTest {
+
+  // 19 October 2026, 22:30 UTC: already 20 October in Kolkata.
+  private static final Instant NOW = Instant.parse("2026-10-19T22:30:00Z");
+  private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+  private static final UUID USER_ID = UUID.randomUUID();
+  private static final UUID CONTENT_ID = UUID.randomUUID();
+
+  @Mock private ContentViewerSketchRepository sketchRepository;
+
+  private final Random random = new Random(20261019L);
+  private ViewerCountConfig config;
+  private ContentViewerService service;
+
+  @BeforeEach
+  void setUp() {
+    config = new ViewerCountConfig();
+    service = new ContentViewerService(sketchRepository, config, Clock.fixed(NOW, ZoneOffset.UTC));
+  }
+
+  private static byte[] sketchOf(final List<UUID> viewers) {
+    final HyperLogLog sketch = HyperLogLog.empty();
+    viewers.forEach(sketch::add);
+    return sketch.toBytes();
+  }
+
+  private List<UUID> viewers(final int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> new UUID(random.nextLong(), random.nextLong()))
+        .toList();
+  }
+
+  @Test
+  void shouldAddViewerToRegisterOfItsHash() {
+    final long hash = HyperLogLog.hash(USER_ID);
+
+    service.recordViewer(USER_ID, CONTENT_ID);
+
+    verify(sketchRepository)
+        .addViewer(CONTENT_ID, TODAY, HyperLogLog.register(hash), HyperLogLog.rank(hash));
+  }
+
+  @Test
+  void shouldAddViewerOncePerContentAndDay() {
+    final UUID otherContent = UUID.randomUUID();
+
+    service.recordViewer(USER_ID, CONTENT_ID);
+    service.recordViewer(USER_ID, CONTENT_ID);
+    service.recordViewer(USER_ID, otherContent);
+
+    verify(sketchRepository, times(1)).addViewer(eq(CONTENT_ID), eq(TODAY), anyInt(), anyInt());
+    verify(sketchRepository, times(1)).addViewer(eq(otherContent), eq(TODAY), anyInt(), anyInt());
+  }
+
+  @Test
+  void shouldAddViewerOnDayOfConfiguredZone() {
+    config.setZone("Asia/Kolkata");
+
+    service.recordViewer(USER_ID, CONTENT_ID);
+
+    verify(sketchRepository)
+        .addViewer(eq(CONTENT_ID), eq(LocalDate.of(2026, 10, 20)), anyInt(), anyInt());
+  }
+
+  @Test
+  void shouldRetryAddingAfterFailure() {
+    doThrow(new DataIntegrityViolationException("fk"))
+        .doNothing()
+        .when(sketchRepository)
+        .addViewer(any(), any(), anyInt(), anyInt());
+
+    service.recordViewer(USER_ID, CONTENT_ID);
+    service.recordViewer(USER_ID, CONTENT_ID);
+    service.recordViewer(USER_ID, CONTENT_ID);
+
+    verify(sketchRepository, times(2)).addViewer(eq(CONTENT_ID), eq(TODAY), anyInt(), anyInt());
+  }
+
+  @Test
+  void shouldAddAgainOnceCacheIsCleared() {
+    config.setMaxCachedViewings(1);
+
+    service.recordViewer(USER_ID, CONTENT_ID);
+    service.recordViewer(USER_ID, UUID.randomUUID());
+    service.recordViewer(USER_ID, CONTENT_ID);
+
+    verify(sketchRepository, times(2)).addViewer(eq(CONTENT_ID), eq(TODAY), anyInt(), anyInt());
+  }
+
+  @Test
+  void shouldEstimateViewersFromStoredSketch() {
+    when(sketchRepository.findById(CONTENT_ID))
+        .thenReturn(Optional.of(new ContentViewerSketch(CONTENT_ID, sketchOf(viewers(300)))));
+
+    assertThat((double) service.countViewers(CONTENT_ID)).isCloseTo(300, within(15.0));
+  }
+
+  @Test
+  void shouldCountNoViewersWithoutSketch() {
+    when(sketchRepository.findById(CONTENT_ID)).thenReturn(Optional.empty());
+
+    assertThat(service.countViewers(CONTENT_ID)).isZero();
+  }
+
+  @Test
+  void shouldCountViewerOfSeveralDaysOnce() {
+    final List<UUID> returning = viewers(200);
+    final LocalDate from = TODAY.minusDays(6);
+    doAnswer(
+            invocation -> {
+              final Consumer<byte[]> sink = invocation.getArgument(3);
+              sink.accept(sketchOf(returning));
+              sink.accept(sketchOf(returning));
+              sink.accept(sketchOf(viewers(100)));
+              return null;
+            })
+        .when(sketchRepository)
+        .scanDailySketches(eq(CONTENT_ID), eq(from), eq(TODAY), any());
+
+    final UniqueViewersDto viewers = service.getContentViewers(CONTENT_ID, from, TODAY);
+
+    assertThat((double) viewers.uniqueViewers()).isCloseTo(300, within(15.0));
+    assertThat(viewers.key()).isEqualTo(CONTENT_ID.toString());
+    assertThat(viewers.relativeStandardError()).isEqualTo(HyperLogLog.STANDARD_ERROR);
+  }
+
+  @Test
+  void shouldMergeSketchesOfCategoryContent() {
+    final List<UUID> bingeing = viewers(150);
+    doAnswer(
+            invocation -> {
+              final Consumer<byte[]> sink = invocation.getArgument(1);
+              sink.accept(sketchOf(bingeing));
+              sink.accept(sketchOf(bingeing));
+              return null;
+            })
+        .when(sketchRepository)
+        .scanCategorySketches(eq("PYTHON"), any());
+
+    final UniqueViewersDto viewers = service.getCategoryViewers("PYTHON", null, null);
+
+    assertThat((double) viewers.uniqueViewers()).isCloseTo(150, within(8.0));
+    assertThat(viewers.from()).isNull();
+  }
+
+  @Test
+  void shouldCountNoViewersForCategoryWithoutSketches() {
+    final UniqueViewersDto viewers = service.getCategoryViewers("RUST", TODAY, TODAY);
+
+    verify(sketchRepository).scanCategoryDailySketches(eq("RUST"), eq(TODAY), eq(TODAY), any());
+    assertThat(viewers.uniqueViewers()).isZero();
+  }
+
+  @Test
+  void shouldRejectInvalidRanges() {
+    assertThatThrownBy(() -> service.getContentViewers(CONTENT_ID, TODAY, null))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> service.getCategoryViewers("PYTHON", TODAY, TODAY.minusDays(1)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> service.getCategoryViewers("PYTHON", TODAY.minusYears(2), TODAY))
+        .isInstanceOf(IllegalArgumentException.class);
+    verifyNoInteractions(sketchRepository);
+  }
+
+  @Test
+  void shouldPruneDailySketchesOlderThanRetention() {
+    config.setDailyRetentionDays(30);
+    when(sketchRepository.deleteDailySketchesBefore(TODAY.minusDays(30))).thenReturn(4);
+
+    assertThat(service.pruneDailySketches()).isEqualTo(4);
+  }
+}
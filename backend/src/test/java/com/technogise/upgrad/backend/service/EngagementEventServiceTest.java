@@ -0,0 +1,178 @@
+package com.technogise.upgrad.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.technogise.upgrad.backend.config.EngagementEventConfig;
+import com.technogise.upgrad.backend.constants.EngagementEventType;
+import com.technogise.upgrad.backend.dto.EngagementEventRequest;
+import com.technogise.upgrad.backend.dto.EngagementEventRow;
+import com.technogise.upgrad.backend.dto.EngagementIngestResult;
+import com.technogise.upgrad.backend.repository.EngagementEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+
+@ExtendWith(MockitoExtension.class)
+class EngagementEventServiceTest {
+
+  private static final Instant NOW = Instant.parse("2026-03-15T10:00:00Z");
+
+  @Mock private EngagementEventRepository engagementEventRepository;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final UUID userId = UUID.randomUUID();
+  private final UUID contentId = UUID.randomUUID();
+  private EngagementEventService service;
+
+  @BeforeEach
+  void setUp() {
+    final EngagementEventConfig config = new EngagementEventConfig();
+    config.setQueueCapacity(5);
+    config.setBatchSize(2);
+    config.setPartitionMonthsAhead(1);
+    service =
+        new EngagementEventService(
+            config, engagementEventRepository, Clock.fixed(NOW, ZoneOffset.UTC), meterRegistry);
+  }
+
+  private List<EngagementEventRequest> events(final int count) {
+    return IntStream.range(0, count)
+        .mapToObj(
+            i -> new EngagementEventRequest(contentId, EngagementEventType.PLAY, i, null, null))
+        .toList();
+  }
+
+  private double counted(final String outcome) {
+    return meterRegistry
+        .get(EngagementEventService.METRIC_NAME)
+        .tag("outcome", outcome)
+        .counter()
+        .count();
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<List<EngagementEventRow>> appendedBatches(final int count) {
+    final ArgumentCaptor<List<EngagementEventRow>> captor = ArgumentCaptor.forClass(List.class);
+    verify(engagementEventRepository, times(count)).appendEvents(captor.capture());
+    return captor.getAllValues();
+  }
+
+  @Test
+  void shouldRejectTailOfBatchWhenQueueIsFull() {
+    assertThat(service.submit(userId, events(3))).isEqualTo(new EngagementIngestResult(3, 0));
+
+    final EngagementIngestResult result = service.submit(userId, events(4));
+
+    assertThat(result).isEqualTo(new EngagementIngestResult(2, 2));
+    assertThat(counted("accepted")).isEqualTo(5);
+    assertThat(counted("rejected")).isEqualTo(2);
+    assertThat(meterRegistry.get(EngagementEventService.METRIC_NAME + ".queued").gauge().value())
+        .isEqualTo(5);
+  }
+
+  @Test
+  void shouldDrainQueueInBatchesInArrivalOrder() {
+    service.submit(userId, events(5));
+
+    assertThat(service.drain()).isEqualTo(5);
+
+    final List<List<EngagementEventRow>> batches = appendedBatches(3);
+    assertThat(batches).extracting(List::size).containsExactly(2, 2, 1);
+    assertThat(batches.stream().flatMap(List::stream).map(EngagementEventRow::positionSeconds))
+        .containsExactly(0, 1, 2, 3, 4);
+    assertThat(counted("written")).isEqualTo(5);
+    assertThat(service.drain()).isZero();
+  }
+
+  @Test
+  void shouldRequeueBatchWhenDatabaseIsUnavailable() {
+    service.submit(userId, events(3));
+    doThrow(new QueryTimeoutException("timeout"))
+        .when(engagementEventRepository)
+        .appendEvents(anyList());
+
+    assertThat(service.drain()).isZero();
+
+    verify(engagementEventRepository).appendEvents(anyList());
+    assertThat(meterRegistry.get(EngagementEventService.METRIC_NAME + ".queued").gauge().value())
+        .isEqualTo(3);
+    assertThat(counted("dropped")).isZero();
+  }
+
+  @Test
+  void shouldDropBatchRejectedBySchemaAndKeepDraining() {
+    service.submit(userId, events(3));
+    doThrow(new DataIntegrityViolationException("check"))
+        .doNothing()
+        .when(engagementEventRepository)
+        .appendEvents(anyList());
+
+    assertThat(service.drain()).isEqualTo(1);
+
+    assertThat(counted("dropped")).isEqualTo(2);
+    assertThat(counted("written")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldStampEventsAndClampClientTimesFromTheFuture() {
+    final Instant past = NOW.minusSeconds(90);
+    service.submit(
+        userId,
+        List.of(
+            new EngagementEventRequest(contentId, EngagementEventType.SEEK, 30, null, past),
+            new EngagementEventRequest(
+                contentId, EngagementEventType.PAUSE, 45, 15, NOW.plusSeconds(3600)),
+            new EngagementEventRequest(contentId, EngagementEventType.COMPLETE, 600, 555, null)));
+
+    service.drain();
+
+    final List<EngagementEventRow> rows =
+        appendedBatches(2).stream().flatMap(List::stream).toList();
+    final LocalDateTime received = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+    assertThat(rows)
+        .extracting(EngagementEventRow::occurredAt)
+        .containsExactly(LocalDateTime.ofInstant(past, ZoneOffset.UTC), received, received);
+    assertThat(rows).allMatch(row -> row.receivedAt().equals(received));
+    assertThat(rows).allMatch(row -> row.userId().equals(userId));
+    assertThat(rows.get(2).watchDurationSeconds()).isEqualTo(555);
+  }
+
+  @Test
+  void shouldCreateCurrentAndUpcomingPartitionsAndTolerateFailures() {
+    doThrow(new QueryTimeoutException("timeout"))
+        .when(engagementEventRepository)
+        .createMonthlyPartition(YearMonth.of(2026, 3));
+
+    service.ensurePartitions();
+
+    verify(engagementEventRepository).createMonthlyPartition(YearMonth.of(2026, 3));
+    verify(engagementEventRepository).createMonthlyPartition(YearMonth.of(2026, 4));
+    verify(engagementEventRepository, times(2)).createMonthlyPartition(any());
+  }
+
+  @Test
+  void shouldAcceptEmptySubmission() {
+    assertThat(service.submit(userId, Collections.emptyList()))
+        .isEqualTo(new EngagementIngestResult(0, 0));
+  }
+}
@@ -0,0 +1,101 @@
+package com.technogise.upgrad.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.technogise.upgrad.backend.config.EngagementRollupConfig;
+import com.technogise.upgrad.backend.dto.EngagementStatsDto;
+import com.technogise.upgrad.backend.entity.CategoryEngagementRollup;
+import com.technogise.upgrad.backend.entity.ContentEngagementRollup;
+import com.technogise.upgrad.backend.exception.ResourceNotFoundException;
+import com.technogise.upgrad.backend.repository.CategoryEngagementRollupRepository;
+import com.technogise.upgrad.backend.repository.ContentEngagementRollupRepository;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class EngagementRollupServiceTest {
+
+  @Mock private ContentEngagementRollupRepository contentRollupRepository;
+  @Mock private CategoryEngagementRollupRepository categoryRollupRepository;
+
+  private EngagementRollupService service;
+
+  @BeforeEach
+  void setUp() {
+    service =
+        new EngagementRollupService(
+            new EngagementRollupConfig(), contentRollupRepository, categoryRollupRepository);
+  }
+
+  @Test
+  void shouldDeriveAverageProgressFromRollup() {
+    UUID contentId = UUID.randomUUID();
+    when(contentRollupRepository.findById(contentId))
+        .thenReturn(
+            Optional.of(
+                ContentEngagementRollup.builder()
+                    .contentId(contentId)
+                    .starts(4)
+                    .completions(1)
+                    .progressSum(250)
+                    .helpful(2)
+                    .notHelpful(1)
+                    .build()));
+
+    EngagementStatsDto stats = service.getContentStats(contentId);
+
+    assertEquals(new EngagementStatsDto(contentId.toString(), 4, 1, 62.5, 2, 1), stats);
+  }
+
+  @Test
+  void shouldReportZeroAverageWhenEveryStartWasRemoved() {
+    when(categoryRollupRepository.findById("PYTHON"))
+        .thenReturn(Optional.of(CategoryEngagementRollup.builder().category("PYTHON").build()));
+
+    assertEquals(0, service.getCategoryStats("PYTHON").averageProgressPercent());
+  }
+
+  @Test
+  void shouldThrowWhenNothingWasRecorded() {
+    UUID contentId = UUID.randomUUID();
+    when(contentRollupRepository.findById(contentId)).thenReturn(Optional.empty());
+    when(categoryRollupRepository.findById("DESIGN")).thenReturn(Optional.empty());
+
+    assertThrows(ResourceNotFoundException.class, () -> service.getContentStats(contentId));
+    assertThrows(ResourceNotFoundException.class, () -> service.getCategoryStats("DESIGN"));
+  }
+
+  @Test
+  void shouldListCategoriesByName() {
+    when(categoryRollupRepository.findAll())
+        .thenReturn(
+            List.of(
+                CategoryEngagementRollup.builder().category("PYTHON").starts(2).build(),
+                CategoryEngagementRollup.builder().category("DESIGN").starts(1).build()));
+
+    assertEquals(
+        List.of("DESIGN", "PYTHON"),
+        service.getAllCategoryStats().stream().map(EngagementStatsDto::key).toList());
+  }
+
+  @Test
+  void shouldFoldThroughRepository() {
+    when(contentRollupRepository.foldDeltas()).thenReturn(7);
+
+    assertEquals(7, service.fold());
+  }
+
+  @Test
+  void shouldRecountThroughRepository() {
+    when(contentRollupRepository.foldDeltasAndRecount()).thenReturn(-1);
+
+    assertEquals(-1, service.recount());
+  }
+}
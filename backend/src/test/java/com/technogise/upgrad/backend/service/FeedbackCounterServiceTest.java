@@ -0,0 +1,139 @@
+package com.technogise.upgrad.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.technogise.upgrad.backend.config.FeedbackCounterConfig;
+import com.technogise.upgrad.backend.constants.Feedback;
+import com.technogise.upgrad.backend.dto.FeedbackChange;
+import com.technogise.upgrad.backend.dto.FeedbackCountsDto;
+import com.technogise.upgrad.backend.entity.ContentEngagementRollup;
+import com.technogise.upgrad.backend.repository.ContentEngagementRollupRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+@ExtendWith(MockitoExtension.class)
+class FeedbackCounterServiceTest {
+
+  @Mock private ContentEngagementRollupRepository rollupRepository;
+
+  private FeedbackCounterService service;
+  private UUID contentId;
+
+  @BeforeEach
+  void setUp() {
+    service = new FeedbackCounterService(new FeedbackCounterConfig(), rollupRepository);
+    contentId = UUID.randomUUID();
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<FeedbackCountsDto> flushedDeltas() {
+    final ArgumentCaptor<List<FeedbackCountsDto>> captor = ArgumentCaptor.forClass(List.class);
+    verify(rollupRepository).addFeedbackDeltas(captor.capture());
+    return captor.getValue();
+  }
+
+  @Test
+  void shouldMoveVoteBetweenCountersWhenViewerChangesMind() {
+    service.record(new FeedbackChange(contentId, null, Feedback.HELPFUL));
+    service.record(new FeedbackChange(contentId, null, Feedback.HELPFUL));
+    service.record(new FeedbackChange(contentId, Feedback.HELPFUL, Feedback.NOT_HELPFUL));
+
+    assertThat(service.flush()).isEqualTo(1);
+
+    assertThat(flushedDeltas()).containsExactly(new FeedbackCountsDto(contentId, 1, 1));
+  }
+
+  @Test
+  void shouldIgnoreRepeatedVote() {
+    service.record(new FeedbackChange(contentId, Feedback.HELPFUL, Feedback.HELPFUL));
+
+    assertThat(service.flush()).isZero();
+    verify(rollupRepository, never()).addFeedbackDeltas(anyList());
+  }
+
+  @Test
+  void shouldAddUnflushedVotesToRollupTotals() {
+    when(rollupRepository.findById(contentId))
+        .thenReturn(
+            Optional.of(
+                ContentEngagementRollup.builder()
+                    .contentId(contentId)
+                    .starts(20)
+                    .helpful(10)
+                    .notHelpful(4)
+                    .updatedAt(LocalDateTime.now())
+                    .build()));
+    service.record(new FeedbackChange(contentId, Feedback.NOT_HELPFUL, Feedback.HELPFUL));
+
+    assertThat(service.getCounts(contentId)).isEqualTo(new FeedbackCountsDto(contentId, 11, 3));
+  }
+
+  @Test
+  void shouldReturnZeroForContentWithoutVotes() {
+    when(rollupRepository.findById(contentId)).thenReturn(Optional.empty());
+
+    assertThat(service.getCounts(contentId)).isEqualTo(new FeedbackCountsDto(contentId, 0, 0));
+  }
+
+  @Test
+  void shouldKeepDeltasForNextFlushWhenWriteFails() {
+    service.record(new FeedbackChange(contentId, null, Feedback.HELPFUL));
+    doThrow(new QueryTimeoutException("timeout"))
+        .when(rollupRepository)
+        .addFeedbackDeltas(anyList());
+
+    assertThat(service.flush()).isZero();
+
+    when(rollupRepository.findById(contentId)).thenReturn(Optional.empty());
+    assertThat(service.getCounts(contentId).helpful()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldNotLoseConcurrentVotes() throws Exception {
+    final int voters = 8;
+    final int votesEach = 10_000;
+    final ExecutorService pool = Executors.newFixedThreadPool(voters);
+    for (int i = 0; i < voters; i++) {
+      pool.execute(
+          () -> {
+            for (int v = 0; v < votesEach; v++) {
+              service.record(new FeedbackChange(contentId, null, Feedback.HELPFUL));
+              if (v % 1000 == 0) {
+                service.flush();
+              }
+            }
+          });
+    }
+    pool.shutdown();
+    assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+    service.flush();
+
+    @SuppressWarnings("unchecked")
+    final ArgumentCaptor<List<FeedbackCountsDto>> captor = ArgumentCaptor.forClass(List.class);
+    verify(rollupRepository, atLeastOnce()).addFeedbackDeltas(captor.capture());
+    final long flushed =
+        captor.getAllValues().stream()
+            .flatMap(List::stream)
+            .mapToLong(FeedbackCountsDto::helpful)
+            .sum();
+    assertThat(flushed).isEqualTo((long) voters * votesEach);
+  }
+}
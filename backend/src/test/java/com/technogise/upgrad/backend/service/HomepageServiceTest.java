@@ -3,19 +3,14 @@ package com.technogise.upgrad.backend.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.technogise.upgrad.backend.constants.Interest;
 import com.technogise.upgrad.backend.dto.ContentDto;
 import com.technogise.upgrad.backend.dto.ContinueWatchingDto;
 import com.technogise.upgrad.backend.dto.HomepageSectionsDto;
-import com.technogise.upgrad.backend.entity.Content;
-import com.technogise.upgrad.backend.entity.User;
-import com.technogise.upgrad.backend.entity.UserInterest;
-import com.technogise.upgrad.backend.entity.WatchHistory;
 import com.technogise.upgrad.backend.repository.ContentRepository;
-import com.technogise.upgrad.backend.repository.UserInterestRepository;
 import com.technogise.upgrad.backend.repository.WatchHistoryRepository;
-import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,112 +18,106 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 
 @ExtendWith(MockitoExtension.class)
 class HomepageServiceTest {
 
+  private static final int PYTHON_MASK = Interest.PYTHON_PROGRAMMING.getMask();
+
   @Mock private ContentRepository contentRepository;
   @Mock private WatchHistoryRepository watchHistoryRepository;
-  @Mock private UserInterestRepository userInterestRepository;
+  @Mock private ThumbnailService thumbnailService;
 
   @InjectMocks private HomepageService homepageService;
 
   private UUID userId;
-  private User testUser;
-  private Content pythonContent;
-  private Content designContent;
+  private ContentDto pythonContent;
+  private ContentDto designContent;
 
   @BeforeEach
   void setUp() {
     userId = UUID.randomUUID();
-    testUser =
-        User.builder()
-            .id(userId)
-            .email("test@example.com")
-            .onboardingCompleted(true)
-            .createdAt(LocalDateTime.now())
-            .build();
 
     pythonContent =
-        Content.builder()
-            .id(UUID.randomUUID())
-            .title("Advanced Python")
-            .description("Python course")
-            .thumbnailUrl("https://example.com/python.jpg")
-            .category("PYTHON_PROGRAMMING")
-            .build();
+        new ContentDto(
+            UUID.randomUUID(),
+            "Advanced Python",
+            "Python course",
+            "https://example.com/python.jpg",
+            "PYTHON_PROGRAMMING");
 
     designContent =
-        Content.builder()
-            .id(UUID.randomUUID())
-            .title("UI/UX Design")
-            .description("Design course")
-            .thumbnailUrl("https://example.com/design.jpg")
-            .category("UI_UX_DESIGN")
-            .build();
+        new ContentDto(
+            UUID.randomUUID(),
+            "UI/UX Design",
+            "Design course",
+            "https://example.com/design.jpg",
+            "UI_UX_DESIGN");
   }
 
   @Test
   void shouldReturnContinueWatchingWhenIncompleteVideoExists() {
-    WatchHistory watchHistory =
-        WatchHistory.builder()
-            .id(UUID.randomUUID())
-            .user(testUser)
-            .content(pythonContent)
-            .progressPercent(45)
-            .lastWatchedPosition(270)
-            .lastWatchedAt(LocalDateTime.now())
-            .build();
-
-    when(watchHistoryRepository.findTopByUserIdAndProgressPercentLessThanOrderByLastWatchedAtDesc(
-            userId, 100))
-        .thenReturn(Optional.of(watchHistory));
-    when(userInterestRepository.findByUserId(userId)).thenReturn(List.of());
-    when(contentRepository.findAll(any(Pageable.class)))
-        .thenReturn(new org.springframework.data.domain.PageImpl<>(List.of()));
-
-    HomepageSectionsDto result = homepageService.getHomepageSections(userId);
-
-    assertNotNull(result.continueWatching());
-    assertEquals(pythonContent.getId(), result.continueWatching().contentId());
-    assertEquals(45, result.continueWatching().progressPercent());
+    ContinueWatchingDto continueWatching =
+        new ContinueWatchingDto(
+            pythonContent.id(),
+            "Advanced Python",
+            "Python course",
+            "https://example.com/python.jpg",
+            45,
+            "PYTHON_PROGRAMMING",
+            null,
+            270);
+
+    when(watchHistoryRepository.findContinueWatching(userId, Limit.of(10)))
+        .thenReturn(List.of(continueWatching));
+    when(contentRepository.findTiles(any(Pageable.class))).thenReturn(List.of());
+
+    HomepageSectionsDto result = homepageService.getHomepageSections(userId, 0);
+
+    assertEquals(1, result.continueWatching().size());
+    assertEquals(pythonContent.id(), result.continueWatching().get(0).contentId());
+    assertEquals(45, result.continueWatching().get(0).progressPercent());
+  }
+
+  @Test
+  void shouldReturnContinueWatchingRailInRepositoryOrder() {
+    ContinueWatchingDto latest =
+        new ContinueWatchingDto(
+            pythonContent.id(), "Advanced Python", null, null, 45, "PYTHON_PROGRAMMING", 2, 270);
+    ContinueWatchingDto earlier =
+        new ContinueWatchingDto(
+            designContent.id(), "UI/UX Design", null, null, 10, "UI_UX_DESIGN", 1, 60);
+
+    when(watchHistoryRepository.findContinueWatching(userId, Limit.of(10)))
+        .thenReturn(List.of(latest, earlier));
+    when(contentRepository.findTiles(any(Pageable.class))).thenReturn(List.of());
+
+    HomepageSectionsDto result = homepageService.getHomepageSections(userId, 0);
+
+    assertEquals(List.of(latest, earlier), result.continueWatching());
   }
 
   @Test
-  void shouldReturnNullContinueWatchingWhenNoIncompleteVideo() {
-    when(watchHistoryRepository.findTopByUserIdAndProgressPercentLessThanOrderByLastWatchedAtDesc(
-            userId, 100))
-        .thenReturn(Optional.empty());
-    when(userInterestRepository.findByUserId(userId)).thenReturn(List.of());
-    when(contentRepository.findAll(any(Pageable.class)))
-        .thenReturn(new org.springframework.data.domain.PageImpl<>(List.of()));
+  void shouldReturnEmptyContinueWatchingWhenNoIncompleteVideo() {
+    when(watchHistoryRepository.findContinueWatching(userId, Limit.of(10))).thenReturn(List.of());
+    when(contentRepository.findTiles(any(Pageable.class))).thenReturn(List.of());
 
-    HomepageSectionsDto result = homepageService.getHomepageSections(userId);
+    HomepageSectionsDto result = homepageService.getHomepageSections(userId, 0);
 
-    assertNull(result.continueWatching());
+    assertTrue(result.continueWatching().isEmpty());
   }
 
   @Test
   void shouldReturnInterestBasedRecommendations() {
-    UserInterest interest =
-        UserInterest.builder()
-            .id(UUID.randomUUID())
-            .user(testUser)
-            .interestName("PYTHON_PROGRAMMING")
-            .build();
-
-    when(watchHistoryRepository.findTopByUserIdAndProgressPercentLessThanOrderByLastWatchedAtDesc(
-            userId, 100))
-        .thenReturn(Optional.empty());
-    when(userInterestRepository.findByUserId(userId)).thenReturn(List.of(interest));
-    when(contentRepository.findByCategoryIn(eq(List.of("PYTHON_PROGRAMMING")), any(Pageable.class)))
+    when(watchHistoryRepository.findContinueWatching(userId, Limit.of(10))).thenReturn(List.of());
+    when(contentRepository.findTilesMatchingInterests(eq(PYTHON_MASK), any(Pageable.class)))
         .thenReturn(List.of(pythonContent));
-    when(contentRepository.findByCategoryNotIn(
-            eq(List.of("PYTHON_PROGRAMMING")), any(Pageable.class)))
+    when(contentRepository.findTilesOutsideInterests(eq(PYTHON_MASK), any(Pageable.class)))
         .thenReturn(List.of(designContent));
 
-    HomepageSectionsDto result = homepageService.getHomepageSections(userId);
+    HomepageSectionsDto result = homepageService.getHomepageSections(userId, PYTHON_MASK);
 
     assertEquals(1, result.recommended().size());
     assertEquals("Advanced Python", result.recommended().get(0).title());
@@ -136,24 +125,13 @@ class HomepageServiceTest {
 
   @Test
   void shouldReturnExplorationContentOutsideUserInterests() {
-    UserInterest interest =
-        UserInterest.builder()
-            .id(UUID.randomUUID())
-            .user(testUser)
-            .interestName("PYTHON_PROGRAMMING")
-            .build();
-
-    when(watchHistoryRepository.findTopByUserIdAndProgressPercentLessThanOrderByLastWatchedAtDesc(
-            userId, 100))
-        .thenReturn(Optional.empty());
-    when(userInterestRepository.findByUserId(userId)).thenReturn(List.of(interest));
-    when(contentRepository.findByCategoryIn(eq(List.of("PYTHON_PROGRAMMING")), any(Pageable.class)))
+    when(watchHistoryRepository.findContinueWatching(userId, Limit.of(10))).thenReturn(List.of());
+    when(contentRepository.findTilesMatchingInterests(eq(PYTHON_MASK), any(Pageable.class)))
         .thenReturn(List.of(pythonContent));
-    when(contentRepository.findByCategoryNotIn(
-            eq(List.of("PYTHON_PROGRAMMING")), any(Pageable.class)))
+    when(contentRepository.findTilesOutsideInterests(eq(PYTHON_MASK), any(Pageable.class)))
         .thenReturn(List.of(designContent));
 
-    HomepageSectionsDto result = homepageService.getHomepageSections(userId);
+    HomepageSectionsDto result = homepageService.getHomepageSections(userId, PYTHON_MASK);
 
     assertEquals(1, result.exploration().size());
     assertEquals("UI/UX Design", result.exploration().get(0).title());
@@ -161,15 +139,11 @@ class HomepageServiceTest {
 
   @Test
   void shouldReturnAllContentAsExplorationWhenNoInterests() {
-    when(watchHistoryRepository.findTopByUserIdAndProgressPercentLessThanOrderByLastWatchedAtDesc(
-            userId, 100))
-        .thenReturn(Optional.empty());
-    when(userInterestRepository.findByUserId(userId)).thenReturn(List.of());
-    when(contentRepository.findAll(any(Pageable.class)))
-        .thenReturn(
-            new org.springframework.data.domain.PageImpl<>(List.of(pythonContent, designContent)));
+    when(watchHistoryRepository.findContinueWatching(userId, Limit.of(10))).thenReturn(List.of());
+    when(contentRepository.findTiles(any(Pageable.class)))
+        .thenReturn(List.of(pythonContent, designContent));
 
-    HomepageSectionsDto result = homepageService.getHomepageSections(userId);
+    HomepageSectionsDto result = homepageService.getHomepageSections(userId, 0);
 
     assertTrue(result.recommended().isEmpty());
     assertEquals(2, result.exploration().size());
@@ -177,24 +151,13 @@ class HomepageServiceTest {
 
   @Test
   void shouldReturnInterestBasedBeforeExploration() {
-    UserInterest interest =
-        UserInterest.builder()
-            .id(UUID.randomUUID())
-            .user(testUser)
-            .interestName("PYTHON_PROGRAMMING")
-            .build();
-
-    when(watchHistoryRepository.findTopByUserIdAndProgressPercentLessThanOrderByLastWatchedAtDesc(
-            userId, 100))
-        .thenReturn(Optional.empty());
-    when(userInterestRepository.findByUserId(userId)).thenReturn(List.of(interest));
-    when(contentRepository.findByCategoryIn(eq(List.of("PYTHON_PROGRAMMING")), any(Pageable.class)))
+    when(watchHistoryRepository.findContinueWatching(userId, Limit.of(10))).thenReturn(List.of());
+    when(contentRepository.findTilesMatchingInterests(eq(PYTHON_MASK), any(Pageable.class)))
         .thenReturn(List.of(pythonContent));
-    when(contentRepository.findByCategoryNotIn(
-            eq(List.of("PYTHON_PROGRAMMING")), any(Pageable.class)))
+    when(contentRepository.findTilesOutsideInterests(eq(PYTHON_MASK), any(Pageable.class)))
         .thenReturn(List.of(designContent));
 
-    HomepageSectionsDto result = homepageService.getHomepageSections(userId);
+    HomepageSectionsDto result = homepageService.getHomepageSections(userId, PYTHON_MASK);
 
     assertNotNull(result.recommended());
     assertNotNull(result.exploration());
@@ -209,28 +172,26 @@ class HomepageServiceTest {
 
   @Test
   void shouldMapContinueWatchingDtoCorrectly() {
-    WatchHistory watchHistory =
-        WatchHistory.builder()
-            .id(UUID.randomUUID())
-            .user(testUser)
-            .content(pythonContent)
-            .progressPercent(72)
-            .lastWatchedPosition(432)
-            .lastWatchedAt(LocalDateTime.now())
-            .build();
-
-    when(watchHistoryRepository.findTopByUserIdAndProgressPercentLessThanOrderByLastWatchedAtDesc(
-            userId, 100))
-        .thenReturn(Optional.of(watchHistory));
-    when(userInterestRepository.findByUserId(userId)).thenReturn(List.of());
-    when(contentRepository.findAll(any(Pageable.class)))
-        .thenReturn(new org.springframework.data.domain.PageImpl<>(List.of()));
-
-    HomepageSectionsDto result = homepageService.getHomepageSections(userId);
-
-    ContinueWatchingDto cw = result.continueWatching();
+    ContinueWatchingDto continueWatching =
+        new ContinueWatchingDto(
+            pythonContent.id(),
+            "Advanced Python",
+            "Python course",
+            "https://example.com/python.jpg",
+            72,
+            "PYTHON_PROGRAMMING",
+            null,
+            432);
+
+    when(watchHistoryRepository.findContinueWatching(userId, Limit.of(10)))
+        .thenReturn(List.of(continueWatching));
+    when(contentRepository.findTiles(any(Pageable.class))).thenReturn(List.of());
+
+    HomepageSectionsDto result = homepageService.getHomepageSections(userId, 0);
+
+    ContinueWatchingDto cw = result.continueWatching().get(0);
     assertNotNull(cw);
-    assertEquals(pythonContent.getId(), cw.contentId());
+    assertEquals(pythonContent.id(), cw.contentId());
     assertEquals("Advanced Python", cw.title());
     assertEquals("Python course", cw.description());
     assertEquals("https://example.com/python.jpg", cw.thumbnailUrl());
@@ -239,4 +200,45 @@ class HomepageServiceTest {
     assertNull(cw.episodeNumber());
     assertEquals(432, cw.lastWatchedPosition());
   }
+
+  @Test
+  void shouldLeaveThumbnailUrlsUnsignedSoTheyStayCacheable() {
+    ContinueWatchingDto continueWatching =
+        new ContinueWatchingDto(
+            pythonContent.id(),
+            "Advanced Python",
+            "Python course",
+            "https://example.com/python.jpg",
+            30,
+            "PYTHON_PROGRAMMING",
+            null,
+            90);
+
+    when(watchHistoryRepository.findContinueWatching(userId, Limit.of(10)))
+        .thenReturn(List.of(continueWatching));
+    when(contentRepository.findTiles(any(Pageable.class))).thenReturn(List.of(designContent));
+
+    HomepageSectionsDto result = homepageService.getHomepageSections(userId, 0);
+
+    assertEquals("https://example.com/python.jpg", result.continueWatching().get(0).thumbnailUrl());
+    assertEquals(30, result.continueWatching().get(0).progressPercent());
+    assertEquals("https://example.com/design.jpg", result.exploration().get(0).thumbnailUrl());
+    assertEquals(designContent.id(), result.exploration().get(0).id());
+  }
+
+  @Test
+  void shouldAttachThumbnailSrcsetsToTiles() {
+    String srcset = "/api/thumbnails/a.jpg 320w, /api/thumbnails/b.jpg 640w";
+    when(watchHistoryRepository.findContinueWatching(userId, Limit.of(10))).thenReturn(List.of());
+    when(contentRepository.findTiles(any(Pageable.class)))
+        .thenReturn(List.of(pythonContent, designContent));
+    when(thumbnailService.findSrcsets(List.of(pythonContent.id(), designContent.id())))
+        .thenReturn(Map.of(pythonContent.id(), srcset));
+
+    HomepageSectionsDto result = homepageService.getHomepageSections(userId, 0);
+
+    assertEquals(srcset, result.exploration().get(0).thumbnailSrcset());
+    assertEquals("https://example.com/python.jpg", result.exploration().get(0).thumbnailUrl());
+    assertNull(result.exploration().get(1).thumbnailSrcset());
+  }
 }
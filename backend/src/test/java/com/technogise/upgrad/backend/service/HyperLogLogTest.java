@@ -0,0 +1,122 @@
+package com.technogise.upgrad.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import com.technogise.upgrad.backend.repository.ContentViewerSketchOperations;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class HyperLogLogTest {
+
+  // Seeded, so a run that happens to land in the tail of the error distribution fails every time
+  // rather than now and then.
+  private final Random random = new Random(20261019L);
+
+  private UUID viewer() {
+    return new UUID(random.nextLong(), random.nextLong());
+  }
+
+  private HyperLogLog sketchOf(final int viewers) {
+    final HyperLogLog sketch = HyperLogLog.empty();
+    for (int i = 0; i < viewers; i++) {
+      sketch.add(viewer());
+    }
+    return sketch;
+  }
+
+  @Test
+  void shouldMatchStoredSketchSize() {
+    assertThat(HyperLogLog.REGISTERS).isEqualTo(ContentViewerSketchOperations.SKETCH_REGISTERS);
+    assertThat(HyperLogLog.STANDARD_ERROR).isCloseTo(0.023, within(0.001));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1_000, 5_000, 20_000, 100_000, 1_000_000})
+  void shouldEstimateWithinThreeStandardErrors(final int viewers) {
+    final long estimate = sketchOf(viewers).estimate();
+
+    assertThat((double) estimate)
+        .isCloseTo(viewers, within(3 * HyperLogLog.STANDARD_ERROR * viewers));
+  }
+
+  @Test
+  void shouldStayWithinStandardErrorOnAverage() {
+    double squaredError = 0;
+    final int trials = 50;
+    for (int trial = 0; trial < trials; trial++) {
+      final double relativeError = sketchOf(10_000).estimate() / 10_000.0 - 1;
+      squaredError += relativeError * relativeError;
+    }
+
+    assertThat(Math.sqrt(squaredError / trials)).isLessThan(1.2 * HyperLogLog.STANDARD_ERROR);
+  }
+
+  @Test
+  void shouldCountSmallSetsAlmostExactly() {
+    assertThat(HyperLogLog.empty().estimate()).isZero();
+    assertThat(sketchOf(1).estimate()).isEqualTo(1);
+    assertThat((double) sketchOf(100).estimate()).isCloseTo(100, within(2.0));
+  }
+
+  @Test
+  void shouldIgnoreRepeatedViewers() {
+    final UUID viewer = viewer();
+    final HyperLogLog sketch = sketchOf(500).add(viewer);
+    final byte[] before = sketch.toBytes();
+
+    for (int i = 0; i < 1_000; i++) {
+      sketch.add(viewer);
+    }
+
+    assertThat(sketch.toBytes()).isEqualTo(before);
+  }
+
+  @Test
+  void shouldMergeIntoSketchOfUnion() {
+    final HyperLogLog left = HyperLogLog.empty();
+    final HyperLogLog right = HyperLogLog.empty();
+    final HyperLogLog union = HyperLogLog.empty();
+    for (int i = 0; i < 30_000; i++) {
+      final UUID viewer = viewer();
+      // A third of the viewers are in both sketches.
+      if (i % 3 != 0) {
+        left.add(viewer);
+      }
+      if (i % 3 != 1) {
+        right.add(viewer);
+      }
+      union.add(viewer);
+    }
+
+    final HyperLogLog merged = HyperLogLog.fromBytes(left.toBytes()).merge(right.toBytes());
+
+    assertThat(merged.toBytes()).isEqualTo(union.toBytes());
+    assertThat((double) merged.estimate())
+        .isCloseTo(30_000, within(3 * HyperLogLog.STANDARD_ERROR * 30_000));
+  }
+
+  @Test
+  void shouldSetRegisterToRankOfHash() {
+    final UUID viewer = viewer();
+    final long hash = HyperLogLog.hash(viewer);
+
+    final byte[] registers = HyperLogLog.empty().add(viewer).toBytes();
+
+    assertThat(registers[HyperLogLog.register(hash)]).isEqualTo((byte) HyperLogLog.rank(hash));
+    assertThat(HyperLogLog.rank(0L)).isEqualTo(Long.SIZE - HyperLogLog.PRECISION + 1);
+    assertThat(HyperLogLog.rank(1L << (Long.SIZE - HyperLogLog.PRECISION - 1))).isEqualTo(1);
+  }
+
+  @Test
+  void shouldRejectRegistersOfAnotherPrecision() {
+    assertThatThrownBy(() -> HyperLogLog.fromBytes(new byte[1024]))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> HyperLogLog.empty().merge(new byte[4096]))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
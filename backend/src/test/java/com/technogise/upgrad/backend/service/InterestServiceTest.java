@@ -2,8 +2,11 @@ package com.technogise.upgrad.backend.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.technogise.upgrad.backend.constants.Interest;
 import com.technogise.upgrad.backend.dto.InterestDTO;
 import com.technogise.upgrad.backend.entity.User;
@@ -17,6 +20,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,13 +30,27 @@ class InterestServiceTest {
 
   @Mock private UserRepository userRepository;
 
+  @Mock private CategoryDictionary categoryDictionary;
+
+  @Spy private ObjectMapper objectMapper = new ObjectMapper();
+
   @InjectMocks private InterestService interestService;
 
   private User testUser;
   private UUID userId;
 
+  // Stands in for the categories dictionary: each interest's category id is its ordinal plus one.
+  private static List<Short> ids(List<String> interestNames) {
+    return interestNames.stream()
+        .map(name -> (short) (Interest.valueOf(name).ordinal() + 1))
+        .toList();
+  }
+
   @BeforeEach
   void setUp() {
+    lenient()
+        .when(categoryDictionary.idOf(anyString()))
+        .thenAnswer(invocation -> ids(List.of(invocation.<String>getArgument(0))).get(0));
     userId = UUID.randomUUID();
 
     testUser =
@@ -68,6 +86,17 @@ class InterestServiceTest {
     assertEquals("puzzle", pythonInterest.iconName());
   }
 
+  @Test
+  void shouldServeCatalogSerializedAtStartup() throws Exception {
+    // When
+    byte[] first = interestService.getInterestCatalog().toResponseEntity().getBody();
+    byte[] second = interestService.getInterestCatalog().toResponseEntity().getBody();
+
+    // Then
+    assertSame(first, second);
+    assertArrayEquals(objectMapper.writeValueAsBytes(interestService.getAllInterests()), first);
+  }
+
   @Test
   void shouldSaveUserInterestsSuccessfully() {
     // Given
@@ -77,8 +106,11 @@ class InterestServiceTest {
     interestService.saveUserInterests(testUser, interestNames);
 
     // Then
-    verify(userInterestRepository).deleteByUserId(userId);
-    verify(userInterestRepository).saveAll(any());
+    verify(userInterestRepository).deleteInterests(userId, List.of());
+    verify(userInterestRepository).insertInterests(userId, ids(interestNames));
+    verify(userRepository)
+        .updateInterestMask(
+            userId, Interest.PYTHON_PROGRAMMING.getMask() | Interest.DATA_SCIENCE.getMask());
     verify(userRepository).markOnboardingCompleted(userId);
   }
 
@@ -95,7 +127,7 @@ class InterestServiceTest {
 
     assertTrue(exception.getMessage().contains("Invalid interest names"));
     assertTrue(exception.getMessage().contains("INVALID_INTEREST"));
-    verify(userInterestRepository, never()).saveAll(any());
+    verify(userInterestRepository, never()).insertInterests(any(), any());
   }
 
   @Test
@@ -110,7 +142,7 @@ class InterestServiceTest {
             () -> interestService.saveUserInterests(testUser, interestNames));
 
     assertEquals("At least one interest must be selected", exception.getMessage());
-    verify(userInterestRepository, never()).saveAll(any());
+    verify(userInterestRepository, never()).insertInterests(any(), any());
   }
 
   @Test
@@ -142,22 +174,57 @@ class InterestServiceTest {
     interestService.saveUserInterests(completedUser, interestNames);
 
     // Then
-    verify(userInterestRepository).saveAll(any());
+    verify(userInterestRepository).insertInterests(userId, ids(interestNames));
     // markOnboardingCompleted should not be called since onboarding is already
     // completed
     verify(userRepository, never()).markOnboardingCompleted(any());
   }
 
   @Test
-  void shouldDeletePreviousInterestsBeforeSavingNew() {
+  void shouldOnlyDeleteRemovedAndInsertAddedInterests() {
     // Given
-    List<String> interestNames = List.of("CLOUD_COMPUTING");
+    when(userInterestRepository.findCategoryIdsByUserId(userId))
+        .thenReturn(ids(List.of("PYTHON_PROGRAMMING", "CLOUD_COMPUTING")));
+    List<String> interestNames = List.of("CLOUD_COMPUTING", "DATA_SCIENCE");
 
     // When
     interestService.saveUserInterests(testUser, interestNames);
 
     // Then
-    verify(userInterestRepository).deleteByUserId(userId);
+    verify(userInterestRepository).deleteInterests(userId, ids(List.of("PYTHON_PROGRAMMING")));
+    verify(userInterestRepository).insertInterests(userId, ids(List.of("DATA_SCIENCE")));
+  }
+
+  @Test
+  void shouldNotUpdateMaskWhenSelectionIsUnchanged() {
+    // Given
+    User user =
+        User.builder()
+            .id(userId)
+            .email("test@example.com")
+            .onboardingCompleted(true)
+            .interestMask(Interest.DATA_SCIENCE.getMask())
+            .build();
+    when(userInterestRepository.findCategoryIdsByUserId(userId))
+        .thenReturn(ids(List.of("DATA_SCIENCE")));
+
+    // When
+    interestService.saveUserInterests(user, List.of("DATA_SCIENCE"));
+
+    // Then
+    verify(userRepository, never()).updateInterestMask(any(), anyInt());
+  }
+
+  @Test
+  void shouldIgnoreDuplicateInterestNames() {
+    // Given
+    List<String> interestNames = List.of("DATA_SCIENCE", "DATA_SCIENCE");
+
+    // When
+    interestService.saveUserInterests(testUser, interestNames);
+
+    // Then
+    verify(userInterestRepository).insertInterests(userId, ids(List.of("DATA_SCIENCE")));
   }
 
   @Test
@@ -168,6 +235,19 @@ class InterestServiceTest {
     }
   }
 
+  @Test
+  void shouldGiveEachInterestItsOwnBit() {
+    int combined = 0;
+    for (Interest interest : Interest.values()) {
+      assertEquals(1, Integer.bitCount(interest.getMask()));
+      assertEquals(0, combined & interest.getMask());
+      combined |= interest.getMask();
+    }
+    assertEquals(combined, Interest.maskOf(Interest.getValidNames()));
+    assertEquals(0, Interest.maskOf(List.of("NONEXISTENT")));
+    assertEquals(Interest.CYBERSECURITY.getMask(), Interest.maskOf("CYBERSECURITY"));
+  }
+
   @Test
   void shouldRejectInvalidInterestName() {
     // Given
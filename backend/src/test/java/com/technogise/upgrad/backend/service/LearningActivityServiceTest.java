@@ -0,0 +1,131 @@
+package com.technogise.upgrad.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.technogise.upgrad.backend.config.ActivityConfig;
+import com.technogise.upgrad.backend.dto.ActivitySummaryDto;
+import com.technogise.upgrad.backend.entity.UserActivity;
+import com.technogise.upgrad.backend.repository.UserActivityRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+@ExtendWith(MockitoExtension.class)
+class LearningActivityServiceTest {
+
+  // 19 October 2026, 22:30 UTC: already 20 October in Kolkata.
+  private static final Instant NOW = Instant.parse("2026-10-19T22:30:00Z");
+  private static final UUID USER_ID = UUID.randomUUID();
+
+  @Mock private UserActivityRepository userActivityRepository;
+
+  private ActivityConfig config;
+  private LearningActivityService service;
+
+  @BeforeEach
+  void setUp() {
+    config = new ActivityConfig();
+    service =
+        new LearningActivityService(
+            userActivityRepository, config, Clock.fixed(NOW, ZoneOffset.UTC));
+  }
+
+  @Test
+  void shouldMarkTodayOncePerUser() {
+    service.recordActivity(USER_ID);
+    service.recordActivity(USER_ID);
+
+    verify(userActivityRepository, times(1)).markActive(USER_ID, LocalDate.of(2026, 10, 19));
+  }
+
+  @Test
+  void shouldMarkDayInConfiguredZone() {
+    config.setZone("Asia/Kolkata");
+
+    service.recordActivity(USER_ID);
+
+    verify(userActivityRepository).markActive(USER_ID, LocalDate.of(2026, 10, 20));
+  }
+
+  @Test
+  void shouldRetryMarkingAfterFailure() {
+    doThrow(new DataIntegrityViolationException("fk"))
+        .doNothing()
+        .when(userActivityRepository)
+        .markActive(any(), any());
+
+    service.recordActivity(USER_ID);
+    service.recordActivity(USER_ID);
+    service.recordActivity(USER_ID);
+
+    verify(userActivityRepository, times(2)).markActive(USER_ID, LocalDate.of(2026, 10, 19));
+  }
+
+  @Test
+  void shouldMarkAgainOnceCacheIsCleared() {
+    config.setMaxCachedUsers(1);
+    final UUID other = UUID.randomUUID();
+
+    service.recordActivity(USER_ID);
+    service.recordActivity(other);
+    service.recordActivity(USER_ID);
+
+    verify(userActivityRepository, times(2)).markActive(USER_ID, LocalDate.of(2026, 10, 19));
+  }
+
+  @Test
+  void shouldSummariseStoredCalendar() {
+    final BitSet days = new BitSet();
+    // 1 October onwards: active 1, 2 and 17 to 19 October.
+    days.set(0, 2);
+    days.set(16, 19);
+    when(userActivityRepository.findById(USER_ID))
+        .thenReturn(
+            Optional.of(new UserActivity(USER_ID, LocalDate.of(2026, 10, 1), days.toByteArray())));
+
+    final ActivitySummaryDto summary = service.getSummary(USER_ID, null);
+
+    assertThat(summary)
+        .isEqualTo(new ActivitySummaryDto(3, YearMonth.of(2026, 10), 5, List.of(1, 2, 17, 18, 19)));
+  }
+
+  @Test
+  void shouldSummariseRequestedMonth() {
+    final BitSet days = new BitSet();
+    days.set(0, 2);
+    when(userActivityRepository.findById(USER_ID))
+        .thenReturn(
+            Optional.of(new UserActivity(USER_ID, LocalDate.of(2026, 9, 29), days.toByteArray())));
+
+    final ActivitySummaryDto summary = service.getSummary(USER_ID, YearMonth.of(2026, 9));
+
+    assertThat(summary)
+        .isEqualTo(new ActivitySummaryDto(0, YearMonth.of(2026, 9), 2, List.of(29, 30)));
+  }
+
+  @Test
+  void shouldReturnEmptySummaryWithoutActivity() {
+    when(userActivityRepository.findById(USER_ID)).thenReturn(Optional.empty());
+
+    final ActivitySummaryDto summary = service.getSummary(USER_ID, null);
+
+    assertThat(summary).isEqualTo(new ActivitySummaryDto(0, YearMonth.of(2026, 10), 0, List.of()));
+  }
+}
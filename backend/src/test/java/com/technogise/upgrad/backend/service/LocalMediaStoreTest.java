@@ -0,0 +1,88 @@
+package com.technogise.upgrad.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.technogise.upgrad.backend.config.MediaStorageConfig;
+import com.technogise.upgrad.backend.service.LocalMediaStore.MediaFile;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+
+class LocalMediaStoreTest {
+
+  @TempDir private Path tempDir;
+
+  private Path mediaRoot;
+  private LocalMediaStore store;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    mediaRoot = Files.createDirectories(tempDir.resolve("media"));
+    Files.createDirectories(mediaRoot.resolve("python"));
+    Files.write(mediaRoot.resolve("python/intro.mp4"), new byte[] {1, 2, 3, 4});
+    Files.write(tempDir.resolve("secret.txt"), new byte[] {9});
+
+    final MediaStorageConfig config = new MediaStorageConfig();
+    config.setRootDir(mediaRoot.toString());
+    store = new LocalMediaStore(config);
+  }
+
+  @Test
+  void shouldResolveRelativeVideoUrlInsideMediaRoot() throws IOException {
+    final Optional<MediaFile> media = store.resolve("python/intro.mp4");
+
+    assertThat(media).isPresent();
+    assertThat(media.get().length()).isEqualTo(4);
+    assertThat(media.get().contentType()).isEqualTo(MediaType.parseMediaType("video/mp4"));
+    assertThat(media.get().etag()).startsWith("\"4-");
+    assertThat(media.get().path()).isEqualTo(mediaRoot.resolve("python/intro.mp4").toRealPath());
+  }
+
+  @Test
+  void shouldRejectPathsEscapingMediaRoot() throws IOException {
+    assertThat(store.resolve("../secret.txt")).isEmpty();
+    assertThat(store.resolve("python/../../secret.txt")).isEmpty();
+    assertThat(store.resolve(tempDir.resolve("secret.txt").toString())).isEmpty();
+  }
+
+  @Test
+  void shouldRejectSymlinksLeavingMediaRoot() throws IOException {
+    Files.createSymbolicLink(mediaRoot.resolve("link.txt"), tempDir.resolve("secret.txt"));
+
+    assertThat(store.resolve("link.txt")).isEmpty();
+  }
+
+  @Test
+  void shouldIgnoreRemoteAndMissingVideos() throws IOException {
+    assertThat(store.resolve("https://cdn.example.com/intro.mp4")).isEmpty();
+    assertThat(store.resolve("//cdn.example.com/intro.mp4")).isEmpty();
+    assertThat(store.resolve("python/missing.mp4")).isEmpty();
+    assertThat(store.resolve("python")).isEmpty();
+    assertThat(store.resolve(null)).isEmpty();
+  }
+
+  @Test
+  void shouldPointLocalVideosAtMediaEndpoint() {
+    final UUID contentId = UUID.randomUUID();
+
+    assertThat(store.playbackUrl(contentId, "python/intro.mp4"))
+        .isEqualTo("/api/media/" + contentId);
+    assertThat(store.playbackUrl(contentId, "https://cdn.example.com/intro.mp4"))
+        .isEqualTo("https://cdn.example.com/intro.mp4");
+  }
+
+  @Test
+  void shouldLeaveUrlsAloneWhenLocalHostingIsOff() throws IOException {
+    final LocalMediaStore disabled = new LocalMediaStore(new MediaStorageConfig());
+
+    assertThat(disabled.playbackUrl(UUID.randomUUID(), "python/intro.mp4"))
+        .isEqualTo("python/intro.mp4");
+    assertThat(disabled.resolve("python/intro.mp4")).isEmpty();
+  }
+}
@@ -0,0 +1,117 @@
+package com.technogise.upgrad.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.technogise.upgrad.backend.config.MediaSigningConfig;
+import com.technogise.upgrad.backend.event.CatalogChangedEvent;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+class MediaUrlSignerTest {
+
+  private static final String VIDEO_URL = "https://cdn.example.com/videos/intro.mp4";
+  private static final Instant NOW = Instant.parse("2026-01-27T10:00:00Z");
+
+  private MediaSigningConfig config;
+  private Clock clock;
+  private MediaUrlSigner signer;
+
+  @BeforeEach
+  void setUp() {
+    config = new MediaSigningConfig();
+    config.setEnabled(true);
+    config.setSecret("test-signing-secret");
+    config.setWindowSeconds(3600);
+    config.setRefreshMarginSeconds(300);
+    clock = mock(Clock.class);
+    when(clock.instant()).thenReturn(NOW);
+    signer = new MediaUrlSigner(config, clock);
+  }
+
+  @Test
+  void shouldReturnUrlUnchangedWhenSigningDisabled() {
+    config.setEnabled(false);
+
+    assertThat(signer.sign(VIDEO_URL)).isEqualTo(VIDEO_URL);
+    assertThat(signer.sign(null)).isNull();
+  }
+
+  @Test
+  void shouldAppendExpiryAndVerifiableSignature() {
+    UriComponents signed = UriComponentsBuilder.fromUriString(signer.sign(VIDEO_URL)).build();
+
+    long expiresAt = Long.parseLong(signed.getQueryParams().getFirst("expires"));
+    assertThat(expiresAt).isEqualTo(NOW.getEpochSecond() + 3600);
+    assertThat(signer.verify(VIDEO_URL, expiresAt, signed.getQueryParams().getFirst("signature")))
+        .isTrue();
+    assertThat(
+            signer.verify(VIDEO_URL, expiresAt + 1, signed.getQueryParams().getFirst("signature")))
+        .isFalse();
+  }
+
+  @Test
+  void shouldAppendToExistingQueryString() {
+    assertThat(signer.sign("https://images.example.com/a.jpg?w=400"))
+        .startsWith("https://images.example.com/a.jpg?w=400&expires=");
+  }
+
+  @Test
+  void shouldReuseSignatureUntilRefreshMargin() {
+    String first = signer.sign(VIDEO_URL);
+
+    when(clock.instant()).thenReturn(NOW.plusSeconds(3600 - 301));
+    assertThat(signer.sign(VIDEO_URL)).isSameAs(first);
+
+    when(clock.instant()).thenReturn(NOW.plusSeconds(3600 - 300));
+    assertThat(signer.sign(VIDEO_URL)).isNotEqualTo(first);
+  }
+
+  @Test
+  void shouldResignAfterCatalogChange() {
+    String first = signer.sign(VIDEO_URL);
+
+    signer.onCatalogChanged(new CatalogChangedEvent(List.of("Intro")));
+    when(clock.instant()).thenReturn(NOW.plusSeconds(1));
+
+    assertThat(signer.sign(VIDEO_URL)).isNotEqualTo(first);
+  }
+
+  @Test
+  void shouldRejectExpiredOrMissingSignature() {
+    UriComponents signed = UriComponentsBuilder.fromUriString(signer.sign(VIDEO_URL)).build();
+    long expiresAt = Long.parseLong(signed.getQueryParams().getFirst("expires"));
+
+    assertThat(signer.verify(VIDEO_URL, expiresAt, null)).isFalse();
+    when(clock.instant()).thenReturn(Instant.ofEpochSecond(expiresAt));
+    assertThat(signer.verify(VIDEO_URL, expiresAt, signed.getQueryParams().getFirst("signature")))
+        .isFalse();
+  }
+
+  @Test
+  void shouldBoundTheSignatureCache() {
+    config.setMaxCachedUrls(1);
+
+    String first = signer.sign(VIDEO_URL);
+    signer.sign("https://cdn.example.com/videos/other.mp4");
+
+    assertThat(signer.sign(VIDEO_URL)).isEqualTo(first).isNotSameAs(first);
+  }
+
+  @Test
+  void shouldFailFastOnInvalidConfiguration() {
+    config.setSecret(" ");
+    assertThatThrownBy(signer::validateConfig).isInstanceOf(IllegalStateException.class);
+
+    config.setSecret("secret");
+    config.setRefreshMarginSeconds(3600);
+    assertThatThrownBy(signer::validateConfig).isInstanceOf(IllegalStateException.class);
+  }
+}
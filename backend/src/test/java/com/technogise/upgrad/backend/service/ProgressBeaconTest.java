@@ -0,0 +1,90 @@
+package com.technogise.upgrad.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ProgressBeaconTest {
+
+  private static final UUID CONTENT_ID = UUID.fromString("3f2c8a9e-1b4d-4c6e-9a0f-7d5e3b1c2a48");
+
+  private final ProgressBeacon beacon = new ProgressBeacon();
+
+  private boolean parse(final String payload) {
+    final byte[] bytes = payload.getBytes(StandardCharsets.US_ASCII);
+    return beacon.parse(bytes, bytes.length);
+  }
+
+  @Test
+  void shouldParseWellFormedPayload() {
+    assertThat(parse(CONTENT_ID + ",42,1260,csrf-token-1")).isTrue();
+
+    assertThat(beacon.contentId()).isEqualTo(CONTENT_ID);
+    assertThat(beacon.progressPercent()).isEqualTo(42);
+    assertThat(beacon.lastWatchedPosition()).isEqualTo(1260);
+    assertThat(beacon.tokenMatches("csrf-token-1")).isTrue();
+  }
+
+  @Test
+  void shouldAcceptUpperCaseContentId() {
+    assertThat(parse(CONTENT_ID.toString().toUpperCase() + ",100,0,t")).isTrue();
+
+    assertThat(beacon.contentId()).isEqualTo(CONTENT_ID);
+  }
+
+  @Test
+  void shouldParseOnlyTheGivenLengthOfAReusedBuffer() {
+    final byte[] buffer = new byte[ProgressBeacon.MAX_LENGTH];
+    final byte[] first =
+        (CONTENT_ID + ",10,60,long-first-token").getBytes(StandardCharsets.US_ASCII);
+    final byte[] second = (CONTENT_ID + ",20,120,short").getBytes(StandardCharsets.US_ASCII);
+    System.arraycopy(first, 0, buffer, 0, first.length);
+    beacon.parse(buffer, first.length);
+    System.arraycopy(second, 0, buffer, 0, second.length);
+
+    assertThat(beacon.parse(buffer, second.length)).isTrue();
+
+    assertThat(beacon.progressPercent()).isEqualTo(20);
+    assertThat(beacon.tokenMatches("short")).isTrue();
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "",
+        "3f2c8a9e-1b4d-4c6e-9a0f-7d5e3b1c2a48",
+        "3f2c8a9e-1b4d-4c6e-9a0f-7d5e3b1c2a48,42,1260,",
+        "3f2c8a9e-1b4d-4c6e-9a0f-7d5e3b1c2a48,42,1260",
+        "3f2c8a9e1b4d-4c6e-9a0f-7d5e3b1c2a48-,42,1260,t",
+        "3f2c8a9g-1b4d-4c6e-9a0f-7d5e3b1c2a48,42,1260,t",
+        "3f2c8a9e-1b4d-4c6e-9a0f-7d5e3b1c2a48,101,1260,t",
+        "3f2c8a9e-1b4d-4c6e-9a0f-7d5e3b1c2a48,-1,1260,t",
+        "3f2c8a9e-1b4d-4c6e-9a0f-7d5e3b1c2a48,42,,t",
+        "3f2c8a9e-1b4d-4c6e-9a0f-7d5e3b1c2a48,42,1234567890,t",
+        "3f2c8a9e-1b4d-4c6e-9a0f-7d5e3b1c2a48,42,1260,to ken",
+        "3f2c8a9e-1b4d-4c6e-9a0f-7d5e3b1c2a48,42,1260,a,b",
+        "3f2c8a9e-1b4d-4c6e-9a0f-7d5e3b1c2a48,42,1260,t\n"
+      })
+  void shouldRejectMalformedPayload(final String payload) {
+    assertThat(parse(payload)).isFalse();
+    assertThat(beacon.tokenMatches("t")).isFalse();
+  }
+
+  @Test
+  void shouldRejectOversizedPayload() {
+    assertThat(parse(CONTENT_ID + ",42,1260," + "t".repeat(ProgressBeacon.MAX_LENGTH))).isFalse();
+  }
+
+  @Test
+  void shouldNotMatchDifferentOrMissingToken() {
+    parse(CONTENT_ID + ",42,1260,csrf-token-1");
+
+    assertThat(beacon.tokenMatches("csrf-token-2")).isFalse();
+    assertThat(beacon.tokenMatches("csrf-token")).isFalse();
+    assertThat(beacon.tokenMatches(null)).isFalse();
+  }
+}
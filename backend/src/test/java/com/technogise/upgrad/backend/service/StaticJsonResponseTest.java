@@ -0,0 +1,53 @@
+package com.technogise.upgrad.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+class StaticJsonResponseTest {
+
+  private static final CacheControl CACHE_CONTROL =
+      CacheControl.maxAge(1, TimeUnit.DAYS).cachePublic();
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void shouldServeSerializedBytesWithCacheHeaders() {
+    final StaticJsonResponse response =
+        StaticJsonResponse.of(objectMapper, List.of("a", "b"), CACHE_CONTROL);
+
+    final ResponseEntity<byte[]> entity = response.toResponseEntity();
+
+    assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(new String(entity.getBody(), StandardCharsets.UTF_8)).isEqualTo("[\"a\",\"b\"]");
+    assertThat(entity.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+    assertThat(entity.getHeaders().getCacheControl()).isEqualTo("max-age=86400, public");
+    assertThat(entity.getHeaders().getETag()).isEqualTo(response.getETag());
+  }
+
+  @Test
+  void shouldDeriveStrongETagFromContent() {
+    final String eTag = StaticJsonResponse.of(objectMapper, List.of("a"), CACHE_CONTROL).getETag();
+
+    assertThat(eTag).matches("\"[0-9a-f]{32}\"");
+    assertThat(StaticJsonResponse.of(objectMapper, List.of("a"), CACHE_CONTROL).getETag())
+        .isEqualTo(eTag);
+    assertThat(StaticJsonResponse.of(objectMapper, List.of("b"), CACHE_CONTROL).getETag())
+        .isNotEqualTo(eTag);
+  }
+
+  @Test
+  void shouldRejectUnserializableValue() {
+    assertThatThrownBy(() -> StaticJsonResponse.of(objectMapper, new Object(), CACHE_CONTROL))
+        .isInstanceOf(IllegalStateException.class);
+  }
+}
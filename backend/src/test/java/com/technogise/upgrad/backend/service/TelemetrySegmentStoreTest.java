@@ -0,0 +1,323 @@
+package com.technogise.upgrad.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.technogise.upgrad.backend.config.TelemetryConfig;
+import com.technogise.upgrad.backend.constants.TelemetryEventType;
+import com.technogise.upgrad.backend.dto.EngagementIngestResult;
+import com.technogise.upgrad.backend.dto.TelemetryCursor;
+import com.technogise.upgrad.backend.dto.TelemetryEventRequest;
+import com.technogise.upgrad.backend.dto.TelemetryRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TelemetrySegmentStoreTest {
+
+  private static final UUID USER_ID = UUID.randomUUID();
+  private static final UUID CONTENT_ID = UUID.randomUUID();
+  private static final int RECORDS_PER_SEGMENT = 4;
+
+  @TempDir Path directory;
+
+  private final SteppingClock clock = new SteppingClock();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final List<TelemetrySegmentStore> stores = new ArrayList<>();
+  private TelemetryConfig config;
+
+  @BeforeEach
+  void setUp() {
+    config = new TelemetryConfig();
+    config.setDirectory(directory.toString());
+    config.setSegmentSizeBytes(
+        TelemetrySegment.headerSize() + RECORDS_PER_SEGMENT * TelemetrySegment.recordSize());
+    config.setRetentionHours(1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    stores.forEach(TelemetrySegmentStore::shutdown);
+  }
+
+  private TelemetrySegmentStore openStore() throws IOException {
+    final TelemetrySegmentStore store = new TelemetrySegmentStore(config, clock, meterRegistry);
+    store.start();
+    stores.add(store);
+    return store;
+  }
+
+  private static TelemetryRecord record(final int value) {
+    return new TelemetryRecord(
+        USER_ID,
+        CONTENT_ID,
+        TelemetryEventType.BITRATE_SWITCH,
+        value / 2,
+        value,
+        Instant.parse("2026-10-19T10:15:30.123Z").plusMillis(value));
+  }
+
+  private static List<TelemetryRecord> records(final int from, final int to) {
+    return IntStream.range(from, to).mapToObj(TelemetrySegmentStoreTest::record).toList();
+  }
+
+  private static List<TelemetryRecord> scanAll(final TelemetrySegmentStore store) {
+    final List<TelemetryRecord> read = new ArrayList<>();
+    store.scan(TelemetryCursor.START, Integer.MAX_VALUE, read::add);
+    return read;
+  }
+
+  private long segmentFiles() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.count();
+    }
+  }
+
+  @Test
+  void shouldReadBackRecordsInAppendOrder() throws IOException {
+    final TelemetrySegmentStore store = openStore();
+
+    assertThat(store.append(records(0, 3))).isEqualTo(3);
+
+    assertThat(scanAll(store)).containsExactlyElementsOf(records(0, 3));
+    assertThat(
+            meterRegistry
+                .get(TelemetrySegmentStore.METRIC_NAME)
+                .tag("outcome", "appended")
+                .counter()
+                .count())
+        .isEqualTo(3.0);
+  }
+
+  @Test
+  void shouldRollToNewSegmentWhenFull() throws IOException {
+    final TelemetrySegmentStore store = openStore();
+
+    store.append(records(0, 10));
+
+    assertThat(segmentFiles()).isEqualTo(3);
+    assertThat(scanAll(store)).containsExactlyElementsOf(records(0, 10));
+  }
+
+  @Test
+  void shouldResumeScanFromReturnedCursor() throws IOException {
+    final TelemetrySegmentStore store = openStore();
+    store.append(records(0, 6));
+    final List<TelemetryRecord> read = new ArrayList<>();
+
+    final TelemetryCursor first = store.scan(TelemetryCursor.START, 5, read::add);
+    assertThat(read).containsExactlyElementsOf(records(0, 5));
+
+    store.append(records(6, 9));
+    final TelemetryCursor second = store.scan(first, 100, read::add);
+    assertThat(read).containsExactlyElementsOf(records(0, 9));
+
+    assertThat(store.scan(second, 100, read::add)).isEqualTo(second);
+    assertThat(read).hasSize(9);
+  }
+
+  @Test
+  void shouldAppendToNewSegmentAfterRestart() throws IOException {
+    final TelemetrySegmentStore first = openStore();
+    first.append(records(0, 6));
+    first.shutdown();
+
+    final TelemetrySegmentStore second = openStore();
+    second.append(records(6, 8));
+
+    // The second segment had room for two more records, but it is sealed.
+    assertThat(segmentFiles()).isEqualTo(3);
+    assertThat(scanAll(second)).containsExactlyElementsOf(records(0, 8));
+  }
+
+  @Test
+  void shouldKeepRecordsPublishedAfterAHoleAcrossRestart() throws IOException {
+    final TelemetrySegmentStore first = openStore();
+    first.append(records(0, 3));
+    first.shutdown();
+    // A writer that died after claiming the second slot never published its length.
+    try (FileChannel channel =
+        FileChannel.open(TelemetrySegment.fileName(directory, 0), StandardOpenOption.WRITE)) {
+      channel.write(
+          ByteBuffer.allocate(Integer.BYTES),
+          TelemetrySegment.headerSize() + TelemetrySegment.recordSize());
+    }
+
+    final TelemetrySegmentStore second = openStore();
+    second.append(records(3, 5));
+
+    assertThat(scanAll(second)).containsExactly(record(0), record(2), record(3), record(4));
+  }
+
+  @Test
+  void shouldKeepEveryRecordFromConcurrentWriters() throws Exception {
+    config.setSegmentSizeBytes(TelemetrySegment.headerSize() + 100 * TelemetrySegment.recordSize());
+    final TelemetrySegmentStore store = openStore();
+    final int writers = 8;
+    final int perWriter = 2_000;
+    final ExecutorService executor = Executors.newFixedThreadPool(writers);
+    final CountDownLatch start = new CountDownLatch(1);
+    try {
+      final List<Future<?>> futures = new ArrayList<>();
+      for (int w = 0; w < writers; w++) {
+        final int writer = w;
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  for (int i = 0; i < perWriter; i++) {
+                    store.append(List.of(record(writer * perWriter + i)));
+                  }
+                  return null;
+                }));
+      }
+      start.countDown();
+      for (final Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    final Set<Integer> values = new HashSet<>();
+    scanAll(store).forEach(read -> assertThat(values.add(read.value())).isTrue());
+    assertThat(values).hasSize(writers * perWriter);
+  }
+
+  @Test
+  void shouldDeleteSegmentsOlderThanRetention() throws IOException {
+    final TelemetrySegmentStore store = openStore();
+    store.append(records(0, 4));
+    clock.advance(Duration.ofMinutes(30));
+    store.append(records(4, 8));
+    clock.advance(Duration.ofMinutes(30));
+    store.append(records(8, 9));
+
+    // The first segment was filled before the second was created, 30 minutes ago.
+    assertThat(store.purgeExpired()).isZero();
+    clock.advance(Duration.ofMinutes(30));
+    assertThat(store.purgeExpired()).isEqualTo(1);
+
+    assertThat(segmentFiles()).isEqualTo(2);
+    assertThat(scanAll(store)).containsExactlyElementsOf(records(4, 9));
+    // The active segment is never deleted.
+    clock.advance(Duration.ofDays(1));
+    assertThat(store.purgeExpired()).isEqualTo(1);
+    assertThat(scanAll(store)).containsExactlyElementsOf(records(8, 9));
+  }
+
+  @Test
+  void shouldSkipToOldestRetainedSegmentForExpiredCursor() throws IOException {
+    final TelemetrySegmentStore store = openStore();
+    store.append(records(0, 6));
+    final TelemetryCursor cursor = store.scan(TelemetryCursor.START, 2, record -> {});
+    clock.advance(Duration.ofHours(2));
+    store.append(records(6, 9));
+    store.purgeExpired();
+
+    final List<TelemetryRecord> read = new ArrayList<>();
+    store.scan(cursor, 100, read::add);
+
+    assertThat(read).containsExactlyElementsOf(records(4, 9));
+  }
+
+  @Test
+  void shouldStampEventsWithoutClientTime() throws IOException {
+    final TelemetrySegmentStore store = openStore();
+
+    final EngagementIngestResult result =
+        store.submit(
+            USER_ID,
+            List.of(
+                new TelemetryEventRequest(
+                    CONTENT_ID, TelemetryEventType.BUFFERING, 42, 850, null)));
+
+    assertThat(result).isEqualTo(new EngagementIngestResult(1, 0));
+    assertThat(scanAll(store))
+        .containsExactly(
+            new TelemetryRecord(
+                USER_ID, CONTENT_ID, TelemetryEventType.BUFFERING, 42, 850, clock.instant()));
+  }
+
+  @Test
+  void shouldDropTelemetryWhenNoDirectoryIsConfigured() throws IOException {
+    config.setDirectory("");
+    final TelemetrySegmentStore store = openStore();
+
+    assertThat(store.isEnabled()).isFalse();
+    assertThat(store.append(records(0, 2))).isZero();
+    assertThat(scanAll(store)).isEmpty();
+    assertThat(
+            meterRegistry
+                .get(TelemetrySegmentStore.METRIC_NAME)
+                .tag("outcome", "dropped")
+                .counter()
+                .count())
+        .isEqualTo(2.0);
+  }
+
+  @Test
+  void shouldRejectSegmentsTooSmallForARecord() {
+    config.setSegmentSizeBytes(TelemetrySegment.headerSize());
+
+    assertThatThrownBy(this::openStore).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void shouldSkipFilesThatAreNotSegments() throws IOException {
+    Files.writeString(directory.resolve("00000000000000000007.seg"), "not a segment");
+    Files.writeString(directory.resolve("README"), "notes");
+
+    final TelemetrySegmentStore store = openStore();
+    store.append(records(0, 1));
+
+    assertThat(scanAll(store)).containsExactly(record(0));
+  }
+
+  private static final class SteppingClock extends Clock {
+    private volatile Instant instant = Instant.parse("2026-10-19T00:00:00Z");
+
+    void advance(final Duration duration) {
+      instant = instant.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
@@ -0,0 +1,307 @@
+package com.technogise.upgrad.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sun.net.httpserver.HttpServer;
+import com.technogise.upgrad.backend.config.MediaStorageConfig;
+import com.technogise.upgrad.backend.config.ThumbnailConfig;
+import com.technogise.upgrad.backend.dto.ThumbnailBackfillReport;
+import com.technogise.upgrad.backend.dto.ThumbnailSource;
+import com.technogise.upgrad.backend.entity.ThumbnailDerivative;
+import com.technogise.upgrad.backend.repository.ContentRepository;
+import com.technogise.upgrad.backend.repository.ThumbnailDerivativeRepository;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class ThumbnailServiceTest {
+
+  @Mock private ContentRepository contentRepository;
+  @Mock private ThumbnailDerivativeRepository derivativeRepository;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  @TempDir private Path tempDir;
+
+  private Path mediaRoot;
+  private Path outputDir;
+  private ThumbnailConfig config;
+  private ThumbnailService thumbnailService;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    mediaRoot = Files.createDirectories(tempDir.resolve("media"));
+    outputDir = tempDir.resolve("thumbnails");
+
+    final MediaStorageConfig storageConfig = new MediaStorageConfig();
+    storageConfig.setRootDir(mediaRoot.toString());
+    config = new ThumbnailConfig();
+    config.setOutputDir(outputDir.toString());
+    config.setWidths(List.of(160, 320, 640));
+    config.setPoolSize(2);
+    config.setQueueCapacity(2);
+
+    thumbnailService =
+        new ThumbnailService(
+            config,
+            contentRepository,
+            derivativeRepository,
+            new LocalMediaStore(storageConfig),
+            transactionManager);
+  }
+
+  @AfterEach
+  void tearDown() {
+    thumbnailService.shutdown();
+  }
+
+  private void writeImage(final String name, final int width, final int height) throws IOException {
+    final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    final Graphics2D graphics = image.createGraphics();
+    graphics.setColor(Color.ORANGE);
+    graphics.fillRect(0, 0, width / 2, height);
+    graphics.dispose();
+    ImageIO.write(image, "png", mediaRoot.resolve(name).toFile());
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<ThumbnailDerivative> capturedDerivatives() {
+    final ArgumentCaptor<List<ThumbnailDerivative>> captor = ArgumentCaptor.forClass(List.class);
+    verify(derivativeRepository).saveAll(captor.capture());
+    return captor.getValue();
+  }
+
+  @Test
+  void shouldGenerateOneDerivativePerWidthClass() throws IOException {
+    writeImage("python.png", 1280, 720);
+    final UUID contentId = UUID.randomUUID();
+    when(contentRepository.findThumbnailSources(any(Pageable.class)))
+        .thenReturn(List.of(new ThumbnailSource(contentId, "python.png")));
+
+    final ThumbnailBackfillReport report = thumbnailService.backfill();
+
+    assertThat(report).isEqualTo(new ThumbnailBackfillReport(1, 1, 0, 0));
+    verify(derivativeRepository).deleteByContentId(contentId);
+    final List<ThumbnailDerivative> derivatives = capturedDerivatives();
+    assertThat(derivatives)
+        .extracting(ThumbnailDerivative::getWidth)
+        .containsExactly(160, 320, 640);
+    for (final ThumbnailDerivative derivative : derivatives) {
+      assertThat(derivative.getContentId()).isEqualTo(contentId);
+      assertThat(derivative.getSourceUrl()).isEqualTo("python.png");
+      assertThat(derivative.getFileName()).matches("[0-9a-f]{64}\\.jpg");
+      final BufferedImage rendered =
+          ImageIO.read(outputDir.resolve(derivative.getFileName()).toFile());
+      assertThat(rendered.getWidth()).isEqualTo(derivative.getWidth());
+      assertThat(rendered.getHeight()).isEqualTo(derivative.getWidth() * 9 / 16);
+    }
+  }
+
+  @Test
+  void shouldNotUpscaleSmallSourcesAndShareIdenticalFiles() throws IOException {
+    writeImage("small.png", 200, 100);
+    when(contentRepository.findThumbnailSources(any(Pageable.class)))
+        .thenReturn(List.of(new ThumbnailSource(UUID.randomUUID(), "small.png")));
+
+    thumbnailService.backfill();
+
+    final List<ThumbnailDerivative> derivatives = capturedDerivatives();
+    assertThat(derivatives.get(1).getFileName()).isEqualTo(derivatives.get(2).getFileName());
+    assertThat(
+            ImageIO.read(outputDir.resolve(derivatives.get(2).getFileName()).toFile()).getWidth())
+        .isEqualTo(200);
+    try (var files = Files.list(outputDir)) {
+      assertThat(files.filter(file -> file.toString().endsWith(".jpg"))).hasSize(2);
+    }
+  }
+
+  @Test
+  void shouldSkipContentWhoseDerivativesAreUpToDate() throws IOException {
+    writeImage("python.png", 640, 360);
+    final UUID contentId = UUID.randomUUID();
+    final ThumbnailSource source = new ThumbnailSource(contentId, "python.png");
+    when(contentRepository.findThumbnailSources(any(Pageable.class))).thenReturn(List.of(source));
+    thumbnailService.backfill();
+    final List<ThumbnailDerivative> derivatives = capturedDerivatives();
+    when(derivativeRepository.findByContentIdInOrderByWidthAsc(anyCollection()))
+        .thenReturn(derivatives);
+
+    final ThumbnailBackfillReport report = thumbnailService.backfill();
+
+    assertThat(report).isEqualTo(new ThumbnailBackfillReport(1, 0, 1, 0));
+  }
+
+  @Test
+  void shouldRegenerateWhenSourceUrlChanged() throws IOException {
+    writeImage("python-v2.png", 640, 360);
+    Files.createDirectories(outputDir);
+    Files.write(outputDir.resolve("old.jpg"), new byte[] {1});
+    final UUID contentId = UUID.randomUUID();
+    when(contentRepository.findThumbnailSources(any(Pageable.class)))
+        .thenReturn(List.of(new ThumbnailSource(contentId, "python-v2.png")));
+    when(derivativeRepository.findByContentIdInOrderByWidthAsc(anyCollection()))
+        .thenReturn(
+            List.of(160, 320, 640).stream()
+                .map(
+                    width ->
+                        ThumbnailDerivative.builder()
+                            .contentId(contentId)
+                            .width(width)
+                            .fileName("old.jpg")
+                            .sourceUrl("python-v1.png")
+                            .build())
+                .toList());
+
+    final ThumbnailBackfillReport report = thumbnailService.backfill();
+
+    assertThat(report.generated()).isEqualTo(1);
+    assertThat(capturedDerivatives()).allMatch(d -> "python-v2.png".equals(d.getSourceUrl()));
+    assertThat(outputDir.resolve("old.jpg")).doesNotExist();
+  }
+
+  @Test
+  void shouldKeepSupersededFilesStillUsedByOtherContent() throws IOException {
+    writeImage("python-v2.png", 640, 360);
+    Files.createDirectories(outputDir);
+    Files.write(outputDir.resolve("shared.jpg"), new byte[] {1});
+    final UUID contentId = UUID.randomUUID();
+    when(contentRepository.findThumbnailSources(any(Pageable.class)))
+        .thenReturn(List.of(new ThumbnailSource(contentId, "python-v2.png")));
+    when(derivativeRepository.findByContentIdInOrderByWidthAsc(anyCollection()))
+        .thenReturn(
+            List.of(
+                ThumbnailDerivative.builder()
+                    .contentId(contentId)
+                    .width(160)
+                    .fileName("shared.jpg")
+                    .sourceUrl("python-v1.png")
+                    .build()));
+    when(derivativeRepository.existsByFileName("shared.jpg")).thenReturn(true);
+
+    thumbnailService.backfill();
+
+    assertThat(outputDir.resolve("shared.jpg")).exists();
+  }
+
+  @Test
+  void shouldNotFetchFromHostsOutsideTheAllowList() {
+    when(contentRepository.findThumbnailSources(any(Pageable.class)))
+        .thenReturn(
+            List.of(
+                new ThumbnailSource(UUID.randomUUID(), "http://169.254.169.254/latest/meta-data"),
+                new ThumbnailSource(UUID.randomUUID(), "https:///no-host.png")));
+
+    final ThumbnailBackfillReport report = thumbnailService.backfill();
+
+    assertThat(report).isEqualTo(new ThumbnailBackfillReport(2, 0, 0, 2));
+    verify(derivativeRepository, never()).saveAll(any());
+  }
+
+  @Test
+  void shouldNotFollowRedirectsFromAllowedHosts() throws IOException {
+    final AtomicInteger internalHits = new AtomicInteger();
+    final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext(
+        "/thumb.png",
+        exchange -> {
+          exchange.getResponseHeaders().add("Location", "/internal");
+          exchange.sendResponseHeaders(302, -1);
+          exchange.close();
+        });
+    server.createContext(
+        "/internal",
+        exchange -> {
+          internalHits.incrementAndGet();
+          exchange.sendResponseHeaders(404, -1);
+          exchange.close();
+        });
+    server.start();
+    try {
+      config.setAllowedHosts(List.of("LOCALHOST"));
+      final String url = "http://localhost:" + server.getAddress().getPort() + "/thumb.png";
+      when(contentRepository.findThumbnailSources(any(Pageable.class)))
+          .thenReturn(List.of(new ThumbnailSource(UUID.randomUUID(), url)));
+
+      final ThumbnailBackfillReport report = thumbnailService.backfill();
+
+      assertThat(report.failed()).isEqualTo(1);
+      assertThat(internalHits).hasValue(0);
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  @Test
+  void shouldCountUnreadableSourcesAsFailures() throws IOException {
+    Files.write(mediaRoot.resolve("broken.png"), new byte[] {1, 2, 3});
+    when(contentRepository.findThumbnailSources(any(Pageable.class)))
+        .thenReturn(
+            List.of(
+                new ThumbnailSource(UUID.randomUUID(), "broken.png"),
+                new ThumbnailSource(UUID.randomUUID(), "missing.png")));
+
+    final ThumbnailBackfillReport report = thumbnailService.backfill();
+
+    assertThat(report).isEqualTo(new ThumbnailBackfillReport(2, 0, 0, 2));
+    verify(derivativeRepository, never()).saveAll(any());
+  }
+
+  @Test
+  void shouldBuildSrcsetsOrderedByWidth() {
+    final UUID contentId = UUID.randomUUID();
+    when(derivativeRepository.findByContentIdInOrderByWidthAsc(List.of(contentId)))
+        .thenReturn(
+            List.of(
+                ThumbnailDerivative.builder()
+                    .contentId(contentId)
+                    .width(320)
+                    .fileName("a.jpg")
+                    .build(),
+                ThumbnailDerivative.builder()
+                    .contentId(contentId)
+                    .width(640)
+                    .fileName("b.jpg")
+                    .build()));
+
+    final Map<UUID, String> srcsets = thumbnailService.findSrcsets(List.of(contentId));
+
+    assertThat(srcsets)
+        .containsEntry(contentId, "/api/thumbnails/a.jpg 320w, /api/thumbnails/b.jpg 640w");
+    assertThat(thumbnailService.findSrcsets(List.of())).isEmpty();
+  }
+
+  @Test
+  void shouldOnlyResolveDerivativeFileNames() throws IOException {
+    final String fileName = "b".repeat(64) + ".jpg";
+    Files.createDirectories(outputDir);
+    Files.write(outputDir.resolve(fileName), new byte[] {1});
+
+    assertThat(thumbnailService.findFile(fileName)).contains(outputDir.resolve(fileName));
+    assertThat(thumbnailService.findFile("c".repeat(64) + ".jpg")).isEmpty();
+    assertThat(thumbnailService.findFile("../secret.jpg")).isEmpty();
+  }
+}
@@ -0,0 +1,134 @@
+package com.technogise.upgrad.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.technogise.upgrad.backend.config.WatchHistoryExportConfig;
+import com.technogise.upgrad.backend.constants.ManifestFormat;
+import com.technogise.upgrad.backend.dto.WatchHistoryExportRow;
+import com.technogise.upgrad.backend.repository.WatchHistoryRepository;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class WatchHistoryExportServiceTest {
+
+  private static final LocalDateTime WATCHED_AT = LocalDateTime.of(2026, 10, 19, 8, 30, 15);
+  private static final UUID USER_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+  private static final UUID CONTENT_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+  @Mock private WatchHistoryRepository watchHistoryRepository;
+
+  private final ObjectMapper objectMapper =
+      JsonMapper.builder()
+          .findAndAddModules()
+          .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+          .build();
+  private WatchHistoryExportConfig config;
+  private WatchHistoryExportService service;
+
+  @BeforeEach
+  void setUp() {
+    config = new WatchHistoryExportConfig();
+    service = new WatchHistoryExportService(watchHistoryRepository, config, objectMapper);
+  }
+
+  private void givenRows(final LocalDateTime since, final WatchHistoryExportRow... rows) {
+    when(watchHistoryRepository.findExportPage(eq(since), isNull(), eq(config.getPageSize())))
+        .thenReturn(List.of(rows));
+  }
+
+  private static WatchHistoryExportRow row(final String title, final String feedback) {
+    return new WatchHistoryExportRow(
+        USER_ID, CONTENT_ID, title, "PYTHON", 3, 600, 45, 270, feedback, WATCHED_AT);
+  }
+
+  @Test
+  void shouldWriteCsvWithHeaderAndQuotedFields() throws IOException {
+    givenRows(null, row("Plain", "HELPFUL"), row("Lists, \"tuples\"", null));
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    final long rows = service.export(ManifestFormat.CSV, null, out);
+
+    assertThat(rows).isEqualTo(2);
+    assertThat(out.toString(StandardCharsets.UTF_8).split("\n"))
+        .containsExactly(
+            "userId,contentId,title,category,episodeNumber,durationSeconds,progressPercent,"
+                + "lastWatchedPosition,feedback,lastWatchedAt",
+            USER_ID + "," + CONTENT_ID + ",Plain,PYTHON,3,600,45,270,HELPFUL,2026-10-19T08:30:15",
+            USER_ID
+                + ","
+                + CONTENT_ID
+                + ",\"Lists, \"\"tuples\"\"\",PYTHON,3,600,45,270,,2026-10-19T08:30:15");
+  }
+
+  @Test
+  void shouldWriteOneJsonObjectPerLine() throws IOException {
+    final LocalDateTime since = WATCHED_AT.minusDays(1);
+    givenRows(since, row("First", null), row("Second\nLine", "NOT_HELPFUL"));
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    final long rows = service.export(ManifestFormat.JSON_LINES, since, out);
+
+    assertThat(rows).isEqualTo(2);
+    final List<String> lines = List.of(out.toString(StandardCharsets.UTF_8).split("\n"));
+    assertThat(lines).hasSize(2);
+    final JsonNode second = objectMapper.readTree(lines.get(1));
+    assertThat(second.get("title").asText()).isEqualTo("Second\nLine");
+    assertThat(second.get("feedback").asText()).isEqualTo("NOT_HELPFUL");
+    assertThat(second.get("lastWatchedAt").asText()).isEqualTo("2026-10-19T08:30:15");
+    assertThat(objectMapper.readTree(lines.get(0)).get("feedback").isNull()).isTrue();
+  }
+
+  @Test
+  void shouldPageFromTheLastRowOfEachFullPage() throws IOException {
+    config.setPageSize(2);
+    final WatchHistoryExportRow second = row("Second", null);
+    when(watchHistoryRepository.findExportPage(null, null, 2))
+        .thenReturn(List.of(row("First", null), second));
+    when(watchHistoryRepository.findExportPage(null, second, 2))
+        .thenReturn(List.of(row("Third", null)));
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    final long rows = service.export(ManifestFormat.CSV, null, out);
+
+    assertThat(rows).isEqualTo(3);
+    assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).hasSize(4);
+    verify(watchHistoryRepository).findExportPage(null, second, 2);
+  }
+
+  @Test
+  void shouldStopAndRethrowWhenClientGoesAway() {
+    // Longer than the writer's buffer, so the row reaches the stream while the cursor is open.
+    givenRows(null, row("x".repeat(10_000), null), row("Second", null));
+    final OutputStream closed =
+        new OutputStream() {
+          @Override
+          public void write(final int b) throws IOException {
+            throw new IOException("Broken pipe");
+          }
+        };
+
+    assertThatThrownBy(() -> service.export(ManifestFormat.CSV, null, closed))
+        .isInstanceOf(IOException.class)
+        .hasMessage("Broken pipe");
+  }
+}
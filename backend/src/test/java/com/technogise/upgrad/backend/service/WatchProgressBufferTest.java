@@ -0,0 +1,332 @@
+package com.technogise.upgrad.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.technogise.upgrad.backend.config.WatchProgressBufferConfig;
+import com.technogise.upgrad.backend.dto.WatchProgressUpdate;
+import com.technogise.upgrad.backend.repository.WatchHistoryRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+
+@ExtendWith(MockitoExtension.class)
+class WatchProgressBufferTest {
+
+  private static final Logger log = LoggerFactory.getLogger(WatchProgressBufferTest.class);
+
+  @Mock private WatchHistoryRepository watchHistoryRepository;
+
+  private final SteppingClock clock = new SteppingClock();
+  private WatchProgressBufferConfig config;
+  private WatchProgressBuffer buffer;
+
+  @BeforeEach
+  void setUp() {
+    config = new WatchProgressBufferConfig();
+    config.setBatchSize(2);
+    buffer = new WatchProgressBuffer(config, watchHistoryRepository, clock);
+  }
+
+  @AfterEach
+  void tearDown() {
+    buffer.shutdown();
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<List<WatchProgressUpdate>> writtenBatches(final int times) {
+    final ArgumentCaptor<List<WatchProgressUpdate>> captor = ArgumentCaptor.forClass(List.class);
+    verify(watchHistoryRepository, times(times)).upsertProgress(captor.capture());
+    return captor.getAllValues();
+  }
+
+  @Test
+  void shouldKeepOnlyLatestPositionPerViewerAndContent() {
+    final UUID userId = UUID.randomUUID();
+    final UUID contentId = UUID.randomUUID();
+
+    buffer.record(userId, contentId, 10, 60);
+    clock.advance(Duration.ofSeconds(5));
+    buffer.record(userId, contentId, 20, 120);
+
+    assertThat(buffer.find(userId, contentId))
+        .map(WatchProgressUpdate::lastWatchedPosition)
+        .contains(120);
+    assertThat(buffer.flush()).isEqualTo(1);
+    final WatchProgressUpdate written = writtenBatches(1).get(0).get(0);
+    assertThat(written.progressPercent()).isEqualTo(20);
+    assertThat(written.lastWatchedAt()).isEqualTo(clock.now());
+    assertThat(buffer.find(userId, contentId)).isEmpty();
+  }
+
+  @Test
+  void shouldWriteInBatchesOfConfiguredSizeSortedByKey() {
+    final UUID contentId = UUID.randomUUID();
+    for (int i = 0; i < 5; i++) {
+      buffer.record(UUID.randomUUID(), contentId, i, i);
+    }
+
+    assertThat(buffer.flush()).isEqualTo(5);
+
+    final List<List<WatchProgressUpdate>> batches = writtenBatches(3);
+    assertThat(batches).extracting(List::size).containsExactly(2, 2, 1);
+    final List<UUID> users =
+        batches.stream().flatMap(List::stream).map(WatchProgressUpdate::userId).toList();
+    assertThat(users).isSorted();
+  }
+
+  @Test
+  void shouldExposeInflightPositionsWhileTheirBatchIsWritten() {
+    final UUID userId = UUID.randomUUID();
+    final UUID contentId = UUID.randomUUID();
+    buffer.record(userId, contentId, 30, 180);
+    final List<Optional<WatchProgressUpdate>> seenDuringWrite = new ArrayList<>();
+    when(watchHistoryRepository.upsertProgress(anyList()))
+        .thenAnswer(
+            invocation -> {
+              seenDuringWrite.add(buffer.find(userId, contentId));
+              return new int[] {1};
+            });
+
+    buffer.flush();
+
+    assertThat(seenDuringWrite.get(0)).map(WatchProgressUpdate::progressPercent).contains(30);
+    assertThat(buffer.find(userId, contentId)).isEmpty();
+  }
+
+  @Test
+  void shouldDropRowsForDeletedContentAndRequeueTransientFailures() {
+    final UUID userId = UUID.randomUUID();
+    final UUID deleted = UUID.randomUUID();
+    final UUID busy = UUID.randomUUID();
+    buffer.record(userId, deleted, 10, 60);
+    buffer.record(userId, busy, 20, 120);
+    final WatchProgressUpdate deletedRow = buffer.find(userId, deleted).orElseThrow();
+    final WatchProgressUpdate busyRow = buffer.find(userId, busy).orElseThrow();
+    doThrow(new QueryTimeoutException("timeout"))
+        .when(watchHistoryRepository)
+        .upsertProgress(anyList());
+    doThrow(new DataIntegrityViolationException("fk"))
+        .when(watchHistoryRepository)
+        .upsertProgress(List.of(deletedRow));
+
+    assertThat(buffer.flush()).isZero();
+
+    assertThat(buffer.find(userId, deleted)).isEmpty();
+    assertThat(buffer.find(userId, busy)).contains(busyRow);
+  }
+
+  @Test
+  void shouldNotLetRequeuedPositionOverwriteNewerHeartbeat() {
+    final UUID userId = UUID.randomUUID();
+    final UUID contentId = UUID.randomUUID();
+    buffer.record(userId, contentId, 10, 60);
+    when(watchHistoryRepository.upsertProgress(anyList()))
+        .thenAnswer(
+            invocation -> {
+              clock.advance(Duration.ofSeconds(5));
+              buffer.record(userId, contentId, 20, 120);
+              throw new QueryTimeoutException("timeout");
+            });
+
+    buffer.flush();
+
+    assertThat(buffer.find(userId, contentId))
+        .map(WatchProgressUpdate::progressPercent)
+        .contains(20);
+  }
+
+  @Test
+  void shouldFlushSingleEntryOnDemand() {
+    final UUID userId = UUID.randomUUID();
+    final UUID contentId = UUID.randomUUID();
+    final UUID other = UUID.randomUUID();
+    buffer.record(userId, contentId, 50, 300);
+    buffer.record(userId, other, 5, 30);
+
+    buffer.flushEntry(userId, contentId);
+    buffer.flushEntry(userId, UUID.randomUUID());
+
+    assertThat(writtenBatches(1).get(0))
+        .singleElement()
+        .extracting(WatchProgressUpdate::contentId)
+        .isEqualTo(contentId);
+    assertThat(buffer.find(userId, other)).isPresent();
+  }
+
+  @Test
+  void shouldDiscardPositionsSupersededElsewhere() {
+    final UUID userId = UUID.randomUUID();
+    final UUID contentId = UUID.randomUUID();
+    buffer.record(userId, contentId, 10, 60);
+    final WatchProgressUpdate buffered = buffer.find(userId, contentId).orElseThrow();
+
+    buffer.discard(
+        List.of(new WatchProgressUpdate(userId, contentId, 40, 240, buffered.lastWatchedAt())));
+
+    assertThat(buffer.find(userId, contentId)).isEmpty();
+    assertThat(buffer.flush()).isZero();
+  }
+
+  @Test
+  void shouldKeepPositionsNewerThanAnOlderReplay() {
+    final UUID userId = UUID.randomUUID();
+    final UUID contentId = UUID.randomUUID();
+    buffer.record(userId, contentId, 10, 60);
+    final LocalDateTime recordedAt = buffer.find(userId, contentId).orElseThrow().lastWatchedAt();
+
+    buffer.discard(
+        List.of(new WatchProgressUpdate(userId, contentId, 90, 540, recordedAt.minusMinutes(5))));
+
+    assertThat(buffer.find(userId, contentId))
+        .get()
+        .extracting(WatchProgressUpdate::progressPercent)
+        .isEqualTo(10);
+  }
+
+  @Test
+  void shouldFlushEarlyWhenBufferIsFull() {
+    config.setEnabled(true);
+    config.setFlushIntervalMs(Duration.ofHours(1).toMillis());
+    config.setMaxEntries(3);
+    buffer.start();
+
+    buffer.record(UUID.randomUUID(), UUID.randomUUID(), 1, 1);
+    buffer.record(UUID.randomUUID(), UUID.randomUUID(), 1, 1);
+    verify(watchHistoryRepository, never()).upsertProgress(anyList());
+    buffer.record(UUID.randomUUID(), UUID.randomUUID(), 1, 1);
+
+    verify(watchHistoryRepository, timeout(5_000).times(2)).upsertProgress(anyList());
+  }
+
+  @Test
+  void shouldFlushRemainingPositionsOnShutdown() {
+    config.setEnabled(true);
+    config.setFlushIntervalMs(Duration.ofHours(1).toMillis());
+    buffer.start();
+    buffer.record(UUID.randomUUID(), UUID.randomUUID(), 1, 1);
+
+    buffer.shutdown();
+
+    verify(watchHistoryRepository).upsertProgress(anyList());
+  }
+
+  /**
+   * Drives a simulated minute of 10k concurrent viewers, each sending a heartbeat every 5 seconds
+   * from several request threads, with a flush every 10 seconds. Without the buffer each heartbeat
+   * is its own transaction of four statements (load user, load content, load history, write).
+   */
+  @Test
+  void shouldCoalesceHeartbeatsFromTenThousandViewers() {
+    final int viewers = 10_000;
+    final int heartbeatSeconds = 5;
+    final int flushSeconds = 10;
+    final int simulatedSeconds = 60;
+    config.setBatchSize(1000);
+    config.setMaxEntries(viewers * 2);
+    final AtomicLong rowsWritten = new AtomicLong();
+    final AtomicLong batches = new AtomicLong();
+    when(watchHistoryRepository.upsertProgress(anyList()))
+        .thenAnswer(
+            invocation -> {
+              final List<?> batch = invocation.getArgument(0);
+              rowsWritten.addAndGet(batch.size());
+              batches.incrementAndGet();
+              return new int[batch.size()];
+            });
+    final UUID[] users =
+        IntStream.range(0, viewers).mapToObj(i -> UUID.randomUUID()).toArray(UUID[]::new);
+    final UUID[] contents =
+        IntStream.range(0, 50).mapToObj(i -> UUID.randomUUID()).toArray(UUID[]::new);
+
+    long heartbeats = 0;
+    for (int second = 1; second <= simulatedSeconds; second++) {
+      clock.advance(Duration.ofSeconds(1));
+      final int slot = second % heartbeatSeconds;
+      final int position = second;
+      // Viewers are spread evenly over the heartbeat interval.
+      IntStream.range(0, viewers)
+          .parallel()
+          .filter(viewer -> viewer % heartbeatSeconds == slot)
+          .forEach(
+              viewer ->
+                  buffer.record(
+                      users[viewer], contents[viewer % contents.length], position / 6, position));
+      heartbeats += viewers / heartbeatSeconds;
+      if (second % flushSeconds == 0) {
+        buffer.flush();
+      }
+    }
+
+    final double heartbeatsPerSecond = (double) heartbeats / simulatedSeconds;
+    final double rowsPerSecond = (double) rowsWritten.get() / simulatedSeconds;
+    final double batchesPerSecond = (double) batches.get() / simulatedSeconds;
+    log.info(
+        "{} viewers: {} heartbeats/s; unbuffered {} transactions/s ({} statements/s); "
+            + "buffered {} rows/s in {} batches/s",
+        viewers,
+        heartbeatsPerSecond,
+        heartbeatsPerSecond,
+        heartbeatsPerSecond * 4,
+        rowsPerSecond,
+        batchesPerSecond);
+    assertThat(heartbeats).isEqualTo((long) viewers * simulatedSeconds / heartbeatSeconds);
+    // Every viewer is written exactly once per flush, whatever the heartbeat rate.
+    assertThat(rowsWritten.get()).isEqualTo((long) viewers * simulatedSeconds / flushSeconds);
+    assertThat(rowsPerSecond).isEqualTo(heartbeatsPerSecond * heartbeatSeconds / flushSeconds);
+    assertThat(batchesPerSecond).isLessThanOrEqualTo(1.0);
+  }
+
+  private static final class SteppingClock extends Clock {
+    private volatile Instant instant = Instant.parse("2026-01-01T00:00:00Z");
+
+    void advance(final Duration duration) {
+      instant = instant.plus(duration);
+    }
+
+    LocalDateTime now() {
+      return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
@@ -1,36 +1,68 @@
 package com.technogise.upgrad.backend.service;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import com.technogise.upgrad.backend.constants.Feedback;
+import com.technogise.upgrad.backend.constants.ProgressSyncStatus;
 import com.technogise.upgrad.backend.dto.EpisodeFeedbackRequest;
+import com.technogise.upgrad.backend.dto.FeedbackChange;
+import com.technogise.upgrad.backend.dto.WatchProgressBatchItemResult;
+import com.technogise.upgrad.backend.dto.WatchProgressBatchResponse;
 import com.technogise.upgrad.backend.dto.WatchProgressRequest;
 import com.technogise.upgrad.backend.dto.WatchProgressResponse;
+import com.technogise.upgrad.backend.dto.WatchProgressUpdate;
+import com.technogise.upgrad.backend.entity.Category;
 import com.technogise.upgrad.backend.entity.Content;
 import com.technogise.upgrad.backend.entity.User;
 import com.technogise.upgrad.backend.entity.WatchHistory;
+import com.technogise.upgrad.backend.event.ContentCompletedEvent;
 import com.technogise.upgrad.backend.exception.ResourceNotFoundException;
 import com.technogise.upgrad.backend.repository.ContentRepository;
-import com.technogise.upgrad.backend.repository.UserRepository;
 import com.technogise.upgrad.backend.repository.WatchHistoryRepository;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TimeZone;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @ExtendWith(MockitoExtension.class)
 class WatchProgressServiceTest {
 
+  private static final Instant NOW = Instant.parse("2026-03-02T10:15:30Z");
+
   @Mock private WatchHistoryRepository watchHistoryRepository;
   @Mock private ContentRepository contentRepository;
-  @Mock private UserRepository userRepository;
+  @Mock private WatchProgressBuffer watchProgressBuffer;
+  @Mock private FeedbackCounterService feedbackCounterService;
+  @Mock private WatchProgressThrottle watchProgressThrottle;
+  @Mock private ApplicationEventPublisher eventPublisher;
+  @Spy private Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
 
   @InjectMocks private WatchProgressService watchProgressService;
 
@@ -52,57 +84,150 @@ class WatchProgressServiceTest {
             .id(contentId)
             .title("Test Video")
             .description("Description")
-            .category("PYTHON_PROGRAMMING")
+            .category(Category.builder().id((short) 1).name("PYTHON_PROGRAMMING").build())
             .episodeNumber(1)
             .durationSeconds(600)
             .build();
   }
 
   @Test
-  void shouldCreateNewProgressWhenNoneExists() {
+  void shouldUpsertProgressInOneStatement() {
     WatchProgressRequest request = new WatchProgressRequest(contentId, 45, 270);
-
-    when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-    when(contentRepository.findById(contentId)).thenReturn(Optional.of(testContent));
-    when(watchHistoryRepository.findByUserIdAndContentId(userId, contentId))
-        .thenReturn(Optional.empty());
+    when(watchProgressThrottle.shouldPersist(userId, contentId, 45, 270)).thenReturn(true);
 
     watchProgressService.saveProgress(userId, request);
 
-    ArgumentCaptor<WatchHistory> captor = ArgumentCaptor.forClass(WatchHistory.class);
-    verify(watchHistoryRepository).save(captor.capture());
+    ArgumentCaptor<WatchProgressUpdate> captor = ArgumentCaptor.forClass(WatchProgressUpdate.class);
+    verify(watchHistoryRepository).upsertProgress(captor.capture());
+    verifyNoMoreInteractions(watchHistoryRepository);
 
-    WatchHistory saved = captor.getValue();
-    assertEquals(45, saved.getProgressPercent());
-    assertEquals(270, saved.getLastWatchedPosition());
-    assertEquals(testUser, saved.getUser());
-    assertEquals(testContent, saved.getContent());
+    WatchProgressUpdate saved = captor.getValue();
+    assertEquals(userId, saved.userId());
+    assertEquals(contentId, saved.contentId());
+    assertEquals(45, saved.progressPercent());
+    assertEquals(270, saved.lastWatchedPosition());
+    assertEquals(LocalDateTime.ofInstant(NOW, ZoneOffset.UTC), saved.lastWatchedAt());
   }
 
   @Test
-  void shouldUpdateExistingProgress() {
-    WatchProgressRequest request = new WatchProgressRequest(contentId, 80, 480);
+  void shouldRememberPersistedHeartbeatAsThrottleBaseline() {
+    when(watchProgressThrottle.shouldPersist(userId, contentId, 45, 270)).thenReturn(true);
 
-    WatchHistory existing =
-        WatchHistory.builder()
-            .id(UUID.randomUUID())
-            .user(testUser)
-            .content(testContent)
-            .progressPercent(45)
-            .lastWatchedPosition(270)
-            .lastWatchedAt(LocalDateTime.now().minusHours(1))
-            .build();
+    watchProgressService.saveProgress(userId, new WatchProgressRequest(contentId, 45, 270));
 
-    when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-    when(contentRepository.findById(contentId)).thenReturn(Optional.of(testContent));
-    when(watchHistoryRepository.findByUserIdAndContentId(userId, contentId))
-        .thenReturn(Optional.of(existing));
+    verify(watchProgressThrottle).persisted(userId, contentId, 45, 270);
+  }
 
-    watchProgressService.saveProgress(userId, request);
+  @Test
+  void shouldSkipWriteForThrottledHeartbeat() {
+    when(watchProgressThrottle.shouldPersist(userId, contentId, 45, 271)).thenReturn(false);
+
+    watchProgressService.saveProgress(userId, new WatchProgressRequest(contentId, 45, 271));
 
-    verify(watchHistoryRepository).save(existing);
-    assertEquals(80, existing.getProgressPercent());
-    assertEquals(480, existing.getLastWatchedPosition());
+    verifyNoInteractions(watchHistoryRepository, watchProgressBuffer);
+    verify(watchProgressThrottle, never()).persisted(any(), any(), anyInt(), anyInt());
+  }
+
+  @Test
+  void shouldPublishCompletionAfterWritingThroughBuffer() {
+    when(watchProgressThrottle.shouldPersist(userId, contentId, 100, 600)).thenReturn(true);
+    when(watchProgressBuffer.isEnabled()).thenReturn(true);
+    when(watchHistoryRepository.upsertProgress(any(WatchProgressUpdate.class))).thenReturn(1);
+
+    watchProgressService.saveProgress(userId, new WatchProgressRequest(contentId, 100, 600));
+
+    verify(watchProgressBuffer, never()).record(any(), any(), anyInt(), anyInt());
+    verify(watchProgressBuffer)
+        .discard(
+            List.of(
+                new WatchProgressUpdate(
+                    userId, contentId, 100, 600, LocalDateTime.ofInstant(NOW, ZoneOffset.UTC))));
+    ArgumentCaptor<ContentCompletedEvent> captor =
+        ArgumentCaptor.forClass(ContentCompletedEvent.class);
+    verify(eventPublisher).publishEvent(captor.capture());
+    assertEquals(userId, captor.getValue().userId());
+    assertEquals(contentId, captor.getValue().contentId());
+    assertEquals(NOW, captor.getValue().completedAt());
+  }
+
+  @Test
+  void shouldQueueUnfinishedBeacon() {
+    watchProgressService.saveBeacon(userId, contentId, 75, 900);
+
+    verify(watchProgressBuffer).record(userId, contentId, 75, 900);
+    verify(watchProgressThrottle).forget(userId, List.of(contentId));
+    verifyNoInteractions(watchHistoryRepository, eventPublisher);
+  }
+
+  @Test
+  void shouldWriteCompletingBeaconAndPublishCompletion() {
+    when(watchProgressThrottle.shouldPersist(userId, contentId, 100, 600)).thenReturn(true);
+    when(watchProgressBuffer.isEnabled()).thenReturn(true);
+    when(watchHistoryRepository.upsertProgress(any(WatchProgressUpdate.class))).thenReturn(1);
+
+    watchProgressService.saveBeacon(userId, contentId, 100, 600);
+
+    verify(watchProgressBuffer, never()).record(any(), any(), anyInt(), anyInt());
+    ArgumentCaptor<ContentCompletedEvent> captor =
+        ArgumentCaptor.forClass(ContentCompletedEvent.class);
+    verify(eventPublisher).publishEvent(captor.capture());
+    assertEquals(contentId, captor.getValue().contentId());
+  }
+
+  @Test
+  void shouldDropCompletingBeaconForMissingContent() {
+    when(watchProgressThrottle.shouldPersist(userId, contentId, 100, 600)).thenReturn(true);
+    when(watchHistoryRepository.upsertProgress(any(WatchProgressUpdate.class)))
+        .thenThrow(new DataIntegrityViolationException("fk"));
+
+    assertDoesNotThrow(() -> watchProgressService.saveBeacon(userId, contentId, 100, 600));
+
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void shouldNotPublishCompletionWhenNewerProgressWasKept() {
+    when(watchProgressThrottle.shouldPersist(userId, contentId, 100, 600)).thenReturn(true);
+    when(watchHistoryRepository.upsertProgress(any(WatchProgressUpdate.class))).thenReturn(0);
+
+    watchProgressService.saveProgress(userId, new WatchProgressRequest(contentId, 100, 600));
+
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void shouldNotPublishCompletionForUnfinishedProgress() {
+    when(watchProgressThrottle.shouldPersist(userId, contentId, 99, 594)).thenReturn(true);
+
+    watchProgressService.saveProgress(userId, new WatchProgressRequest(contentId, 99, 594));
+
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void shouldPublishCompletionsForAppliedBatchEntries() {
+    UUID alsoFinished = UUID.randomUUID();
+    UUID unfinished = UUID.randomUUID();
+    UUID missing = UUID.randomUUID();
+    when(contentRepository.findExistingIds(any()))
+        .thenReturn(List.of(contentId, alsoFinished, unfinished));
+    when(watchHistoryRepository.replayProgress(anyList()))
+        .thenReturn(List.of(contentId, alsoFinished, unfinished));
+
+    watchProgressService.saveProgressBatch(
+        userId,
+        List.of(
+            new WatchProgressRequest(contentId, 100, 600),
+            new WatchProgressRequest(alsoFinished, 100, 600),
+            new WatchProgressRequest(unfinished, 50, 300),
+            new WatchProgressRequest(missing, 100, 600)));
+
+    ArgumentCaptor<ContentCompletedEvent> captor =
+        ArgumentCaptor.forClass(ContentCompletedEvent.class);
+    verify(eventPublisher, times(2)).publishEvent(captor.capture());
+    assertEquals(
+        Set.of(contentId, alsoFinished),
+        Set.copyOf(captor.getAllValues().stream().map(ContentCompletedEvent::contentId).toList()));
   }
 
   @Test
@@ -138,82 +263,328 @@ class WatchProgressServiceTest {
   }
 
   @Test
-  void shouldThrowWhenContentNotFound() {
+  void shouldThrowWhenUserOrContentNotFound() {
     WatchProgressRequest request = new WatchProgressRequest(contentId, 45, 270);
 
-    when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-    when(contentRepository.findById(contentId)).thenReturn(Optional.empty());
+    when(watchProgressThrottle.shouldPersist(userId, contentId, 45, 270)).thenReturn(true);
+    when(watchHistoryRepository.upsertProgress(any(WatchProgressUpdate.class)))
+        .thenThrow(new DataIntegrityViolationException("watch_history_content_id_fkey"));
 
     assertThrows(
         ResourceNotFoundException.class, () -> watchProgressService.saveProgress(userId, request));
+    verify(watchProgressThrottle, never()).persisted(any(), any(), anyInt(), anyInt());
   }
 
   @Test
-  void shouldThrowWhenUserNotFound() {
-    WatchProgressRequest request = new WatchProgressRequest(contentId, 45, 270);
+  void shouldSaveFeedbackOnExistingWatchHistory() {
+    EpisodeFeedbackRequest request = new EpisodeFeedbackRequest(contentId, Feedback.HELPFUL);
+    FeedbackChange change = new FeedbackChange(contentId, null, Feedback.HELPFUL);
+    when(watchHistoryRepository.updateFeedback(userId, contentId, Feedback.HELPFUL))
+        .thenReturn(Optional.of(change));
+
+    watchProgressService.saveFeedback(userId, request);
 
-    when(userRepository.findById(userId)).thenReturn(Optional.empty());
+    verify(feedbackCounterService).record(change);
+  }
 
-    assertThrows(
-        ResourceNotFoundException.class, () -> watchProgressService.saveProgress(userId, request));
+  @Test
+  void shouldCountReplacedVoteWhenUserChangesMind() {
+    EpisodeFeedbackRequest updatedRequest =
+        new EpisodeFeedbackRequest(contentId, Feedback.NOT_HELPFUL);
+    FeedbackChange change = new FeedbackChange(contentId, Feedback.HELPFUL, Feedback.NOT_HELPFUL);
+    when(watchHistoryRepository.updateFeedback(userId, contentId, Feedback.NOT_HELPFUL))
+        .thenReturn(Optional.of(change));
+
+    watchProgressService.saveFeedback(userId, updatedRequest);
+
+    verify(feedbackCounterService).record(change);
   }
 
   @Test
-  void shouldSaveFeedbackOnExistingWatchHistory() {
+  void shouldCountFeedbackOnlyAfterCommit() {
     EpisodeFeedbackRequest request = new EpisodeFeedbackRequest(contentId, Feedback.HELPFUL);
+    FeedbackChange change = new FeedbackChange(contentId, null, Feedback.HELPFUL);
+    when(watchHistoryRepository.updateFeedback(userId, contentId, Feedback.HELPFUL))
+        .thenReturn(Optional.of(change));
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      watchProgressService.saveFeedback(userId, request);
+
+      verifyNoInteractions(feedbackCounterService);
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    verify(feedbackCounterService).record(change);
+  }
 
-    WatchHistory existing =
-        WatchHistory.builder()
-            .id(UUID.randomUUID())
-            .user(testUser)
-            .content(testContent)
-            .progressPercent(100)
-            .lastWatchedPosition(600)
-            .lastWatchedAt(LocalDateTime.now())
-            .build();
+  @Test
+  void shouldThrowWhenNoWatchHistoryForFeedback() {
+    EpisodeFeedbackRequest request = new EpisodeFeedbackRequest(contentId, Feedback.NOT_HELPFUL);
 
-    when(watchHistoryRepository.findByUserIdAndContentId(userId, contentId))
-        .thenReturn(Optional.of(existing));
+    when(watchHistoryRepository.updateFeedback(userId, contentId, Feedback.NOT_HELPFUL))
+        .thenReturn(Optional.empty());
+
+    assertThrows(
+        ResourceNotFoundException.class, () -> watchProgressService.saveFeedback(userId, request));
+    verifyNoInteractions(feedbackCounterService);
+  }
+
+  @Test
+  void shouldRecordProgressInBufferWhenEnabled() {
+    WatchProgressRequest request = new WatchProgressRequest(contentId, 45, 270);
+    when(watchProgressThrottle.shouldPersist(userId, contentId, 45, 270)).thenReturn(true);
+    when(watchProgressBuffer.isEnabled()).thenReturn(true);
+
+    watchProgressService.saveProgress(userId, request);
+
+    verify(watchProgressBuffer).record(userId, contentId, 45, 270);
+    verifyNoInteractions(watchHistoryRepository);
+  }
+
+  @Test
+  void shouldReturnBufferedProgressBeforeItIsFlushed() {
+    when(watchProgressBuffer.find(userId, contentId))
+        .thenReturn(
+            Optional.of(new WatchProgressUpdate(userId, contentId, 70, 420, LocalDateTime.now())));
+
+    Optional<WatchProgressResponse> result = watchProgressService.getProgress(userId, contentId);
+
+    assertEquals(Optional.of(new WatchProgressResponse(contentId, 70, 420)), result);
+    verifyNoInteractions(watchHistoryRepository);
+  }
+
+  @Test
+  void shouldFlushBufferedProgressBeforeSavingFeedback() {
+    EpisodeFeedbackRequest request = new EpisodeFeedbackRequest(contentId, Feedback.HELPFUL);
+    when(watchHistoryRepository.updateFeedback(userId, contentId, Feedback.HELPFUL))
+        .thenReturn(Optional.of(new FeedbackChange(contentId, null, Feedback.HELPFUL)));
 
     watchProgressService.saveFeedback(userId, request);
 
-    verify(watchHistoryRepository).save(existing);
-    assertEquals("HELPFUL", existing.getFeedback());
+    var inOrder = inOrder(watchProgressBuffer, watchHistoryRepository);
+    inOrder.verify(watchProgressBuffer).flushEntry(userId, contentId);
+    inOrder.verify(watchHistoryRepository).updateFeedback(userId, contentId, Feedback.HELPFUL);
   }
 
   @Test
-  void shouldUpdateFeedbackWhenUserChangesMind() {
-    WatchHistory existing =
-        WatchHistory.builder()
-            .id(UUID.randomUUID())
-            .user(testUser)
-            .content(testContent)
-            .progressPercent(100)
-            .lastWatchedPosition(600)
-            .lastWatchedAt(LocalDateTime.now())
-            .feedback("HELPFUL")
-            .build();
+  @SuppressWarnings("unchecked")
+  void shouldStampDirectAndBatchWritesFromTheClockWhateverTheDefaultZone() {
+    // The buffer stamps from the same clock, so every path compares equal in the stale-write guard.
+    final TimeZone defaultZone = TimeZone.getDefault();
+    TimeZone.setDefault(TimeZone.getTimeZone("Asia/Kolkata"));
+    try {
+      when(watchProgressThrottle.shouldPersist(userId, contentId, 100, 600)).thenReturn(true);
+      when(watchHistoryRepository.upsertProgress(any(WatchProgressUpdate.class))).thenReturn(1);
+      when(contentRepository.findExistingIds(any())).thenReturn(List.of(contentId));
+      when(watchHistoryRepository.replayProgress(anyList())).thenReturn(List.of(contentId));
+
+      watchProgressService.saveProgress(userId, new WatchProgressRequest(contentId, 100, 600));
+      watchProgressService.saveProgressBatch(
+          userId, List.of(new WatchProgressRequest(contentId, 30, 180)));
+    } finally {
+      TimeZone.setDefault(defaultZone);
+    }
+
+    final LocalDateTime utcNow = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+    ArgumentCaptor<WatchProgressUpdate> direct = ArgumentCaptor.forClass(WatchProgressUpdate.class);
+    verify(watchHistoryRepository).upsertProgress(direct.capture());
+    assertEquals(utcNow, direct.getValue().lastWatchedAt());
+    ArgumentCaptor<List<WatchProgressUpdate>> batch = ArgumentCaptor.forClass(List.class);
+    verify(watchHistoryRepository).replayProgress(batch.capture());
+    assertEquals(utcNow, batch.getValue().get(0).lastWatchedAt());
+  }
 
-    EpisodeFeedbackRequest updatedRequest =
-        new EpisodeFeedbackRequest(contentId, Feedback.NOT_HELPFUL);
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldWriteOnlyLatestEntryPerContentInOneBatch() {
+    UUID otherContentId = UUID.randomUUID();
+    List<WatchProgressRequest> requests =
+        List.of(
+            new WatchProgressRequest(contentId, 10, 60),
+            new WatchProgressRequest(otherContentId, 5, 30),
+            new WatchProgressRequest(contentId, 20, 120));
+    when(contentRepository.findExistingIds(any())).thenReturn(List.of(contentId, otherContentId));
+    when(watchHistoryRepository.replayProgress(anyList()))
+        .thenReturn(List.of(contentId, otherContentId));
+
+    WatchProgressBatchResponse response = watchProgressService.saveProgressBatch(userId, requests);
+
+    assertEquals(
+        List.of(
+            new WatchProgressBatchItemResult(0, contentId, ProgressSyncStatus.SUPERSEDED, null),
+            new WatchProgressBatchItemResult(1, otherContentId, ProgressSyncStatus.APPLIED, null),
+            new WatchProgressBatchItemResult(2, contentId, ProgressSyncStatus.APPLIED, null)),
+        response.results());
+    ArgumentCaptor<List<WatchProgressUpdate>> captor = ArgumentCaptor.forClass(List.class);
+    verify(watchHistoryRepository).replayProgress(captor.capture());
+    List<WatchProgressUpdate> written = captor.getValue();
+    assertEquals(2, written.size());
+    assertTrue(
+        written.stream()
+            .anyMatch(u -> u.contentId().equals(contentId) && u.progressPercent() == 20));
+  }
 
-    when(watchHistoryRepository.findByUserIdAndContentId(userId, contentId))
-        .thenReturn(Optional.of(existing));
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldStampReplayedEntriesWithClientTimeClampedToNow() {
+    UUID future = UUID.randomUUID();
+    UUID unstamped = UUID.randomUUID();
+    Instant queuedAt = NOW.minusSeconds(3_600);
+    when(contentRepository.findExistingIds(any()))
+        .thenReturn(List.of(contentId, future, unstamped));
+    when(watchHistoryRepository.replayProgress(anyList())).thenReturn(List.of(future, unstamped));
+
+    WatchProgressBatchResponse response =
+        watchProgressService.saveProgressBatch(
+            userId,
+            List.of(
+                new WatchProgressRequest(contentId, 100, 600, queuedAt),
+                new WatchProgressRequest(future, 20, 120, NOW.plusSeconds(600)),
+                new WatchProgressRequest(unstamped, 30, 180)));
+
+    ArgumentCaptor<List<WatchProgressUpdate>> captor = ArgumentCaptor.forClass(List.class);
+    verify(watchHistoryRepository).replayProgress(captor.capture());
+    Map<UUID, LocalDateTime> stamps =
+        captor.getValue().stream()
+            .collect(
+                Collectors.toMap(
+                    WatchProgressUpdate::contentId, WatchProgressUpdate::lastWatchedAt));
+    LocalDateTime utcNow = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+    assertEquals(LocalDateTime.ofInstant(queuedAt, ZoneOffset.UTC), stamps.get(contentId));
+    assertEquals(utcNow, stamps.get(future));
+    assertEquals(utcNow, stamps.get(unstamped));
+    // Newer progress from another device kept the stale completion out.
+    assertEquals(ProgressSyncStatus.STALE, response.results().get(0).status());
+    assertEquals(ProgressSyncStatus.APPLIED, response.results().get(1).status());
+    verify(eventPublisher, never()).publishEvent(any());
+    verify(watchProgressThrottle).forget(eq(userId), argThat(ids -> !ids.contains(contentId)));
+  }
 
-    watchProgressService.saveFeedback(userId, updatedRequest);
+  @Test
+  void shouldReportInvalidAndUnknownEntriesWithoutFailingTheBatch() {
+    UUID unknownContentId = UUID.randomUUID();
+    List<WatchProgressRequest> requests =
+        Arrays.asList(
+            new WatchProgressRequest(contentId, 150, 60),
+            null,
+            new WatchProgressRequest(null, 10, 60),
+            new WatchProgressRequest(unknownContentId, 10, 60),
+            new WatchProgressRequest(contentId, 40, 240));
+    when(contentRepository.findExistingIds(any())).thenReturn(List.of(contentId));
+    when(watchHistoryRepository.replayProgress(anyList())).thenReturn(List.of(contentId));
+
+    WatchProgressBatchResponse response = watchProgressService.saveProgressBatch(userId, requests);
+
+    assertEquals(
+        List.of(
+            ProgressSyncStatus.REJECTED,
+            ProgressSyncStatus.REJECTED,
+            ProgressSyncStatus.REJECTED,
+            ProgressSyncStatus.NOT_FOUND,
+            ProgressSyncStatus.APPLIED),
+        response.results().stream().map(WatchProgressBatchItemResult::status).toList());
+    assertEquals("progressPercent must be between 0 and 100", response.results().get(0).reason());
+    verify(watchHistoryRepository).replayProgress(anyList());
+  }
 
-    verify(watchHistoryRepository).save(existing);
-    assertEquals("NOT_HELPFUL", existing.getFeedback());
+  @Test
+  void shouldSkipWriteWhenNoEntryIsApplicable() {
+    WatchProgressBatchResponse response =
+        watchProgressService.saveProgressBatch(
+            userId, List.of(new WatchProgressRequest(contentId, -1, 0)));
+
+    assertEquals(ProgressSyncStatus.REJECTED, response.results().get(0).status());
+    verifyNoInteractions(watchHistoryRepository, contentRepository, eventPublisher);
   }
 
   @Test
-  void shouldThrowWhenNoWatchHistoryForFeedback() {
-    EpisodeFeedbackRequest request = new EpisodeFeedbackRequest(contentId, Feedback.NOT_HELPFUL);
+  void shouldDiscardBufferedHeartbeatsOverwrittenByBatch() {
+    when(contentRepository.findExistingIds(any())).thenReturn(List.of(contentId));
+    when(watchHistoryRepository.replayProgress(anyList())).thenReturn(List.of(contentId));
+
+    watchProgressService.saveProgressBatch(
+        userId, List.of(new WatchProgressRequest(contentId, 30, 180)));
+
+    verify(watchProgressBuffer)
+        .discard(
+            List.of(
+                new WatchProgressUpdate(
+                    userId, contentId, 30, 180, LocalDateTime.ofInstant(NOW, ZoneOffset.UTC))));
+    verify(watchProgressThrottle).forget(userId, List.of(contentId));
+    verify(watchProgressBuffer, never()).record(any(), any(), anyInt(), anyInt());
+  }
 
-    when(watchHistoryRepository.findByUserIdAndContentId(userId, contentId))
-        .thenReturn(Optional.empty());
+  @Test
+  void shouldReturnSnapshotInRequestOrderPreferringBufferedPositions() {
+    final UUID bufferedOnly = UUID.randomUUID();
+    final UUID unwatched = UUID.randomUUID();
+    final UUID stored = UUID.randomUUID();
+    final List<UUID> requested = List.of(bufferedOnly, unwatched, stored, contentId);
+    when(watchHistoryRepository.findProgress(eq(userId), anyCollection()))
+        .thenReturn(
+            List.of(
+                new WatchProgressResponse(contentId, 20, 120),
+                new WatchProgressResponse(stored, 70, 420)));
+    when(watchProgressBuffer.find(any(), any())).thenReturn(Optional.empty());
+    when(watchProgressBuffer.find(userId, bufferedOnly))
+        .thenReturn(
+            Optional.of(new WatchProgressUpdate(userId, bufferedOnly, 5, 30, LocalDateTime.now())));
+    when(watchProgressBuffer.find(userId, contentId))
+        .thenReturn(
+            Optional.of(new WatchProgressUpdate(userId, contentId, 25, 150, LocalDateTime.now())));
+
+    final List<WatchProgressResponse> snapshot =
+        watchProgressService.getProgressSnapshot(userId, requested);
+
+    assertEquals(
+        List.of(
+            new WatchProgressResponse(bufferedOnly, 5, 30),
+            new WatchProgressResponse(stored, 70, 420),
+            new WatchProgressResponse(contentId, 25, 150)),
+        snapshot);
+  }
+
+  @Test
+  void shouldReturnUnfinishedItemsWhenNoIdsAreGiven() {
+    final UUID finishedSinceFlush = UUID.randomUUID();
+    when(watchHistoryRepository.findInProgress(
+            userId, Limit.of(WatchProgressService.MAX_SNAPSHOT_ITEMS)))
+        .thenReturn(
+            List.of(
+                new WatchProgressResponse(contentId, 40, 240),
+                new WatchProgressResponse(finishedSinceFlush, 90, 540)));
+    when(watchProgressBuffer.find(userId, contentId)).thenReturn(Optional.empty());
+    when(watchProgressBuffer.find(userId, finishedSinceFlush))
+        .thenReturn(
+            Optional.of(
+                new WatchProgressUpdate(
+                    userId, finishedSinceFlush, 100, 600, LocalDateTime.now())));
+
+    final List<WatchProgressResponse> snapshot =
+        watchProgressService.getProgressSnapshot(userId, null);
+
+    assertEquals(List.of(new WatchProgressResponse(contentId, 40, 240)), snapshot);
+  }
+
+  @Test
+  void shouldRejectSnapshotForTooManyIds() {
+    final List<UUID> requested =
+        Stream.generate(UUID::randomUUID)
+            .limit(WatchProgressService.MAX_SNAPSHOT_ITEMS + 1L)
+            .toList();
 
     assertThrows(
-        ResourceNotFoundException.class, () -> watchProgressService.saveFeedback(userId, request));
+        IllegalArgumentException.class,
+        () -> watchProgressService.getProgressSnapshot(userId, requested));
+    verifyNoInteractions(watchHistoryRepository);
+  }
+
+  @Test
+  void shouldReturnEmptySnapshotForEmptyIds() {
+    assertTrue(watchProgressService.getProgressSnapshot(userId, List.of()).isEmpty());
+    verifyNoInteractions(watchHistoryRepository);
   }
 }
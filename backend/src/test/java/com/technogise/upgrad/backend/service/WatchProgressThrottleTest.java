@@ -0,0 +1,141 @@
+package com.technogise.upgrad.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.technogise.upgrad.backend.config.WatchProgressThrottleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WatchProgressThrottleTest {
+
+  private static final UUID USER_ID = UUID.randomUUID();
+  private static final UUID CONTENT_ID = UUID.randomUUID();
+
+  private final SteppingClock clock = new SteppingClock();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private WatchProgressThrottleConfig config;
+  private WatchProgressThrottle throttle;
+
+  @BeforeEach
+  void setUp() {
+    config = new WatchProgressThrottleConfig();
+    throttle = new WatchProgressThrottle(config, clock, meterRegistry);
+  }
+
+  private double count(final String outcome) {
+    return meterRegistry
+        .get(WatchProgressThrottle.METRIC_NAME)
+        .tag("outcome", outcome)
+        .counter()
+        .count();
+  }
+
+  @Test
+  void shouldPersistFirstHeartbeat() {
+    assertThat(throttle.shouldPersist(USER_ID, CONTENT_ID, 10, 60)).isTrue();
+  }
+
+  @Test
+  void shouldSuppressHeartbeatsBelowDeltas() {
+    throttle.persisted(USER_ID, CONTENT_ID, 10, 60);
+
+    assertThat(throttle.shouldPersist(USER_ID, CONTENT_ID, 10, 60)).isFalse();
+    assertThat(throttle.shouldPersist(USER_ID, CONTENT_ID, 11, 59)).isFalse();
+    assertThat(count("suppressed")).isEqualTo(2.0);
+    assertThat(count("persisted")).isEqualTo(1.0);
+  }
+
+  @Test
+  void shouldPersistHeartbeatsAtOrAboveDeltas() {
+    throttle.persisted(USER_ID, CONTENT_ID, 10, 60);
+
+    assertThat(throttle.shouldPersist(USER_ID, CONTENT_ID, 10, 75)).isTrue();
+    assertThat(throttle.shouldPersist(USER_ID, CONTENT_ID, 15, 60)).isTrue();
+    // A seek backwards is a real change too.
+    assertThat(throttle.shouldPersist(USER_ID, CONTENT_ID, 10, 30)).isTrue();
+  }
+
+  @Test
+  void shouldAlwaysPersistCompletionTransitions() {
+    throttle.persisted(USER_ID, CONTENT_ID, 99, 594);
+    assertThat(throttle.shouldPersist(USER_ID, CONTENT_ID, 100, 600)).isTrue();
+
+    throttle.persisted(USER_ID, CONTENT_ID, 100, 600);
+    assertThat(throttle.shouldPersist(USER_ID, CONTENT_ID, 100, 600)).isFalse();
+    assertThat(throttle.shouldPersist(USER_ID, CONTENT_ID, 99, 598)).isTrue();
+  }
+
+  @Test
+  void shouldPersistUnchangedHeartbeatAfterMaxInterval() {
+    throttle.persisted(USER_ID, CONTENT_ID, 10, 60);
+
+    clock.advance(Duration.ofMillis(config.getMaxIntervalMs() - 1));
+    assertThat(throttle.shouldPersist(USER_ID, CONTENT_ID, 10, 60)).isFalse();
+    clock.advance(Duration.ofMillis(1));
+    assertThat(throttle.shouldPersist(USER_ID, CONTENT_ID, 10, 60)).isTrue();
+  }
+
+  @Test
+  void shouldPersistAfterBaselineIsForgotten() {
+    throttle.persisted(USER_ID, CONTENT_ID, 10, 60);
+
+    throttle.forget(USER_ID, List.of(CONTENT_ID));
+
+    assertThat(throttle.shouldPersist(USER_ID, CONTENT_ID, 10, 60)).isTrue();
+  }
+
+  @Test
+  void shouldPersistEverythingWhenDisabled() {
+    config.setEnabled(false);
+    throttle.persisted(USER_ID, CONTENT_ID, 10, 60);
+
+    assertThat(throttle.shouldPersist(USER_ID, CONTENT_ID, 10, 60)).isTrue();
+  }
+
+  @Test
+  void shouldEvictExpiredBaselinesWhenFull() {
+    config.setMaxEntries(2);
+    final UUID second = UUID.randomUUID();
+    final UUID third = UUID.randomUUID();
+    throttle.persisted(USER_ID, CONTENT_ID, 10, 60);
+    throttle.persisted(USER_ID, second, 10, 60);
+
+    throttle.persisted(USER_ID, third, 10, 60);
+    assertThat(throttle.shouldPersist(USER_ID, third, 10, 60)).isTrue();
+
+    clock.advance(Duration.ofMillis(config.getMaxIntervalMs()));
+    throttle.persisted(USER_ID, third, 10, 60);
+    assertThat(throttle.shouldPersist(USER_ID, third, 10, 60)).isFalse();
+  }
+
+  private static final class SteppingClock extends Clock {
+    private volatile Instant instant = Instant.parse("2026-01-01T00:00:00Z");
+
+    void advance(final Duration duration) {
+      instant = instant.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
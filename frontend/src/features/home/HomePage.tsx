@@ -76,8 +76,8 @@ export const HomePage = () => {
           </Box>
 
           {/* Continue Watching (conditional) */}
-          {sections?.continueWatching && (
-            <ContinueWatchingSection item={sections.continueWatching} />
+          {sections?.continueWatching && sections.continueWatching.length > 0 && (
+            <ContinueWatchingSection items={sections.continueWatching} />
           )}
 
           {/* Interest-based Recommendations */}
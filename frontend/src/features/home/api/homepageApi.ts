@@ -6,6 +6,7 @@ export interface ContentItem {
   description: string | null
   thumbnailUrl: string | null
   category: string
+  thumbnailSrcset?: string | null
 }
 
 export interface ContinueWatchingItem {
@@ -17,10 +18,11 @@ export interface ContinueWatchingItem {
   category: string
   episodeNumber: number | null
   lastWatchedPosition: number
+  thumbnailSrcset?: string | null
 }
 
 export interface HomepageSections {
-  continueWatching?: ContinueWatchingItem
+  continueWatching: ContinueWatchingItem[]
   recommended: ContentItem[]
   exploration: ContentItem[]
 }
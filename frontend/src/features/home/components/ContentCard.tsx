@@ -60,6 +60,8 @@ export function ContentCard({ content }: ContentCardProps) {
           component="img"
           sx={styles.media}
           image={content.thumbnailUrl ?? undefined}
+          srcSet={content.thumbnailSrcset ?? undefined}
+          sizes="(max-width: 600px) 100vw, (max-width: 900px) 50vw, 33vw"
           alt={content.title}
         />
         <CardContent sx={styles.content}>
@@ -3,7 +3,7 @@ import type { ContinueWatchingItem } from '../api/homepageApi'
 import { Link } from '@tanstack/react-router'
 
 interface ContinueWatchingSectionProps {
-  item: ContinueWatchingItem
+  items: ContinueWatchingItem[]
 }
 
 const styles = {
@@ -16,8 +16,18 @@ const styles = {
     mb: 2,
     color: 'text.primary',
   },
+  rail: {
+    display: 'flex',
+    gap: 2,
+    overflowX: 'auto',
+    scrollSnapType: 'x mandatory',
+    pb: 1,
+  },
   card: {
     display: 'flex',
+    flex: '0 0 auto',
+    width: { xs: '100%', md: 560 },
+    scrollSnapAlign: 'start',
     borderRadius: 3,
     boxShadow: '0 2px 12px rgba(0,0,0,0.08)',
     overflow: 'hidden',
@@ -28,7 +38,7 @@ const styles = {
     },
   },
   media: {
-    width: 280,
+    width: 220,
     minHeight: 160,
     flexShrink: 0,
   },
@@ -72,59 +82,71 @@ const styles = {
   },
 } as const
 
-export function ContinueWatchingSection({ item }: ContinueWatchingSectionProps) {
+export function ContinueWatchingSection({ items }: ContinueWatchingSectionProps) {
   return (
     <Box sx={styles.section} id="continue-watching-section">
       <Typography variant="h5" sx={styles.sectionTitle}>
         Continue Watching
       </Typography>
-      <Card sx={styles.card}>
-        <Link
-          to="/watch/$contentId"
-          params={{ contentId: item.contentId }}
-          search={{ resume: true }}
-          style={{ textDecoration: 'none', color: 'inherit', display: 'flex', width: '100%' }}
-        >
-          <CardMedia
-            component="img"
-            sx={styles.media}
-            image={item.thumbnailUrl ?? undefined}
-            alt={item.title}
-          />
-          <CardContent sx={styles.content}>
-            <Typography variant="h6" sx={styles.title}>
-              {item.title}
-            </Typography>
-            {(item.category || item.episodeNumber) && (
-              <Typography
-                variant="body2"
-                sx={{ color: 'text.secondary', fontSize: '0.85rem', mb: 0.5 }}
-              >
-                {[
-                  item.category
-                    ?.replace(/_/g, ' ')
-                    .toLowerCase()
-                    .replace(/\b\w/g, (c) => c.toUpperCase()),
-                  item.episodeNumber ? `Episode ${item.episodeNumber}` : null,
-                ]
-                  .filter(Boolean)
-                  .join(' · ')}
-              </Typography>
-            )}
-            <Typography variant="body2" sx={styles.description}>
-              {item.description}
-            </Typography>
-            <Box sx={styles.progressContainer}>
-              <LinearProgress
-                variant="determinate"
-                value={item.progressPercent}
-                sx={styles.progressBar}
-              />
-              <Typography sx={styles.progressText}>{item.progressPercent}% complete</Typography>
-            </Box>
-          </CardContent>
-        </Link>
-      </Card>
+      <Box sx={styles.rail}>
+        {items.map((item) => (
+          <ContinueWatchingCard key={item.contentId} item={item} />
+        ))}
+      </Box>
     </Box>
   )
 }
+
+function ContinueWatchingCard({ item }: { item: ContinueWatchingItem }) {
+  return (
+    <Card sx={styles.card}>
+      <Link
+        to="/watch/$contentId"
+        params={{ contentId: item.contentId }}
+        search={{ resume: true }}
+        style={{ textDecoration: 'none', color: 'inherit', display: 'flex', width: '100%' }}
+      >
+        <CardMedia
+          component="img"
+          sx={styles.media}
+          image={item.thumbnailUrl ?? undefined}
+          srcSet={item.thumbnailSrcset ?? undefined}
+          sizes="220px"
+          alt={item.title}
+        />
+        <CardContent sx={styles.content}>
+          <Typography variant="h6" sx={styles.title}>
+            {item.title}
+          </Typography>
+          {(item.category || item.episodeNumber) && (
+            <Typography
+              variant="body2"
+              sx={{ color: 'text.secondary', fontSize: '0.85rem', mb: 0.5 }}
+            >
+              {[
+                item.category
+                  ?.replace(/_/g, ' ')
+                  .toLowerCase()
+                  .replace(/\b\w/g, (c) => c.toUpperCase()),
+                item.episodeNumber ? `Episode ${item.episodeNumber}` : null,
+              ]
+                .filter(Boolean)
+                .join(' · ')}
+            </Typography>
+          )}
+          <Typography variant="body2" sx={styles.description}>
+            {item.description}
+          </Typography>
+          <Box sx={styles.progressContainer}>
+            <LinearProgress
+              variant="determinate"
+              value={item.progressPercent}
+              sx={styles.progressBar}
+            />
+            <Typography sx={styles.progressText}>{item.progressPercent}% complete</Typography>
+          </Box>
+        </CardContent>
+      </Link>
+    </Card>
+  )
+}
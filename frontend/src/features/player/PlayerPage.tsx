@@ -19,8 +19,24 @@ const getCsrfToken = (): string | null => {
   return decodeURIComponent(xsrfCookie.slice(eqIndex + 1))
 }
 
+// Sends the last position while the page unloads. sendBeacon survives the unload and posts a
+// compact text/plain payload to the beacon endpoint; as it cannot set headers, the CSRF token goes
+// in the body. Browsers without it, or that refuse to queue it, fall back to a keepalive fetch.
 const sendKeepaliveProgress = (targetContentId: string, event: ProgressUpdateEvent): void => {
   const csrfToken = getCsrfToken()
+  const lastWatchedPosition = Math.floor(event.currentTime)
+  if (csrfToken && typeof navigator.sendBeacon === 'function') {
+    const payload = [targetContentId, event.progressPercent, lastWatchedPosition, csrfToken].join(
+      ','
+    )
+    const queued = navigator.sendBeacon(
+      `${API_BASE_URL}/beacon/progress`,
+      new Blob([payload], { type: 'text/plain' })
+    )
+    if (queued) {
+      return
+    }
+  }
   fetch(`${API_BASE_URL}/watch-progress`, {
     method: 'PUT',
     headers: {
@@ -30,7 +46,7 @@ const sendKeepaliveProgress = (targetContentId: string, event: ProgressUpdateEve
     body: JSON.stringify({
       contentId: targetContentId,
       progressPercent: event.progressPercent,
-      lastWatchedPosition: Math.floor(event.currentTime),
+      lastWatchedPosition,
     }),
     keepalive: true,
     credentials: 'include',